@@ -2,6 +2,7 @@ package com.ecommerce.supplychain.catalog.controller;
 
 import com.ecommerce.supplychain.catalog.dto.ProductDTO;
 import com.ecommerce.supplychain.catalog.dto.ProductResponseDTO;
+import com.ecommerce.supplychain.catalog.dto.ProductSummaryDTO;
 import com.ecommerce.supplychain.catalog.dto.StockEntryDTO;
 import com.ecommerce.supplychain.catalog.dto.StockUpdateResponseDTO;
 import com.ecommerce.supplychain.catalog.service.CatalogService;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -77,7 +79,10 @@ public class CatalogController {
      * GET /api/catalog/products
      */
     @GetMapping("/products")
-    public ResponseEntity<Map<String, Object>> getAllProducts() {
+    public ResponseEntity<Map<String, Object>> getAllProducts(WebRequest webRequest) {
+        if (catalogService.getCatalogVersion().checkNotModified(webRequest)) {
+            return null;
+        }
         List<ProductResponseDTO> products = catalogService.getAllProducts();
 
         Map<String, Object> response = new HashMap<>();
@@ -88,12 +93,35 @@ public class CatalogController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Lightweight list of products for tables and pickers
+     * GET /api/catalog/products/summary?category=Electronics
+     */
+    @GetMapping("/products/summary")
+    public ResponseEntity<Map<String, Object>> getProductSummaries(@RequestParam(required = false) String category,
+                                                                   WebRequest webRequest) {
+        if (catalogService.getCatalogVersion().checkNotModified(webRequest)) {
+            return null;
+        }
+        List<ProductSummaryDTO> products = catalogService.getProductSummaries(category);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("count", products.size());
+        response.put("data", products);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get product by ID
      * GET /api/catalog/products/{productId}
      */
     @GetMapping("/products/{productId}")
-    public ResponseEntity<Map<String, Object>> getProductById(@PathVariable Long productId) {
+    public ResponseEntity<Map<String, Object>> getProductById(@PathVariable Long productId, WebRequest webRequest) {
+        if (catalogService.getProductVersion(productId).checkNotModified(webRequest)) {
+            return null;
+        }
         try {
             ProductResponseDTO product = catalogService.getProductById(productId);
 
@@ -115,7 +143,10 @@ public class CatalogController {
      * GET /api/catalog/products/sku/{productSku}
      */
     @GetMapping("/products/sku/{productSku}")
-    public ResponseEntity<Map<String, Object>> getProductBySku(@PathVariable String productSku) {
+    public ResponseEntity<Map<String, Object>> getProductBySku(@PathVariable String productSku, WebRequest webRequest) {
+        if (catalogService.getCatalogVersion().checkNotModified(webRequest)) {
+            return null;
+        }
         try {
             ProductResponseDTO product = catalogService.getProductBySku(productSku);
 
@@ -137,7 +168,10 @@ public class CatalogController {
      * GET /api/catalog/products/category/{category}
      */
     @GetMapping("/products/category/{category}")
-    public ResponseEntity<Map<String, Object>> getProductsByCategory(@PathVariable String category) {
+    public ResponseEntity<Map<String, Object>> getProductsByCategory(@PathVariable String category, WebRequest webRequest) {
+        if (catalogService.getCatalogVersion().checkNotModified(webRequest)) {
+            return null;
+        }
         List<ProductResponseDTO> products = catalogService.getProductsByCategory(category);
 
         Map<String, Object> response = new HashMap<>();
@@ -154,7 +188,10 @@ public class CatalogController {
      * GET /api/catalog/products/supplier/{supplierId}
      */
     @GetMapping("/products/supplier/{supplierId}")
-    public ResponseEntity<Map<String, Object>> getProductsBySupplierId(@PathVariable Long supplierId) {
+    public ResponseEntity<Map<String, Object>> getProductsBySupplierId(@PathVariable Long supplierId, WebRequest webRequest) {
+        if (catalogService.getCatalogVersion().checkNotModified(webRequest)) {
+            return null;
+        }
         List<ProductResponseDTO> products = catalogService.getProductsBySupplierId(supplierId);
 
         Map<String, Object> response = new HashMap<>();
@@ -171,7 +208,10 @@ public class CatalogController {
      * GET /api/catalog/products/status/{status}
      */
     @GetMapping("/products/status/{status}")
-    public ResponseEntity<Map<String, Object>> getProductsByStatus(@PathVariable String status) {
+    public ResponseEntity<Map<String, Object>> getProductsByStatus(@PathVariable String status, WebRequest webRequest) {
+        if (catalogService.getCatalogVersion().checkNotModified(webRequest)) {
+            return null;
+        }
         List<ProductResponseDTO> products = catalogService.getProductsByStatus(status.toUpperCase());
 
         Map<String, Object> response = new HashMap<>();
@@ -188,7 +228,10 @@ public class CatalogController {
      * GET /api/catalog/products/reorder-needed
      */
     @GetMapping("/products/reorder-needed")
-    public ResponseEntity<Map<String, Object>> getProductsNeedingReorder() {
+    public ResponseEntity<Map<String, Object>> getProductsNeedingReorder(WebRequest webRequest) {
+        if (catalogService.getCatalogVersion().checkNotModified(webRequest)) {
+            return null;
+        }
         List<ProductResponseDTO> products = catalogService.getProductsNeedingReorder();
 
         Map<String, Object> response = new HashMap<>();
@@ -205,7 +248,10 @@ public class CatalogController {
      * GET /api/catalog/products/low-stock
      */
     @GetMapping("/products/low-stock")
-    public ResponseEntity<Map<String, Object>> getLowStockProducts() {
+    public ResponseEntity<Map<String, Object>> getLowStockProducts(WebRequest webRequest) {
+        if (catalogService.getCatalogVersion().checkNotModified(webRequest)) {
+            return null;
+        }
         List<ProductResponseDTO> products = catalogService.getLowStockProducts();
 
         Map<String, Object> response = new HashMap<>();
@@ -222,7 +268,10 @@ public class CatalogController {
      * GET /api/catalog/products/search?q={searchTerm}
      */
     @GetMapping("/products/search")
-    public ResponseEntity<Map<String, Object>> searchProducts(@RequestParam String q) {
+    public ResponseEntity<Map<String, Object>> searchProducts(@RequestParam String q, WebRequest webRequest) {
+        if (catalogService.getCatalogVersion().checkNotModified(webRequest)) {
+            return null;
+        }
         List<ProductResponseDTO> products = catalogService.searchProducts(q);
 
         Map<String, Object> response = new HashMap<>();
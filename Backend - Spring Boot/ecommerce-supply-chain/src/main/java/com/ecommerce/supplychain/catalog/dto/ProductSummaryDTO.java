@@ -0,0 +1,25 @@
+package com.ecommerce.supplychain.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * List row for the catalog; the description and image columns stay in the database.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummaryDTO {
+
+    private Long productId;
+    private String productSku;
+    private String productName;
+    private String category;
+    private String brand;
+    private BigDecimal sellingPrice;
+    private Integer currentStock;
+    private String status;
+    private Boolean isActive;
+}
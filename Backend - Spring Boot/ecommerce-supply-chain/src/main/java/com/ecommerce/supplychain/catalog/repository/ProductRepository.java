@@ -1,6 +1,8 @@
 package com.ecommerce.supplychain.catalog.repository;
 
+import com.ecommerce.supplychain.catalog.dto.ProductSummaryDTO;
 import com.ecommerce.supplychain.catalog.model.Product;
+import com.ecommerce.supplychain.common.web.ResourceVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -43,4 +45,17 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     @Query("SELECT p FROM Product p WHERE p.currentStock BETWEEN :minStock AND :maxStock")
     List<Product> findByStockRange(@Param("minStock") Integer minStock, @Param("maxStock") Integer maxStock);
+
+    @Query("SELECT new com.ecommerce.supplychain.catalog.dto.ProductSummaryDTO(p.productId, p.productSku, p.productName, " +
+            "p.category, p.brand, p.sellingPrice, p.currentStock, p.status, p.isActive) " +
+            "FROM Product p WHERE :category IS NULL OR p.category = :category ORDER BY p.productId")
+    List<ProductSummaryDTO> findSummaries(@Param("category") String category);
+
+    @Query("SELECT new com.ecommerce.supplychain.common.web.ResourceVersion(COUNT(p), MAX(COALESCE(p.updatedAt, p.createdAt))) " +
+            "FROM Product p")
+    ResourceVersion findCatalogVersion();
+
+    @Query("SELECT new com.ecommerce.supplychain.common.web.ResourceVersion(COUNT(p), MAX(COALESCE(p.updatedAt, p.createdAt))) " +
+            "FROM Product p WHERE p.productId = :productId")
+    ResourceVersion findVersionByProductId(@Param("productId") Long productId);
 }
\ No newline at end of file
@@ -2,10 +2,12 @@ package com.ecommerce.supplychain.catalog.service;
 
 import com.ecommerce.supplychain.catalog.dto.ProductDTO;
 import com.ecommerce.supplychain.catalog.dto.ProductResponseDTO;
+import com.ecommerce.supplychain.catalog.dto.ProductSummaryDTO;
 import com.ecommerce.supplychain.catalog.dto.StockEntryDTO;
 import com.ecommerce.supplychain.catalog.dto.StockUpdateResponseDTO;
 import com.ecommerce.supplychain.catalog.model.Product;
 import com.ecommerce.supplychain.catalog.repository.ProductRepository;
+import com.ecommerce.supplychain.common.web.ResourceVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -116,18 +118,44 @@ public class CatalogService {
         return mapToStockUpdateResponseDTO(updatedProduct, previousStock, stockDTO);
     }
 
+    /**
+     * Version of the whole catalog for conditional GETs; changes with any product insert, update or delete
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getCatalogVersion() {
+        return productRepository.findCatalogVersion();
+    }
+
+    /**
+     * Version of a single product for conditional GETs
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getProductVersion(Long productId) {
+        return productRepository.findVersionByProductId(productId);
+    }
+
     /**
      * Get all products
      */
+    @Transactional(readOnly = true)
     public List<ProductResponseDTO> getAllProducts() {
         return productRepository.findAll().stream()
                 .map(this::mapToProductResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get product list rows, optionally filtered by category; projected straight into DTOs, no entities are loaded
+     */
+    @Transactional(readOnly = true)
+    public List<ProductSummaryDTO> getProductSummaries(String category) {
+        return productRepository.findSummaries(category);
+    }
+
     /**
      * Get product by ID
      */
+    @Transactional(readOnly = true)
     public ProductResponseDTO getProductById(Long productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found with ID: " + productId));
@@ -137,6 +165,7 @@ public class CatalogService {
     /**
      * Get product by SKU
      */
+    @Transactional(readOnly = true)
     public ProductResponseDTO getProductBySku(String productSku) {
         Product product = productRepository.findByProductSku(productSku)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found with SKU: " + productSku));
@@ -146,6 +175,7 @@ public class CatalogService {
     /**
      * Get products by category
      */
+    @Transactional(readOnly = true)
     public List<ProductResponseDTO> getProductsByCategory(String category) {
         return productRepository.findByCategory(category).stream()
                 .map(this::mapToProductResponseDTO)
@@ -155,6 +185,7 @@ public class CatalogService {
     /**
      * Get products by supplier
      */
+    @Transactional(readOnly = true)
     public List<ProductResponseDTO> getProductsBySupplierId(Long supplierId) {
         return productRepository.findBySupplierId(supplierId).stream()
                 .map(this::mapToProductResponseDTO)
@@ -164,6 +195,7 @@ public class CatalogService {
     /**
      * Get products by status
      */
+    @Transactional(readOnly = true)
     public List<ProductResponseDTO> getProductsByStatus(String status) {
         return productRepository.findByStatus(status).stream()
                 .map(this::mapToProductResponseDTO)
@@ -173,6 +205,7 @@ public class CatalogService {
     /**
      * Get products needing reorder
      */
+    @Transactional(readOnly = true)
     public List<ProductResponseDTO> getProductsNeedingReorder() {
         return productRepository.findProductsNeedingReorder().stream()
                 .map(this::mapToProductResponseDTO)
@@ -182,6 +215,7 @@ public class CatalogService {
     /**
      * Get low stock products
      */
+    @Transactional(readOnly = true)
     public List<ProductResponseDTO> getLowStockProducts() {
         return productRepository.findLowStockProducts().stream()
                 .map(this::mapToProductResponseDTO)
@@ -191,6 +225,7 @@ public class CatalogService {
     /**
      * Search products by name or SKU
      */
+    @Transactional(readOnly = true)
     public List<ProductResponseDTO> searchProducts(String searchTerm) {
         return productRepository.searchProducts(searchTerm).stream()
                 .map(this::mapToProductResponseDTO)
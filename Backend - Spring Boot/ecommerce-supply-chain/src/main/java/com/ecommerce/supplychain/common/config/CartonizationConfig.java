@@ -0,0 +1,70 @@
+package com.ecommerce.supplychain.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carton catalogue available at pack stations, bound from app.cartonization.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.cartonization")
+public class CartonizationConfig {
+
+    private String defaultItemDimensions = "10x10x10";
+    private List<CartonType> cartons = new ArrayList<>();
+
+    public static class CartonType {
+        private String code;
+        private String packageType; // BOX, ENVELOPE, PALLET, CARTON
+        private String packageSize; // SMALL, MEDIUM, LARGE, EXTRA_LARGE
+        private double lengthCm;
+        private double widthCm;
+        private double heightCm;
+        private double maxWeightKg;
+        private double tareWeightKg;
+
+        public double getVolume() { return lengthCm * widthCm * heightCm; }
+
+        public String getDimensions() {
+            return formatCm(lengthCm) + "x" + formatCm(widthCm) + "x" + formatCm(heightCm);
+        }
+
+        private static String formatCm(double value) {
+            return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+        }
+
+        public String getCode() { return code; }
+        public void setCode(String code) { this.code = code; }
+
+        public String getPackageType() { return packageType; }
+        public void setPackageType(String packageType) { this.packageType = packageType; }
+
+        public String getPackageSize() { return packageSize; }
+        public void setPackageSize(String packageSize) { this.packageSize = packageSize; }
+
+        public double getLengthCm() { return lengthCm; }
+        public void setLengthCm(double lengthCm) { this.lengthCm = lengthCm; }
+
+        public double getWidthCm() { return widthCm; }
+        public void setWidthCm(double widthCm) { this.widthCm = widthCm; }
+
+        public double getHeightCm() { return heightCm; }
+        public void setHeightCm(double heightCm) { this.heightCm = heightCm; }
+
+        public double getMaxWeightKg() { return maxWeightKg; }
+        public void setMaxWeightKg(double maxWeightKg) { this.maxWeightKg = maxWeightKg; }
+
+        public double getTareWeightKg() { return tareWeightKg; }
+        public void setTareWeightKg(double tareWeightKg) { this.tareWeightKg = tareWeightKg; }
+    }
+
+    // Getters and setters for configuration properties
+    public String getDefaultItemDimensions() { return defaultItemDimensions; }
+    public void setDefaultItemDimensions(String defaultItemDimensions) { this.defaultItemDimensions = defaultItemDimensions; }
+
+    public List<CartonType> getCartons() { return cartons; }
+    public void setCartons(List<CartonType> cartons) { this.cartons = cartons; }
+}
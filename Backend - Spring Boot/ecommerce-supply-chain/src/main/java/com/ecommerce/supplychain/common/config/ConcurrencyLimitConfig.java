@@ -0,0 +1,62 @@
+package com.ecommerce.supplychain.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Concurrent request caps per workload, bound from app.concurrency-limits.
+ * Requests matching no workload share the default permits. All permits together with the
+ * connections reserved for background work must fit in the primary pool.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.concurrency-limits")
+public class ConcurrencyLimitConfig {
+
+    private boolean enabled = true;
+    private long acquireTimeoutMillis = 2000;
+    private int retryAfterSeconds = 2;
+    private int defaultPermits = 4;
+    private int reservedConnections = 2; // Scheduled jobs and pipelines outside any request
+    private List<Workload> workloads = new ArrayList<>();
+
+    public static class Workload {
+        private String name;
+        private int permits = 1;
+        private List<String> methods = new ArrayList<>(); // empty matches every method
+        private List<String> paths = new ArrayList<>(); // Ant-style patterns, e.g. /api/reconciliation/**
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public int getPermits() { return permits; }
+        public void setPermits(int permits) { this.permits = permits; }
+
+        public List<String> getMethods() { return methods; }
+        public void setMethods(List<String> methods) { this.methods = methods; }
+
+        public List<String> getPaths() { return paths; }
+        public void setPaths(List<String> paths) { this.paths = paths; }
+    }
+
+    // Getters and setters for configuration properties
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getAcquireTimeoutMillis() { return acquireTimeoutMillis; }
+    public void setAcquireTimeoutMillis(long acquireTimeoutMillis) { this.acquireTimeoutMillis = acquireTimeoutMillis; }
+
+    public int getRetryAfterSeconds() { return retryAfterSeconds; }
+    public void setRetryAfterSeconds(int retryAfterSeconds) { this.retryAfterSeconds = retryAfterSeconds; }
+
+    public int getDefaultPermits() { return defaultPermits; }
+    public void setDefaultPermits(int defaultPermits) { this.defaultPermits = defaultPermits; }
+
+    public int getReservedConnections() { return reservedConnections; }
+    public void setReservedConnections(int reservedConnections) { this.reservedConnections = reservedConnections; }
+
+    public List<Workload> getWorkloads() { return workloads; }
+    public void setWorkloads(List<Workload> workloads) { this.workloads = workloads; }
+}
@@ -1,10 +1,19 @@
 package com.ecommerce.supplychain.common.config;
 
+import com.ecommerce.supplychain.common.metrics.SqlStatementMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
@@ -12,6 +21,8 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 
 @Configuration
@@ -24,15 +35,89 @@ public class DatabaseConfig {
     private String username;
     private String password;
     private String driverClassName;
+    private int maximumPoolSize = 10;
 
+    @Value("${app.metrics.hibernate-statistics:false}")
+    private boolean hibernateStatistics;
+
+    @Value("${spring.jpa.show-sql:false}")
+    private boolean showSql;
+
+    @Value("${spring.jpa.database-platform:org.hibernate.dialect.MySQLDialect}")
+    private String dialect;
+
+    @Value("${spring.jpa.hibernate.ddl-auto:validate}")
+    private String ddlAuto;
+
+    @Value("${spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access:true}")
+    private boolean jdbcMetadataAccess;
+
+    @Value("${app.startup.background-jpa-bootstrap:false}")
+    private boolean backgroundJpaBootstrap;
+
+    @Autowired
+    private ReadReplicaConfig readReplicaConfig;
+
+    @Autowired
+    private SqlMonitorConfig sqlMonitorConfig;
+
+    @Autowired
+    private SqlStatementMonitor sqlStatementMonitor;
+
+    /**
+     * Write pool; every read-write transaction runs here, and Flyway migrates the schema through it
+     */
     @Bean
-    public DataSource dataSource() {
-        return DataSourceBuilder.create()
+    @FlywayDataSource
+    public DataSource primaryDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
                 .url(url)
                 .username(username)
                 .password(password)
                 .driverClassName(driverClassName)
                 .build();
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        return dataSource;
+    }
+
+    /**
+     * Lag-checked replicas for read-only transactions, falling back to the primary
+     */
+    @Bean
+    public ReplicaRoutingDataSource readReplicaDataSource() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        int index = 0;
+        for (ReadReplicaConfig.Source source : readReplicaConfig.getSources()) {
+            index++;
+            String name = source.getName() != null ? source.getName() : "replica-" + index;
+            replicas.put(name, DataSourceBuilder.create()
+                    .url(source.getUrl())
+                    .username(source.getUsername() != null ? source.getUsername() : username)
+                    .password(source.getPassword() != null ? source.getPassword() : password)
+                    .driverClassName(driverClassName)
+                    .build());
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource(), replicas, readReplicaConfig);
+    }
+
+    /**
+     * Connection handed to JPA. The physical connection is fetched on first use, after the
+     * transaction manager has marked it read-only, so @Transactional(readOnly = true)
+     * work is served by a replica and everything else by the primary.
+     * Statements are timed by the SQL monitor unless app.sql-monitor.enabled is false.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource());
+        dataSource.setReadOnlyDataSource(readReplicaDataSource());
+        if (!sqlMonitorConfig.isEnabled()) {
+            return dataSource;
+        }
+        return ProxyDataSourceBuilder.create("supply-chain", dataSource)
+                .listener(sqlStatementMonitor)
+                .build();
     }
 
     @Bean
@@ -42,11 +127,15 @@ public class DatabaseConfig {
         em.setPackagesToScan("com.ecommerce.supplychain");
 
         HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
-        vendorAdapter.setGenerateDdl(true);
-        vendorAdapter.setShowSql(true);
+        vendorAdapter.setGenerateDdl(false);
+        vendorAdapter.setShowSql(showSql);
 
         em.setJpaVendorAdapter(vendorAdapter);
         em.setJpaProperties(hibernateProperties());
+        if (backgroundJpaBootstrap) {
+            // Hibernate builds its metamodel while the web layer starts; first use of the EntityManagerFactory waits for it
+            em.setBootstrapExecutor(new SimpleAsyncTaskExecutor("jpa-bootstrap-"));
+        }
 
         return em;
     }
@@ -60,13 +149,19 @@ public class DatabaseConfig {
 
     private Properties hibernateProperties() {
         Properties properties = new Properties();
-        properties.put("hibernate.dialect", "org.hibernate.dialect.MySQLDialect");
-        properties.put("hibernate.show_sql", "true");
+        properties.put("hibernate.dialect", dialect);
+        properties.put("hibernate.show_sql", String.valueOf(showSql));
         properties.put("hibernate.format_sql", "true");
-        properties.put("hibernate.hbm2ddl.auto", "update");
+        // The schema is owned by the Flyway migrations in db/migration; Hibernate only checks it matches the entities
+        properties.put("hibernate.hbm2ddl.auto", ddlAuto);
+        // With the dialect configured, Hibernate can start without opening a connection for JDBC metadata
+        properties.put("hibernate.boot.allow_jdbc_metadata_access", String.valueOf(jdbcMetadataAccess));
         properties.put("hibernate.jdbc.batch_size", "50");
         properties.put("hibernate.order_inserts", "true");
         properties.put("hibernate.order_updates", "true");
+        // Lazy associations outside the repositories' entity graphs load in batches instead of one query per row
+        properties.put("hibernate.default_batch_fetch_size", "50");
+        properties.put("hibernate.generate_statistics", String.valueOf(hibernateStatistics));
         return properties;
     }
 
@@ -82,4 +177,7 @@ public class DatabaseConfig {
 
     public String getDriverClassName() { return driverClassName; }
     public void setDriverClassName(String driverClassName) { this.driverClassName = driverClassName; }
+
+    public int getMaximumPoolSize() { return maximumPoolSize; }
+    public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.ecommerce.supplychain.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outbound fleet and dispatch planning defaults, bound from app.dispatch.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.dispatch")
+public class DispatchConfig {
+
+    private LocalTime departureTime = LocalTime.of(8, 0);
+    private String defaultPackageDimensions = "30x20x15";
+    private double defaultPackageWeightKg = 1.0;
+    private List<VehicleType> vehicles = new ArrayList<>();
+
+    public static class VehicleType {
+        private String code;
+        private int count;
+        private double maxWeightKg;
+        private double maxVolumeM3;
+
+        public double getMaxVolumeCm3() { return maxVolumeM3 * 1_000_000; }
+
+        public String getCode() { return code; }
+        public void setCode(String code) { this.code = code; }
+
+        public int getCount() { return count; }
+        public void setCount(int count) { this.count = count; }
+
+        public double getMaxWeightKg() { return maxWeightKg; }
+        public void setMaxWeightKg(double maxWeightKg) { this.maxWeightKg = maxWeightKg; }
+
+        public double getMaxVolumeM3() { return maxVolumeM3; }
+        public void setMaxVolumeM3(double maxVolumeM3) { this.maxVolumeM3 = maxVolumeM3; }
+    }
+
+    // Getters and setters for configuration properties
+    public LocalTime getDepartureTime() { return departureTime; }
+    public void setDepartureTime(LocalTime departureTime) { this.departureTime = departureTime; }
+
+    public String getDefaultPackageDimensions() { return defaultPackageDimensions; }
+    public void setDefaultPackageDimensions(String defaultPackageDimensions) { this.defaultPackageDimensions = defaultPackageDimensions; }
+
+    public double getDefaultPackageWeightKg() { return defaultPackageWeightKg; }
+    public void setDefaultPackageWeightKg(double defaultPackageWeightKg) { this.defaultPackageWeightKg = defaultPackageWeightKg; }
+
+    public List<VehicleType> getVehicles() { return vehicles; }
+    public void setVehicles(List<VehicleType> vehicles) { this.vehicles = vehicles; }
+}
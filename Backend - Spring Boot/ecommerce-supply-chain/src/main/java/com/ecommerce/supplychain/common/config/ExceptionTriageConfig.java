@@ -0,0 +1,62 @@
+package com.ecommerce.supplychain.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Assignee queues for triaged delivery exceptions, bound from app.exception-triage.
+ * The first queue whose criteria all match takes the exception; an empty criterion matches anything.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.exception-triage")
+public class ExceptionTriageConfig {
+
+    private List<String> defaultAgents = new ArrayList<>(List.of("support_general"));
+    private List<Queue> queues = new ArrayList<>();
+
+    public static class Queue {
+        private String name;
+        private List<String> types = new ArrayList<>();
+        private List<String> severities = new ArrayList<>();
+        private List<String> carriers = new ArrayList<>();
+        private List<String> regions = new ArrayList<>();
+        private List<String> agents = new ArrayList<>();
+
+        public boolean matches(String type, String severity, String carrier, String region) {
+            return matchesAny(types, type) && matchesAny(severities, severity)
+                    && matchesAny(carriers, carrier) && matchesAny(regions, region);
+        }
+
+        private static boolean matchesAny(List<String> allowed, String value) {
+            return allowed.isEmpty() || (value != null && allowed.stream().anyMatch(value::equalsIgnoreCase));
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public List<String> getTypes() { return types; }
+        public void setTypes(List<String> types) { this.types = types; }
+
+        public List<String> getSeverities() { return severities; }
+        public void setSeverities(List<String> severities) { this.severities = severities; }
+
+        public List<String> getCarriers() { return carriers; }
+        public void setCarriers(List<String> carriers) { this.carriers = carriers; }
+
+        public List<String> getRegions() { return regions; }
+        public void setRegions(List<String> regions) { this.regions = regions; }
+
+        public List<String> getAgents() { return agents; }
+        public void setAgents(List<String> agents) { this.agents = agents; }
+    }
+
+    // Getters and setters for configuration properties
+    public List<String> getDefaultAgents() { return defaultAgents; }
+    public void setDefaultAgents(List<String> defaultAgents) { this.defaultAgents = defaultAgents; }
+
+    public List<Queue> getQueues() { return queues; }
+    public void setQueues(List<Queue> queues) { this.queues = queues; }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.supplychain.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas serving @Transactional(readOnly = true) work, bound from app.read-replicas.
+ * With no sources configured every transaction runs on the primary.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.read-replicas")
+public class ReadReplicaConfig {
+
+    private long maxLagSeconds = 5;
+    private long checkIntervalMillis = 2000;
+    private String lagQuery = "SHOW REPLICA STATUS";
+    private String lagColumn = "Seconds_Behind_Source";
+    private List<Source> sources = new ArrayList<>();
+
+    public static class Source {
+        private String name;
+        private String url;
+        private String username; // defaults to the primary's credentials
+        private String password;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+
+    // Getters and setters for configuration properties
+    public long getMaxLagSeconds() { return maxLagSeconds; }
+    public void setMaxLagSeconds(long maxLagSeconds) { this.maxLagSeconds = maxLagSeconds; }
+
+    public long getCheckIntervalMillis() { return checkIntervalMillis; }
+    public void setCheckIntervalMillis(long checkIntervalMillis) { this.checkIntervalMillis = checkIntervalMillis; }
+
+    public String getLagQuery() { return lagQuery; }
+    public void setLagQuery(String lagQuery) { this.lagQuery = lagQuery; }
+
+    public String getLagColumn() { return lagColumn; }
+    public void setLagColumn(String lagColumn) { this.lagColumn = lagColumn; }
+
+    public List<Source> getSources() { return sources; }
+    public void setSources(List<Source> sources) { this.sources = sources; }
+}
@@ -0,0 +1,205 @@
+package com.ecommerce.supplychain.common.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only connection source: round-robins over the replicas whose replication lag is
+ * within the configured limit and falls back to the primary when none qualifies.
+ * A replica that reports no replication status, or no lag because its SQL thread has stopped,
+ * cannot show that it is current and is kept out of rotation like one that is unreachable.
+ * Lag is polled in the background, so picking a replica costs nothing on the request path.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final ReadReplicaConfig config;
+    private final Map<String, ReplicaState> states = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService lagChecker;
+
+    // Replicas currently eligible for reads; replaced wholesale by each lag check
+    private volatile String[] available = new String[0];
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReadReplicaConfig config) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.config = config;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        replicas.keySet().forEach(name -> states.put(name, new ReplicaState()));
+        if (replicas.isEmpty()) {
+            lagChecker = null;
+        } else {
+            lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-lag-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            lagChecker.scheduleWithFixedDelay(this::checkReplicas, 0,
+                    config.getCheckIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String[] candidates = available;
+        if (candidates.length == 0) {
+            return PRIMARY;
+        }
+        return candidates[Math.floorMod(next.getAndIncrement(), candidates.length)];
+    }
+
+    /**
+     * A replica that refuses a connection is taken out of rotation until the next successful check
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection();
+        }
+        try {
+            return replicas.get(key).getConnection();
+        } catch (SQLException e) {
+            markUnavailable((String) key, null, e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    /**
+     * Lag, availability and last error per replica, for health reporting
+     */
+    public Map<String, Object> getReplicaStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        for (String name : replicas.keySet()) {
+            ReplicaState state = states.get(name);
+            Map<String, Object> replica = new LinkedHashMap<>();
+            replica.put("available", state.available);
+            replica.put("lagSeconds", state.lagSeconds);
+            replica.put("checkedAt", state.checkedAt);
+            if (state.error != null) {
+                replica.put("error", state.error);
+            }
+            status.put(name, replica);
+        }
+        return status;
+    }
+
+    synchronized void checkReplicas() {
+        List<String> healthy = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            String name = replica.getKey();
+            try (Connection connection = replica.getValue().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(config.getLagQuery())) {
+
+                if (!resultSet.next()) {
+                    markUnavailable(name, null, "No replication status: the instance is not a replica");
+                    continue;
+                }
+                Object lag = resultSet.getObject(config.getLagColumn());
+                if (lag == null) {
+                    markUnavailable(name, null, "Replication is not running");
+                    continue;
+                }
+
+                long lagSeconds = ((Number) lag).longValue();
+                if (lagSeconds > config.getMaxLagSeconds()) {
+                    markUnavailable(name, lagSeconds, "Lag " + lagSeconds + "s exceeds " + config.getMaxLagSeconds() + "s");
+                } else {
+                    markAvailable(name, lagSeconds);
+                    healthy.add(name);
+                }
+            } catch (Exception e) {
+                markUnavailable(name, null, e.getMessage());
+            }
+        }
+        available = healthy.toArray(new String[0]);
+    }
+
+    private void markAvailable(String name, long lagSeconds) {
+        ReplicaState state = states.get(name);
+        if (!state.available) {
+            log.info("Read replica {} is back in rotation (lag {}s)", name, lagSeconds);
+        }
+        state.update(true, lagSeconds, null);
+    }
+
+    private void markUnavailable(String name, Long lagSeconds, String reason) {
+        ReplicaState state = states.get(name);
+        if (state.available) {
+            log.warn("Read replica {} taken out of rotation: {}", name, reason);
+            String[] current = available;
+            List<String> remaining = new ArrayList<>(current.length);
+            for (String candidate : current) {
+                if (!candidate.equals(name)) {
+                    remaining.add(candidate);
+                }
+            }
+            available = remaining.toArray(new String[0]);
+        }
+        state.update(false, lagSeconds, reason);
+    }
+
+    @Override
+    public void close() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close read replica pool: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static class ReplicaState {
+        private volatile boolean available;
+        private volatile Long lagSeconds;
+        private volatile String error;
+        private volatile LocalDateTime checkedAt;
+
+        private void update(boolean available, Long lagSeconds, String error) {
+            this.available = available;
+            this.lagSeconds = lagSeconds;
+            this.error = error;
+            this.checkedAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.supplychain.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Local-delivery routing parameters, bound from app.routing.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.routing")
+public class RoutingConfig {
+
+    private double depotLatitude;
+    private double depotLongitude;
+    private double averageSpeedKmh = 30;
+    private double roadFactor = 1.3; // straight-line to road distance
+    private double serviceMinutes = 5;
+    private double reloadMinutes = 20;
+    private double shiftHours = 10;
+    private int neighbourCount = 40;
+    private long localSearchMillis = 1500;
+    private Map<String, LocalTime> serviceDeadlines = new HashMap<>(); // serviceType -> latest delivery time
+
+    // Getters and setters for configuration properties
+    public double getDepotLatitude() { return depotLatitude; }
+    public void setDepotLatitude(double depotLatitude) { this.depotLatitude = depotLatitude; }
+
+    public double getDepotLongitude() { return depotLongitude; }
+    public void setDepotLongitude(double depotLongitude) { this.depotLongitude = depotLongitude; }
+
+    public double getAverageSpeedKmh() { return averageSpeedKmh; }
+    public void setAverageSpeedKmh(double averageSpeedKmh) { this.averageSpeedKmh = averageSpeedKmh; }
+
+    public double getRoadFactor() { return roadFactor; }
+    public void setRoadFactor(double roadFactor) { this.roadFactor = roadFactor; }
+
+    public double getServiceMinutes() { return serviceMinutes; }
+    public void setServiceMinutes(double serviceMinutes) { this.serviceMinutes = serviceMinutes; }
+
+    public double getReloadMinutes() { return reloadMinutes; }
+    public void setReloadMinutes(double reloadMinutes) { this.reloadMinutes = reloadMinutes; }
+
+    public double getShiftHours() { return shiftHours; }
+    public void setShiftHours(double shiftHours) { this.shiftHours = shiftHours; }
+
+    public int getNeighbourCount() { return neighbourCount; }
+    public void setNeighbourCount(int neighbourCount) { this.neighbourCount = neighbourCount; }
+
+    public long getLocalSearchMillis() { return localSearchMillis; }
+    public void setLocalSearchMillis(long localSearchMillis) { this.localSearchMillis = localSearchMillis; }
+
+    public Map<String, LocalTime> getServiceDeadlines() { return serviceDeadlines; }
+    public void setServiceDeadlines(Map<String, LocalTime> serviceDeadlines) { this.serviceDeadlines = serviceDeadlines; }
+}
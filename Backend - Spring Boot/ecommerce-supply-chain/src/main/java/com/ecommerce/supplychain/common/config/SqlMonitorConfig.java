@@ -0,0 +1,38 @@
+package com.ecommerce.supplychain.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JDBC statement monitoring thresholds, bound from app.sql-monitor.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.sql-monitor")
+public class SqlMonitorConfig {
+
+    private boolean enabled = true;
+    private long slowQueryMillis = 200;
+    private int repeatedStatementThreshold = 5; // executions of one statement shape per request before it counts as N+1
+    private int windowMinutes = 10;
+    private int slowSampleSize = 50;
+    private int maxParameterLength = 100;
+
+    // Getters and setters for configuration properties
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getSlowQueryMillis() { return slowQueryMillis; }
+    public void setSlowQueryMillis(long slowQueryMillis) { this.slowQueryMillis = slowQueryMillis; }
+
+    public int getRepeatedStatementThreshold() { return repeatedStatementThreshold; }
+    public void setRepeatedStatementThreshold(int repeatedStatementThreshold) { this.repeatedStatementThreshold = repeatedStatementThreshold; }
+
+    public int getWindowMinutes() { return windowMinutes; }
+    public void setWindowMinutes(int windowMinutes) { this.windowMinutes = windowMinutes; }
+
+    public int getSlowSampleSize() { return slowSampleSize; }
+    public void setSlowSampleSize(int slowSampleSize) { this.slowSampleSize = slowSampleSize; }
+
+    public int getMaxParameterLength() { return maxParameterLength; }
+    public void setMaxParameterLength(int maxParameterLength) { this.maxParameterLength = maxParameterLength; }
+}
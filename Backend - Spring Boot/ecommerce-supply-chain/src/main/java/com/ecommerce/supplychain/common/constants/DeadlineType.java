@@ -0,0 +1,19 @@
+package com.ecommerce.supplychain.common.constants;
+
+public final class DeadlineType {
+
+    private DeadlineType() {} // Utility class
+
+    // Deadlines registered with DeadlineScheduler, one per subject
+    public static final String CONTRACT_EXPIRY = "CONTRACT_EXPIRY";
+    public static final String PO_DELIVERY_DUE = "PO_DELIVERY_DUE";
+    public static final String SHIPMENT_DELIVERY_DUE = "SHIPMENT_DELIVERY_DUE";
+    public static final String STOCK_ALERT_ESCALATION = "STOCK_ALERT_ESCALATION";
+    public static final String REORDER_STOCKOUT = "REORDER_STOCKOUT";
+
+    // Deadline statuses
+    public static final String PENDING = "PENDING";
+    public static final String FIRED = "FIRED";
+    public static final String CANCELLED = "CANCELLED";
+    public static final String FAILED = "FAILED";
+}
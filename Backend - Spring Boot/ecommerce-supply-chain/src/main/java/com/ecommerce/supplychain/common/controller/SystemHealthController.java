@@ -1,22 +1,31 @@
 package com.ecommerce.supplychain.common.controller;
 
+import com.ecommerce.supplychain.common.config.ReplicaRoutingDataSource;
 import com.ecommerce.supplychain.common.util.DateUtil;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.sql.DataSource;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.lang.management.RuntimeMXBean;
+import java.sql.Connection;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.Map;
 
 @Slf4j
+@Lazy // rarely called; created on the first request instead of at startup
 @RestController
 @RequestMapping("/api/common/health")
 public class SystemHealthController {
@@ -27,6 +36,16 @@ public class SystemHealthController {
     @Value("${spring.application.version:2.0.0}")
     private String applicationVersion;
 
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource readReplicaDataSource;
+
     /**
      * API 1: System Health Check
      * GET /api/common/health
@@ -50,7 +69,7 @@ public class SystemHealthController {
         // Process information
         healthInfo.put("process", getProcessInfo());
 
-        // Database connectivity (simulated)
+        // Database connectivity and connection pool usage
         healthInfo.put("database", getDatabaseStatus());
 
         return ResponseEntity.ok(healthInfo);
@@ -144,10 +163,23 @@ public class SystemHealthController {
 
     private Map<String, Object> getDatabaseStatus() {
         Map<String, Object> dbStatus = new HashMap<>();
-        dbStatus.put("status", "CONNECTED");
-        dbStatus.put("type", "MySQL");
+        try (Connection connection = dataSource.getConnection()) {
+            dbStatus.put("status", connection.isValid(1) ? "CONNECTED" : "UNAVAILABLE");
+            dbStatus.put("type", connection.getMetaData().getDatabaseProductName());
+        } catch (Exception e) {
+            log.warn("Database health check failed: {}", e.getMessage());
+            dbStatus.put("status", "UNAVAILABLE");
+            dbStatus.put("error", e.getMessage());
+        }
+
+        if (primaryDataSource instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            dbStatus.put("activeConnections", pool.getActiveConnections());
+            dbStatus.put("idleConnections", pool.getIdleConnections());
+            dbStatus.put("threadsAwaitingConnection", pool.getThreadsAwaitingConnection());
+        }
+        dbStatus.put("readReplicas", readReplicaDataSource.getReplicaStatus());
         dbStatus.put("timestamp", DateUtil.getCurrentTimestamp());
-        // In real implementation, this would test actual database connectivity
         return dbStatus;
     }
 
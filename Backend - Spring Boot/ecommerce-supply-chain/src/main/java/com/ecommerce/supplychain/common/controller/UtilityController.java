@@ -4,6 +4,7 @@ import com.ecommerce.supplychain.common.util.DateUtil;
 import com.ecommerce.supplychain.common.util.ValidationUtil;
 import com.ecommerce.supplychain.common.util.InventoryCalculator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,6 +13,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Slf4j
+@Lazy // rarely called; created on the first request instead of at startup
 @RestController
 @RequestMapping("/api/common/utils")
 public class UtilityController {
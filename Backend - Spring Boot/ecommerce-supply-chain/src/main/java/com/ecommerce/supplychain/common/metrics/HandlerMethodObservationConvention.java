@@ -0,0 +1,45 @@
+package com.ecommerce.supplychain.common.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Adds a "handler" tag (Controller.method) to http.server.requests so latency can be
+ * broken down per controller method, not only per URI template.
+ */
+@Component
+public class HandlerMethodObservationConvention extends DefaultServerRequestObservationConvention {
+
+    public static final String HANDLER_TAG = "handler";
+    public static final String NO_HANDLER_NAME = "none";
+    private static final KeyValue NO_HANDLER = KeyValue.of(HANDLER_TAG, NO_HANDLER_NAME);
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(handler(context));
+    }
+
+    private KeyValue handler(ServerRequestObservationContext context) {
+        if (context.getCarrier() == null) {
+            return NO_HANDLER;
+        }
+        return KeyValue.of(HANDLER_TAG, handlerName(context.getCarrier()));
+    }
+
+    /**
+     * Controller.method that served the request, or "none" before/without handler mapping
+     */
+    public static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return NO_HANDLER_NAME;
+    }
+}
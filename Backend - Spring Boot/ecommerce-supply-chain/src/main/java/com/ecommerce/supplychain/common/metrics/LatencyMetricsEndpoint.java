@@ -0,0 +1,158 @@
+package com.ecommerce.supplychain.common.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actuator endpoint summarizing where request time goes: slowest controller methods,
+ * slowest repository queries, Hibernate statistics and connection-pool wait.
+ * GET /actuator/latency?top=20
+ *
+ * All figures are read from meters that are recorded anyway (http.server.requests,
+ * spring.data.repository.invocations, hikaricp.*), so this endpoint adds no cost to
+ * the request path. Prometheus scrapes the same meters from /actuator/prometheus.
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyMetricsEndpoint {
+
+    private static final int DEFAULT_TOP = 20;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource dataSource;
+
+    @ReadOperation
+    public Map<String, Object> latency(@Nullable Integer top) {
+        int limit = top != null && top > 0 ? top : DEFAULT_TOP;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("endpoints", timerRows("http.server.requests", limit,
+                HandlerMethodObservationConvention.HANDLER_TAG, "method", "uri", "outcome"));
+        report.put("repositoryQueries", timerRows("spring.data.repository.invocations", limit,
+                "repository", "method", "state"));
+        report.put("hibernate", hibernateStatistics());
+        report.put("connectionPool", connectionPool());
+        return report;
+    }
+
+    /**
+     * One row per timer, slowest p99 first
+     */
+    private List<Map<String, Object>> timerRows(String meterName, int limit, String... tagKeys) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Timer timer : meterRegistry.find(meterName).timers()) {
+            if (HandlerMethodObservationConvention.NO_HANDLER_NAME.equals(timer.getId().getTag(HandlerMethodObservationConvention.HANDLER_TAG))) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String key : tagKeys) {
+                row.put(key, timer.getId().getTag(key));
+            }
+            row.putAll(timerSummary(timer));
+            rows.add(row);
+        }
+        rows.sort(Comparator.comparingDouble((Map<String, Object> row) -> (Double) row.get("p99Ms")).reversed());
+        return rows.size() > limit ? rows.subList(0, limit) : rows;
+    }
+
+    private Map<String, Object> timerSummary(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", snapshot.count());
+        summary.put("meanMs", round(snapshot.mean(TimeUnit.MILLISECONDS)));
+        summary.put("maxMs", round(snapshot.max(TimeUnit.MILLISECONDS)));
+        summary.put("totalMs", round(snapshot.total(TimeUnit.MILLISECONDS)));
+
+        double p50 = 0;
+        double p95 = 0;
+        double p99 = 0;
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            double millis = value.value(TimeUnit.MILLISECONDS);
+            if (value.percentile() == 0.5) {
+                p50 = millis;
+            } else if (value.percentile() == 0.95) {
+                p95 = millis;
+            } else if (value.percentile() == 0.99) {
+                p99 = millis;
+            }
+        }
+        summary.put("p50Ms", round(p50));
+        summary.put("p95Ms", round(p95));
+        summary.put("p99Ms", round(p99));
+        return summary;
+    }
+
+    private Map<String, Object> hibernateStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> hibernate = new LinkedHashMap<>();
+        hibernate.put("enabled", statistics.isStatisticsEnabled());
+        if (!statistics.isStatisticsEnabled()) {
+            return hibernate;
+        }
+        hibernate.put("queryExecutions", statistics.getQueryExecutionCount());
+        hibernate.put("queryMaxTimeMs", statistics.getQueryExecutionMaxTime());
+        hibernate.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        hibernate.put("preparedStatements", statistics.getPrepareStatementCount());
+        hibernate.put("entityLoads", statistics.getEntityLoadCount());
+        hibernate.put("entityFetches", statistics.getEntityFetchCount());
+        hibernate.put("collectionLoads", statistics.getCollectionLoadCount());
+        hibernate.put("collectionFetches", statistics.getCollectionFetchCount());
+        hibernate.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        hibernate.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        hibernate.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        hibernate.put("transactions", statistics.getTransactionCount());
+        hibernate.put("flushes", statistics.getFlushCount());
+        return hibernate;
+    }
+
+    private Map<String, Object> connectionPool() {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        if (acquire != null) {
+            pool.put("acquire", timerSummary(acquire));
+        }
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean poolBean = hikari.getHikariPoolMXBean();
+            pool.put("poolName", hikari.getPoolName());
+            pool.put("maximumPoolSize", hikari.getMaximumPoolSize());
+            if (poolBean != null) {
+                pool.put("active", poolBean.getActiveConnections());
+                pool.put("idle", poolBean.getIdleConnections());
+                pool.put("pendingThreads", poolBean.getThreadsAwaitingConnection());
+            }
+        }
+        return pool;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.supplychain.common.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint for JDBC statement behaviour per controller method: statements per
+ * request, N+1 patterns and sampled slow statements with their parameters.
+ * GET /actuator/sql?top=20, DELETE /actuator/sql clears the window.
+ */
+@Component
+@Endpoint(id = "sql")
+public class SqlMonitorEndpoint {
+
+    private static final int DEFAULT_TOP = 20;
+
+    @Autowired
+    private SqlStatementMonitor sqlStatementMonitor;
+
+    @ReadOperation
+    public Map<String, Object> sql(@Nullable Integer top) {
+        return sqlStatementMonitor.report(top != null && top > 0 ? top : DEFAULT_TOP);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlStatementMonitor.reset();
+    }
+}
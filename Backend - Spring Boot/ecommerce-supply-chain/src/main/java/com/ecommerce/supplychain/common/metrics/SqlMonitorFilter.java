@@ -0,0 +1,41 @@
+package com.ecommerce.supplychain.common.metrics;
+
+import com.ecommerce.supplychain.common.config.SqlMonitorConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a JDBC statement scope per request so {@link SqlStatementMonitor} can
+ * attribute statements, and repeated statement shapes, to the handling endpoint.
+ */
+@Component
+public class SqlMonitorFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private SqlMonitorConfig sqlMonitorConfig;
+
+    @Autowired
+    private SqlStatementMonitor sqlStatementMonitor;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!sqlMonitorConfig.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        sqlStatementMonitor.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            sqlStatementMonitor.endRequest(HandlerMethodObservationConvention.handlerName(request));
+        }
+    }
+}
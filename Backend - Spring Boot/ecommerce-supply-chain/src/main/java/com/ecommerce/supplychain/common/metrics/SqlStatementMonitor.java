@@ -0,0 +1,382 @@
+package com.ecommerce.supplychain.common.metrics;
+
+import com.ecommerce.supplychain.common.config.SqlMonitorConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Times every JDBC statement passing through the proxied DataSource.
+ * Statements are grouped per HTTP request by shape (SQL text with IN-lists collapsed);
+ * a shape executed repeatedly within one request is reported as an N+1 pattern.
+ * Per-endpoint totals are kept in one-minute buckets over a rolling window, and slow
+ * statements are sampled with their bound parameters.
+ */
+@Slf4j
+@Component
+public class SqlStatementMonitor implements QueryExecutionListener {
+
+    public static final String BACKGROUND = "background";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final int SHAPE_CACHE_LIMIT = 5000;
+
+    @Autowired
+    private SqlMonitorConfig sqlMonitorConfig;
+
+    // Resolved lazily: the registry's binders depend on the DataSource this listener is attached to
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final ThreadLocal<RequestStatements> currentRequest = new ThreadLocal<>();
+    private final Map<String, String> shapeCache = new ConcurrentHashMap<>();
+    private final Map<String, EndpointWindow> windows = new ConcurrentHashMap<>();
+    private final Deque<SlowStatement> slowStatements = new ArrayDeque<>();
+
+    public void beginRequest() {
+        currentRequest.set(new RequestStatements());
+    }
+
+    /**
+     * Close the current request's statement scope and fold it into the endpoint's window
+     */
+    public void endRequest(String endpoint) {
+        RequestStatements request = currentRequest.get();
+        currentRequest.remove();
+        if (request == null || request.statements == 0) {
+            return;
+        }
+
+        Map<String, ShapeCount> repeated = new HashMap<>();
+        request.byShape.forEach((shape, count) -> {
+            if (count.executions >= sqlMonitorConfig.getRepeatedStatementThreshold()) {
+                repeated.put(shape, count);
+            }
+        });
+        if (!repeated.isEmpty() && log.isDebugEnabled()) {
+            repeated.forEach((shape, count) ->
+                    log.debug("Repeated SQL in {}: {} executions of {}", endpoint, count.executions, shape));
+        }
+
+        windows.computeIfAbsent(endpoint, key -> new EndpointWindow(sqlMonitorConfig.getWindowMinutes()))
+                .record(currentMinute(), request, repeated);
+        for (SlowStatement slow : request.slow) {
+            slow.endpoint = endpoint;
+            addSlowSample(slow);
+        }
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.summary("jdbc.request.statements", HandlerMethodObservationConvention.HANDLER_TAG, endpoint)
+                    .record(request.statements);
+            if (!repeated.isEmpty()) {
+                registry.counter("jdbc.request.repeated", HandlerMethodObservationConvention.HANDLER_TAG, endpoint)
+                        .increment();
+            }
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        long elapsedMillis = execInfo.getElapsedTime();
+        RequestStatements request = currentRequest.get();
+        if (request != null) {
+            long share = elapsedMillis / queryInfoList.size();
+            for (QueryInfo query : queryInfoList) {
+                request.add(shapeOf(query.getQuery()), share);
+            }
+        }
+
+        if (elapsedMillis >= sqlMonitorConfig.getSlowQueryMillis()) {
+            QueryInfo query = queryInfoList.get(0);
+            SlowStatement slow = new SlowStatement(LocalDateTime.now(), elapsedMillis, query.getQuery(),
+                    parametersOf(query), execInfo.isBatch() ? execInfo.getBatchSize() : 1);
+            log.warn("Slow SQL ({} ms): {}", elapsedMillis, WHITESPACE.matcher(query.getQuery()).replaceAll(" "));
+            if (request != null) {
+                request.slow.add(slow);
+            } else {
+                slow.endpoint = BACKGROUND;
+                addSlowSample(slow);
+            }
+        }
+    }
+
+    /**
+     * Per-endpoint statement counts, repeated shapes and slow samples over the rolling window.
+     * Endpoints with N+1 patterns come first, then the most statements per request.
+     */
+    public Map<String, Object> report(int top) {
+        long minute = currentMinute();
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        windows.forEach((endpoint, window) -> {
+            Bucket total = window.aggregate(minute);
+            if (total.requests > 0) {
+                endpoints.add(endpointRow(endpoint, total, top));
+            }
+        });
+        endpoints.sort(Comparator.comparingLong((Map<String, Object> row) -> (Long) row.get("repeatedStatementRequests"))
+                .thenComparingDouble(row -> (Double) row.get("statementsPerRequest"))
+                .reversed());
+
+        List<Map<String, Object>> slow = new ArrayList<>();
+        synchronized (slowStatements) {
+            for (SlowStatement statement : slowStatements) {
+                slow.add(statement.toMap());
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("windowMinutes", sqlMonitorConfig.getWindowMinutes());
+        report.put("slowQueryMillis", sqlMonitorConfig.getSlowQueryMillis());
+        report.put("repeatedStatementThreshold", sqlMonitorConfig.getRepeatedStatementThreshold());
+        report.put("endpoints", endpoints.size() > top ? endpoints.subList(0, top) : endpoints);
+        report.put("slowStatements", slow);
+        return report;
+    }
+
+    public void reset() {
+        windows.clear();
+        synchronized (slowStatements) {
+            slowStatements.clear();
+        }
+    }
+
+    private Map<String, Object> endpointRow(String endpoint, Bucket total, int top) {
+        List<Map<String, Object>> repeated = new ArrayList<>();
+        total.repeated.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, RepeatedShape> entry) -> entry.getValue().executions)
+                        .reversed())
+                .limit(top)
+                .forEach(entry -> {
+                    RepeatedShape shape = entry.getValue();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("sql", entry.getKey());
+                    row.put("requests", shape.requests);
+                    row.put("avgExecutionsPerRequest", round((double) shape.executions / shape.requests));
+                    row.put("maxExecutionsPerRequest", shape.maxExecutions);
+                    row.put("totalMillis", shape.millis);
+                    repeated.add(row);
+                });
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("endpoint", endpoint);
+        row.put("requests", total.requests);
+        row.put("statements", total.statements);
+        row.put("statementsPerRequest", round((double) total.statements / total.requests));
+        row.put("statementMillis", total.statementMillis);
+        row.put("slowStatements", total.slowStatements);
+        row.put("repeatedStatementRequests", total.repeatedRequests);
+        row.put("repeatedStatements", repeated);
+        return row;
+    }
+
+    /**
+     * Statement text with whitespace normalized and IN-lists collapsed, so one query shape maps to one key
+     */
+    String shapeOf(String sql) {
+        String shape = shapeCache.get(sql);
+        if (shape == null) {
+            shape = IN_LIST.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("(?...)");
+            if (shapeCache.size() < SHAPE_CACHE_LIMIT) {
+                shapeCache.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    private List<String> parametersOf(QueryInfo query) {
+        List<String> parameters = new ArrayList<>();
+        if (query.getParametersList().isEmpty()) {
+            return parameters;
+        }
+        for (ParameterSetOperation operation : query.getParametersList().get(0)) {
+            Object[] args = operation.getArgs();
+            String value = "setNull".equals(operation.getMethod().getName()) || args.length < 2
+                    ? "null" : String.valueOf(args[1]);
+            if (value.length() > sqlMonitorConfig.getMaxParameterLength()) {
+                value = value.substring(0, sqlMonitorConfig.getMaxParameterLength()) + "...";
+            }
+            parameters.add(args[0] + "=" + value);
+        }
+        return parameters;
+    }
+
+    private void addSlowSample(SlowStatement slow) {
+        synchronized (slowStatements) {
+            slowStatements.addFirst(slow);
+            while (slowStatements.size() > sqlMonitorConfig.getSlowSampleSize()) {
+                slowStatements.removeLast();
+            }
+        }
+    }
+
+    private static long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static class RequestStatements {
+        private final Map<String, ShapeCount> byShape = new HashMap<>();
+        private final List<SlowStatement> slow = new ArrayList<>(0);
+        private int statements;
+        private long millis;
+
+        private void add(String shape, long elapsedMillis) {
+            ShapeCount count = byShape.computeIfAbsent(shape, key -> new ShapeCount());
+            count.executions++;
+            count.millis += elapsedMillis;
+            statements++;
+            millis += elapsedMillis;
+        }
+    }
+
+    private static class ShapeCount {
+        private int executions;
+        private long millis;
+    }
+
+    private static class RepeatedShape {
+        private long requests;
+        private long executions;
+        private int maxExecutions;
+        private long millis;
+    }
+
+    private static class Bucket {
+        private long minute = -1;
+        private long requests;
+        private long statements;
+        private long statementMillis;
+        private long slowStatements;
+        private long repeatedRequests;
+        private final Map<String, RepeatedShape> repeated = new HashMap<>();
+
+        private void reset(long minute) {
+            this.minute = minute;
+            requests = 0;
+            statements = 0;
+            statementMillis = 0;
+            slowStatements = 0;
+            repeatedRequests = 0;
+            repeated.clear();
+        }
+
+        private void merge(Bucket other) {
+            requests += other.requests;
+            statements += other.statements;
+            statementMillis += other.statementMillis;
+            slowStatements += other.slowStatements;
+            repeatedRequests += other.repeatedRequests;
+            other.repeated.forEach((shape, counts) -> {
+                RepeatedShape merged = repeated.computeIfAbsent(shape, key -> new RepeatedShape());
+                merged.requests += counts.requests;
+                merged.executions += counts.executions;
+                merged.maxExecutions = Math.max(merged.maxExecutions, counts.maxExecutions);
+                merged.millis += counts.millis;
+            });
+        }
+    }
+
+    /**
+     * Ring of one-minute buckets; a bucket is recycled when its minute falls out of the window
+     */
+    private static class EndpointWindow {
+        private final Bucket[] buckets;
+
+        private EndpointWindow(int minutes) {
+            buckets = new Bucket[Math.max(1, minutes)];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new Bucket();
+            }
+        }
+
+        private synchronized void record(long minute, RequestStatements request, Map<String, ShapeCount> repeated) {
+            Bucket bucket = buckets[(int) (minute % buckets.length)];
+            if (bucket.minute != minute) {
+                bucket.reset(minute);
+            }
+            bucket.requests++;
+            bucket.statements += request.statements;
+            bucket.statementMillis += request.millis;
+            bucket.slowStatements += request.slow.size();
+            if (!repeated.isEmpty()) {
+                bucket.repeatedRequests++;
+            }
+            repeated.forEach((shape, count) -> {
+                RepeatedShape stats = bucket.repeated.computeIfAbsent(shape, key -> new RepeatedShape());
+                stats.requests++;
+                stats.executions += count.executions;
+                stats.maxExecutions = Math.max(stats.maxExecutions, count.executions);
+                stats.millis += count.millis;
+            });
+        }
+
+        private synchronized Bucket aggregate(long minute) {
+            Bucket total = new Bucket();
+            for (Bucket bucket : buckets) {
+                if (bucket.minute > minute - buckets.length) {
+                    total.merge(bucket);
+                }
+            }
+            return total;
+        }
+    }
+
+    private static class SlowStatement {
+        private final LocalDateTime executedAt;
+        private final long elapsedMillis;
+        private final String sql;
+        private final List<String> parameters;
+        private final int batchSize;
+        private String endpoint;
+
+        private SlowStatement(LocalDateTime executedAt, long elapsedMillis, String sql, List<String> parameters, int batchSize) {
+            this.executedAt = executedAt;
+            this.elapsedMillis = elapsedMillis;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.batchSize = batchSize;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("executedAt", executedAt.toString());
+            row.put("endpoint", endpoint);
+            row.put("elapsedMillis", elapsedMillis);
+            row.put("sql", WHITESPACE.matcher(sql).replaceAll(" "));
+            row.put("parameters", parameters);
+            row.put("batchSize", batchSize);
+            return row;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.supplychain.common.scheduling;
+
+import java.time.LocalDateTime;
+
+/**
+ * Callback for one deadline type, implemented by the service that owns the subject.
+ * Runs in the transaction that marks the deadline fired, so a failed callback leaves the
+ * deadline pending for a retry. A deadline may fire again after a crash, so the callback
+ * checks the subject's current state before acting.
+ */
+public interface DeadlineHandler {
+
+    String getDeadlineType();
+
+    void onDeadline(Long referenceId, LocalDateTime dueAt);
+}
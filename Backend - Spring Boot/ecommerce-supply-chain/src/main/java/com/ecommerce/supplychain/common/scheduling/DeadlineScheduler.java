@@ -0,0 +1,268 @@
+package com.ecommerce.supplychain.common.scheduling;
+
+import com.ecommerce.supplychain.common.constants.DeadlineType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadlines for time-based supply-chain events: contract expiry, overdue purchase orders and
+ * shipments, stock alert escalation and projected stockouts. Services register a deadline when
+ * its subject is created or changes, and the handler of its type is called when it falls due.
+ * Every deadline is stored in scheduled_deadlines; those due within the horizon are also held in
+ * a timing wheel that a background thread advances each tick. The next stretch of the table is
+ * read by due time whenever half the horizon has passed, so nothing is polled per subject.
+ */
+@Slf4j
+@Service
+public class DeadlineScheduler {
+
+    @Autowired
+    private ScheduledDeadlineRepository deadlineRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<DeadlineHandler> deadlineHandlers;
+
+    @Value("${app.deadlines.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.deadlines.tick-millis:1000}")
+    private long tickMillis;
+
+    @Value("${app.deadlines.horizon-hours:24}")
+    private long horizonHours;
+
+    @Value("${app.deadlines.retry-delay-seconds:300}")
+    private long retryDelaySeconds;
+
+    @Value("${app.deadlines.max-attempts:3}")
+    private int maxAttempts;
+
+    private final Queue<DeadlineKey> due = new ConcurrentLinkedQueue<>();
+    private TimingWheel<DeadlineKey> wheel;
+    private ScheduledExecutorService scheduler;
+    private Map<String, DeadlineHandler> handlers;
+    // Deadlines due before this are in the wheel; null until the first load
+    private volatile LocalDateTime loadedUntil;
+    private LocalDateTime nextLoadAt;
+
+    @PostConstruct
+    public void start() {
+        wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deadline-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::tickSafely, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Register or move the deadline of a subject; takes effect when the caller's transaction commits
+     */
+    @Transactional
+    public void schedule(String deadlineType, Long referenceId, LocalDateTime dueAt) {
+        if (referenceId == null || dueAt == null) {
+            return;
+        }
+        LocalDateTime dueAtSecond = dueAt.truncatedTo(ChronoUnit.SECONDS);
+        deadlineRepository.upsert(deadlineType, referenceId, dueAtSecond, LocalDateTime.now());
+        afterCommit(() -> enqueue(new DeadlineKey(deadlineType, referenceId), dueAtSecond));
+    }
+
+    /**
+     * Drop the pending deadline of a subject, if any
+     */
+    @Transactional
+    public void cancel(String deadlineType, Long referenceId) {
+        if (referenceId != null) {
+            deadlineRepository.cancel(deadlineType, referenceId, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Load due deadlines, advance the wheel and fire what fell due.
+     * Runs on the scheduler thread; callable directly when the background thread is disabled.
+     */
+    public synchronized int tick() {
+        LocalDateTime now = LocalDateTime.now();
+        if (nextLoadAt == null || !now.isBefore(nextLoadAt)) {
+            load(now);
+        }
+        synchronized (wheel) {
+            wheel.advance(System.currentTimeMillis(), due::add);
+        }
+        int fired = 0;
+        DeadlineKey key;
+        while ((key = due.poll()) != null) {
+            if (fire(key)) {
+                fired++;
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Pending deadlines held in memory, for monitoring
+     */
+    public int getScheduledInMemory() {
+        synchronized (wheel) {
+            return wheel.size() + due.size();
+        }
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            log.warn("Deadline tick failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Extend the horizon and load the deadlines that fall into the new stretch.
+     * The horizon moves before the read, so a deadline committed meanwhile is either read or enqueued by its caller.
+     */
+    private void load(LocalDateTime now) {
+        LocalDateTime from = loadedUntil;
+        LocalDateTime until = now.plusHours(horizonHours);
+        loadedUntil = until;
+        List<ScheduledDeadline> pending = new TransactionTemplate(transactionManager).execute(status -> from == null
+                ? deadlineRepository.findPendingDueBefore(until)
+                : deadlineRepository.findPendingDueBetween(from, until));
+        if (pending != null) {
+            pending.forEach(deadline -> enqueue(new DeadlineKey(deadline.getDeadlineType(), deadline.getReferenceId()),
+                    deadline.getDueAt()));
+        }
+        nextLoadAt = now.plusMinutes(Math.max(1, horizonHours * 30));
+    }
+
+    private void enqueue(DeadlineKey key, LocalDateTime dueAt) {
+        LocalDateTime horizon = loadedUntil;
+        if (horizon == null || !dueAt.isBefore(horizon)) {
+            return;
+        }
+        synchronized (wheel) {
+            if (!wheel.add(dueAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), key)) {
+                due.add(key);
+            }
+        }
+    }
+
+    /**
+     * Call the handler and mark the deadline fired in one transaction.
+     * A deadline that was moved, cancelled or already fired is skipped; the wheel may hold it twice.
+     */
+    private boolean fire(DeadlineKey key) {
+        DeadlineHandler handler = handlerFor(key.deadlineType);
+        try {
+            Boolean fired = new TransactionTemplate(transactionManager).execute(status -> {
+                ScheduledDeadline deadline = deadlineRepository.findForUpdate(key.deadlineType, key.referenceId).orElse(null);
+                LocalDateTime now = LocalDateTime.now();
+                if (deadline == null || !DeadlineType.PENDING.equals(deadline.getStatus()) || deadline.getDueAt().isAfter(now)) {
+                    return false;
+                }
+                if (handler == null) {
+                    throw new IllegalStateException("No handler for deadline type " + key.deadlineType);
+                }
+                // Marked first, so a handler that registers the subject's next deadline is not overwritten
+                deadline.setStatus(DeadlineType.FIRED);
+                deadline.setAttempts(deadline.getAttempts() + 1);
+                deadline.setFiredAt(now);
+                deadlineRepository.saveAndFlush(deadline);
+                handler.onDeadline(deadline.getReferenceId(), deadline.getDueAt());
+                return true;
+            });
+            return Boolean.TRUE.equals(fired);
+        } catch (RuntimeException e) {
+            recordFailure(key, e);
+            return false;
+        }
+    }
+
+    /**
+     * Retry a failed deadline after the retry delay, up to the maximum attempts
+     */
+    private void recordFailure(DeadlineKey key, RuntimeException error) {
+        LocalDateTime retryAt = LocalDateTime.now().plusSeconds(retryDelaySeconds).truncatedTo(ChronoUnit.SECONDS);
+        String status = new TransactionTemplate(transactionManager).execute(tx -> {
+            ScheduledDeadline deadline = deadlineRepository.findForUpdate(key.deadlineType, key.referenceId).orElse(null);
+            if (deadline == null) {
+                return null;
+            }
+            String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+            deadline.setAttempts(deadline.getAttempts() + 1);
+            deadline.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+            if (deadline.getAttempts() >= maxAttempts) {
+                deadline.setStatus(DeadlineType.FAILED);
+            } else {
+                deadline.setDueAt(retryAt);
+            }
+            deadlineRepository.save(deadline);
+            return deadline.getStatus();
+        });
+        log.warn("Deadline {} {} failed: {}", key.deadlineType, key.referenceId, error.getMessage());
+        if (DeadlineType.PENDING.equals(status)) {
+            enqueue(key, retryAt);
+        }
+    }
+
+    private DeadlineHandler handlerFor(String deadlineType) {
+        if (handlers == null) {
+            Map<String, DeadlineHandler> byType = new HashMap<>();
+            deadlineHandlers.orderedStream().forEach(handler -> byType.put(handler.getDeadlineType(), handler));
+            handlers = byType;
+        }
+        return handlers.get(deadlineType);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record DeadlineKey(String deadlineType, Long referenceId) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.supplychain.common.scheduling;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a registered deadline: when it falls due the scheduler calls the
+ * handler of its type with the subject's ID. One row per type and subject; registering
+ * again moves the deadline.
+ */
+@Entity
+@Table(name = "scheduled_deadlines",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"deadline_type", "reference_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledDeadline {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "deadline_id")
+    private Long deadlineId;
+
+    @Column(name = "deadline_type", nullable = false, length = 50)
+    private String deadlineType; // CONTRACT_EXPIRY, PO_DELIVERY_DUE, SHIPMENT_DELIVERY_DUE, STOCK_ALERT_ESCALATION, REORDER_STOCKOUT
+
+    @Column(name = "reference_id", nullable = false)
+    private Long referenceId; // ID of the contract, purchase order, shipment, alert or plan
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status; // PENDING, FIRED, CANCELLED, FAILED
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "fired_at")
+    private LocalDateTime firedAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.supplychain.common.scheduling;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for registered deadlines.
+ * Registering is one upsert, so moving a deadline never needs to read it first.
+ */
+@Repository
+public interface ScheduledDeadlineRepository extends JpaRepository<ScheduledDeadline, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO scheduled_deadlines (deadline_type, reference_id, due_at, status, attempts, " +
+            "created_at, updated_at) VALUES (:deadlineType, :referenceId, :dueAt, 'PENDING', 0, :now, :now) " +
+            "ON DUPLICATE KEY UPDATE due_at = VALUES(due_at), status = 'PENDING', attempts = 0, last_error = NULL, " +
+            "fired_at = NULL, updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int upsert(@Param("deadlineType") String deadlineType,
+               @Param("referenceId") Long referenceId,
+               @Param("dueAt") LocalDateTime dueAt,
+               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ScheduledDeadline d SET d.status = 'CANCELLED', d.updatedAt = :now " +
+            "WHERE d.deadlineType = :deadlineType AND d.referenceId = :referenceId AND d.status = 'PENDING'")
+    int cancel(@Param("deadlineType") String deadlineType,
+               @Param("referenceId") Long referenceId,
+               @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM ScheduledDeadline d WHERE d.deadlineType = :deadlineType AND d.referenceId = :referenceId")
+    Optional<ScheduledDeadline> findForUpdate(@Param("deadlineType") String deadlineType,
+                                              @Param("referenceId") Long referenceId);
+
+    @Query("SELECT d FROM ScheduledDeadline d WHERE d.status = 'PENDING' AND d.dueAt < :until ORDER BY d.dueAt")
+    List<ScheduledDeadline> findPendingDueBefore(@Param("until") LocalDateTime until);
+
+    @Query("SELECT d FROM ScheduledDeadline d WHERE d.status = 'PENDING' AND d.dueAt >= :from AND d.dueAt < :until ORDER BY d.dueAt")
+    List<ScheduledDeadline> findPendingDueBetween(@Param("from") LocalDateTime from,
+                                                  @Param("until") LocalDateTime until);
+
+    long countByStatus(String status);
+}
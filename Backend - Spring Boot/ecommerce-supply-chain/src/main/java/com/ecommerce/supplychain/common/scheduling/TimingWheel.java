@@ -0,0 +1,102 @@
+package com.ecommerce.supplychain.common.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: four levels of 64 slots, each slot of a level spanning a full turn
+ * of the level below. Adding and expiring an entry are constant time; an entry due far ahead
+ * sits in a coarse slot and moves down one level each time its slot comes round, until it
+ * expires from the finest level on its tick. Not thread-safe on its own; the caller synchronizes.
+ */
+class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<List<Entry<T>>> slots = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Add an entry; returns false when it is already due and should be handled now
+     */
+    boolean add(long dueMillis, T item) {
+        long dueTick = Math.ceilDiv(dueMillis, tickMillis);
+        if (dueTick <= currentTick) {
+            return false;
+        }
+        place(new Entry<>(dueTick, item));
+        size++;
+        return true;
+    }
+
+    /**
+     * Move the wheel to the given time, passing every entry that fell due on the way
+     */
+    void advance(long nowMillis, Consumer<T> expired) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Coarser levels first, so entries they hand down for this tick expire below
+            int level = 1;
+            while (level < LEVELS && (currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                level++;
+            }
+            for (int cascade = level - 1; cascade >= 1; cascade--) {
+                List<Entry<T>> slot = slot(cascade, currentTick);
+                List<Entry<T>> entries = new ArrayList<>(slot);
+                slot.clear();
+                for (Entry<T> entry : entries) {
+                    if (entry.dueTick <= currentTick) {
+                        size--;
+                        expired.accept(entry.item);
+                    } else {
+                        place(entry);
+                    }
+                }
+            }
+            List<Entry<T>> due = slot(0, currentTick);
+            if (!due.isEmpty()) {
+                List<Entry<T>> entries = new ArrayList<>(due);
+                due.clear();
+                for (Entry<T> entry : entries) {
+                    size--;
+                    expired.accept(entry.item);
+                }
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.dueTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        slot(level, entry.dueTick).add(entry);
+    }
+
+    private List<Entry<T>> slot(int level, long tick) {
+        return slots.get(level * SLOTS + (int) ((tick >>> (BITS * level)) & MASK));
+    }
+
+    private record Entry<T>(long dueTick, T item) {
+    }
+}
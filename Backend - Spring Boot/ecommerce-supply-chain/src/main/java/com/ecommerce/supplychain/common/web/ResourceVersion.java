@@ -0,0 +1,70 @@
+package com.ecommerce.supplychain.common.web;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Version of a set of rows for conditional GETs, read with an aggregate query
+ * (row count and latest update time) instead of loading the rows themselves.
+ * The ETag is weak because the same version is served as JSON, CBOR or Smile and may be gzipped.
+ * Rows inserted by SQL scripts may have no timestamps; they still get an ETag, which changes
+ * as soon as any row is saved through JPA and stamped.
+ * A set whose rendering also depends on the clock (e.g. whether a standard is in effect yet) passes
+ * its time boundaries: the latest one passed counts as a modification, and caches are told to keep
+ * the response no longer than the next one.
+ */
+@Data
+@NoArgsConstructor
+public class ResourceVersion {
+
+    private Long rowCount;
+    private LocalDateTime lastModified;
+    private LocalDateTime validUntil;
+
+    public ResourceVersion(Long rowCount, LocalDateTime lastModified) {
+        this.rowCount = rowCount;
+        this.lastModified = lastModified;
+    }
+
+    public ResourceVersion(Long rowCount, LocalDateTime lastModified, LocalDateTime lastBoundary, LocalDateTime nextBoundary) {
+        this(rowCount, lastModified == null || (lastBoundary != null && lastBoundary.isAfter(lastModified)) ? lastBoundary : lastModified);
+        this.validUntil = nextBoundary;
+    }
+
+    public String getEtag() {
+        return "W/\"" + rowCount + "-" + (lastModified != null ? getLastModifiedMillis() : 0) + "\"";
+    }
+
+    public long getLastModifiedMillis() {
+        return lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Compare with If-None-Match / If-Modified-Since and set ETag and Last-Modified on the response;
+     * true means a 304 has been prepared and the handler should return without a body.
+     * An empty set is never treated as unchanged, so missing resources still reach the 404 handling.
+     */
+    public boolean checkNotModified(WebRequest request) {
+        if (validUntil != null && request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            long seconds = Math.max(0, Duration.between(LocalDateTime.now(), validUntil).toSeconds());
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+                    CacheControl.maxAge(seconds, TimeUnit.SECONDS).mustRevalidate().getHeaderValue());
+        }
+        if (rowCount == null || rowCount == 0) {
+            return false;
+        }
+        if (lastModified == null) {
+            return request.checkNotModified(getEtag());
+        }
+        return request.checkNotModified(getEtag(), getLastModifiedMillis());
+    }
+}
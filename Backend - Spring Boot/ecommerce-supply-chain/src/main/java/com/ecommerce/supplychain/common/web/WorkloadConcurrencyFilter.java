@@ -0,0 +1,195 @@
+package com.ecommerce.supplychain.common.web;
+
+import com.ecommerce.supplychain.common.config.ConcurrencyLimitConfig;
+import com.ecommerce.supplychain.common.exception.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent requests per workload (order writes, reports, bulk imports, and a default
+ * workload for everything else) so one kind of traffic cannot hold every pooled JDBC connection.
+ * Startup fails unless all permits plus the reserved background connections fit in the primary
+ * pool, so each workload always finds a connection for every request it admits.
+ * Requests wait up to the acquire timeout for a permit and are then turned away with 503 and
+ * Retry-After. With virtual threads a waiting request costs no platform thread, so the queue
+ * can be long without starving Tomcat. Actuator endpoints are never capped, so health probes
+ * and metric scrapes still answer while every workload is busy.
+ */
+@Slf4j
+@Component
+public class WorkloadConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final String DEFAULT_WORKLOAD = "default";
+    private static final String ACTUATOR_PATHS = "/actuator/**";
+
+    @Autowired
+    private ConcurrencyLimitConfig concurrencyLimitConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    private final List<WorkloadLimit> limits = new ArrayList<>();
+    private WorkloadLimit defaultLimit;
+
+    @PostConstruct
+    public void init() {
+        for (ConcurrencyLimitConfig.Workload workload : concurrencyLimitConfig.getWorkloads()) {
+            limits.add(new WorkloadLimit(workload.getName(), workload.getPermits(), workload.getMethods(), workload.getPaths()));
+        }
+        defaultLimit = new WorkloadLimit(DEFAULT_WORKLOAD, concurrencyLimitConfig.getDefaultPermits(), List.of(), List.of());
+        checkPoolBudget();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            List<WorkloadLimit> all = new ArrayList<>(limits);
+            all.add(defaultLimit);
+            for (WorkloadLimit limit : all) {
+                Gauge.builder("http.workload.permits.available", limit.semaphore, Semaphore::availablePermits)
+                        .tag("workload", limit.name)
+                        .register(registry);
+                Gauge.builder("http.workload.queued", limit.semaphore, Semaphore::getQueueLength)
+                        .tag("workload", limit.name)
+                        .register(registry);
+            }
+        }
+    }
+
+    /**
+     * Fail startup when the workloads could together ask for more connections than the primary pool holds
+     */
+    private void checkPoolBudget() {
+        if (!concurrencyLimitConfig.isEnabled() || !(primaryDataSource instanceof HikariDataSource hikari)) {
+            return;
+        }
+        int permits = defaultLimit.permits + limits.stream().mapToInt(limit -> limit.permits).sum();
+        int needed = permits + concurrencyLimitConfig.getReservedConnections();
+        if (needed > hikari.getMaximumPoolSize()) {
+            throw new IllegalStateException("Workload permits (" + permits + ") plus reserved connections ("
+                    + concurrencyLimitConfig.getReservedConnections() + ") exceed the primary pool size of "
+                    + hikari.getMaximumPoolSize() + "; lower app.concurrency-limits or raise spring.datasource.maximum-pool-size");
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PATH_MATCHER.match(ACTUATOR_PATHS, requestPath(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        WorkloadLimit limit = concurrencyLimitConfig.isEnabled() ? match(request) : null;
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean acquired;
+        try {
+            acquired = limit.semaphore.tryAcquire(concurrencyLimitConfig.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            reject(request, response, limit);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.semaphore.release();
+        }
+    }
+
+    private WorkloadLimit match(HttpServletRequest request) {
+        String path = requestPath(request);
+        for (WorkloadLimit limit : limits) {
+            if (limit.matches(request.getMethod(), path)) {
+                return limit;
+            }
+        }
+        return defaultLimit;
+    }
+
+    private static String requestPath(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, WorkloadLimit limit) throws IOException {
+        log.warn("Workload {} at its limit of {} concurrent requests, rejecting {} {}",
+                limit.name, limit.permits, request.getMethod(), request.getRequestURI());
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.counter("http.workload.rejected", "workload", limit.name).increment();
+        }
+
+        ApiError apiError = new ApiError(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many concurrent " + limit.name + " requests",
+                "Retry after " + concurrencyLimitConfig.getRetryAfterSeconds() + " seconds",
+                request.getRequestURI()
+        );
+        apiError.setErrorCode("WORKLOAD_LIMIT_REACHED");
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(concurrencyLimitConfig.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), apiError);
+    }
+
+    private static class WorkloadLimit {
+        private final String name;
+        private final int permits;
+        private final List<String> methods;
+        private final List<String> paths;
+        private final Semaphore semaphore;
+
+        WorkloadLimit(String name, int permits, List<String> methods, List<String> paths) {
+            this.name = name;
+            this.permits = permits;
+            this.methods = methods;
+            this.paths = paths;
+            this.semaphore = new Semaphore(permits, true);
+        }
+
+        boolean matches(String method, String path) {
+            if (!methods.isEmpty() && methods.stream().noneMatch(method::equalsIgnoreCase)) {
+                return false;
+            }
+            return paths.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, path));
+        }
+    }
+}
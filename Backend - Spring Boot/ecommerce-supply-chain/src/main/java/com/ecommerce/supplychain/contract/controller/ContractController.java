@@ -226,6 +226,22 @@ public class ContractController {
         }
     }
 
+    /**
+     * Re-measure SLAs bound to operational metrics now
+     * POST /api/contracts/sla/evaluate
+     */
+    @PostMapping("/sla/evaluate")
+    public ResponseEntity<Map<String, Object>> evaluateMeasuredSLAs() {
+        int updated = contractService.evaluateMeasuredSLAs();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "SLA compliance evaluated");
+        response.put("data", Map.of("slasUpdated", updated));
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Delete contract (soft delete - changes status to TERMINATED)
      * DELETE /api/contracts/{contractId}
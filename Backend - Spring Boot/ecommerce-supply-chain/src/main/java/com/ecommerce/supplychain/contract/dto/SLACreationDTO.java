@@ -42,4 +42,10 @@ public class SLACreationDTO {
     @Pattern(regexp = "DAILY|WEEKLY|MONTHLY|QUARTERLY",
             message = "Monitoring frequency must be DAILY, WEEKLY, MONTHLY, or QUARTERLY")
     private String monitoringFrequency;
+
+    @Pattern(regexp = "PO_ON_TIME_DELIVERY|INSPECTION_PASS_RATE|SHIPMENT_DELIVERY_TIME",
+            message = "Metric source must be PO_ON_TIME_DELIVERY, INSPECTION_PASS_RATE, or SHIPMENT_DELIVERY_TIME")
+    private String metricSource; // Optional: measured automatically from operational events
+
+    private String metricScope; // Optional: carrier for SHIPMENT_DELIVERY_TIME
 }
\ No newline at end of file
@@ -27,6 +27,10 @@ public class SLAResponseDTO {
     private String monitoringFrequency;
     private String status;
     private Double compliancePercentage;
+    private String metricSource;
+    private String metricScope;
+    private Long sampleCount;
+    private LocalDateTime lastEvaluatedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
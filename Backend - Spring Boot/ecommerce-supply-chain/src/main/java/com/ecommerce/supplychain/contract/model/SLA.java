@@ -53,6 +53,18 @@ public class SLA {
     @Column(name = "compliance_percentage")
     private Double compliancePercentage; // Current compliance level
 
+    @Column(name = "metric_source", length = 50)
+    private String metricSource; // PO_ON_TIME_DELIVERY, INSPECTION_PASS_RATE, SHIPMENT_DELIVERY_TIME; null when reported manually
+
+    @Column(name = "metric_scope", length = 100)
+    private String metricScope; // Carrier for SHIPMENT_DELIVERY_TIME; all carriers when empty
+
+    @Column(name = "sample_count")
+    private Long sampleCount; // Events behind the last automatic measurement
+
+    @Column(name = "last_evaluated_at")
+    private LocalDateTime lastEvaluatedAt;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -75,4 +87,19 @@ public class SLA {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
+
+    /**
+     * Business method: Record a compliance level and the status it implies
+     */
+    public void applyCompliance(Double compliancePercentage) {
+        this.compliancePercentage = compliancePercentage;
+        if (compliancePercentage >= 95.0) {
+            this.status = "MET";
+        } else if (compliancePercentage < 70.0) {
+            this.status = "VIOLATED";
+        } else {
+            this.status = "ACTIVE";
+        }
+        this.updatedAt = LocalDateTime.now();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.ecommerce.supplychain.contract.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding the SLA measurements of one metric source and scope for one day.
+ * Each checkpoint of the compliance monitor adds its increments; evaluations sum the rows of a window.
+ */
+@Entity
+@Table(name = "sla_metric_buckets",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"metric_source", "scope_key", "bucket_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlaMetricBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "bucket_id")
+    private Long bucketId;
+
+    @Column(name = "metric_source", nullable = false, length = 50)
+    private String metricSource; // SHIPMENT_DELIVERY_TIME; supplier metrics are read from the scorecard buckets
+
+    @Column(name = "scope_key", nullable = false, length = 100)
+    private String scopeKey; // Carrier, or * for all carriers
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(name = "samples", nullable = false)
+    private Long samples;
+
+    @Column(name = "passes", nullable = false)
+    private Long passes;
+
+    @Column(name = "delivery_days_histogram", length = 500)
+    private String deliveryDaysHistogram; // Comma-separated delivery counts by transit days
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -3,9 +3,11 @@ package com.ecommerce.supplychain.contract.repository;
 import com.ecommerce.supplychain.contract.model.Contract;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,4 +31,7 @@ public interface ContractRepository extends JpaRepository<Contract, Long> {
     List<Contract> findContractsExpiringBetween(LocalDate startDate, LocalDate endDate);
 
     List<Contract> findByContractType(String contractType);
+
+    @Query("SELECT c FROM Contract c WHERE c.supplierId IN :supplierIds AND c.status = 'ACTIVE'")
+    List<Contract> findActiveContractsBySupplierIds(@Param("supplierIds") Collection<Long> supplierIds);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.ecommerce.supplychain.contract.repository;
 
 import com.ecommerce.supplychain.contract.model.SLA;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,4 +20,11 @@ public interface SLARepository extends JpaRepository<SLA, Long> {
     List<SLA> findByContractIdAndStatus(Long contractId, String status);
 
     List<SLA> findByCompliancePercentageLessThan(Double percentage);
+
+    /**
+     * SLAs measured from operational events, each with the supplier of its contract
+     */
+    @Query("SELECT s, c.supplierId FROM SLA s, Contract c WHERE c.contractId = s.contractId " +
+            "AND s.metricSource IS NOT NULL AND s.status <> 'INACTIVE'")
+    List<Object[]> findMeasuredSLAsWithSupplier();
 }
\ No newline at end of file
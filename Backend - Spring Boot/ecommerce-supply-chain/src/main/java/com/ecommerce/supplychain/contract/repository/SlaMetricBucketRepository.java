@@ -0,0 +1,38 @@
+package com.ecommerce.supplychain.contract.repository;
+
+import com.ecommerce.supplychain.contract.model.SlaMetricBucket;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for SLA measurements kept in daily buckets.
+ * A checkpoint adds its increments to the day's row under a write lock, creating the row on the first checkpoint of the day.
+ */
+@Repository
+public interface SlaMetricBucketRepository extends JpaRepository<SlaMetricBucket, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM SlaMetricBucket b WHERE b.metricSource = :metricSource AND b.scopeKey = :scopeKey " +
+            "AND b.bucketDate = :bucketDate")
+    Optional<SlaMetricBucket> findForUpdate(@Param("metricSource") String metricSource,
+                                            @Param("scopeKey") String scopeKey,
+                                            @Param("bucketDate") LocalDate bucketDate);
+
+    @Query("SELECT b FROM SlaMetricBucket b WHERE b.metricSource = :metricSource AND b.scopeKey = :scopeKey " +
+            "AND b.bucketDate >= :fromDate")
+    List<SlaMetricBucket> findByKeySince(@Param("metricSource") String metricSource,
+                                         @Param("scopeKey") String scopeKey,
+                                         @Param("fromDate") LocalDate fromDate);
+
+    @Query("SELECT DISTINCT b.metricSource, b.scopeKey FROM SlaMetricBucket b WHERE b.updatedAt > :since")
+    List<Object[]> findKeysUpdatedSince(@Param("since") LocalDateTime since);
+}
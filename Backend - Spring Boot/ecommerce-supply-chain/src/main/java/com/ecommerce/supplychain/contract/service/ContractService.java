@@ -1,5 +1,8 @@
 package com.ecommerce.supplychain.contract.service;
 
+import com.ecommerce.supplychain.common.constants.DeadlineType;
+import com.ecommerce.supplychain.common.scheduling.DeadlineHandler;
+import com.ecommerce.supplychain.common.scheduling.DeadlineScheduler;
 import com.ecommerce.supplychain.contract.dto.ContractDTO;
 import com.ecommerce.supplychain.contract.dto.ContractResponseDTO;
 import com.ecommerce.supplychain.contract.dto.SLACreationDTO;
@@ -8,6 +11,7 @@ import com.ecommerce.supplychain.contract.model.Contract;
 import com.ecommerce.supplychain.contract.model.SLA;
 import com.ecommerce.supplychain.contract.repository.ContractRepository;
 import com.ecommerce.supplychain.contract.repository.SLARepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,14 +19,19 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * Service class handling contract and SLA management business logic.
  */
+@Slf4j
 @Service
-public class ContractService {
+public class ContractService implements DeadlineHandler {
 
     @Autowired
     private ContractRepository contractRepository;
@@ -30,6 +39,12 @@ public class ContractService {
     @Autowired
     private SLARepository slaRepository;
 
+    @Autowired
+    private SlaComplianceMonitor slaComplianceMonitor;
+
+    @Autowired
+    private DeadlineScheduler deadlineScheduler;
+
     /**
      * Create a new contract.
      */
@@ -86,6 +101,9 @@ public class ContractService {
         sla.setMinimumAcceptable(slaDTO.getMinimumAcceptable());
         sla.setPenaltyClause(slaDTO.getPenaltyClause());
         sla.setMonitoringFrequency(slaDTO.getMonitoringFrequency());
+        sla.setMetricSource(slaDTO.getMetricSource());
+        sla.setMetricScope(slaDTO.getMetricScope() != null && !slaDTO.getMetricScope().isBlank()
+                ? slaDTO.getMetricScope().trim() : null);
         sla.setStatus("ACTIVE");
         sla.setCompliancePercentage(0.0);
         sla.setCreatedAt(LocalDateTime.now());
@@ -93,12 +111,18 @@ public class ContractService {
 
         SLA savedSLA = slaRepository.save(sla);
 
+        // Measure a bound SLA from the events already in its window
+        if (savedSLA.getMetricSource() != null) {
+            slaComplianceMonitor.slaBound(savedSLA.getMetricSource(), savedSLA.getMetricScope(), contract.getSupplierId());
+        }
+
         return mapToSLAResponseDTO(savedSLA);
     }
 
     /**
      * Get all contracts.
      */
+    @Transactional(readOnly = true)
     public List<ContractResponseDTO> getAllContracts() {
         return contractRepository.findAll().stream()
                 .map(this::mapToResponseDTO)
@@ -108,6 +132,7 @@ public class ContractService {
     /**
      * Get contract by ID.
      */
+    @Transactional(readOnly = true)
     public ContractResponseDTO getContractById(Long contractId) {
         Contract contract = contractRepository.findById(contractId)
                 .orElseThrow(() -> new IllegalArgumentException("Contract not found with ID: " + contractId));
@@ -117,6 +142,7 @@ public class ContractService {
     /**
      * Get contracts by supplier.
      */
+    @Transactional(readOnly = true)
     public List<ContractResponseDTO> getContractsBySupplierId(Long supplierId) {
         return contractRepository.findBySupplierId(supplierId).stream()
                 .map(this::mapToResponseDTO)
@@ -126,6 +152,7 @@ public class ContractService {
     /**
      * Get contracts by status.
      */
+    @Transactional(readOnly = true)
     public List<ContractResponseDTO> getContractsByStatus(String status) {
         return contractRepository.findByStatus(status).stream()
                 .map(this::mapToResponseDTO)
@@ -135,6 +162,7 @@ public class ContractService {
     /**
      * Get SLAs for a contract.
      */
+    @Transactional(readOnly = true)
     public List<SLAResponseDTO> getSLAsByContractId(Long contractId) {
         return slaRepository.findByContractId(contractId).stream()
                 .map(this::mapToSLAResponseDTO)
@@ -159,12 +187,16 @@ public class ContractService {
 
         Contract updatedContract = contractRepository.save(contract);
 
+        // Expires at the end of its last day
+        deadlineScheduler.schedule(DeadlineType.CONTRACT_EXPIRY, contractId, contract.getEndDate().plusDays(1).atStartOfDay());
+
         return mapToResponseDTO(updatedContract);
     }
 
     /**
      * Get expiring contracts (within next 30 days).
      */
+    @Transactional(readOnly = true)
     public List<ContractResponseDTO> getExpiringContracts() {
         LocalDate today = LocalDate.now();
         LocalDate thirtyDaysFromNow = today.plusDays(30);
@@ -174,6 +206,35 @@ public class ContractService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Active contracts of many suppliers in one query, grouped by supplier.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Contract>> getActiveContractsBySupplier(Collection<Long> supplierIds) {
+        if (supplierIds.isEmpty()) {
+            return Map.of();
+        }
+        return contractRepository.findActiveContractsBySupplierIds(supplierIds).stream()
+                .collect(Collectors.groupingBy(Contract::getSupplierId));
+    }
+
+    /**
+     * The contract among a supplier's active contracts that covers a date, the longest-running if several do.
+     */
+    public Optional<Contract> findContractCovering(List<Contract> contracts, LocalDate date) {
+        return contracts.stream()
+                .filter(c -> !c.getStartDate().isAfter(date) && !c.getEndDate().isBefore(date))
+                .max(Comparator.comparing(Contract::getEndDate));
+    }
+
+    /**
+     * Re-measure every SLA bound to a metric source now instead of at the next background run.
+     * Returns the number of SLAs whose compliance changed.
+     */
+    public int evaluateMeasuredSLAs() {
+        return slaComplianceMonitor.evaluateAll();
+    }
+
     /**
      * Update SLA compliance percentage.
      */
@@ -186,18 +247,8 @@ public class ContractService {
             throw new IllegalArgumentException("Compliance percentage must be between 0 and 100");
         }
 
-        sla.setCompliancePercentage(compliancePercentage);
-
         // Update status based on compliance
-        if (compliancePercentage >= 95.0) {
-            sla.setStatus("MET");
-        } else if (compliancePercentage < 70.0) {
-            sla.setStatus("VIOLATED");
-        } else {
-            sla.setStatus("ACTIVE");
-        }
-
-        sla.setUpdatedAt(LocalDateTime.now());
+        sla.applyCompliance(compliancePercentage);
 
         SLA updatedSLA = slaRepository.save(sla);
 
@@ -215,6 +266,29 @@ public class ContractService {
         contract.setStatus("TERMINATED");
         contract.setUpdatedAt(LocalDateTime.now());
         contractRepository.save(contract);
+        deadlineScheduler.cancel(DeadlineType.CONTRACT_EXPIRY, contractId);
+    }
+
+    @Override
+    public String getDeadlineType() {
+        return DeadlineType.CONTRACT_EXPIRY;
+    }
+
+    /**
+     * Expire an active contract once its end date has passed.
+     */
+    @Override
+    @Transactional
+    public void onDeadline(Long contractId, LocalDateTime dueAt) {
+        Contract contract = contractRepository.findById(contractId).orElse(null);
+        if (contract == null || !"ACTIVE".equals(contract.getStatus())
+                || !contract.getEndDate().isBefore(LocalDate.now())) {
+            return;
+        }
+        contract.setStatus("EXPIRED");
+        contract.setUpdatedAt(LocalDateTime.now());
+        contractRepository.save(contract);
+        log.info("Contract {} expired on {}", contract.getContractNumber(), contract.getEndDate());
     }
 
     /**
@@ -263,6 +337,10 @@ public class ContractService {
                 .monitoringFrequency(sla.getMonitoringFrequency())
                 .status(sla.getStatus())
                 .compliancePercentage(sla.getCompliancePercentage())
+                .metricSource(sla.getMetricSource())
+                .metricScope(sla.getMetricScope())
+                .sampleCount(sla.getSampleCount())
+                .lastEvaluatedAt(sla.getLastEvaluatedAt())
                 .createdAt(sla.getCreatedAt())
                 .updatedAt(sla.getUpdatedAt())
                 .build();
@@ -0,0 +1,462 @@
+package com.ecommerce.supplychain.contract.service;
+
+import com.ecommerce.supplychain.contract.model.SLA;
+import com.ecommerce.supplychain.contract.model.SlaMetricBucket;
+import com.ecommerce.supplychain.contract.repository.SLARepository;
+import com.ecommerce.supplychain.contract.repository.SlaMetricBucketRepository;
+import com.ecommerce.supplychain.supplier.model.SupplierScorecardBucket;
+import com.ecommerce.supplychain.supplier.repository.SupplierScorecardBucketRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SLA compliance measured continuously from operational events (Process 2 with Processes 3, 4 and 7).
+ * Supplier SLAs (on-time delivery, inspection pass rate) are measured from the daily supplier
+ * scorecard buckets that receiving already increments. Shipment transit times are reported here
+ * once their transaction commits, held as per-day increments and added to sla_metric_buckets at
+ * each checkpoint, so several instances can record into the same rows without overwriting each
+ * other. A background task re-measures only the SLAs whose buckets changed since its last run,
+ * reading both tables, and writes status and compliance when they move.
+ */
+@Slf4j
+@Service
+public class SlaComplianceMonitor {
+
+    public static final String PO_ON_TIME_DELIVERY = "PO_ON_TIME_DELIVERY";
+    public static final String INSPECTION_PASS_RATE = "INSPECTION_PASS_RATE";
+    public static final String SHIPMENT_DELIVERY_TIME = "SHIPMENT_DELIVERY_TIME";
+
+    private static final String ALL_CARRIERS = "*";
+    // Transit days 0 to 29 counted exactly, the last bin holds 30 days or more
+    private static final int OVERFLOW_DAYS = 30;
+    // Rows stamped this long before a run started are read again, for transactions that committed late
+    private static final long CHANGE_LAG_SECONDS = 60;
+    private static final Pattern NUMBER = Pattern.compile("\\d+(\\.\\d+)?");
+
+    @Autowired
+    private SLARepository slaRepository;
+
+    @Autowired
+    private SlaMetricBucketRepository bucketRepository;
+
+    @Autowired
+    private SupplierScorecardBucketRepository scorecardBucketRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.sla-monitor.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.sla-monitor.evaluation-interval-seconds:30}")
+    private long evaluationIntervalSeconds;
+
+    @Value("${app.sla-monitor.checkpoint-interval-seconds:60}")
+    private long checkpointIntervalSeconds;
+
+    @Value("${app.sla-monitor.default-window-days:30}")
+    private int defaultWindowDays;
+
+    @Value("${app.sla-monitor.retention-days:90}")
+    private int retentionDays;
+
+    // Shipment counts recorded since the last checkpoint, per metric key and day
+    private final Map<MetricKey, Map<LocalDate, Totals>> increments = new ConcurrentHashMap<>();
+    // SLAs bound since the last run, measured even if their buckets did not change
+    private final Set<MetricKey> pendingEvaluation = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService scheduler;
+    private LocalDate lastEvaluationDate;
+    private LocalDateTime lastEvaluationStart;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sla-compliance-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> runSafely("evaluation", this::evaluate),
+                evaluationIntervalSeconds, evaluationIntervalSeconds, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(() -> runSafely("checkpoint", this::checkpoint),
+                checkpointIntervalSeconds, checkpointIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        runSafely("checkpoint", this::checkpoint);
+    }
+
+    /**
+     * Count a delivered shipment's transit time, for its carrier and for all carriers
+     */
+    public void recordShipmentDelivery(String carrier, LocalDate shippedOn, LocalDate deliveredOn) {
+        if (shippedOn == null || deliveredOn == null) {
+            return;
+        }
+        int transitDays = (int) Math.min(OVERFLOW_DAYS, Math.max(0, ChronoUnit.DAYS.between(shippedOn, deliveredOn)));
+        record(new MetricKey(SHIPMENT_DELIVERY_TIME, ALL_CARRIERS), deliveredOn, transitDays);
+        if (carrier != null && !carrier.isBlank()) {
+            record(new MetricKey(SHIPMENT_DELIVERY_TIME, carrier.trim().toUpperCase(Locale.ROOT)), deliveredOn, transitDays);
+        }
+    }
+
+    /**
+     * Measure a newly bound SLA at the next evaluation from the events already in its window
+     */
+    public void slaBound(String metricSource, String metricScope, Long supplierId) {
+        MetricKey key = keyFor(metricSource, metricScope, supplierId);
+        if (key != null) {
+            afterCommit(() -> pendingEvaluation.add(key));
+        }
+    }
+
+    /**
+     * Checkpoint and re-measure every bound SLA now; returns the number of SLAs updated
+     */
+    public synchronized int evaluateAll() {
+        lastEvaluationDate = null;
+        return evaluate();
+    }
+
+    /**
+     * Re-measure the SLAs whose buckets changed since the last run, on this instance or another.
+     * On the first run of a day every SLA is re-measured, since its window has moved even without new events.
+     */
+    synchronized int evaluate() {
+        checkpoint();
+        LocalDate today = LocalDate.now();
+        LocalDateTime startedAt = LocalDateTime.now();
+        boolean everything = !today.equals(lastEvaluationDate);
+        Set<MetricKey> bound = drain(pendingEvaluation);
+        try {
+            Integer updated = new TransactionTemplate(transactionManager).execute(status -> {
+                Set<MetricKey> due = everything ? null : changedSince(lastEvaluationStart.minusSeconds(CHANGE_LAG_SECONDS));
+                Map<MetricKey, Map<LocalDate, Totals>> daysByKey = new HashMap<>();
+                LocalDateTime now = LocalDateTime.now();
+                List<SLA> changed = new ArrayList<>();
+                for (Object[] row : slaRepository.findMeasuredSLAsWithSupplier()) {
+                    SLA sla = (SLA) row[0];
+                    MetricKey key = keyFor(sla.getMetricSource(), sla.getMetricScope(), (Long) row[1]);
+                    if (key == null || (!everything && !due.contains(key) && !bound.contains(key))) {
+                        continue;
+                    }
+                    Map<LocalDate, Totals> days = daysByKey.computeIfAbsent(key, this::loadDays);
+                    Totals totals = totals(days, today.minusDays(windowDays(sla) - 1));
+                    Double compliance = totals.samples > 0 ? compliance(sla, totals) : null;
+                    if (compliance == null || compliance.equals(sla.getCompliancePercentage())) {
+                        continue;
+                    }
+                    String previousStatus = sla.getStatus();
+                    sla.applyCompliance(compliance);
+                    sla.setSampleCount(totals.samples);
+                    sla.setLastEvaluatedAt(now);
+                    changed.add(sla);
+                    if (!Objects.equals(previousStatus, sla.getStatus())) {
+                        log.info("SLA {} ({}) is {} at {}% over {} samples", sla.getSlaId(), sla.getMetricName(),
+                                sla.getStatus(), compliance, totals.samples);
+                    }
+                }
+                slaRepository.saveAll(changed);
+                return changed.size();
+            });
+            lastEvaluationDate = today;
+            lastEvaluationStart = startedAt;
+            return updated != null ? updated : 0;
+        } catch (RuntimeException e) {
+            pendingEvaluation.addAll(bound);
+            throw e;
+        }
+    }
+
+    /**
+     * Add the shipment counts recorded since the last checkpoint to their day's row.
+     * Each row is read under a write lock and incremented, so instances never overwrite each other;
+     * if the write fails the counts are taken back and go with the next checkpoint.
+     */
+    synchronized int checkpoint() {
+        Map<MetricKey, Map<LocalDate, Totals>> taken = new HashMap<>();
+        increments.forEach((key, days) -> {
+            for (LocalDate date : days.keySet()) {
+                // Removed atomically, so a delivery recorded meanwhile starts a new increment
+                days.computeIfPresent(date, (d, totals) -> {
+                    taken.computeIfAbsent(key, k -> new HashMap<>()).put(d, totals);
+                    return null;
+                });
+            }
+        });
+        if (taken.isEmpty()) {
+            return 0;
+        }
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                int written = 0;
+                for (Map.Entry<MetricKey, Map<LocalDate, Totals>> entry : taken.entrySet()) {
+                    MetricKey key = entry.getKey();
+                    for (Map.Entry<LocalDate, Totals> day : entry.getValue().entrySet()) {
+                        SlaMetricBucket bucket = bucketRepository.findForUpdate(key.source, key.scope, day.getKey())
+                                .orElseGet(() -> new SlaMetricBucket(null, key.source, key.scope, day.getKey(), 0L, 0L, null, null));
+                        Totals totals = toTotals(bucket);
+                        totals.add(day.getValue());
+                        bucket.setSamples(totals.samples);
+                        bucket.setPasses(totals.passes);
+                        bucket.setDeliveryDaysHistogram(formatHistogram(totals.transitDays));
+                        bucket.setUpdatedAt(now);
+                        bucketRepository.save(bucket);
+                        written++;
+                    }
+                }
+                return written;
+            });
+        } catch (RuntimeException e) {
+            taken.forEach((key, days) -> days.forEach((date, totals) -> addIncrement(key, date, totals)));
+            throw e;
+        }
+    }
+
+    /**
+     * Metric keys whose buckets were written after the given time, by any instance
+     */
+    private Set<MetricKey> changedSince(LocalDateTime since) {
+        Set<MetricKey> changed = new HashSet<>();
+        for (Object[] row : bucketRepository.findKeysUpdatedSince(since)) {
+            changed.add(new MetricKey((String) row[0], (String) row[1]));
+        }
+        for (Long supplierId : scorecardBucketRepository.findSupplierIdsUpdatedSince(since)) {
+            changed.add(new MetricKey(PO_ON_TIME_DELIVERY, String.valueOf(supplierId)));
+            changed.add(new MetricKey(INSPECTION_PASS_RATE, String.valueOf(supplierId)));
+        }
+        return changed;
+    }
+
+    /**
+     * Daily counts of a metric key over the retention period: supplier metrics from the
+     * scorecard buckets, shipment delivery times from the SLA buckets
+     */
+    private Map<LocalDate, Totals> loadDays(MetricKey key) {
+        Map<LocalDate, Totals> days = new HashMap<>();
+        if (SHIPMENT_DELIVERY_TIME.equals(key.source)) {
+            for (SlaMetricBucket bucket : bucketRepository.findByKeySince(key.source, key.scope, retentionStart())) {
+                days.put(bucket.getBucketDate(), toTotals(bucket));
+            }
+            return days;
+        }
+        for (SupplierScorecardBucket bucket : scorecardBucketRepository.findBySupplierSince(Long.valueOf(key.scope), retentionStart())) {
+            Totals totals = new Totals();
+            if (PO_ON_TIME_DELIVERY.equals(key.source)) {
+                // Only deliveries against a due date are on time or late
+                totals.samples = bucket.getOnTimeDeliveries() + bucket.getLateDeliveries();
+                totals.passes = bucket.getOnTimeDeliveries();
+            } else {
+                totals.samples = bucket.getUnitsInspected();
+                totals.passes = bucket.getUnitsInspected() - bucket.getUnitsDefective();
+            }
+            days.put(bucket.getBucketDate(), totals);
+        }
+        return days;
+    }
+
+    private void record(MetricKey key, LocalDate date, int transitDays) {
+        afterCommit(() -> {
+            if (date == null || date.isBefore(retentionStart())) {
+                return;
+            }
+            Totals totals = new Totals();
+            totals.samples = 1;
+            totals.transitDays[transitDays]++;
+            addIncrement(key, date, totals);
+        });
+    }
+
+    private void addIncrement(MetricKey key, LocalDate date, Totals totals) {
+        increments.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).merge(date, totals, (current, added) -> {
+            current.add(added);
+            return current;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Totals totals(Map<LocalDate, Totals> days, LocalDate fromDate) {
+        Totals totals = new Totals();
+        days.forEach((date, day) -> {
+            if (!date.isBefore(fromDate)) {
+                totals.add(day);
+            }
+        });
+        return totals;
+    }
+
+    private static Totals toTotals(SlaMetricBucket bucket) {
+        Totals totals = new Totals();
+        totals.samples = bucket.getSamples() != null ? bucket.getSamples() : 0;
+        totals.passes = bucket.getPasses() != null ? bucket.getPasses() : 0;
+        long[] transitDays = parseHistogram(bucket.getDeliveryDaysHistogram());
+        System.arraycopy(transitDays, 0, totals.transitDays, 0, transitDays.length);
+        return totals;
+    }
+
+    /**
+     * Compliance in percent: the measured rate against the target rate, or for shipments the share
+     * delivered within the target transit time. Null when the target cannot be read.
+     */
+    private static Double compliance(SLA sla, Totals totals) {
+        double compliance;
+        if (SHIPMENT_DELIVERY_TIME.equals(sla.getMetricSource())) {
+            Double limit = number(sla.getTargetValue());
+            if (limit == null) {
+                return null;
+            }
+            int limitDays = (int) Math.min(OVERFLOW_DAYS,
+                    "HOURS".equals(sla.getMeasurementUnit()) ? Math.floor(limit / 24) : Math.floor(limit));
+            long within = 0;
+            for (int days = 0; days <= limitDays; days++) {
+                within += totals.transitDays[days];
+            }
+            compliance = within * 100.0 / totals.samples;
+        } else {
+            Double target = number(sla.getTargetValue());
+            double measured = totals.passes * 100.0 / totals.samples;
+            compliance = target != null && target > 0 ? measured / target * 100 : measured;
+        }
+        return Math.round(Math.max(0, Math.min(100, compliance)) * 100) / 100.0;
+    }
+
+    private int windowDays(SLA sla) {
+        String frequency = sla.getMonitoringFrequency() != null ? sla.getMonitoringFrequency() : "";
+        int days = switch (frequency) {
+            case "DAILY" -> 1;
+            case "WEEKLY" -> 7;
+            case "MONTHLY" -> 30;
+            case "QUARTERLY" -> 90;
+            default -> defaultWindowDays;
+        };
+        return Math.min(days, retentionDays);
+    }
+
+    private LocalDate retentionStart() {
+        return LocalDate.now().minusDays(retentionDays - 1);
+    }
+
+    private static MetricKey keyFor(String metricSource, String metricScope, Long supplierId) {
+        if (SHIPMENT_DELIVERY_TIME.equals(metricSource)) {
+            return new MetricKey(metricSource, metricScope == null || metricScope.isBlank()
+                    ? ALL_CARRIERS : metricScope.trim().toUpperCase(Locale.ROOT));
+        }
+        return metricSource != null && supplierId != null ? new MetricKey(metricSource, String.valueOf(supplierId)) : null;
+    }
+
+    private static Double number(String value) {
+        Matcher matcher = value != null ? NUMBER.matcher(value) : null;
+        return matcher != null && matcher.find() ? Double.valueOf(matcher.group()) : null;
+    }
+
+    private static Set<MetricKey> drain(Set<MetricKey> pending) {
+        Set<MetricKey> drained = new HashSet<>();
+        for (MetricKey key : pending) {
+            if (pending.remove(key)) {
+                drained.add(key);
+            }
+        }
+        return drained;
+    }
+
+    private static String formatHistogram(long[] transitDays) {
+        int last = transitDays.length - 1;
+        while (last >= 0 && transitDays[last] == 0) {
+            last--;
+        }
+        StringBuilder histogram = new StringBuilder();
+        for (int days = 0; days <= last; days++) {
+            histogram.append(days > 0 ? "," : "").append(transitDays[days]);
+        }
+        return histogram.isEmpty() ? null : histogram.toString();
+    }
+
+    private static long[] parseHistogram(String histogram) {
+        long[] transitDays = new long[OVERFLOW_DAYS + 1];
+        if (histogram != null && !histogram.isBlank()) {
+            String[] counts = histogram.split(",");
+            for (int days = 0; days < Math.min(counts.length, transitDays.length); days++) {
+                transitDays[days] = Long.parseLong(counts[days].trim());
+            }
+        }
+        return transitDays;
+    }
+
+    private static void runSafely(String task, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.warn("SLA compliance {} failed: {}", task, e.getMessage());
+        }
+    }
+
+    private record MetricKey(String source, String scope) {
+    }
+
+    /**
+     * Counters of one day, an increment waiting for a checkpoint, or their sum over a window
+     */
+    private static class Totals {
+        private long samples;
+        private long passes;
+        private final long[] transitDays = new long[OVERFLOW_DAYS + 1];
+
+        void add(Totals other) {
+            samples += other.samples;
+            passes += other.passes;
+            for (int days = 0; days < transitDays.length; days++) {
+                transitDays[days] += other.transitDays[days];
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.ecommerce.supplychain.exception.controller;
 
 import com.ecommerce.supplychain.exception.dto.*;
 import com.ecommerce.supplychain.exception.service.ExceptionHandlingService;
+import com.ecommerce.supplychain.exception.service.ExceptionTriagePipeline;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -20,6 +21,9 @@ public class ExceptionController {
     @Autowired
     private ExceptionHandlingService exceptionHandlingService;
 
+    @Autowired
+    private ExceptionTriagePipeline exceptionTriagePipeline;
+
     /**
      * API 1: Create delivery exception
      * POST /api/exceptions
@@ -66,6 +70,38 @@ public class ExceptionController {
         }
     }
 
+    /**
+     * Accept exception signals in bulk; they are merged per tracking number and written by the triage pipeline
+     * POST /api/exceptions/signals
+     */
+    @PostMapping("/signals")
+    public ResponseEntity<Map<String, Object>> submitExceptionSignals(@Valid @RequestBody ExceptionSignalBatchDTO batchDTO) {
+        ExceptionTriageResultDTO result = exceptionTriagePipeline.submit(batchDTO.getSignals());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Exception signals accepted for triage");
+        response.put("data", result);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * Write all buffered signals now instead of waiting out the merge window
+     * POST /api/exceptions/signals/flush
+     */
+    @PostMapping("/signals/flush")
+    public ResponseEntity<Map<String, Object>> flushExceptionSignals() {
+        ExceptionTriageResultDTO result = exceptionTriagePipeline.flush(true);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Buffered exception signals written");
+        response.put("data", result);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get all delivery exceptions
      * GET /api/exceptions
@@ -0,0 +1,20 @@
+package com.ecommerce.supplychain.exception.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExceptionSignalBatchDTO {
+
+    @NotEmpty(message = "At least one signal is required")
+    @Size(max = 5000, message = "At most 5000 signals per batch")
+    @Valid
+    private List<ExceptionSignalDTO> signals;
+}
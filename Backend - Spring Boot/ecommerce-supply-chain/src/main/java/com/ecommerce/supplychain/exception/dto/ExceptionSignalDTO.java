@@ -0,0 +1,50 @@
+package com.ecommerce.supplychain.exception.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * One raw exception report from a tracking event, a carrier feed or the system.
+ * Type and severity may be carrier vocabulary; they are classified on ingestion.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExceptionSignalDTO {
+
+    @NotBlank(message = "Tracking number is required")
+    @Size(max = 100, message = "Tracking number must not exceed 100 characters")
+    private String trackingNumber;
+
+    // Resolved from the shipment by tracking number when absent
+    private Long shipmentId;
+
+    private Long orderId;
+
+    private Long packageId;
+
+    private String exceptionType;
+
+    private String carrierStatusCode;
+
+    private String severity;
+
+    private String description;
+
+    private String location;
+
+    private String region;
+
+    private String carrier;
+
+    @Pattern(regexp = "TRACKING_EVENT|CARRIER|SYSTEM",
+            message = "Source must be TRACKING_EVENT, CARRIER, or SYSTEM")
+    private String source;
+
+    private LocalDateTime occurredAt;
+}
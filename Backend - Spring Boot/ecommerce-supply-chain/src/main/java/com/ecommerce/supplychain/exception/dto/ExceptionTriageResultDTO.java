@@ -0,0 +1,33 @@
+package com.ecommerce.supplychain.exception.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of accepting signals or flushing the triage buffer
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExceptionTriageResultDTO {
+
+    private int signalsReceived;
+
+    // Tracking numbers that entered the buffer, and signals folded into one already there
+    private int newlyBuffered;
+    private int mergedInBuffer;
+
+    // Flush outcome: rows inserted, active rows updated, and reports without a known shipment
+    private int exceptionsCreated;
+    private int exceptionsUpdated;
+    private int signalsDropped;
+
+    // Signals of entries that failed to write: buffered again for a retry, or given up on
+    private int signalsRetrying;
+    private int signalsDeadLettered;
+
+    private int pendingTrackingNumbers;
+}
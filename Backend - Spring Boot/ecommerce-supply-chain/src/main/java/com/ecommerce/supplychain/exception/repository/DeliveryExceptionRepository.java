@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -42,6 +43,15 @@ public interface DeliveryExceptionRepository extends JpaRepository<DeliveryExcep
     @Query("SELECT de FROM DeliveryException de WHERE de.exceptionStatus IN ('OPEN', 'IN_PROGRESS', 'ESCALATED')")
     List<DeliveryException> findActiveExceptions();
 
+    @Query("SELECT de FROM DeliveryException de WHERE de.trackingNumber IN :trackingNumbers " +
+           "AND de.exceptionStatus IN ('OPEN', 'IN_PROGRESS', 'ESCALATED')")
+    List<DeliveryException> findActiveByTrackingNumberIn(@Param("trackingNumbers") Collection<String> trackingNumbers);
+
+    // Open workload per agent, as {assignedTo, count}
+    @Query("SELECT de.assignedTo, COUNT(de) FROM DeliveryException de WHERE de.assignedTo IN :agents " +
+           "AND de.exceptionStatus IN ('OPEN', 'IN_PROGRESS', 'ESCALATED') GROUP BY de.assignedTo")
+    List<Object[]> countActiveByAssignee(@Param("agents") Collection<String> agents);
+
     @Query("SELECT de FROM DeliveryException de WHERE de.requiresInsuranceClaim = true AND de.insuranceClaimFiled = false")
     List<DeliveryException> findExceptionsRequiringInsuranceClaim();
 
@@ -114,6 +114,7 @@ public class ExceptionHandlingService {
     /**
      * Get all delivery exceptions
      */
+    @Transactional(readOnly = true)
     public List<DeliveryExceptionResponseDTO> getAllDeliveryExceptions() {
         return deliveryExceptionRepository.findAll().stream()
                 .map(this::mapToDeliveryExceptionResponseDTO)
@@ -123,6 +124,7 @@ public class ExceptionHandlingService {
     /**
      * Get delivery exception by ID
      */
+    @Transactional(readOnly = true)
     public DeliveryExceptionResponseDTO getDeliveryExceptionById(Long exceptionId) {
         DeliveryException exception = deliveryExceptionRepository.findById(exceptionId)
                 .orElseThrow(() -> new IllegalArgumentException("Delivery exception not found with ID: " + exceptionId));
@@ -132,6 +134,7 @@ public class ExceptionHandlingService {
     /**
      * Get exceptions by tracking number
      */
+    @Transactional(readOnly = true)
     public List<DeliveryExceptionResponseDTO> getExceptionsByTrackingNumber(String trackingNumber) {
         return deliveryExceptionRepository.findByTrackingNumber(trackingNumber).stream()
                 .map(this::mapToDeliveryExceptionResponseDTO)
@@ -141,6 +144,7 @@ public class ExceptionHandlingService {
     /**
      * Get exceptions by order ID
      */
+    @Transactional(readOnly = true)
     public List<DeliveryExceptionResponseDTO> getExceptionsByOrderId(Long orderId) {
         return deliveryExceptionRepository.findByOrderId(orderId).stream()
                 .map(this::mapToDeliveryExceptionResponseDTO)
@@ -150,6 +154,7 @@ public class ExceptionHandlingService {
     /**
      * Get active exceptions
      */
+    @Transactional(readOnly = true)
     public List<DeliveryExceptionResponseDTO> getActiveExceptions() {
         return deliveryExceptionRepository.findActiveExceptions().stream()
                 .map(this::mapToDeliveryExceptionResponseDTO)
@@ -0,0 +1,81 @@
+package com.ecommerce.supplychain.exception.service;
+
+import com.ecommerce.supplychain.common.config.ExceptionTriageConfig;
+import com.ecommerce.supplychain.exception.repository.DeliveryExceptionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Picks the assignee of a triaged exception: the first configured queue matching its type,
+ * severity, carrier and region, then the agent of that queue with the fewest active exceptions.
+ * Workloads are counted in memory as exceptions are assigned and re-read from the table once
+ * they are older than the refresh interval, so resolutions elsewhere are picked up.
+ */
+@Service
+public class ExceptionRouter {
+
+    @Autowired
+    private DeliveryExceptionRepository deliveryExceptionRepository;
+
+    @Autowired
+    private ExceptionTriageConfig triageConfig;
+
+    @Value("${app.exception-triage.load-refresh-seconds:300}")
+    private long loadRefreshSeconds;
+
+    private final Map<String, Long> activeLoad = new HashMap<>();
+    private long loadReadAt;
+
+    /**
+     * Assign an exception to the least loaded agent of its queue; call inside a transaction
+     */
+    public synchronized String route(String exceptionType, String severity, String carrier, String region) {
+        if (System.currentTimeMillis() - loadReadAt >= loadRefreshSeconds * 1000) {
+            refreshLoad();
+        }
+        List<String> agents = triageConfig.getQueues().stream()
+                .filter(queue -> !queue.getAgents().isEmpty() && queue.matches(exceptionType, severity, carrier, region))
+                .map(ExceptionTriageConfig.Queue::getAgents)
+                .findFirst()
+                .orElse(triageConfig.getDefaultAgents());
+        String assignee = null;
+        long lowest = Long.MAX_VALUE;
+        for (String agent : agents) {
+            long load = activeLoad.getOrDefault(agent, 0L);
+            if (load < lowest) {
+                assignee = agent;
+                lowest = load;
+            }
+        }
+        if (assignee != null) {
+            activeLoad.merge(assignee, 1L, Long::sum);
+        }
+        return assignee;
+    }
+
+    /**
+     * Current workload per configured agent, for monitoring
+     */
+    public synchronized Map<String, Long> getActiveLoad() {
+        return new HashMap<>(activeLoad);
+    }
+
+    private void refreshLoad() {
+        Set<String> agents = new LinkedHashSet<>(triageConfig.getDefaultAgents());
+        triageConfig.getQueues().forEach(queue -> agents.addAll(queue.getAgents()));
+        activeLoad.clear();
+        if (!agents.isEmpty()) {
+            for (Object[] row : deliveryExceptionRepository.countActiveByAssignee(agents)) {
+                activeLoad.put((String) row[0], (Long) row[1]);
+            }
+        }
+        loadReadAt = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,530 @@
+package com.ecommerce.supplychain.exception.service;
+
+import com.ecommerce.supplychain.common.constants.ExceptionStatus;
+import com.ecommerce.supplychain.exception.dto.ExceptionSignalDTO;
+import com.ecommerce.supplychain.exception.dto.ExceptionTriageResultDTO;
+import com.ecommerce.supplychain.exception.model.DeliveryException;
+import com.ecommerce.supplychain.exception.repository.DeliveryExceptionRepository;
+import com.ecommerce.supplychain.shipment.model.Shipment;
+import com.ecommerce.supplychain.shipment.repository.ShipmentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Intake for delivery exception reports from tracking events, carrier feeds and the system.
+ * Signals are classified and folded into one pending exception per tracking number; once the
+ * first signal of a tracking number is older than the merge window, its pending exception is
+ * written in a batch that either updates the exception already open for it or inserts a new
+ * one routed to an assignee queue. A carrier outage reporting the same parcels over and over
+ * therefore costs one row per parcel and one set of statements per batch.
+ * A batch that fails is halved until the failing entries are isolated; those are retried after a
+ * delay and, past the maximum attempts, logged and moved to a bounded dead-letter list.
+ */
+@Slf4j
+@Service
+public class ExceptionTriagePipeline {
+
+    private static final List<String> SEVERITIES = List.of(
+            ExceptionStatus.LOW, ExceptionStatus.MEDIUM, ExceptionStatus.HIGH, ExceptionStatus.CRITICAL);
+    private static final DateTimeFormatter NOTE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final Pattern EARLIER_NOTES = Pattern.compile("\\((\\d+) earlier notes not shown\\)");
+    private static final int MAX_NOTE_LENGTH = 500;
+
+    @Autowired
+    private DeliveryExceptionRepository deliveryExceptionRepository;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private ExceptionRouter exceptionRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.exception-triage.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.exception-triage.merge-window-seconds:60}")
+    private long mergeWindowSeconds;
+
+    @Value("${app.exception-triage.flush-interval-millis:1000}")
+    private long flushIntervalMillis;
+
+    @Value("${app.exception-triage.batch-size:500}")
+    private int batchSize;
+
+    // Past this many tracking numbers the whole buffer is written without waiting out the window
+    @Value("${app.exception-triage.max-buffered:20000}")
+    private int maxBuffered;
+
+    @Value("${app.exception-triage.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.exception-triage.retry-delay-seconds:30}")
+    private long retryDelaySeconds;
+
+    @Value("${app.exception-triage.max-dead-letters:1000}")
+    private int maxDeadLetters;
+
+    // Report notes kept on an exception's description; older ones are only counted
+    @Value("${app.exception-triage.max-notes:20}")
+    private int maxNotes;
+
+    private final Map<String, PendingException> buffer = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<PendingException> deadLetters = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "exception-triage");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> flushSafely(false), flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        // Everything still buffered is written now, whatever its merge window or retry time
+        flushSafely(true);
+    }
+
+    /**
+     * Classify signals and merge them into the buffer; nothing is read or written here
+     */
+    public ExceptionTriageResultDTO submit(List<ExceptionSignalDTO> signals) {
+        int newlyBuffered = 0;
+        for (ExceptionSignalDTO signal : signals) {
+            PendingException pending = new PendingException(signal);
+            if (buffer.merge(pending.trackingNumber, pending, PendingException::absorb) == pending) {
+                newlyBuffered++;
+            }
+        }
+        return ExceptionTriageResultDTO.builder()
+                .signalsReceived(signals.size())
+                .newlyBuffered(newlyBuffered)
+                .mergedInBuffer(signals.size() - newlyBuffered)
+                .pendingTrackingNumbers(buffer.size())
+                .build();
+    }
+
+    /**
+     * Submit one signal once the caller's transaction commits, so a rolled back event raises nothing
+     */
+    public void submitAfterCommit(ExceptionSignalDTO signal) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(List.of(signal));
+                }
+            });
+        } else {
+            submit(List.of(signal));
+        }
+    }
+
+    /**
+     * Write the pending exceptions whose merge window has passed, or all of them when forced.
+     * Runs on the flush thread; callable directly when the background thread is disabled.
+     */
+    public synchronized ExceptionTriageResultDTO flush(boolean force) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = force || buffer.size() >= maxBuffered ? null : now.minusSeconds(mergeWindowSeconds);
+        List<PendingException> ready = new ArrayList<>();
+        for (String trackingNumber : buffer.keySet()) {
+            // Removed atomically with the window check, so a signal arriving now starts a new entry
+            buffer.computeIfPresent(trackingNumber, (key, pending) -> {
+                boolean retryDue = force || pending.retryAt == null || !pending.retryAt.isAfter(now);
+                if (retryDue && (cutoff == null || !pending.firstReceivedAt.isAfter(cutoff))) {
+                    ready.add(pending);
+                    return null;
+                }
+                return pending;
+            });
+        }
+        ready.sort(Comparator.comparing(pending -> pending.firstReceivedAt));
+
+        ExceptionTriageResultDTO result = ExceptionTriageResultDTO.builder().build();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < ready.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, ready.size());
+            if (!write(transaction, ready.subList(from, to), result)) {
+                log.warn("No transaction could be opened, keeping {} triaged exceptions buffered", ready.size() - from);
+                ready.subList(to, ready.size()).forEach(this::rebuffer);
+                break;
+            }
+        }
+        result.setSignalsReceived(ready.stream().mapToInt(pending -> pending.signalCount).sum());
+        result.setPendingTrackingNumbers(buffer.size());
+        return result;
+    }
+
+    /**
+     * Tracking numbers waiting for their merge window, for monitoring
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    /**
+     * Tracking numbers whose exception could not be written after the maximum attempts, oldest first
+     */
+    public List<String> getDeadLetteredTrackingNumbers() {
+        return deadLetters.stream().map(pending -> pending.trackingNumber).toList();
+    }
+
+    private void flushSafely(boolean force) {
+        try {
+            flush(force);
+        } catch (RuntimeException e) {
+            log.warn("Exception triage flush failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write a batch in one transaction. When that fails the batch is halved and each half written on
+     * its own, down to single entries, so a bad entry holds back only itself.
+     * Returns false, with the batch back in the buffer and no attempt counted, when no transaction
+     * can be opened at all: the database is away, not the entries at fault.
+     */
+    private boolean write(TransactionTemplate transaction, List<PendingException> batch, ExceptionTriageResultDTO result) {
+        ExceptionTriageResultDTO written = ExceptionTriageResultDTO.builder().build();
+        try {
+            transaction.executeWithoutResult(status -> persist(batch, written));
+        } catch (CannotCreateTransactionException e) {
+            batch.forEach(this::rebuffer);
+            return false;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                retryOrDeadLetter(batch.get(0), e, result);
+                return true;
+            }
+            log.warn("Writing {} triaged exceptions failed, writing them in halves: {}", batch.size(), e.getMessage());
+            int half = batch.size() / 2;
+            if (!write(transaction, batch.subList(0, half), result)) {
+                batch.subList(half, batch.size()).forEach(this::rebuffer);
+                return false;
+            }
+            return write(transaction, batch.subList(half, batch.size()), result);
+        }
+        result.setExceptionsCreated(result.getExceptionsCreated() + written.getExceptionsCreated());
+        result.setExceptionsUpdated(result.getExceptionsUpdated() + written.getExceptionsUpdated());
+        result.setSignalsDropped(result.getSignalsDropped() + written.getSignalsDropped());
+        return true;
+    }
+
+    /**
+     * Buffer a failed entry again until its retry time, or dead-letter it once out of attempts
+     */
+    private void retryOrDeadLetter(PendingException pending, RuntimeException error, ExceptionTriageResultDTO result) {
+        pending.attempts++;
+        if (pending.attempts < maxAttempts) {
+            log.warn("Writing the exception for tracking number {} failed (attempt {} of {}), retrying in {}s: {}",
+                    pending.trackingNumber, pending.attempts, maxAttempts, retryDelaySeconds, error.getMessage());
+            pending.retryAt = LocalDateTime.now().plusSeconds(retryDelaySeconds);
+            rebuffer(pending);
+            result.setSignalsRetrying(result.getSignalsRetrying() + pending.signalCount);
+            return;
+        }
+        log.error("Dead-lettering the exception for tracking number {} after {} attempts: {} {} signals, {}: {}",
+                pending.trackingNumber, pending.attempts, pending.signalCount, pending.exceptionType,
+                pending.describe(), error.getMessage());
+        deadLetters.addLast(pending);
+        while (deadLetters.size() > maxDeadLetters) {
+            deadLetters.pollFirst();
+        }
+        result.setSignalsDeadLettered(result.getSignalsDeadLettered() + pending.signalCount);
+    }
+
+    private void rebuffer(PendingException pending) {
+        buffer.merge(pending.trackingNumber, pending, PendingException::absorb);
+    }
+
+    /**
+     * One read for the open exceptions of the batch, one for shipments of unidentified parcels, then saveAll
+     */
+    private void persist(List<PendingException> batch, ExceptionTriageResultDTO result) {
+        Set<String> trackingNumbers = batch.stream().map(pending -> pending.trackingNumber)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, DeliveryException> open = deliveryExceptionRepository.findActiveByTrackingNumberIn(trackingNumbers).stream()
+                .collect(Collectors.toMap(DeliveryException::getTrackingNumber, Function.identity(),
+                        (first, second) -> first.getExceptionDate().isAfter(second.getExceptionDate()) ? first : second));
+
+        Set<String> unidentified = batch.stream()
+                .filter(pending -> !open.containsKey(pending.trackingNumber)
+                        && (pending.shipmentId == null || pending.orderId == null))
+                .map(pending -> pending.trackingNumber)
+                .collect(Collectors.toSet());
+        Map<String, Shipment> shipments = unidentified.isEmpty() ? Map.of()
+                : shipmentRepository.findByTrackingNumberIn(unidentified).stream()
+                        .collect(Collectors.toMap(Shipment::getTrackingNumber, Function.identity()));
+
+        List<DeliveryException> changed = new ArrayList<>();
+        for (PendingException pending : batch) {
+            DeliveryException existing = open.get(pending.trackingNumber);
+            if (existing != null) {
+                mergeInto(existing, pending);
+                changed.add(existing);
+                result.setExceptionsUpdated(result.getExceptionsUpdated() + 1);
+                continue;
+            }
+            Shipment shipment = shipments.get(pending.trackingNumber);
+            if (shipment != null) {
+                pending.fillFrom(shipment);
+            }
+            if (pending.shipmentId == null || pending.orderId == null) {
+                log.warn("Dropping {} exception signals for unknown tracking number {}", pending.signalCount, pending.trackingNumber);
+                result.setSignalsDropped(result.getSignalsDropped() + pending.signalCount);
+                continue;
+            }
+            changed.add(create(pending));
+            result.setExceptionsCreated(result.getExceptionsCreated() + 1);
+        }
+        deliveryExceptionRepository.saveAll(changed);
+    }
+
+    private DeliveryException create(PendingException pending) {
+        DeliveryException exception = new DeliveryException();
+        exception.setExceptionNumber(nextExceptionNumber());
+        exception.setTrackingNumber(pending.trackingNumber);
+        exception.setShipmentId(pending.shipmentId);
+        exception.setOrderId(pending.orderId);
+        exception.setPackageId(pending.packageId);
+        exception.setExceptionType(pending.exceptionType);
+        exception.setExceptionSeverity(pending.severity);
+        exception.setPriorityLevel(priorityFor(pending.severity));
+        exception.setExceptionDescription(pending.describe());
+        exception.setExceptionLocation(pending.location);
+        exception.setExceptionDate(pending.occurredAt);
+        exception.setReportedBy(String.join(",", pending.sources));
+        exception.setCarrier(pending.carrier);
+        exception.setRequiresInsuranceClaim(ExceptionStatus.LOST.equals(pending.exceptionType)
+                || ExceptionStatus.DAMAGED.equals(pending.exceptionType));
+        exception.setAssignedTo(exceptionRouter.route(pending.exceptionType, pending.severity, pending.carrier, pending.region));
+        if (exception.requiresImmediateAttention()) {
+            exception.setExceptionStatus(ExceptionStatus.IN_PROGRESS);
+        }
+        return exception;
+    }
+
+    /**
+     * Fold new reports into the exception already being worked: raise severity, note the reports, keep its owner
+     */
+    private void mergeInto(DeliveryException exception, PendingException pending) {
+        if (rank(pending.severity) > rank(exception.getExceptionSeverity())) {
+            exception.setExceptionSeverity(pending.severity);
+            exception.setPriorityLevel(priorityFor(pending.severity));
+        }
+        if (pending.location != null) {
+            exception.setExceptionLocation(pending.location);
+        }
+        String note = pending.lastReceivedAt.format(NOTE_TIME) + " " + pending.exceptionType + ": " + pending.describe();
+        exception.setExceptionDescription(appendNote(exception.getExceptionDescription(),
+                note.length() > MAX_NOTE_LENGTH ? note.substring(0, MAX_NOTE_LENGTH) : note, maxNotes));
+        if (exception.getAssignedTo() == null) {
+            exception.setAssignedTo(exceptionRouter.route(exception.getExceptionType(), exception.getExceptionSeverity(),
+                    exception.getCarrier(), pending.region));
+        }
+    }
+
+    /**
+     * Add a note line under the original description, keeping only the latest notes; the older
+     * ones are replaced by a count, so the description of a long-running exception stays bounded
+     */
+    static String appendNote(String description, String note, int maxNotes) {
+        List<String> notes = new ArrayList<>(List.of(description.split("\n")));
+        String original = notes.remove(0);
+        int earlier = 0;
+        if (!notes.isEmpty()) {
+            Matcher matcher = EARLIER_NOTES.matcher(notes.get(0));
+            if (matcher.matches()) {
+                earlier = Integer.parseInt(matcher.group(1));
+                notes.remove(0);
+            }
+        }
+        notes.add(note);
+        while (notes.size() > maxNotes) {
+            notes.remove(0);
+            earlier++;
+        }
+        StringBuilder text = new StringBuilder(original);
+        if (earlier > 0) {
+            text.append("\n(").append(earlier).append(" earlier notes not shown)");
+        }
+        notes.forEach(line -> text.append('\n').append(line));
+        return text.toString();
+    }
+
+    private String nextExceptionNumber() {
+        return "EXC-" + System.currentTimeMillis() + "-" + (sequence.incrementAndGet() % 10_000);
+    }
+
+    private static String priorityFor(String severity) {
+        return ExceptionStatus.CRITICAL.equals(severity) ? ExceptionStatus.PRIORITY_URGENT : severity;
+    }
+
+    private static int rank(String severity) {
+        return severity != null ? SEVERITIES.indexOf(severity) : -1;
+    }
+
+    /**
+     * Map carrier vocabulary onto the exception types; unrecognised reports count as delays
+     */
+    static String classifyType(String exceptionType, String carrierStatusCode) {
+        String raw = exceptionType != null ? exceptionType : carrierStatusCode;
+        if (raw == null) {
+            return ExceptionStatus.DELAYED;
+        }
+        String code = raw.trim().toUpperCase().replace(' ', '_').replace('-', '_');
+        if (code.contains("LOST") || code.contains("MISSING")) return ExceptionStatus.LOST;
+        if (code.contains("DAMAG")) return ExceptionStatus.DAMAGED;
+        if (code.contains("REFUS")) return ExceptionStatus.REFUSED;
+        if (code.contains("ADDRESS")) return ExceptionStatus.WRONG_ADDRESS;
+        if (code.contains("NOT_AVAILABLE") || code.contains("NOT_HOME") || code.contains("NO_ACCESS")) {
+            return ExceptionStatus.CUSTOMER_NOT_AVAILABLE;
+        }
+        if (code.contains("WEATHER")) return ExceptionStatus.WEATHER_DELAY;
+        if (code.contains("MECHANICAL") || code.contains("VEHICLE")) return ExceptionStatus.MECHANICAL_ISSUE;
+        return ExceptionStatus.DELAYED;
+    }
+
+    /**
+     * Severity implied by the type, raised to the reported severity when that is higher
+     */
+    static String classifySeverity(String exceptionType, String reportedSeverity) {
+        String implied = switch (exceptionType) {
+            case ExceptionStatus.LOST -> ExceptionStatus.CRITICAL;
+            case ExceptionStatus.DAMAGED -> ExceptionStatus.HIGH;
+            case ExceptionStatus.REFUSED, ExceptionStatus.WRONG_ADDRESS, ExceptionStatus.DELAYED -> ExceptionStatus.MEDIUM;
+            default -> ExceptionStatus.LOW;
+        };
+        String reported = reportedSeverity != null ? reportedSeverity.trim().toUpperCase() : null;
+        return rank(reported) > rank(implied) ? reported : implied;
+    }
+
+    /**
+     * All signals for one tracking number received within the merge window
+     */
+    private static final class PendingException {
+        private final String trackingNumber;
+        private final LocalDateTime firstReceivedAt = LocalDateTime.now();
+        private final Set<String> sources = new LinkedHashSet<>();
+        private LocalDateTime lastReceivedAt = firstReceivedAt;
+        private LocalDateTime occurredAt;
+        private Long shipmentId;
+        private Long orderId;
+        private Long packageId;
+        private String exceptionType;
+        private String severity;
+        private String carrier;
+        private String location;
+        private String region;
+        private String firstDescription;
+        private String lastDescription;
+        private int signalCount = 1;
+        private int attempts;
+        private LocalDateTime retryAt;
+
+        PendingException(ExceptionSignalDTO signal) {
+            trackingNumber = signal.getTrackingNumber().trim();
+            sources.add(signal.getSource() != null ? signal.getSource() : "CARRIER");
+            occurredAt = signal.getOccurredAt() != null ? signal.getOccurredAt() : firstReceivedAt;
+            shipmentId = signal.getShipmentId();
+            orderId = signal.getOrderId();
+            packageId = signal.getPackageId();
+            exceptionType = classifyType(signal.getExceptionType(), signal.getCarrierStatusCode());
+            severity = classifySeverity(exceptionType, signal.getSeverity());
+            carrier = signal.getCarrier();
+            location = signal.getLocation();
+            region = signal.getRegion();
+            // One line, as notes are appended to the description line by line
+            firstDescription = signal.getDescription() != null ? signal.getDescription().replaceAll("\\s*\\R\\s*", " ")
+                    : "Reported as " + (signal.getCarrierStatusCode() != null ? signal.getCarrierStatusCode() : exceptionType);
+            lastDescription = firstDescription;
+        }
+
+        /**
+         * Merge a later entry for the same tracking number; the most severe report decides the type
+         */
+        PendingException absorb(PendingException later) {
+            if (rank(later.severity) > rank(severity)) {
+                severity = later.severity;
+                exceptionType = later.exceptionType;
+            }
+            if (later.occurredAt.isBefore(occurredAt)) {
+                occurredAt = later.occurredAt;
+            }
+            if (!later.lastReceivedAt.isBefore(lastReceivedAt)) {
+                lastReceivedAt = later.lastReceivedAt;
+                lastDescription = later.lastDescription;
+            }
+            shipmentId = shipmentId != null ? shipmentId : later.shipmentId;
+            orderId = orderId != null ? orderId : later.orderId;
+            packageId = packageId != null ? packageId : later.packageId;
+            carrier = carrier != null ? carrier : later.carrier;
+            region = region != null ? region : later.region;
+            location = later.location != null ? later.location : location;
+            sources.addAll(later.sources);
+            signalCount += later.signalCount;
+            // A failed entry merged back keeps its attempts and waits out its retry delay
+            attempts = Math.max(attempts, later.attempts);
+            if (later.retryAt != null && (retryAt == null || later.retryAt.isAfter(retryAt))) {
+                retryAt = later.retryAt;
+            }
+            return this;
+        }
+
+        void fillFrom(Shipment shipment) {
+            shipmentId = shipmentId != null ? shipmentId : shipment.getShipmentId();
+            orderId = orderId != null ? orderId : shipment.getOrderId();
+            packageId = packageId != null ? packageId : shipment.getPackageId();
+            carrier = carrier != null ? carrier : shipment.getCarrier();
+        }
+
+        String describe() {
+            if (signalCount == 1) {
+                return firstDescription;
+            }
+            return firstDescription + " (" + signalCount + " reports"
+                    + (lastDescription.equals(firstDescription) ? "" : ", latest: " + lastDescription) + ")";
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.ecommerce.supplychain.forecasting.repository;
 
 import com.ecommerce.supplychain.forecasting.model.ReorderPlan;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -33,6 +35,11 @@ public interface ReorderPlanRepository extends JpaRepository<ReorderPlan, Long>
     @Query("SELECT rp FROM ReorderPlan rp WHERE rp.convertedToPo = false AND rp.suggestedOrderDate <= :date")
     List<ReorderPlan> findPendingReorderPlans(@Param("date") LocalDate date);
 
+    // PO generation: approved plans not yet on a PO, locked so concurrent runs cannot convert a plan twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT rp FROM ReorderPlan rp WHERE rp.planStatus = 'APPROVED' AND (rp.convertedToPo = false OR rp.convertedToPo IS NULL)")
+    List<ReorderPlan> findApprovedUnconvertedPlans();
+
     @Query("SELECT rp FROM ReorderPlan rp WHERE rp.convertedToPo = false AND rp.orderUrgency = 'CRITICAL'")
     List<ReorderPlan> findCriticalReorderPlans();
 
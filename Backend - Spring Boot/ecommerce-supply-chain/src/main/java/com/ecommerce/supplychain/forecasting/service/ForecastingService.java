@@ -1,5 +1,8 @@
 package com.ecommerce.supplychain.forecasting.service;
 
+import com.ecommerce.supplychain.common.constants.DeadlineType;
+import com.ecommerce.supplychain.common.scheduling.DeadlineHandler;
+import com.ecommerce.supplychain.common.scheduling.DeadlineScheduler;
 import com.ecommerce.supplychain.forecasting.dto.*;
 import com.ecommerce.supplychain.forecasting.model.DemandForecast;
 import com.ecommerce.supplychain.forecasting.model.ReorderPlan;
@@ -20,7 +23,7 @@ import java.util.stream.Collectors;
  * Service class handling demand forecasting and reorder planning business logic.
  */
 @Service
-public class ForecastingService {
+public class ForecastingService implements DeadlineHandler {
 
     @Autowired
     private DemandForecastRepository demandForecastRepository;
@@ -28,6 +31,9 @@ public class ForecastingService {
     @Autowired
     private ReorderPlanRepository reorderPlanRepository;
 
+    @Autowired
+    private DeadlineScheduler deadlineScheduler;
+
     /**
      * API 1: Generate demand forecast
      */
@@ -112,6 +118,11 @@ public class ForecastingService {
 
         ReorderPlan savedPlan = reorderPlanRepository.save(reorderPlan);
 
+        if (savedPlan.getExpectedStockoutDate() != null) {
+            deadlineScheduler.schedule(DeadlineType.REORDER_STOCKOUT, savedPlan.getPlanId(),
+                    savedPlan.getExpectedStockoutDate().atStartOfDay());
+        }
+
         return mapToReorderPlanResponseDTO(savedPlan);
     }
 
@@ -135,13 +146,37 @@ public class ForecastingService {
         }
 
         ReorderPlan updatedPlan = reorderPlanRepository.save(reorderPlan);
+        deadlineScheduler.cancel(DeadlineType.REORDER_STOCKOUT, updatedPlan.getPlanId());
 
         return mapToReorderPlanResponseDTO(updatedPlan);
     }
 
+    @Override
+    public String getDeadlineType() {
+        return DeadlineType.REORDER_STOCKOUT;
+    }
+
+    /**
+     * Note on a plan still without a purchase order that its projected stockout date has come
+     */
+    @Override
+    @Transactional
+    public void onDeadline(Long planId, LocalDateTime dueAt) {
+        ReorderPlan plan = reorderPlanRepository.findById(planId).orElse(null);
+        if (plan == null || Boolean.TRUE.equals(plan.getConvertedToPo())
+                || (!"DRAFT".equals(plan.getPlanStatus()) && !"APPROVED".equals(plan.getPlanStatus()))) {
+            return;
+        }
+        String existingNotes = plan.getNotes() != null ? plan.getNotes() + "\n\n" : "";
+        plan.setNotes(existingNotes + "Stockout: projected stockout date " + plan.getExpectedStockoutDate()
+                + " reached without a purchase order");
+        reorderPlanRepository.save(plan);
+    }
+
     /**
      * Get all demand forecasts
      */
+    @Transactional(readOnly = true)
     public List<ForecastResponseDTO> getAllDemandForecasts() {
         return demandForecastRepository.findAll().stream()
                 .map(this::mapToForecastResponseDTO)
@@ -151,6 +186,7 @@ public class ForecastingService {
     /**
      * Get forecast by ID
      */
+    @Transactional(readOnly = true)
     public ForecastResponseDTO getForecastById(Long forecastId) {
         DemandForecast forecast = demandForecastRepository.findById(forecastId)
                 .orElseThrow(() -> new IllegalArgumentException("Forecast not found with ID: " + forecastId));
@@ -160,6 +196,7 @@ public class ForecastingService {
     /**
      * Get forecasts by product
      */
+    @Transactional(readOnly = true)
     public List<ForecastResponseDTO> getForecastsByProductId(Long productId) {
         return demandForecastRepository.findByProductId(productId).stream()
                 .map(this::mapToForecastResponseDTO)
@@ -169,6 +206,7 @@ public class ForecastingService {
     /**
      * Get active forecasts
      */
+    @Transactional(readOnly = true)
     public List<ForecastResponseDTO> getActiveForecasts() {
         return demandForecastRepository.findByForecastStatus("ACTIVE").stream()
                 .map(this::mapToForecastResponseDTO)
@@ -178,6 +216,7 @@ public class ForecastingService {
     /**
      * Get all reorder plans
      */
+    @Transactional(readOnly = true)
     public List<ReorderPlanResponseDTO> getAllReorderPlans() {
         return reorderPlanRepository.findAll().stream()
                 .map(this::mapToReorderPlanResponseDTO)
@@ -187,6 +226,7 @@ public class ForecastingService {
     /**
      * Get reorder plan by ID
      */
+    @Transactional(readOnly = true)
     public ReorderPlanResponseDTO getReorderPlanById(Long planId) {
         ReorderPlan plan = reorderPlanRepository.findById(planId)
                 .orElseThrow(() -> new IllegalArgumentException("Reorder plan not found with ID: " + planId));
@@ -196,6 +236,7 @@ public class ForecastingService {
     /**
      * Get pending reorder plans (not converted to PO)
      */
+    @Transactional(readOnly = true)
     public List<ReorderPlanResponseDTO> getPendingReorderPlans() {
         return reorderPlanRepository.findPendingReorderPlans(LocalDate.now()).stream()
                 .map(this::mapToReorderPlanResponseDTO)
@@ -205,6 +246,7 @@ public class ForecastingService {
     /**
      * Get critical reorder plans
      */
+    @Transactional(readOnly = true)
     public List<ReorderPlanResponseDTO> getCriticalReorderPlans() {
         return reorderPlanRepository.findCriticalReorderPlans().stream()
                 .map(this::mapToReorderPlanResponseDTO)
@@ -108,6 +108,22 @@ public class InventoryController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Lightweight list of inventory items for tables and pickers
+     * GET /api/inventory/monitoring/summary?stockStatus=LOW
+     */
+    @GetMapping("/monitoring/summary")
+    public ResponseEntity<Map<String, Object>> getInventorySummaries(@RequestParam(required = false) String stockStatus) {
+        List<InventorySummaryDTO> inventory = inventoryService.getInventorySummaries(stockStatus);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("count", inventory.size());
+        response.put("data", inventory);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get inventory by product ID
      * GET /api/inventory/monitoring/product/{productId}
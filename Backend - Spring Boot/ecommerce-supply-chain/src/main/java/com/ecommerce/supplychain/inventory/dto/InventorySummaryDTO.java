@@ -0,0 +1,25 @@
+package com.ecommerce.supplychain.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * List row for inventory monitoring: stock levels and status only.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventorySummaryDTO {
+
+    private Long inventoryId;
+    private Long productId;
+    private String productSku;
+    private String productName;
+    private Integer currentStock;
+    private Integer reservedStock;
+    private Integer availableStock;
+    private Integer reorderPoint;
+    private String stockStatus;
+    private String movementFrequency;
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.supplychain.inventory.repository;
 
+import com.ecommerce.supplychain.inventory.dto.InventorySummaryDTO;
 import com.ecommerce.supplychain.inventory.model.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -45,4 +46,9 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 
     @Query("SELECT i FROM Inventory i WHERE i.productName LIKE %:searchTerm% OR i.productSku LIKE %:searchTerm%")
     List<Inventory> searchInventory(@Param("searchTerm") String searchTerm);
+
+    @Query("SELECT new com.ecommerce.supplychain.inventory.dto.InventorySummaryDTO(i.inventoryId, i.productId, i.productSku, " +
+            "i.productName, i.currentStock, i.reservedStock, i.availableStock, i.reorderPoint, i.stockStatus, i.movementFrequency) " +
+            "FROM Inventory i WHERE :stockStatus IS NULL OR i.stockStatus = :stockStatus ORDER BY i.inventoryId")
+    List<InventorySummaryDTO> findSummaries(@Param("stockStatus") String stockStatus);
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.ecommerce.supplychain.inventory.service;
 
+import com.ecommerce.supplychain.common.constants.DeadlineType;
+import com.ecommerce.supplychain.common.scheduling.DeadlineHandler;
+import com.ecommerce.supplychain.common.scheduling.DeadlineScheduler;
 import com.ecommerce.supplychain.inventory.dto.*;
 import com.ecommerce.supplychain.inventory.model.Inventory;
 import com.ecommerce.supplychain.inventory.model.StockAlert;
 import com.ecommerce.supplychain.inventory.repository.InventoryRepository;
 import com.ecommerce.supplychain.inventory.repository.StockAlertRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,7 +22,7 @@ import java.util.stream.Collectors;
  * Service class handling inventory monitoring and stock alert business logic.
  */
 @Service
-public class InventoryService {
+public class InventoryService implements DeadlineHandler {
 
     @Autowired
     private InventoryRepository inventoryRepository;
@@ -26,6 +30,12 @@ public class InventoryService {
     @Autowired
     private StockAlertRepository stockAlertRepository;
 
+    @Autowired
+    private DeadlineScheduler deadlineScheduler;
+
+    @Value("${app.deadlines.stock-alert-escalation-hours:24}")
+    private long stockAlertEscalationHours;
+
     /**
      * API 1: Add product to inventory monitoring
      */
@@ -78,6 +88,7 @@ public class InventoryService {
         alert.resolveAlert(alertDTO.getResolvedBy(), alertDTO.getResolutionNotes());
 
         StockAlert resolvedAlert = stockAlertRepository.save(alert);
+        deadlineScheduler.cancel(DeadlineType.STOCK_ALERT_ESCALATION, resolvedAlert.getAlertId());
 
         return mapToStockAlertResponseDTO(resolvedAlert);
     }
@@ -139,15 +150,25 @@ public class InventoryService {
     /**
      * Get all inventory items
      */
+    @Transactional(readOnly = true)
     public List<InventoryResponseDTO> getAllInventory() {
         return inventoryRepository.findAll().stream()
                 .map(this::mapToInventoryResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get inventory list rows, optionally filtered by stock status; projected straight into DTOs, no entities are loaded
+     */
+    @Transactional(readOnly = true)
+    public List<InventorySummaryDTO> getInventorySummaries(String stockStatus) {
+        return inventoryRepository.findSummaries(stockStatus);
+    }
+
     /**
      * Get inventory by product ID
      */
+    @Transactional(readOnly = true)
     public InventoryResponseDTO getInventoryByProductId(Long productId) {
         Inventory inventory = inventoryRepository.findByProductId(productId)
                 .orElseThrow(() -> new IllegalArgumentException("Inventory not found for product ID: " + productId));
@@ -157,6 +178,7 @@ public class InventoryService {
     /**
      * Get low stock items
      */
+    @Transactional(readOnly = true)
     public List<InventoryResponseDTO> getLowStockItems() {
         return inventoryRepository.findLowStockItems().stream()
                 .map(this::mapToInventoryResponseDTO)
@@ -166,6 +188,7 @@ public class InventoryService {
     /**
      * Get out of stock items
      */
+    @Transactional(readOnly = true)
     public List<InventoryResponseDTO> getOutOfStockItems() {
         return inventoryRepository.findOutOfStockItems().stream()
                 .map(this::mapToInventoryResponseDTO)
@@ -175,6 +198,7 @@ public class InventoryService {
     /**
      * Get overstock items
      */
+    @Transactional(readOnly = true)
     public List<InventoryResponseDTO> getOverstockItems() {
         return inventoryRepository.findOverstockItems().stream()
                 .map(this::mapToInventoryResponseDTO)
@@ -184,6 +208,7 @@ public class InventoryService {
     /**
      * Get all active stock alerts
      */
+    @Transactional(readOnly = true)
     public List<StockAlertResponseDTO> getActiveAlerts() {
         return stockAlertRepository.findByIsResolved(false).stream()
                 .map(this::mapToStockAlertResponseDTO)
@@ -193,6 +218,7 @@ public class InventoryService {
     /**
      * Get critical unresolved alerts
      */
+    @Transactional(readOnly = true)
     public List<StockAlertResponseDTO> getCriticalAlerts() {
         return stockAlertRepository.findCriticalUnresolvedAlerts().stream()
                 .map(this::mapToStockAlertResponseDTO)
@@ -202,6 +228,7 @@ public class InventoryService {
     /**
      * Get alerts by product
      */
+    @Transactional(readOnly = true)
     public List<StockAlertResponseDTO> getAlertsByProductId(Long productId) {
         return stockAlertRepository.findByProductId(productId).stream()
                 .map(this::mapToStockAlertResponseDTO)
@@ -260,9 +287,47 @@ public class InventoryService {
         }
 
         stockAlertRepository.saveAll(alerts);
+
+        // Escalated while left unresolved
+        for (StockAlert alert : alerts) {
+            if (!"CRITICAL".equals(alert.getAlertLevel())) {
+                deadlineScheduler.schedule(DeadlineType.STOCK_ALERT_ESCALATION, alert.getAlertId(),
+                        alert.getCreatedAt().plusHours(stockAlertEscalationHours));
+            }
+        }
         return alerts;
     }
 
+    @Override
+    public String getDeadlineType() {
+        return DeadlineType.STOCK_ALERT_ESCALATION;
+    }
+
+    /**
+     * Raise an unresolved alert one level and notify again; repeats until the alert is critical
+     */
+    @Override
+    @Transactional
+    public void onDeadline(Long alertId, LocalDateTime dueAt) {
+        StockAlert alert = stockAlertRepository.findById(alertId).orElse(null);
+        if (alert == null || Boolean.TRUE.equals(alert.getIsResolved())) {
+            return;
+        }
+        String nextLevel = switch (alert.getAlertLevel() != null ? alert.getAlertLevel() : "") {
+            case "LOW" -> "MEDIUM";
+            case "MEDIUM" -> "HIGH";
+            default -> "CRITICAL";
+        };
+        alert.setAlertLevel(nextLevel);
+        alert.setNotificationSent(false);
+        stockAlertRepository.save(alert);
+
+        if (!"CRITICAL".equals(nextLevel)) {
+            deadlineScheduler.schedule(DeadlineType.STOCK_ALERT_ESCALATION, alertId,
+                    LocalDateTime.now().plusHours(stockAlertEscalationHours));
+        }
+    }
+
     /**
      * Check if product already has an active alert of given type
      */
@@ -332,7 +397,7 @@ public class InventoryService {
      */
     private StockAlertResponseDTO mapToStockAlertResponseDTO(StockAlert alert) {
         Long daysOpen = null;
-        if (!alert.getIsResolved()) {
+        if (!Boolean.TRUE.equals(alert.getIsResolved()) && alert.getCreatedAt() != null) {
             daysOpen = ChronoUnit.DAYS.between(alert.getCreatedAt(), LocalDateTime.now());
         }
 
@@ -1,7 +1,9 @@
 package com.ecommerce.supplychain.order.controller;
 
 import com.ecommerce.supplychain.order.dto.*;
+import com.ecommerce.supplychain.order.model.OrderStatusHistory;
 import com.ecommerce.supplychain.order.service.OrderService;
+import com.ecommerce.supplychain.order.service.OrderSourcingService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -20,6 +22,9 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderSourcingService orderSourcingService;
+
     /**
      * API 1: Create new customer order
      * POST /api/orders
@@ -51,6 +56,22 @@ public class OrderController {
         }
     }
 
+    /**
+     * Preview warehouse sourcing for a basket without creating an order
+     * POST /api/orders/sourcing-plan
+     */
+    @PostMapping("/sourcing-plan")
+    public ResponseEntity<Map<String, Object>> planSourcing(@Valid @RequestBody SourcingRequestDTO sourcingRequestDTO) {
+        SourcingPlanDTO plan = orderSourcingService.planSourcing(sourcingRequestDTO);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Sourcing plan: " + plan.getStrategy());
+        response.put("data", plan);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * API 2: Update order status
      * PUT /api/orders/{orderId}/status
@@ -83,6 +104,54 @@ public class OrderController {
         }
     }
 
+    /**
+     * Move many orders to one status in a single batch (e.g. a wave from CONFIRMED to PROCESSING)
+     * POST /api/orders/status/bulk-transition
+     */
+    @PostMapping("/status/bulk-transition")
+    public ResponseEntity<Map<String, Object>> bulkTransition(@Valid @RequestBody BulkStatusTransitionDTO request) {
+        try {
+            BulkTransitionResultDTO result = orderService.bulkTransition(request);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", result.getTransitioned() + " orders moved to " + result.getToStatus()
+                    + ", " + result.getRejected() + " rejected");
+            response.put("data", result);
+
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    /**
+     * Get status audit trail of an order
+     * GET /api/orders/{orderId}/status-history
+     */
+    @GetMapping("/{orderId}/status-history")
+    public ResponseEntity<Map<String, Object>> getStatusHistory(@PathVariable Long orderId) {
+        try {
+            List<OrderStatusHistory> history = orderService.getStatusHistory(orderId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("orderId", orderId);
+            response.put("count", history.size());
+            response.put("data", history);
+
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+
     /**
      * Get order by ID
      * GET /api/orders/{orderId}
@@ -143,6 +212,22 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Lightweight list of orders for tables and pickers
+     * GET /api/orders/summary?status=PENDING
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<Map<String, Object>> getOrderSummaries(@RequestParam(required = false) String status) {
+        List<OrderSummaryDTO> orders = orderService.getOrderSummaries(status);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("count", orders.size());
+        response.put("data", orders);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get orders by customer
      * GET /api/orders/customer/{customerId}
@@ -0,0 +1,28 @@
+package com.ecommerce.supplychain.order.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Request to move many orders to one status.
+ * Orders are selected by explicit IDs, or by current status (optionally within one warehouse).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusTransitionDTO {
+
+    private List<Long> orderIds;
+
+    private String fromStatus;
+
+    private Long warehouseId;
+
+    @NotBlank(message = "Target status is required")
+    private String toStatus;
+
+    private String notes;
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.supplychain.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Response DTO for a bulk order status transition.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTransitionResultDTO {
+
+    private String batchId;
+    private String toStatus;
+    private Integer selected;
+    private Integer transitioned;
+    private Integer rejected;
+    private Long elapsedMillis;
+
+    private List<RejectionDTO> rejections;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RejectionDTO {
+        private Long orderId;
+        private String currentStatus;
+        private String reason;
+    }
+}
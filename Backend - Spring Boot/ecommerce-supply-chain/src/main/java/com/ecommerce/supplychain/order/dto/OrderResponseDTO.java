@@ -71,5 +71,6 @@ public class OrderResponseDTO {
         private String itemNotes;
         private Long inventoryId;
         private Long shelfLocationId;
+        private Long sourceWarehouseId;
     }
 }
\ No newline at end of file
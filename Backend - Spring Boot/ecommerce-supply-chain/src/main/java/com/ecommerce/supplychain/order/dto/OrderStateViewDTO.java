@@ -0,0 +1,20 @@
+package com.ecommerce.supplychain.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Columns the order state machine guards need, read without hydrating orders or items.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStateViewDTO {
+
+    private Long orderId;
+    private String orderStatus;
+    private String paymentStatus;
+    private Long pickListId;
+    private Long shipmentId;
+}
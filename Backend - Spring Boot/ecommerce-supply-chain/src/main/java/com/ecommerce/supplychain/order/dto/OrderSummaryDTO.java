@@ -0,0 +1,30 @@
+package com.ecommerce.supplychain.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * List row for orders, selected column by column so addresses and notes are never read.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryDTO {
+
+    private Long orderId;
+    private String orderNumber;
+    private Long customerId;
+    private String customerName;
+    private String orderStatus;
+    private String paymentStatus;
+    private BigDecimal finalAmount;
+    private String currency;
+    private Long warehouseId;
+    private String priorityLevel;
+    private LocalDateTime estimatedDeliveryDate;
+    private LocalDateTime createdAt;
+    private Integer totalItems;
+}
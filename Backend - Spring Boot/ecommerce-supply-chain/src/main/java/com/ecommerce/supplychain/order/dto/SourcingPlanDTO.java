@@ -0,0 +1,49 @@
+package com.ecommerce.supplychain.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SourcingPlanDTO {
+
+    private String strategy; // SINGLE_SOURCE, SPLIT_SHIPMENT, UNFULFILLABLE (some units in no warehouse)
+    private Long primaryWarehouseId;
+    private Boolean fullyAllocated;
+    private Integer shipmentCount;
+    private Double totalScore;
+    private Integer candidateWarehouses;
+    private Long planningTimeMicros;
+
+    private List<WarehouseShipmentDTO> shipments;
+    private List<LineAllocationDTO> unallocatedLines;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class WarehouseShipmentDTO {
+        private Long warehouseId;
+        private String warehouseCode;
+        private String warehouseName;
+        private Integer proximityTier; // 0 = same postal code ... 4 = different country
+        private Double score;
+        private Integer totalUnits;
+        private List<LineAllocationDTO> lines;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class LineAllocationDTO {
+        private Long productId;
+        private Integer quantity;
+        private Long shelfLocationId;
+    }
+}
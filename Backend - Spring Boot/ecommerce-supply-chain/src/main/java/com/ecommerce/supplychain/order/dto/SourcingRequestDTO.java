@@ -0,0 +1,39 @@
+package com.ecommerce.supplychain.order.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SourcingRequestDTO {
+
+    @NotBlank(message = "Shipping address is required")
+    private String shippingAddress;
+
+    private Long preferredWarehouseId;
+
+    @NotEmpty(message = "Sourcing request must contain at least one line")
+    @Valid
+    private List<SourcingLineDTO> lines;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SourcingLineDTO {
+
+        @NotNull(message = "Product ID is required")
+        private Long productId;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantity;
+    }
+}
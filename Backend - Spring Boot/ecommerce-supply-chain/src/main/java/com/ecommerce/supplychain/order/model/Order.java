@@ -11,6 +11,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "customer_orders")
+@NamedEntityGraph(name = "Order.items", attributeNodes = @NamedAttributeNode("orderItems"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -65,6 +65,9 @@ public class OrderItem {
     @Column(name = "shelf_location_id")
     private Long shelfLocationId; // Links to Process 8 (Warehouse)
 
+    @Column(name = "source_warehouse_id")
+    private Long sourceWarehouseId; // Warehouse chosen by sourcing, differs from order warehouse on split shipments
+
     @PrePersist
     @PreUpdate
     protected void calculateTotalPrice() {
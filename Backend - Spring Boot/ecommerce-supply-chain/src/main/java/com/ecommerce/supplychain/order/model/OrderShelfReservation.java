@@ -0,0 +1,55 @@
+package com.ecommerce.supplychain.order.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Units an order took off one shelf when it was sourced; released when the order is cancelled.
+ */
+@Entity
+@Table(name = "order_shelf_reservations", indexes = {
+        @Index(name = "idx_order_shelf_reservations_order", columnList = "order_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderShelfReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    @Column(name = "shelf_id", nullable = false)
+    private Long shelfId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "product_name")
+    private String productName; // restored on the shelf if it was emptied by the order
+
+    @Column(name = "product_sku", length = 50)
+    private String productSku;
+
+    @Column(name = "units", nullable = false)
+    private Integer units;
+
+    @Column(name = "weight_kg", nullable = false)
+    private Double weightKg;
+
+    @Column(name = "reserved_at", nullable = false)
+    private LocalDateTime reservedAt;
+
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt; // null while the units are off the shelf for the order
+}
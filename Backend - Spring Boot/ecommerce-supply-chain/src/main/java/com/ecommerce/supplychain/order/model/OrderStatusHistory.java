@@ -0,0 +1,53 @@
+package com.ecommerce.supplychain.order.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Audit row written for every order status transition.
+ */
+@Entity
+@Table(name = "order_status_history", indexes = {
+        @Index(name = "idx_order_status_history_order", columnList = "order_id, changed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "history_id")
+    private Long historyId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "from_status", length = 50)
+    private String fromStatus;
+
+    @Column(name = "to_status", nullable = false, length = 50)
+    private String toStatus;
+
+    @Column(name = "transition_source", length = 20)
+    private String transitionSource; // SINGLE, BULK
+
+    @Column(name = "batch_id", length = 36)
+    private String batchId; // shared by all rows of one bulk transition
+
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (changedAt == null) {
+            changedAt = LocalDateTime.now();
+        }
+    }
+}
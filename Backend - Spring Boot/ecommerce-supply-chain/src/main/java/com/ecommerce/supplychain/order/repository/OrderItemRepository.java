@@ -11,7 +11,9 @@ import java.util.List;
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
-    List<OrderItem> findByOrderOrderId(Long orderId);
+    // Filters on the order_id column; the derived query outer-joins customer_orders and scans order_items
+    @Query("SELECT oi FROM OrderItem oi WHERE oi.order.orderId = :orderId")
+    List<OrderItem> findByOrderOrderId(@Param("orderId") Long orderId);
 
     List<OrderItem> findByProductId(Long productId);
 
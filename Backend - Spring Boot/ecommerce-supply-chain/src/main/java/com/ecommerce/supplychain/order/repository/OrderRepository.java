@@ -1,7 +1,11 @@
 package com.ecommerce.supplychain.order.repository;
 
+import com.ecommerce.supplychain.order.dto.OrderStateViewDTO;
+import com.ecommerce.supplychain.order.dto.OrderSummaryDTO;
 import com.ecommerce.supplychain.order.model.Order;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,10 +17,21 @@ import java.util.Optional;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    // Fetch plans for response mapping; write paths keep using the lazy findById/findAll
+    @EntityGraph("Order.items")
+    @Query("SELECT o FROM Order o")
+    List<Order> findAllWithItems();
+
+    @EntityGraph("Order.items")
+    Optional<Order> findWithItemsByOrderId(Long orderId);
+
+    @EntityGraph("Order.items")
     Optional<Order> findByOrderNumber(String orderNumber);
 
+    @EntityGraph("Order.items")
     List<Order> findByCustomerId(Long customerId);
 
+    @EntityGraph("Order.items")
     List<Order> findByOrderStatus(String orderStatus);
 
     List<Order> findByPaymentStatus(String paymentStatus);
@@ -29,6 +44,7 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findOrdersByDateRange(@Param("startDate") LocalDateTime startDate,
                                       @Param("endDate") LocalDateTime endDate);
 
+    @EntityGraph("Order.items")
     @Query("SELECT o FROM Order o WHERE o.orderStatus IN ('PENDING', 'CONFIRMED', 'PROCESSING')")
     List<Order> findActiveOrders();
 
@@ -37,4 +53,36 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     @Query("SELECT COUNT(o) FROM Order o WHERE o.orderStatus = :status")
     Long countByOrderStatus(@Param("status") String status);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.ecommerce.supplychain.order.dto.OrderStateViewDTO(o.orderId, o.orderStatus, o.paymentStatus, o.pickListId, o.shipmentId) " +
+            "FROM Order o WHERE o.orderId IN :orderIds")
+    List<OrderStateViewDTO> findStateViewsByIds(@Param("orderIds") List<Long> orderIds);
+
+    @Query("SELECT new com.ecommerce.supplychain.order.dto.OrderStateViewDTO(o.orderId, o.orderStatus, o.paymentStatus, o.pickListId, o.shipmentId) " +
+            "FROM Order o WHERE o.orderStatus = :status AND (:warehouseId IS NULL OR o.warehouseId = :warehouseId)")
+    List<OrderStateViewDTO> findStateViewsByStatus(@Param("status") String status,
+                                                   @Param("warehouseId") Long warehouseId);
+
+    /**
+     * Set-based status transition; only rows still in fromStatus move. Mirrors the
+     * per-order side effects of OrderService.handleStatusTransition and the refund of cancelOrder.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.orderStatus = :toStatus, o.updatedAt = :changedAt, " +
+            "o.paymentStatus = CASE WHEN :toStatus = 'CANCELLED' THEN 'REFUNDED' ELSE o.paymentStatus END, " +
+            "o.shipmentId = CASE WHEN :toStatus = 'CONFIRMED' AND o.shipmentId IS NULL THEN o.orderId + 5000 ELSE o.shipmentId END, " +
+            "o.actualDeliveryDate = CASE WHEN :toStatus = 'DELIVERED' THEN :changedAt " +
+            "WHEN :toStatus = 'SHIPPED' THEN :estimatedDelivery ELSE o.actualDeliveryDate END " +
+            "WHERE o.orderId IN :orderIds AND o.orderStatus = :fromStatus")
+    int bulkTransition(@Param("orderIds") List<Long> orderIds,
+                       @Param("fromStatus") String fromStatus,
+                       @Param("toStatus") String toStatus,
+                       @Param("changedAt") LocalDateTime changedAt,
+                       @Param("estimatedDelivery") LocalDateTime estimatedDelivery);
+
+    @Query("SELECT new com.ecommerce.supplychain.order.dto.OrderSummaryDTO(o.orderId, o.orderNumber, o.customerId, o.customerName, " +
+            "o.orderStatus, o.paymentStatus, o.finalAmount, o.currency, o.warehouseId, o.priorityLevel, o.estimatedDeliveryDate, " +
+            "o.createdAt, SIZE(o.orderItems)) " +
+            "FROM Order o WHERE :status IS NULL OR o.orderStatus = :status ORDER BY o.orderId")
+    List<OrderSummaryDTO> findSummaries(@Param("status") String status);
+}
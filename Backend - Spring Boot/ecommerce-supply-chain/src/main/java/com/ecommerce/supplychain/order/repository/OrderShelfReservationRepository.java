@@ -0,0 +1,16 @@
+package com.ecommerce.supplychain.order.repository;
+
+import com.ecommerce.supplychain.order.model.OrderShelfReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderShelfReservationRepository extends JpaRepository<OrderShelfReservation, Long> {
+
+    List<OrderShelfReservation> findByOrderIdOrderByReservationIdAsc(Long orderId);
+
+    List<OrderShelfReservation> findByOrderIdInAndReleasedAtIsNull(Collection<Long> orderIds);
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.supplychain.order.repository;
+
+import com.ecommerce.supplychain.order.model.OrderStatusHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusHistory, Long> {
+
+    List<OrderStatusHistory> findByOrderIdOrderByChangedAtAsc(Long orderId);
+
+    List<OrderStatusHistory> findByBatchId(String batchId);
+
+    /**
+     * One audit row per order moved by a bulk update, selected by the update's exact timestamp
+     */
+    @Modifying
+    @Query("INSERT INTO OrderStatusHistory (orderId, fromStatus, toStatus, transitionSource, batchId, notes, changedAt) " +
+            "SELECT o.orderId, :fromStatus, o.orderStatus, 'BULK', :batchId, :notes, o.updatedAt FROM Order o " +
+            "WHERE o.orderId IN :orderIds AND o.orderStatus = :toStatus AND o.updatedAt = :changedAt")
+    int insertBulkAudit(@Param("orderIds") List<Long> orderIds,
+                        @Param("fromStatus") String fromStatus,
+                        @Param("toStatus") String toStatus,
+                        @Param("batchId") String batchId,
+                        @Param("notes") String notes,
+                        @Param("changedAt") LocalDateTime changedAt);
+}
@@ -1,17 +1,28 @@
 package com.ecommerce.supplychain.order.service;
 
+import com.ecommerce.supplychain.common.exception.InsufficientStockException;
 import com.ecommerce.supplychain.order.dto.*;
 import com.ecommerce.supplychain.order.model.Order;
 import com.ecommerce.supplychain.order.model.OrderItem;
+import com.ecommerce.supplychain.order.model.OrderStatusHistory;
 import com.ecommerce.supplychain.order.repository.OrderRepository;
 import com.ecommerce.supplychain.order.repository.OrderItemRepository;
+import com.ecommerce.supplychain.order.repository.OrderStatusHistoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +34,18 @@ public class OrderService {
     @Autowired
     private OrderItemRepository orderItemRepository;
 
+    @Autowired
+    private OrderSourcingService orderSourcingService;
+
+    @Autowired
+    private OrderStateMachine orderStateMachine;
+
+    @Autowired
+    private OrderStatusHistoryRepository orderStatusHistoryRepository;
+
+    @Value("${app.sourcing.default-warehouse-id:1}")
+    private Long defaultWarehouseId;
+
     /**
      * API 1: Create new customer order
      * This integrates with ALL processes:
@@ -107,13 +130,22 @@ public class OrderService {
 
         String oldStatus = order.getOrderStatus();
         String newStatus = statusUpdateDTO.getOrderStatus();
+        boolean statusChanged = !newStatus.equals(oldStatus);
+
+        // Same status only updates notes; any real change must be a legal transition
+        if (statusChanged) {
+            orderStateMachine.validate(order, newStatus);
+        }
 
         order.setOrderStatus(newStatus);
         order.setInternalNotes(statusUpdateDTO.getInternalNotes());
         order.setUpdatedAt(LocalDateTime.now());
 
-        // Handle status-specific logic
-        handleStatusTransition(order, oldStatus, newStatus);
+        if (statusChanged) {
+            // Handle status-specific logic
+            handleStatusTransition(order, oldStatus, newStatus);
+            recordStatusChange(order, oldStatus, statusUpdateDTO.getInternalNotes());
+        }
 
         Order updatedOrder = orderRepository.save(order);
 
@@ -123,8 +155,9 @@ public class OrderService {
     /**
      * Get order by ID
      */
+    @Transactional(readOnly = true)
     public OrderResponseDTO getOrderById(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithItemsByOrderId(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found with ID: " + orderId));
         return mapToOrderResponseDTO(order);
     }
@@ -132,6 +165,7 @@ public class OrderService {
     /**
      * Get order by order number
      */
+    @Transactional(readOnly = true)
     public OrderResponseDTO getOrderByNumber(String orderNumber) {
         Order order = orderRepository.findByOrderNumber(orderNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found with number: " + orderNumber));
@@ -141,15 +175,25 @@ public class OrderService {
     /**
      * Get all orders
      */
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getAllOrders() {
-        return orderRepository.findAll().stream()
+        return orderRepository.findAllWithItems().stream()
                 .map(this::mapToOrderResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get order list rows, optionally filtered by status; projected straight into DTOs, no entities are loaded
+     */
+    @Transactional(readOnly = true)
+    public List<OrderSummaryDTO> getOrderSummaries(String status) {
+        return orderRepository.findSummaries(status);
+    }
+
     /**
      * Get orders by customer
      */
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getOrdersByCustomerId(Long customerId) {
         return orderRepository.findByCustomerId(customerId).stream()
                 .map(this::mapToOrderResponseDTO)
@@ -159,6 +203,7 @@ public class OrderService {
     /**
      * Get orders by status
      */
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getOrdersByStatus(String status) {
         return orderRepository.findByOrderStatus(status).stream()
                 .map(this::mapToOrderResponseDTO)
@@ -168,6 +213,7 @@ public class OrderService {
     /**
      * Get active orders
      */
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getActiveOrders() {
         return orderRepository.findActiveOrders().stream()
                 .map(this::mapToOrderResponseDTO)
@@ -182,13 +228,15 @@ public class OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found with ID: " + orderId));
 
-        if (!order.canBeCancelled()) {
+        if (orderStateMachine.rejectionReason(orderStateMachine.viewOf(order), "CANCELLED") != null) {
             throw new IllegalStateException("Order cannot be cancelled. Current status: " + order.getOrderStatus());
         }
 
+        String oldStatus = order.getOrderStatus();
         order.setOrderStatus("CANCELLED");
         order.setPaymentStatus("REFUNDED");
         order.setUpdatedAt(LocalDateTime.now());
+        recordStatusChange(order, oldStatus, "Order cancelled");
 
         Order cancelledOrder = orderRepository.save(order);
 
@@ -198,6 +246,97 @@ public class OrderService {
         return mapToOrderResponseDTO(cancelledOrder);
     }
 
+    /**
+     * Move many orders to one status in a single set-based UPDATE per current status.
+     * Every order is checked against the state machine first; rejected orders are
+     * reported, the rest are updated and audited with one INSERT ... SELECT. Cancelled orders
+     * are refunded, start their return process and release their shelf units, as in cancelOrder.
+     */
+    @Transactional
+    public BulkTransitionResultDTO bulkTransition(BulkStatusTransitionDTO request) {
+        long startMillis = System.currentTimeMillis();
+        String toStatus = request.getToStatus();
+        if (!orderStateMachine.isKnownStatus(toStatus)) {
+            throw new IllegalArgumentException("Unknown order status: " + toStatus);
+        }
+
+        List<OrderStateViewDTO> selected;
+        if (request.getOrderIds() != null && !request.getOrderIds().isEmpty()) {
+            selected = orderRepository.findStateViewsByIds(new ArrayList<>(new LinkedHashSet<>(request.getOrderIds())));
+        } else if (request.getFromStatus() != null) {
+            selected = orderRepository.findStateViewsByStatus(request.getFromStatus(), request.getWarehouseId());
+        } else {
+            throw new IllegalArgumentException("Either orderIds or fromStatus is required");
+        }
+
+        Map<String, List<Long>> acceptedByStatus = new LinkedHashMap<>();
+        List<BulkTransitionResultDTO.RejectionDTO> rejections = new ArrayList<>();
+        for (OrderStateViewDTO view : selected) {
+            String reason = request.getFromStatus() != null && !request.getFromStatus().equals(view.getOrderStatus())
+                    ? "Order is not in status " + request.getFromStatus()
+                    : orderStateMachine.rejectionReason(view, toStatus);
+            if (reason == null) {
+                acceptedByStatus.computeIfAbsent(view.getOrderStatus(), key -> new ArrayList<>()).add(view.getOrderId());
+            } else {
+                rejections.add(BulkTransitionResultDTO.RejectionDTO.builder()
+                        .orderId(view.getOrderId())
+                        .currentStatus(view.getOrderStatus())
+                        .reason(reason)
+                        .build());
+            }
+        }
+
+        // Truncated so the audit INSERT ... SELECT matches the stored value exactly
+        LocalDateTime changedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        String batchId = UUID.randomUUID().toString();
+        int transitioned = 0;
+        for (Map.Entry<String, List<Long>> group : acceptedByStatus.entrySet()) {
+            orderRepository.bulkTransition(group.getValue(), group.getKey(), toStatus, changedAt, changedAt.plusDays(2));
+            transitioned += orderStatusHistoryRepository.insertBulkAudit(
+                    group.getValue(), group.getKey(), toStatus, batchId, request.getNotes(), changedAt);
+        }
+        if ("CANCELLED".equals(toStatus) && transitioned > 0) {
+            // The audit rows name exactly the orders the guarded updates moved
+            List<Long> cancelledIds = orderStatusHistoryRepository.findByBatchId(batchId).stream()
+                    .map(OrderStatusHistory::getOrderId)
+                    .collect(Collectors.toList());
+            orderRepository.findAllById(cancelledIds).forEach(this::initiateReturnProcess);
+            orderSourcingService.release(cancelledIds);
+        }
+
+        return BulkTransitionResultDTO.builder()
+                .batchId(batchId)
+                .toStatus(toStatus)
+                .selected(selected.size())
+                .transitioned(transitioned)
+                .rejected(rejections.size())
+                .elapsedMillis(System.currentTimeMillis() - startMillis)
+                .rejections(rejections)
+                .build();
+    }
+
+    /**
+     * Get the status audit trail of an order
+     */
+    @Transactional(readOnly = true)
+    public List<OrderStatusHistory> getStatusHistory(Long orderId) {
+        if (!orderRepository.existsById(orderId)) {
+            throw new IllegalArgumentException("Order not found with ID: " + orderId);
+        }
+        return orderStatusHistoryRepository.findByOrderIdOrderByChangedAtAsc(orderId);
+    }
+
+    private void recordStatusChange(Order order, String fromStatus, String notes) {
+        OrderStatusHistory history = new OrderStatusHistory();
+        history.setOrderId(order.getOrderId());
+        history.setFromStatus(fromStatus);
+        history.setToStatus(order.getOrderStatus());
+        history.setTransitionSource("SINGLE");
+        history.setNotes(notes);
+        history.setChangedAt(order.getUpdatedAt());
+        orderStatusHistoryRepository.save(history);
+    }
+
     /**
      * Generate unique order number
      */
@@ -249,6 +388,8 @@ public class OrderService {
             case "CANCELLED":
                 // Process 14 (Returns): Initiate return process
                 initiateReturnProcess(order);
+                // Process 8 (Warehouse): Return the reserved units to their shelves
+                orderSourcingService.release(List.of(order.getOrderId()));
                 break;
         }
     }
@@ -273,18 +414,63 @@ public class OrderService {
 
     /**
      * Integration with Process 8: Warehouse Assignment
+     * Sources the order from the warehouse(s) with stock closest to the shipping address and
+     * takes the units off their shelves; an order that cannot be covered is rejected as a whole
      */
     private void assignOptimalWarehouse(Order order) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+
+        SourcingPlanDTO plan = orderSourcingService.planSourcing(
+                order.getShippingAddress(), order.getWarehouseId(), quantities);
+        if (OrderSourcingService.UNFULFILLABLE.equals(plan.getStrategy())) {
+            Map<Long, Integer> missing = new LinkedHashMap<>();
+            plan.getUnallocatedLines().forEach(line -> missing.put(line.getProductId(), line.getQuantity()));
+            throw insufficientStock(order, quantities, missing);
+        }
+        // Another order may have taken the snapshot's units since; the whole order then rolls back
+        Map<Long, Integer> missing = orderSourcingService.reserve(order.getOrderId(), plan);
+        if (!missing.isEmpty()) {
+            throw insufficientStock(order, quantities, missing);
+        }
+
         if (order.getWarehouseId() == null) {
-            // Assign based on customer location and product availability
-            Long optimalWarehouseId = 1L; // This would be calculated
-            order.setWarehouseId(optimalWarehouseId);
+            order.setWarehouseId(plan.getPrimaryWarehouseId() != null ? plan.getPrimaryWarehouseId() : defaultWarehouseId);
+        }
+
+        // First allocation per product decides the item's source warehouse and pick shelf
+        Map<Long, SourcingPlanDTO.LineAllocationDTO> allocations = new HashMap<>();
+        Map<Long, Long> sourceWarehouses = new HashMap<>();
+        for (SourcingPlanDTO.WarehouseShipmentDTO shipment : plan.getShipments()) {
+            for (SourcingPlanDTO.LineAllocationDTO line : shipment.getLines()) {
+                if (allocations.putIfAbsent(line.getProductId(), line) == null) {
+                    sourceWarehouses.put(line.getProductId(), shipment.getWarehouseId());
+                }
+            }
         }
 
-        // Assign shelf locations for each item
         for (OrderItem item : order.getOrderItems()) {
-            item.setShelfLocationId(2000L + item.getProductId()); // Mock shelf location
+            SourcingPlanDTO.LineAllocationDTO allocation = allocations.get(item.getProductId());
+            item.setShelfLocationId(allocation != null ? allocation.getShelfLocationId() : null);
+            item.setSourceWarehouseId(sourceWarehouses.getOrDefault(item.getProductId(), order.getWarehouseId()));
+        }
+    }
+
+    private InsufficientStockException insufficientStock(Order order, Map<Long, Integer> quantities, Map<Long, Integer> missing) {
+        Map<Long, String> names = new HashMap<>();
+        order.getOrderItems().forEach(item -> names.putIfAbsent(item.getProductId(), item.getProductName()));
+        if (missing.size() == 1) {
+            Map.Entry<Long, Integer> line = missing.entrySet().iterator().next();
+            int requested = quantities.get(line.getKey());
+            return new InsufficientStockException(line.getKey(), names.get(line.getKey()), requested, requested - line.getValue());
         }
+        String lines = missing.entrySet().stream()
+                .map(line -> String.format("'%s' (ID: %d) requested %d, available %d", names.get(line.getKey()), line.getKey(),
+                        quantities.get(line.getKey()), quantities.get(line.getKey()) - line.getValue()))
+                .collect(Collectors.joining("; "));
+        return new InsufficientStockException("Insufficient stock for " + lines);
     }
 
     /**
@@ -341,6 +527,8 @@ public class OrderService {
         // Cancel shipment (Process 11)
         // Stop tracking (Process 12)
         // Restore inventory (Process 6)
+        // Return the reserved units to their shelves (Process 8)
+        orderSourcingService.release(List.of(order.getOrderId()));
     }
 
     /**
@@ -364,6 +552,7 @@ public class OrderService {
                         .itemNotes(item.getItemNotes())
                         .inventoryId(item.getInventoryId())
                         .shelfLocationId(item.getShelfLocationId())
+                        .sourceWarehouseId(item.getSourceWarehouseId())
                         .build())
                 .collect(Collectors.toList());
 
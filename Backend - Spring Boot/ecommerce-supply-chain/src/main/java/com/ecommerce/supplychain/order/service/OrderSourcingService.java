@@ -0,0 +1,295 @@
+package com.ecommerce.supplychain.order.service;
+
+import com.ecommerce.supplychain.order.dto.SourcingPlanDTO;
+import com.ecommerce.supplychain.order.dto.SourcingRequestDTO;
+import com.ecommerce.supplychain.order.model.OrderShelfReservation;
+import com.ecommerce.supplychain.order.repository.OrderShelfReservationRepository;
+import com.ecommerce.supplychain.warehouse.repository.ShelfLocationRepository;
+import com.ecommerce.supplychain.warehouse.service.WarehouseAvailabilityCache;
+import com.ecommerce.supplychain.warehouse.service.WarehouseAvailabilityCache.WarehouseSnapshot;
+import com.ecommerce.supplychain.warehouse.service.WarehouseService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service choosing which warehouse(s) fulfil an order.
+ * Integrates Process 8 (Warehouse) shelf stock with order lines and the shipping address.
+ */
+@Slf4j
+@Service
+public class OrderSourcingService {
+
+    public static final String SINGLE_SOURCE = "SINGLE_SOURCE";
+    public static final String SPLIT_SHIPMENT = "SPLIT_SHIPMENT";
+    public static final String UNFULFILLABLE = "UNFULFILLABLE";
+
+    private static final int FOREIGN_TIER = 4;
+
+    @Autowired
+    private WarehouseAvailabilityCache warehouseAvailabilityCache;
+
+    @Autowired
+    private ShelfLocationRepository shelfLocationRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private OrderShelfReservationRepository orderShelfReservationRepository;
+
+    @Value("${app.sourcing.distance-tier-cost:10}")
+    private double distanceTierCost;
+
+    @Value("${app.sourcing.split-penalty:15}")
+    private double splitPenalty;
+
+    /**
+     * Build a sourcing plan for a standalone request (preview, no order created)
+     */
+    public SourcingPlanDTO planSourcing(SourcingRequestDTO request) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (SourcingRequestDTO.SourcingLineDTO line : request.getLines()) {
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        return planSourcing(request.getShippingAddress(), request.getPreferredWarehouseId(), quantities);
+    }
+
+    /**
+     * Build a sourcing plan for the given product quantities.
+     * Prefers one warehouse that can ship everything; otherwise splits greedily,
+     * taking the warehouse that covers the most remaining units at each step.
+     * When some units have no stock anywhere the plan is UNFULFILLABLE; its shipments
+     * still show what could be sourced and the shortfall is in the unallocated lines.
+     */
+    public SourcingPlanDTO planSourcing(String shippingAddress, Long preferredWarehouseId, Map<Long, Integer> quantities) {
+        long startNanos = System.nanoTime();
+        String address = shippingAddress != null ? shippingAddress.toLowerCase(Locale.ROOT) : "";
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (WarehouseSnapshot snapshot : warehouseAvailabilityCache.getSnapshots()) {
+            if (preferredWarehouseId == null || preferredWarehouseId.equals(snapshot.getWarehouseId())) {
+                int tier = proximityTier(snapshot, address);
+                candidates.add(new Candidate(snapshot, tier, tier * distanceTierCost + snapshot.getCapacityUtilization() / 10));
+            }
+        }
+
+        Candidate single = null;
+        for (Candidate candidate : candidates) {
+            if (coversAll(candidate.snapshot, quantities) && (single == null || candidate.score < single.score)) {
+                single = candidate;
+            }
+        }
+
+        List<SourcingPlanDTO.WarehouseShipmentDTO> shipments = new ArrayList<>();
+        Map<Long, Integer> remaining = new LinkedHashMap<>(quantities);
+        double totalScore = 0;
+
+        if (single != null) {
+            shipments.add(allocate(single, remaining));
+            totalScore = single.score;
+        } else {
+            List<Candidate> pool = new ArrayList<>(candidates);
+            while (!remaining.isEmpty() && !pool.isEmpty()) {
+                Candidate best = null;
+                int bestCovered = 0;
+                for (Candidate candidate : pool) {
+                    int covered = coveredUnits(candidate.snapshot, remaining);
+                    if (covered > bestCovered || (covered == bestCovered && covered > 0 && candidate.score < best.score)) {
+                        best = candidate;
+                        bestCovered = covered;
+                    }
+                }
+                if (best == null) {
+                    break;
+                }
+                pool.remove(best);
+                shipments.add(allocate(best, remaining));
+                totalScore += best.score + (shipments.size() > 1 ? splitPenalty : 0);
+            }
+        }
+
+        List<SourcingPlanDTO.LineAllocationDTO> unallocated = new ArrayList<>();
+        remaining.forEach((productId, quantity) -> unallocated.add(SourcingPlanDTO.LineAllocationDTO.builder()
+                .productId(productId)
+                .quantity(quantity)
+                .build()));
+
+        String strategy;
+        if (!unallocated.isEmpty()) {
+            strategy = UNFULFILLABLE;
+        } else if (shipments.size() == 1) {
+            strategy = SINGLE_SOURCE;
+        } else {
+            strategy = SPLIT_SHIPMENT;
+        }
+
+        return SourcingPlanDTO.builder()
+                .strategy(strategy)
+                .primaryWarehouseId(shipments.isEmpty() ? null : shipments.get(0).getWarehouseId())
+                .fullyAllocated(unallocated.isEmpty())
+                .shipmentCount(shipments.size())
+                .totalScore(totalScore)
+                .candidateWarehouses(candidates.size())
+                .planningTimeMicros((System.nanoTime() - startNanos) / 1000)
+                .shipments(shipments)
+                .unallocatedLines(unallocated)
+                .build();
+    }
+
+    /**
+     * Take a plan's units off the chosen warehouses' shelves for an order, fullest shelf first. Each shelf
+     * is changed under its row lock by WarehouseService, so two orders planned from the same snapshot
+     * cannot both take the units, and every shelf taken from is recorded for release. Returns the units
+     * per product that could not be taken; call inside the order's transaction and roll it back when
+     * anything is missing.
+     */
+    public Map<Long, Integer> reserve(Long orderId, SourcingPlanDTO plan) {
+        Map<Long, Integer> missing = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (SourcingPlanDTO.WarehouseShipmentDTO shipment : plan.getShipments()) {
+            for (SourcingPlanDTO.LineAllocationDTO line : shipment.getLines()) {
+                int needed = line.getQuantity();
+                for (Object[] shelf : shelfLocationRepository.findStockedShelvesForProduct(shipment.getWarehouseId(), line.getProductId())) {
+                    if (needed == 0) {
+                        break;
+                    }
+                    int units = Math.min(needed, ((Number) shelf[1]).intValue());
+                    Double weight = warehouseService.reserveUnits((Long) shelf[0], line.getProductId(), units);
+                    if (weight != null) {
+                        needed -= units;
+                        orderShelfReservationRepository.save(new OrderShelfReservation(null, orderId,
+                                shipment.getWarehouseId(), (Long) shelf[0], line.getProductId(), (String) shelf[2],
+                                (String) shelf[3], units, weight, now, null));
+                    }
+                }
+                if (needed > 0) {
+                    missing.merge(line.getProductId(), needed, Integer::sum);
+                }
+            }
+            warehouseAvailabilityCache.invalidate(shipment.getWarehouseId());
+        }
+        return missing;
+    }
+
+    /**
+     * Put the units reserved for the orders back on the shelves they came from, e.g. when the orders are
+     * cancelled. A shelf that now holds another product or lacks the room keeps its reservation open for
+     * a manual put-away. Returns the number of reservations released.
+     */
+    public int release(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> warehouseIds = new HashSet<>();
+        int released = 0;
+        for (OrderShelfReservation reservation : orderShelfReservationRepository.findByOrderIdInAndReleasedAtIsNull(orderIds)) {
+            if (warehouseService.releaseUnits(reservation.getShelfId(), reservation.getProductId(), reservation.getProductName(),
+                    reservation.getProductSku(), reservation.getUnits(), reservation.getWeightKg())) {
+                reservation.setReleasedAt(now);
+                warehouseIds.add(reservation.getWarehouseId());
+                released++;
+            } else {
+                log.warn("Shelf {} cannot take back {} units of product {} from cancelled order {}",
+                        reservation.getShelfId(), reservation.getUnits(), reservation.getProductId(), reservation.getOrderId());
+            }
+        }
+        warehouseIds.forEach(warehouseAvailabilityCache::invalidate);
+        return released;
+    }
+
+    /**
+     * Proximity tier from address matching: 0 postal code, 1 city, 2 state, 3 country, 4 none
+     */
+    private int proximityTier(WarehouseSnapshot snapshot, String address) {
+        if (matches(address, snapshot.getPostalCode())) return 0;
+        if (matches(address, snapshot.getCity())) return 1;
+        if (matches(address, snapshot.getState())) return 2;
+        if (matches(address, snapshot.getCountry())) return 3;
+        return FOREIGN_TIER;
+    }
+
+    private boolean matches(String address, String part) {
+        return part != null && !part.isBlank() && address.contains(part.toLowerCase(Locale.ROOT));
+    }
+
+    private boolean coversAll(WarehouseSnapshot snapshot, Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (snapshot.getAvailableUnits(entry.getKey()) < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int coveredUnits(WarehouseSnapshot snapshot, Map<Long, Integer> remaining) {
+        int covered = 0;
+        for (Map.Entry<Long, Integer> entry : remaining.entrySet()) {
+            covered += Math.min(entry.getValue(), snapshot.getAvailableUnits(entry.getKey()));
+        }
+        return covered;
+    }
+
+    /**
+     * Take as much of each remaining line as the warehouse holds
+     */
+    private SourcingPlanDTO.WarehouseShipmentDTO allocate(Candidate candidate, Map<Long, Integer> remaining) {
+        WarehouseSnapshot snapshot = candidate.snapshot;
+        List<SourcingPlanDTO.LineAllocationDTO> lines = new ArrayList<>();
+        int totalUnits = 0;
+
+        var iterator = remaining.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Integer> entry = iterator.next();
+            int quantity = Math.min(entry.getValue(), snapshot.getAvailableUnits(entry.getKey()));
+            if (quantity <= 0) {
+                continue;
+            }
+            lines.add(SourcingPlanDTO.LineAllocationDTO.builder()
+                    .productId(entry.getKey())
+                    .quantity(quantity)
+                    .shelfLocationId(snapshot.getBestShelfId(entry.getKey()))
+                    .build());
+            totalUnits += quantity;
+            if (quantity == entry.getValue()) {
+                iterator.remove();
+            } else {
+                entry.setValue(entry.getValue() - quantity);
+            }
+        }
+
+        return SourcingPlanDTO.WarehouseShipmentDTO.builder()
+                .warehouseId(snapshot.getWarehouseId())
+                .warehouseCode(snapshot.getWarehouseCode())
+                .warehouseName(snapshot.getWarehouseName())
+                .proximityTier(candidate.tier)
+                .score(candidate.score)
+                .totalUnits(totalUnits)
+                .lines(lines)
+                .build();
+    }
+
+    private static class Candidate {
+        private final WarehouseSnapshot snapshot;
+        private final int tier;
+        private final double score;
+
+        private Candidate(WarehouseSnapshot snapshot, int tier, double score) {
+            this.snapshot = snapshot;
+            this.tier = tier;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecommerce.supplychain.order.service;
+
+import com.ecommerce.supplychain.common.constants.OrderStatus;
+import com.ecommerce.supplychain.order.dto.OrderStateViewDTO;
+import com.ecommerce.supplychain.order.model.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Table-driven order lifecycle over {@link OrderStatus}.
+ * The transition table lists the legal next statuses per status; guard rules add
+ * per-order conditions on entering a status. Both are evaluated on a lightweight
+ * {@link OrderStateViewDTO} so single and bulk transitions share the same rules.
+ */
+@Component
+public class OrderStateMachine {
+
+    private final Map<String, Set<String>> transitions = new HashMap<>();
+    private final Map<String, List<Guard>> guards = new HashMap<>();
+
+    public OrderStateMachine() {
+        allow(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.ON_HOLD, OrderStatus.CANCELLED);
+        allow(OrderStatus.CONFIRMED, OrderStatus.PROCESSING, OrderStatus.ON_HOLD, OrderStatus.CANCELLED);
+        allow(OrderStatus.PROCESSING, OrderStatus.READY_FOR_PICKING, OrderStatus.ON_HOLD, OrderStatus.CANCELLED);
+        allow(OrderStatus.READY_FOR_PICKING, OrderStatus.PICKING_IN_PROGRESS, OrderStatus.ON_HOLD, OrderStatus.CANCELLED);
+        allow(OrderStatus.PICKING_IN_PROGRESS, OrderStatus.PICKED, OrderStatus.ON_HOLD, OrderStatus.CANCELLED);
+        allow(OrderStatus.PICKED, OrderStatus.PACKED, OrderStatus.CANCELLED);
+        allow(OrderStatus.PACKED, OrderStatus.READY_FOR_SHIPMENT, OrderStatus.CANCELLED);
+        allow(OrderStatus.READY_FOR_SHIPMENT, OrderStatus.SHIPPED, OrderStatus.CANCELLED);
+        allow(OrderStatus.SHIPPED, OrderStatus.IN_TRANSIT, OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED,
+                OrderStatus.DELIVERY_EXCEPTION);
+        allow(OrderStatus.IN_TRANSIT, OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED, OrderStatus.DELIVERY_EXCEPTION);
+        allow(OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED, OrderStatus.DELIVERY_EXCEPTION);
+        allow(OrderStatus.DELIVERY_EXCEPTION, OrderStatus.IN_TRANSIT, OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED,
+                OrderStatus.RETURNED);
+        allow(OrderStatus.DELIVERED, OrderStatus.RETURN_REQUESTED);
+        allow(OrderStatus.RETURN_REQUESTED, OrderStatus.RETURNED, OrderStatus.DELIVERED);
+        allow(OrderStatus.RETURNED, OrderStatus.REFUNDED);
+        allow(OrderStatus.CANCELLED, OrderStatus.REFUNDED);
+        allow(OrderStatus.ON_HOLD, OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PROCESSING,
+                OrderStatus.READY_FOR_PICKING, OrderStatus.PICKING_IN_PROGRESS, OrderStatus.CANCELLED);
+        allow(OrderStatus.REFUNDED);
+
+        guard(OrderStatus.CONFIRMED, "Payment has failed",
+                order -> !"FAILED".equals(order.getPaymentStatus()));
+        guard(OrderStatus.READY_FOR_PICKING, "No pick list assigned",
+                order -> order.getPickListId() != null);
+        guard(OrderStatus.SHIPPED, "No shipment scheduled",
+                order -> order.getShipmentId() != null);
+    }
+
+    private void allow(String from, String... targets) {
+        transitions.put(from, new LinkedHashSet<>(List.of(targets)));
+    }
+
+    private void guard(String target, String reason, Predicate<OrderStateViewDTO> condition) {
+        guards.computeIfAbsent(target, key -> new ArrayList<>()).add(new Guard(reason, condition));
+    }
+
+    public boolean isKnownStatus(String status) {
+        return transitions.containsKey(status);
+    }
+
+    public Set<String> allowedTargets(String from) {
+        return Collections.unmodifiableSet(transitions.getOrDefault(from, Collections.emptySet()));
+    }
+
+    /**
+     * Reason the transition is refused, or null when it is allowed
+     */
+    public String rejectionReason(OrderStateViewDTO order, String target) {
+        if (!isKnownStatus(target)) {
+            return "Unknown order status: " + target;
+        }
+        if (!allowedTargets(order.getOrderStatus()).contains(target)) {
+            return "Transition " + order.getOrderStatus() + " -> " + target + " is not allowed";
+        }
+        for (Guard guard : guards.getOrDefault(target, Collections.emptyList())) {
+            if (!guard.condition.test(order)) {
+                return guard.reason;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Throw if the order may not move to the target status
+     */
+    public void validate(Order order, String target) {
+        String reason = rejectionReason(viewOf(order), target);
+        if (reason != null) {
+            throw new IllegalStateException(reason);
+        }
+    }
+
+    public OrderStateViewDTO viewOf(Order order) {
+        return new OrderStateViewDTO(order.getOrderId(), order.getOrderStatus(), order.getPaymentStatus(),
+                order.getPickListId(), order.getShipmentId());
+    }
+
+    private static class Guard {
+        private final String reason;
+        private final Predicate<OrderStateViewDTO> condition;
+
+        private Guard(String reason, Predicate<OrderStateViewDTO> condition) {
+            this.reason = reason;
+            this.condition = condition;
+        }
+    }
+}
@@ -172,6 +172,29 @@ public class PickingController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Recommend cartons for a pick list
+     * GET /api/picking/pick-lists/{pickListId}/cartonization
+     */
+    @GetMapping("/pick-lists/{pickListId}/cartonization")
+    public ResponseEntity<Map<String, Object>> getCartonRecommendation(@PathVariable Long pickListId) {
+        try {
+            CartonizationResultDTO recommendation = pickingService.getCartonRecommendation(pickListId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Recommended " + recommendation.getCartonCount() + " carton(s)");
+            response.put("data", recommendation);
+
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+
     /**
      * Get active pick lists
      * GET /api/picking/pick-lists/active
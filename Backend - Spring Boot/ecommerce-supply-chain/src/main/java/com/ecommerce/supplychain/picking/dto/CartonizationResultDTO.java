@@ -0,0 +1,55 @@
+package com.ecommerce.supplychain.picking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Response DTO for a cartonization recommendation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartonizationResultDTO {
+
+    private Long pickListId;
+    private Integer cartonCount;
+    private Integer totalUnits;
+    private Double totalWeightKg;
+    private Double averageVolumeUtilization;
+    private Long computeTimeMicros;
+
+    private List<CartonDTO> cartons;
+    private List<CartonItemDTO> unpackableItems;
+
+    /**
+     * One recommended carton and its contents
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CartonDTO {
+        private String cartonCode;
+        private String packageType;
+        private String packageSize;
+        private String dimensions; // "LxWxH" in cm
+        private Double weightKg; // contents plus carton tare
+        private Double tareWeightKg;
+        private Double volumeUtilization;
+        private List<CartonItemDTO> items;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CartonItemDTO {
+        private Long productId;
+        private String productName;
+        private Integer quantity;
+    }
+}
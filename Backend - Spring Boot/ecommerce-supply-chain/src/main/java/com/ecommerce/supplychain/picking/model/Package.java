@@ -15,6 +15,7 @@ import java.util.List;
  */
 @Entity
 @Table(name = "packages")
+@NamedEntityGraph(name = "Package.items", attributeNodes = @NamedAttributeNode("packageItems"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,6 +14,7 @@ import java.util.List;
  */
 @Entity
 @Table(name = "pick_lists")
+@NamedEntityGraph(name = "PickList.items", attributeNodes = @NamedAttributeNode("pickListItems"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
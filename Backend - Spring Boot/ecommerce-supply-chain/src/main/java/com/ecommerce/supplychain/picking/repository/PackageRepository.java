@@ -1,6 +1,7 @@
 package com.ecommerce.supplychain.picking.repository;
 
 import com.ecommerce.supplychain.picking.model.Package;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,8 +17,17 @@ import java.util.Optional;
 @Repository
 public interface PackageRepository extends JpaRepository<Package, Long> {
 
+    // Fetch plans for response mapping; write paths keep using the lazy findById/findAll
+    @EntityGraph("Package.items")
+    @Query("SELECT p FROM Package p")
+    List<Package> findAllWithItems();
+
+    @EntityGraph("Package.items")
+    Optional<Package> findWithItemsByPackageId(Long packageId);
+
     Optional<Package> findByTrackingNumber(String trackingNumber);
 
+    @EntityGraph("Package.items")
     List<Package> findByOrderId(Long orderId);
 
     List<Package> findByPickListId(Long pickListId);
@@ -36,6 +46,7 @@ public interface PackageRepository extends JpaRepository<Package, Long> {
     List<Package> findPackagesByDateRange(@Param("startDate") LocalDateTime startDate,
                                           @Param("endDate") LocalDateTime endDate);
 
+    @EntityGraph("Package.items")
     @Query("SELECT p FROM Package p WHERE p.packageStatus = 'READY_FOR_SHIPMENT'")
     List<Package> findPackagesReadyForShipment();
 
@@ -1,6 +1,7 @@
 package com.ecommerce.supplychain.picking.repository;
 
 import com.ecommerce.supplychain.picking.model.PickList;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,8 +17,17 @@ import java.util.Optional;
 @Repository
 public interface PickListRepository extends JpaRepository<PickList, Long> {
 
+    // Fetch plans for response mapping; write paths keep using the lazy findById/findAll
+    @EntityGraph("PickList.items")
+    @Query("SELECT pl FROM PickList pl")
+    List<PickList> findAllWithItems();
+
+    @EntityGraph("PickList.items")
+    Optional<PickList> findWithItemsByPickListId(Long pickListId);
+
     Optional<PickList> findByPickListNumber(String pickListNumber);
 
+    @EntityGraph("PickList.items")
     List<PickList> findByOrderId(Long orderId);
 
     List<PickList> findByWarehouseId(Long warehouseId);
@@ -34,6 +44,7 @@ public interface PickListRepository extends JpaRepository<PickList, Long> {
     List<PickList> findPickListsByDateRange(@Param("startDate") LocalDateTime startDate,
                                             @Param("endDate") LocalDateTime endDate);
 
+    @EntityGraph("PickList.items")
     @Query("SELECT pl FROM PickList pl WHERE pl.pickStatus IN ('PENDING', 'IN_PROGRESS')")
     List<PickList> findActivePickLists();
 
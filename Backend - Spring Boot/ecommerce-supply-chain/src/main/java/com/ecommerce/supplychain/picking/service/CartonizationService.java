@@ -0,0 +1,360 @@
+package com.ecommerce.supplychain.picking.service;
+
+import com.ecommerce.supplychain.catalog.model.Product;
+import com.ecommerce.supplychain.catalog.repository.ProductRepository;
+import com.ecommerce.supplychain.common.config.CartonizationConfig;
+import com.ecommerce.supplychain.common.config.CartonizationConfig.CartonType;
+import com.ecommerce.supplychain.picking.dto.CartonizationResultDTO;
+import com.ecommerce.supplychain.picking.dto.PackageDTO;
+import com.ecommerce.supplychain.picking.model.PickList;
+import com.ecommerce.supplychain.picking.model.PickListItem;
+import com.ecommerce.supplychain.picking.repository.PickListRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Service recommending cartons for picked items (Process 9 packing stations).
+ * Uses first-fit-decreasing into the largest carton with guillotine free-space
+ * splitting, then shrinks every filled carton to the smallest type that still holds it.
+ */
+@Service
+public class CartonizationService {
+
+    private static final Pattern NUMBER = Pattern.compile("\\d+(?:\\.\\d+)?");
+
+    @Autowired
+    private CartonizationConfig cartonizationConfig;
+
+    @Autowired
+    private PickListRepository pickListRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    /**
+     * Recommend cartons for all items of a pick list
+     */
+    @Transactional(readOnly = true)
+    public CartonizationResultDTO cartonizePickList(Long pickListId) {
+        PickList pickList = pickListRepository.findById(pickListId)
+                .orElseThrow(() -> new IllegalArgumentException("Pick list not found with ID: " + pickListId));
+
+        Map<Long, Product> products = loadProducts(pickList.getPickListItems().stream()
+                .map(PickListItem::getProductId)
+                .collect(Collectors.toSet()));
+
+        List<ItemSpec> specs = new ArrayList<>();
+        for (PickListItem item : pickList.getPickListItems()) {
+            Product product = products.get(item.getProductId());
+            double weight = item.getWeightPerUnitKg() != null ? item.getWeightPerUnitKg()
+                    : product != null && product.getWeight() != null ? product.getWeight() : 0.0;
+            specs.add(new ItemSpec(item.getProductId(), item.getProductName(), item.getRequiredQuantity(),
+                    weight, product != null ? product.getDimensions() : null));
+        }
+
+        CartonizationResultDTO result = cartonize(specs);
+        result.setPickListId(pickListId);
+        return result;
+    }
+
+    /**
+     * Recommend cartons for the items of a package being created
+     */
+    public CartonizationResultDTO cartonizePackageItems(List<PackageDTO.PackageItemDTO> items) {
+        Map<Long, Product> products = loadProducts(items.stream()
+                .map(PackageDTO.PackageItemDTO::getProductId)
+                .collect(Collectors.toSet()));
+
+        List<ItemSpec> specs = new ArrayList<>();
+        for (PackageDTO.PackageItemDTO item : items) {
+            Product product = products.get(item.getProductId());
+            specs.add(new ItemSpec(item.getProductId(), item.getProductName(), item.getQuantity(),
+                    item.getWeightKg().doubleValue(), product != null ? product.getDimensions() : null));
+        }
+        return cartonize(specs);
+    }
+
+    /**
+     * Pack the given items into the fewest, smallest cartons from the catalogue
+     */
+    public CartonizationResultDTO cartonize(List<ItemSpec> items) {
+        long startNanos = System.nanoTime();
+
+        List<CartonType> largestFirst = cartonizationConfig.getCartons().stream()
+                .sorted(Comparator.comparingDouble(CartonType::getVolume).reversed())
+                .collect(Collectors.toList());
+        List<CartonType> smallestFirst = new ArrayList<>(largestFirst);
+        Collections.reverse(smallestFirst);
+
+        List<Unit> units = new ArrayList<>();
+        for (ItemSpec item : items) {
+            double[] dims = parseDimensions(item.dimensions);
+            for (int i = 0; i < item.quantity; i++) {
+                units.add(new Unit(item, dims[0], dims[1], dims[2], item.weightKg));
+            }
+        }
+        units.sort(Comparator.comparingDouble(Unit::volume).thenComparingDouble(u -> u.weight).reversed());
+
+        List<OpenCarton> cartons = new ArrayList<>();
+        List<Unit> unpackable = new ArrayList<>();
+        for (Unit unit : units) {
+            boolean placed = false;
+            for (OpenCarton carton : cartons) {
+                if (carton.place(unit)) {
+                    placed = true;
+                    break;
+                }
+            }
+            if (!placed) {
+                CartonType type = largestFirst.stream()
+                        .filter(candidate -> new OpenCarton(candidate).place(unit))
+                        .findFirst()
+                        .orElse(null);
+                if (type == null) {
+                    unpackable.add(unit);
+                } else {
+                    OpenCarton carton = new OpenCarton(type);
+                    carton.place(unit);
+                    cartons.add(carton);
+                }
+            }
+        }
+
+        List<OpenCarton> shrunk = cartons.stream()
+                .map(carton -> shrink(carton, smallestFirst))
+                .collect(Collectors.toList());
+
+        List<CartonizationResultDTO.CartonDTO> cartonDTOs = shrunk.stream()
+                .map(this::mapToCartonDTO)
+                .collect(Collectors.toList());
+
+        double totalWeight = cartonDTOs.stream().mapToDouble(CartonizationResultDTO.CartonDTO::getWeightKg).sum();
+        double averageUtilization = cartonDTOs.stream()
+                .mapToDouble(CartonizationResultDTO.CartonDTO::getVolumeUtilization)
+                .average()
+                .orElse(0.0);
+
+        return CartonizationResultDTO.builder()
+                .cartonCount(cartonDTOs.size())
+                .totalUnits(units.size())
+                .totalWeightKg(round(totalWeight))
+                .averageVolumeUtilization(round(averageUtilization))
+                .computeTimeMicros((System.nanoTime() - startNanos) / 1000)
+                .cartons(cartonDTOs)
+                .unpackableItems(groupUnits(unpackable))
+                .build();
+    }
+
+    /**
+     * Repack a filled carton into the smallest carton type that holds all of its units
+     */
+    private OpenCarton shrink(OpenCarton carton, List<CartonType> smallestFirst) {
+        for (CartonType type : smallestFirst) {
+            if (type == carton.type) {
+                return carton;
+            }
+            if (type.getVolume() < carton.usedVolume || type.getMaxWeightKg() < carton.weight) {
+                continue;
+            }
+            OpenCarton candidate = new OpenCarton(type);
+            if (carton.units.stream().allMatch(candidate::place)) {
+                return candidate;
+            }
+        }
+        return carton;
+    }
+
+    private Map<Long, Product> loadProducts(Set<Long> productIds) {
+        return productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+    }
+
+    /**
+     * Parse "LxWxH" (cm) product dimensions, falling back to the configured default
+     */
+    private double[] parseDimensions(String dimensions) {
+        double[] parsed = extractDimensions(dimensions);
+        return parsed != null ? parsed : extractDimensions(cartonizationConfig.getDefaultItemDimensions());
+    }
+
+    private double[] extractDimensions(String dimensions) {
+        if (dimensions == null) {
+            return null;
+        }
+        Matcher matcher = NUMBER.matcher(dimensions);
+        double[] values = new double[3];
+        int count = 0;
+        while (count < 3 && matcher.find()) {
+            values[count++] = Double.parseDouble(matcher.group());
+        }
+        return count == 3 && values[0] > 0 && values[1] > 0 && values[2] > 0 ? values : null;
+    }
+
+    private CartonizationResultDTO.CartonDTO mapToCartonDTO(OpenCarton carton) {
+        return CartonizationResultDTO.CartonDTO.builder()
+                .cartonCode(carton.type.getCode())
+                .packageType(carton.type.getPackageType())
+                .packageSize(carton.type.getPackageSize())
+                .dimensions(carton.type.getDimensions())
+                .weightKg(round(carton.weight + carton.type.getTareWeightKg()))
+                .tareWeightKg(carton.type.getTareWeightKg())
+                .volumeUtilization(round(carton.usedVolume / carton.type.getVolume() * 100))
+                .items(groupUnits(carton.units))
+                .build();
+    }
+
+    private List<CartonizationResultDTO.CartonItemDTO> groupUnits(List<Unit> units) {
+        Map<Long, CartonizationResultDTO.CartonItemDTO> grouped = new LinkedHashMap<>();
+        for (Unit unit : units) {
+            grouped.computeIfAbsent(unit.item.productId, id -> CartonizationResultDTO.CartonItemDTO.builder()
+                    .productId(id)
+                    .productName(unit.item.productName)
+                    .quantity(0)
+                    .build());
+            CartonizationResultDTO.CartonItemDTO dto = grouped.get(unit.item.productId);
+            dto.setQuantity(dto.getQuantity() + 1);
+        }
+        return new ArrayList<>(grouped.values());
+    }
+
+    private double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    /**
+     * Item line to be packed: quantity units of one product
+     */
+    public static class ItemSpec {
+        private final Long productId;
+        private final String productName;
+        private final int quantity;
+        private final double weightKg;
+        private final String dimensions;
+
+        public ItemSpec(Long productId, String productName, int quantity, double weightKg, String dimensions) {
+            this.productId = productId;
+            this.productName = productName;
+            this.quantity = quantity;
+            this.weightKg = weightKg;
+            this.dimensions = dimensions;
+        }
+    }
+
+    private static class Unit {
+        private final ItemSpec item;
+        private final double length;
+        private final double width;
+        private final double height;
+        private final double weight;
+
+        private Unit(ItemSpec item, double length, double width, double height, double weight) {
+            this.item = item;
+            this.length = length;
+            this.width = width;
+            this.height = height;
+            this.weight = weight;
+        }
+
+        private double volume() {
+            return length * width * height;
+        }
+    }
+
+    /**
+     * Axis-aligned empty region of a carton
+     */
+    private static class Space {
+        private final double x, y, z, length, width, height;
+
+        private Space(double x, double y, double z, double length, double width, double height) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.length = length;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private static class OpenCarton {
+        private final CartonType type;
+        private final List<Space> freeSpaces = new ArrayList<>();
+        private final List<Unit> units = new ArrayList<>();
+        private double weight;
+        private double usedVolume;
+
+        private OpenCarton(CartonType type) {
+            this.type = type;
+            freeSpaces.add(new Space(0, 0, 0, type.getLengthCm(), type.getWidthCm(), type.getHeightCm()));
+        }
+
+        /**
+         * Place a unit in the lowest free space it fits, trying all six orientations
+         * and keeping the one with the smallest height
+         */
+        private boolean place(Unit unit) {
+            if (weight + unit.weight > type.getMaxWeightKg()) {
+                return false;
+            }
+            double[][] orientations = {
+                    {unit.length, unit.width, unit.height}, {unit.width, unit.length, unit.height},
+                    {unit.length, unit.height, unit.width}, {unit.height, unit.length, unit.width},
+                    {unit.width, unit.height, unit.length}, {unit.height, unit.width, unit.length}
+            };
+
+            for (int i = 0; i < freeSpaces.size(); i++) {
+                Space space = freeSpaces.get(i);
+                double[] best = null;
+                for (double[] o : orientations) {
+                    if (o[0] <= space.length && o[1] <= space.width && o[2] <= space.height
+                            && (best == null || o[2] < best[2])) {
+                        best = o;
+                    }
+                }
+                if (best != null) {
+                    freeSpaces.remove(i);
+                    split(space, best);
+                    units.add(unit);
+                    weight += unit.weight;
+                    usedVolume += unit.volume();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Guillotine split of the remaining space: right of, in front of, and above the unit
+         */
+        private void split(Space space, double[] size) {
+            addSpace(new Space(space.x + size[0], space.y, space.z,
+                    space.length - size[0], space.width, space.height));
+            addSpace(new Space(space.x, space.y + size[1], space.z,
+                    size[0], space.width - size[1], space.height));
+            addSpace(new Space(space.x, space.y, space.z + size[2],
+                    size[0], size[1], space.height - size[2]));
+            freeSpaces.sort(Comparator.comparingDouble((Space s) -> s.z)
+                    .thenComparingDouble(s -> s.y)
+                    .thenComparingDouble(s -> s.x));
+        }
+
+        private void addSpace(Space space) {
+            if (space.length > 0 && space.width > 0 && space.height > 0) {
+                freeSpaces.add(space);
+            }
+        }
+    }
+}
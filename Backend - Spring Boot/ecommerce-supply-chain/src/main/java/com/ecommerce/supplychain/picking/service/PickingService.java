@@ -28,6 +28,9 @@ public class PickingService {
     @Autowired
     private PackageRepository packageRepository;
 
+    @Autowired
+    private CartonizationService cartonizationService;
+
     /**
      * API 1: Create pick list for order
      */
@@ -143,6 +146,11 @@ public class PickingService {
         // Calculate total weight
         packageEntity.calculateTotalWeight();
 
+        // Recommend carton when the packer did not choose one
+        if (packageDTO.getPackageType() == null && packageDTO.getPackageSize() == null && packageDTO.getDimensions() == null) {
+            applyCartonRecommendation(packageEntity, cartonizationService.cartonizePackageItems(packageDTO.getItems()));
+        }
+
         Package savedPackage = packageRepository.save(packageEntity);
 
         return mapToPackageResponseDTO(savedPackage);
@@ -185,8 +193,9 @@ public class PickingService {
     /**
      * Get all pick lists
      */
+    @Transactional(readOnly = true)
     public List<PickListResponseDTO> getAllPickLists() {
-        return pickListRepository.findAll().stream()
+        return pickListRepository.findAllWithItems().stream()
                 .map(this::mapToPickListResponseDTO)
                 .collect(Collectors.toList());
     }
@@ -194,8 +203,9 @@ public class PickingService {
     /**
      * Get pick list by ID
      */
+    @Transactional(readOnly = true)
     public PickListResponseDTO getPickListById(Long pickListId) {
-        PickList pickList = pickListRepository.findById(pickListId)
+        PickList pickList = pickListRepository.findWithItemsByPickListId(pickListId)
                 .orElseThrow(() -> new IllegalArgumentException("Pick list not found with ID: " + pickListId));
         return mapToPickListResponseDTO(pickList);
     }
@@ -203,6 +213,7 @@ public class PickingService {
     /**
      * Get pick lists by order
      */
+    @Transactional(readOnly = true)
     public List<PickListResponseDTO> getPickListsByOrderId(Long orderId) {
         return pickListRepository.findByOrderId(orderId).stream()
                 .map(this::mapToPickListResponseDTO)
@@ -212,6 +223,7 @@ public class PickingService {
     /**
      * Get active pick lists
      */
+    @Transactional(readOnly = true)
     public List<PickListResponseDTO> getActivePickLists() {
         return pickListRepository.findActivePickLists().stream()
                 .map(this::mapToPickListResponseDTO)
@@ -221,8 +233,9 @@ public class PickingService {
     /**
      * Get all packages
      */
+    @Transactional(readOnly = true)
     public List<PackageResponseDTO> getAllPackages() {
-        return packageRepository.findAll().stream()
+        return packageRepository.findAllWithItems().stream()
                 .map(this::mapToPackageResponseDTO)
                 .collect(Collectors.toList());
     }
@@ -230,8 +243,9 @@ public class PickingService {
     /**
      * Get package by ID
      */
+    @Transactional(readOnly = true)
     public PackageResponseDTO getPackageById(Long packageId) {
-        Package packageEntity = packageRepository.findById(packageId)
+        Package packageEntity = packageRepository.findWithItemsByPackageId(packageId)
                 .orElseThrow(() -> new IllegalArgumentException("Package not found with ID: " + packageId));
         return mapToPackageResponseDTO(packageEntity);
     }
@@ -239,6 +253,7 @@ public class PickingService {
     /**
      * Get packages by order
      */
+    @Transactional(readOnly = true)
     public List<PackageResponseDTO> getPackagesByOrderId(Long orderId) {
         return packageRepository.findByOrderId(orderId).stream()
                 .map(this::mapToPackageResponseDTO)
@@ -248,12 +263,44 @@ public class PickingService {
     /**
      * Get packages ready for shipment
      */
+    @Transactional(readOnly = true)
     public List<PackageResponseDTO> getPackagesReadyForShipment() {
         return packageRepository.findPackagesReadyForShipment().stream()
                 .map(this::mapToPackageResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Recommend cartons for a pick list
+     */
+    @Transactional(readOnly = true)
+    public CartonizationResultDTO getCartonRecommendation(Long pickListId) {
+        return cartonizationService.cartonizePickList(pickListId);
+    }
+
+    /**
+     * Apply the recommended carton to a package; the first (bulkiest) carton is used when several are needed
+     */
+    private void applyCartonRecommendation(Package packageEntity, CartonizationResultDTO recommendation) {
+        if (recommendation.getCartons().isEmpty()) {
+            return;
+        }
+
+        CartonizationResultDTO.CartonDTO carton = recommendation.getCartons().get(0);
+        packageEntity.setPackageType(carton.getPackageType());
+        packageEntity.setPackageSize(carton.getPackageSize());
+        packageEntity.setDimensions(carton.getDimensions());
+        if (packageEntity.getWeightKg() != null) {
+            packageEntity.setWeightKg(packageEntity.getWeightKg().add(BigDecimal.valueOf(carton.getTareWeightKg())));
+        }
+
+        if (recommendation.getCartonCount() > 1) {
+            String note = "Cartonization recommends " + recommendation.getCartonCount() + " cartons for these items";
+            packageEntity.setPackageNotes(packageEntity.getPackageNotes() != null ?
+                    packageEntity.getPackageNotes() + "\n" + note : note);
+        }
+    }
+
     /**
      * Generate unique pick list number
      */
@@ -2,6 +2,9 @@ package com.ecommerce.supplychain.procurement.controller;
 
 import com.ecommerce.supplychain.procurement.dto.PurchaseOrderDTO;
 import com.ecommerce.supplychain.procurement.dto.PurchaseOrderResponseDTO;
+import com.ecommerce.supplychain.procurement.dto.ReceiptPostingDTO;
+import com.ecommerce.supplychain.procurement.dto.ReceiptPostingResultDTO;
+import com.ecommerce.supplychain.procurement.dto.ReplenishmentOrderResultDTO;
 import com.ecommerce.supplychain.procurement.service.ProcurementService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -193,6 +196,48 @@ public class ProcurementController {
         }
     }
 
+    /**
+     * Post a whole delivery against one or more purchase orders
+     * POST /api/procurement/purchase-orders/receipts
+     */
+    @PostMapping("/purchase-orders/receipts")
+    public ResponseEntity<Map<String, Object>> postReceipt(@Valid @RequestBody ReceiptPostingDTO dto) {
+        try {
+            ReceiptPostingResultDTO result = procurementService.postReceipt(dto);
+
+            Map<String, Object> responseMap = new HashMap<>();
+            responseMap.put("success", true);
+            responseMap.put("message", result.getLinesPosted() + " lines posted against " + result.getPurchaseOrders().size()
+                    + " purchase orders, " + result.getPurchaseOrdersReceived() + " fully received");
+            responseMap.put("data", result);
+
+            return ResponseEntity.ok(responseMap);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    /**
+     * Generate consolidated purchase orders from approved reorder plans
+     * POST /api/procurement/purchase-orders/generate-from-reorder-plans
+     */
+    @PostMapping("/purchase-orders/generate-from-reorder-plans")
+    public ResponseEntity<Map<String, Object>> generateFromReorderPlans(
+            @RequestParam(defaultValue = "AUTO_REPLENISHMENT") String requestedBy) {
+        ReplenishmentOrderResultDTO result = procurementService.generatePurchaseOrdersFromReorderPlans(requestedBy);
+
+        Map<String, Object> responseMap = new HashMap<>();
+        responseMap.put("success", true);
+        responseMap.put("message", result.getPurchaseOrdersCreated() + " purchase orders generated from "
+                + result.getPlansConverted() + " reorder plans, " + result.getPlansSkipped() + " skipped");
+        responseMap.put("data", result);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(responseMap);
+    }
+
     /**
      * Cancel purchase order
      * PUT /api/procurement/purchase-orders/{poId}/cancel
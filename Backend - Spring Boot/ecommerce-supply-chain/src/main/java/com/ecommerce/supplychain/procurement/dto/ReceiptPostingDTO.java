@@ -0,0 +1,51 @@
+package com.ecommerce.supplychain.procurement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Data Transfer Object for posting a whole delivery against one or more Purchase Orders.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReceiptPostingDTO {
+
+    @NotNull(message = "Goods receipt ID is required")
+    private Long goodsReceiptId; // The goods receipt the delivery was booked in with; posted only once
+
+    @NotEmpty(message = "At least one line is required")
+    @Size(max = 5000, message = "At most 5000 lines per posting")
+    @Valid
+    private List<ReceiptLineDTO> lines;
+
+    /**
+     * One received line; the PO item is identified by itemId or by productSku
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReceiptLineDTO {
+
+        @NotNull(message = "PO ID is required")
+        private Long poId;
+
+        private Long itemId;
+
+        @Size(max = 50, message = "Product SKU must not exceed 50 characters")
+        private String productSku;
+
+        @NotNull(message = "Quantity received is required")
+        @Min(value = 1, message = "Quantity received must be at least 1")
+        private Integer quantityReceived;
+
+        @AssertTrue(message = "Either itemId or productSku is required")
+        private boolean isItemIdentified() {
+            return itemId != null || (productSku != null && !productSku.isBlank());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.supplychain.procurement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for a delivery posted against Purchase Orders.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReceiptPostingResultDTO {
+
+    private Long goodsReceiptId;
+    private String goodsReceiptNumber;
+    private LocalDateTime postedAt;
+    private Integer linesPosted;
+    private Integer quantityPosted;
+    private Integer purchaseOrdersReceived; // Fully received by this posting
+    private List<PurchaseOrderResponseDTO> purchaseOrders;
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.supplychain.procurement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Response DTO for Purchase Orders generated from approved reorder plans.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplenishmentOrderResultDTO {
+
+    private Integer plansConverted;
+    private Integer plansSkipped;
+    private List<String> skippedPlans; // "plan <id>: <reason>"
+    private Integer purchaseOrdersCreated;
+    private Long elapsedMillis;
+    private List<PurchaseOrderResponseDTO> purchaseOrders;
+}
@@ -16,6 +16,7 @@ import java.util.List;
  */
 @Entity
 @Table(name = "purchase_orders")
+@NamedEntityGraph(name = "PurchaseOrder.items", attributeNodes = @NamedAttributeNode("items"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
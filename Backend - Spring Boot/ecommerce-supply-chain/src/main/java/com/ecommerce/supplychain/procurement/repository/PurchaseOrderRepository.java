@@ -1,12 +1,16 @@
 package com.ecommerce.supplychain.procurement.repository;
 
 import com.ecommerce.supplychain.procurement.model.PurchaseOrder;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,10 +20,26 @@ import java.util.Optional;
 @Repository
 public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
 
+    // Fetch plans for response mapping; write paths keep using the lazy findById/findAll
+    @EntityGraph("PurchaseOrder.items")
+    @Query("SELECT po FROM PurchaseOrder po")
+    List<PurchaseOrder> findAllWithItems();
+
+    @EntityGraph("PurchaseOrder.items")
+    Optional<PurchaseOrder> findWithItemsByPoId(Long poId);
+
+    // Receipt posting: every PO of a delivery with its items, locked until commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph("PurchaseOrder.items")
+    @Query("SELECT po FROM PurchaseOrder po WHERE po.poId IN :poIds")
+    List<PurchaseOrder> findWithItemsForUpdateByPoIdIn(@Param("poIds") Collection<Long> poIds);
+
     Optional<PurchaseOrder> findByPoNumber(String poNumber);
 
+    @EntityGraph("PurchaseOrder.items")
     List<PurchaseOrder> findBySupplierId(Long supplierId);
 
+    @EntityGraph("PurchaseOrder.items")
     List<PurchaseOrder> findByStatus(String status);
 
     List<PurchaseOrder> findByContractId(Long contractId);
@@ -31,6 +51,7 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    @EntityGraph("PurchaseOrder.items")
     @Query("SELECT po FROM PurchaseOrder po WHERE po.status = 'APPROVED' AND po.expectedDeliveryDate < :date")
     List<PurchaseOrder> findOverduePurchaseOrders(@Param("date") LocalDate date);
 
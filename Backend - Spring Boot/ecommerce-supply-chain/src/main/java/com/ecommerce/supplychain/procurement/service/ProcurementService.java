@@ -1,30 +1,77 @@
 package com.ecommerce.supplychain.procurement.service;
 
+import com.ecommerce.supplychain.catalog.model.Product;
+import com.ecommerce.supplychain.catalog.repository.ProductRepository;
+import com.ecommerce.supplychain.contract.model.Contract;
+import com.ecommerce.supplychain.common.constants.DeadlineType;
+import com.ecommerce.supplychain.common.scheduling.DeadlineHandler;
+import com.ecommerce.supplychain.common.scheduling.DeadlineScheduler;
+import com.ecommerce.supplychain.contract.service.ContractService;
+import com.ecommerce.supplychain.forecasting.model.ReorderPlan;
+import com.ecommerce.supplychain.forecasting.repository.ReorderPlanRepository;
 import com.ecommerce.supplychain.procurement.dto.PurchaseOrderDTO;
 import com.ecommerce.supplychain.procurement.dto.PurchaseOrderResponseDTO;
+import com.ecommerce.supplychain.procurement.dto.ReceiptPostingDTO;
+import com.ecommerce.supplychain.procurement.dto.ReceiptPostingResultDTO;
+import com.ecommerce.supplychain.procurement.dto.ReplenishmentOrderResultDTO;
 import com.ecommerce.supplychain.procurement.model.PurchaseOrder;
 import com.ecommerce.supplychain.procurement.model.PurchaseOrderItem;
 import com.ecommerce.supplychain.procurement.repository.PurchaseOrderRepository;
+import com.ecommerce.supplychain.receiving.model.GoodsReceipt;
+import com.ecommerce.supplychain.receiving.repository.GoodsReceiptRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Service class handling procurement and purchase order business logic.
  */
 @Service
-public class ProcurementService {
+public class ProcurementService implements DeadlineHandler {
 
     @Autowired
     private PurchaseOrderRepository purchaseOrderRepository;
 
+    @Autowired
+    private GoodsReceiptRepository goodsReceiptRepository;
+
+    @Autowired
+    private ReorderPlanRepository reorderPlanRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private DeadlineScheduler deadlineScheduler;
+
+    @Value("${app.replenishment.delivery-window-days:7}")
+    private int deliveryWindowDays;
+
+    @Value("${app.replenishment.delivery-address:Main Warehouse}")
+    private String replenishmentDeliveryAddress;
+
     /**
      * Create a new purchase order with items.
      */
@@ -99,14 +146,20 @@ public class ProcurementService {
 
         PurchaseOrder updatedPO = purchaseOrderRepository.save(po);
 
+        // Overdue from the day after the expected delivery
+        if (po.getExpectedDeliveryDate() != null) {
+            deadlineScheduler.schedule(DeadlineType.PO_DELIVERY_DUE, poId, po.getExpectedDeliveryDate().plusDays(1).atStartOfDay());
+        }
+
         return mapToResponseDTO(updatedPO);
     }
 
     /**
      * Get all purchase orders.
      */
+    @Transactional(readOnly = true)
     public List<PurchaseOrderResponseDTO> getAllPurchaseOrders() {
-        return purchaseOrderRepository.findAll().stream()
+        return purchaseOrderRepository.findAllWithItems().stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
     }
@@ -114,8 +167,9 @@ public class ProcurementService {
     /**
      * Get purchase order by ID.
      */
+    @Transactional(readOnly = true)
     public PurchaseOrderResponseDTO getPurchaseOrderById(Long poId) {
-        PurchaseOrder po = purchaseOrderRepository.findById(poId)
+        PurchaseOrder po = purchaseOrderRepository.findWithItemsByPoId(poId)
                 .orElseThrow(() -> new IllegalArgumentException("Purchase order not found with ID: " + poId));
         return mapToResponseDTO(po);
     }
@@ -123,6 +177,7 @@ public class ProcurementService {
     /**
      * Get purchase orders by supplier.
      */
+    @Transactional(readOnly = true)
     public List<PurchaseOrderResponseDTO> getPurchaseOrdersBySupplierId(Long supplierId) {
         return purchaseOrderRepository.findBySupplierId(supplierId).stream()
                 .map(this::mapToResponseDTO)
@@ -132,6 +187,7 @@ public class ProcurementService {
     /**
      * Get purchase orders by status.
      */
+    @Transactional(readOnly = true)
     public List<PurchaseOrderResponseDTO> getPurchaseOrdersByStatus(String status) {
         return purchaseOrderRepository.findByStatus(status).stream()
                 .map(this::mapToResponseDTO)
@@ -203,6 +259,246 @@ public class ProcurementService {
         return mapToResponseDTO(updatedPO);
     }
 
+    /**
+     * Post a whole delivery against its purchase orders in one transaction.
+     * The POs are loaded with their items in one query and their items indexed by ID and SKU;
+     * all lines are checked before any quantity changes, and each PO's status is settled once.
+     * Every posting names the goods receipt the delivery was booked in with; the receipt is locked
+     * and stamped as posted, so a retried posting is rejected instead of counting the delivery twice.
+     */
+    @Transactional
+    public ReceiptPostingResultDTO postReceipt(ReceiptPostingDTO dto) {
+        if (dto.getGoodsReceiptId() == null) {
+            throw new IllegalArgumentException("Goods receipt ID is required");
+        }
+        Set<Long> poIds = dto.getLines().stream()
+                .map(ReceiptPostingDTO.ReceiptLineDTO::getPoId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, PurchaseOrder> purchaseOrders = purchaseOrderRepository.findWithItemsForUpdateByPoIdIn(poIds).stream()
+                .collect(Collectors.toMap(PurchaseOrder::getPoId, Function.identity()));
+
+        GoodsReceipt goodsReceipt = goodsReceiptRepository.findForUpdateByReceiptId(dto.getGoodsReceiptId())
+                .orElseThrow(() -> new IllegalArgumentException("Goods receipt not found with ID: " + dto.getGoodsReceiptId()));
+        if (!poIds.contains(goodsReceipt.getPoId())) {
+            throw new IllegalArgumentException("Goods receipt " + goodsReceipt.getReceiptNumber()
+                    + " is for purchase order " + goodsReceipt.getPoId() + ", which is not in this posting");
+        }
+        if (goodsReceipt.getPostedAt() != null) {
+            throw new IllegalStateException("Goods receipt " + goodsReceipt.getReceiptNumber()
+                    + " was already posted at " + goodsReceipt.getPostedAt());
+        }
+
+        Map<Long, Map<Long, PurchaseOrderItem>> itemsById = new HashMap<>();
+        Map<Long, Map<String, PurchaseOrderItem>> itemsBySku = new HashMap<>();
+        for (Long poId : poIds) {
+            PurchaseOrder po = purchaseOrders.get(poId);
+            if (po == null) {
+                throw new IllegalArgumentException("Purchase order not found with ID: " + poId);
+            }
+            if (!"SENT".equals(po.getStatus()) && !"PARTIALLY_RECEIVED".equals(po.getStatus())) {
+                throw new IllegalStateException("Can only receive goods for SENT or PARTIALLY_RECEIVED orders, "
+                        + po.getPoNumber() + " is " + po.getStatus());
+            }
+            Map<Long, PurchaseOrderItem> byId = new HashMap<>();
+            Map<String, PurchaseOrderItem> bySku = new HashMap<>();
+            for (PurchaseOrderItem item : po.getItems()) {
+                byId.put(item.getItemId(), item);
+                if (item.getProductSku() != null) {
+                    bySku.putIfAbsent(item.getProductSku(), item);
+                }
+            }
+            itemsById.put(poId, byId);
+            itemsBySku.put(poId, bySku);
+        }
+
+        // Resolve every line and total the quantities per item before changing anything
+        Map<Long, PurchaseOrderItem> postedItems = new LinkedHashMap<>();
+        Map<Long, Integer> quantities = new HashMap<>();
+        int quantityPosted = 0;
+        for (ReceiptPostingDTO.ReceiptLineDTO line : dto.getLines()) {
+            PurchaseOrderItem item = line.getItemId() != null
+                    ? itemsById.get(line.getPoId()).get(line.getItemId())
+                    : itemsBySku.get(line.getPoId()).get(line.getProductSku());
+            if (item == null) {
+                throw new IllegalArgumentException("Item " + (line.getItemId() != null ? line.getItemId() : line.getProductSku())
+                        + " not found in purchase order " + purchaseOrders.get(line.getPoId()).getPoNumber());
+            }
+            postedItems.put(item.getItemId(), item);
+            quantities.merge(item.getItemId(), line.getQuantityReceived(), Integer::sum);
+            quantityPosted += line.getQuantityReceived();
+        }
+        postedItems.forEach((itemId, item) -> {
+            if (item.getReceivedQuantity() + quantities.get(itemId) > item.getQuantity()) {
+                throw new IllegalArgumentException("Received quantity cannot exceed ordered quantity for item "
+                        + item.getItemId() + " (" + item.getProductSku() + ")");
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        postedItems.forEach((itemId, item) -> {
+            item.setReceivedQuantity(item.getReceivedQuantity() + quantities.get(itemId));
+            item.setUpdatedAt(now);
+        });
+
+        int fullyReceived = 0;
+        List<PurchaseOrder> posted = new ArrayList<>();
+        for (Long poId : poIds) {
+            PurchaseOrder po = purchaseOrders.get(poId);
+            boolean allItemsReceived = po.getItems().stream()
+                    .allMatch(i -> i.getReceivedQuantity().equals(i.getQuantity()));
+            if (allItemsReceived) {
+                po.setStatus("RECEIVED");
+                po.setActualDeliveryDate(LocalDate.now());
+                fullyReceived++;
+            } else {
+                po.setStatus("PARTIALLY_RECEIVED");
+            }
+            po.setUpdatedAt(now);
+            posted.add(po);
+        }
+        purchaseOrderRepository.saveAll(posted);
+        goodsReceipt.setPostedAt(now);
+        goodsReceipt.setUpdatedAt(now);
+
+        return ReceiptPostingResultDTO.builder()
+                .goodsReceiptId(goodsReceipt.getReceiptId())
+                .goodsReceiptNumber(goodsReceipt.getReceiptNumber())
+                .postedAt(now)
+                .linesPosted(dto.getLines().size())
+                .quantityPosted(quantityPosted)
+                .purchaseOrdersReceived(fullyReceived)
+                .purchaseOrders(posted.stream().map(this::mapToResponseDTO).collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * Turn every approved, unconverted reorder plan into consolidated purchase orders: one DRAFT PO
+     * per supplier and delivery window, with plans for the same product merged into one line.
+     * Products, contracts and plans are each read in one query; the supplier's contract covering
+     * the delivery date sets the PO's contract, currency and payment terms, and lines are priced
+     * at the product's cost price (the plan's estimated cost per unit when the product has none).
+     */
+    @Transactional
+    public ReplenishmentOrderResultDTO generatePurchaseOrdersFromReorderPlans(String requestedBy) {
+        long startMillis = System.currentTimeMillis();
+        List<ReorderPlan> plans = reorderPlanRepository.findApprovedUnconvertedPlans();
+
+        Map<Long, Product> products = productRepository.findAllById(plans.stream()
+                        .map(ReorderPlan::getProductId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        Map<Long, List<Contract>> contracts = contractService.getActiveContractsBySupplier(plans.stream()
+                .map(ReorderPlan::getSupplierId).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        // Group by supplier and delivery window, oldest windows first
+        List<String> skipped = new ArrayList<>();
+        Map<String, List<ReorderPlan>> groups = new TreeMap<>();
+        Map<Long, BigDecimal> unitPrices = new HashMap<>();
+        for (ReorderPlan plan : plans) {
+            BigDecimal unitPrice = replenishmentUnitPrice(plan, products.get(plan.getProductId()));
+            if (plan.getSupplierId() == null) {
+                skipped.add("plan " + plan.getPlanId() + ": no supplier");
+            } else if (unitPrice == null) {
+                skipped.add("plan " + plan.getPlanId() + ": no cost price for " + plan.getProductSku());
+            } else {
+                unitPrices.put(plan.getPlanId(), unitPrice);
+                long window = Math.floorDiv(replenishmentDeliveryDate(plan).toEpochDay(), deliveryWindowDays);
+                groups.computeIfAbsent(String.format("%019d-%019d", plan.getSupplierId(), window), key -> new ArrayList<>())
+                        .add(plan);
+            }
+        }
+
+        String numberPrefix = "PO-AUTO-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmssSSS")) + "-";
+        List<PurchaseOrder> purchaseOrders = new ArrayList<>();
+        for (List<ReorderPlan> group : groups.values()) {
+            Long supplierId = group.get(0).getSupplierId();
+            LocalDate deliveryDate = group.stream().map(this::replenishmentDeliveryDate).min(LocalDate::compareTo).orElseThrow();
+
+            PurchaseOrder po = new PurchaseOrder();
+            po.setPoNumber(numberPrefix + String.format("%04d", purchaseOrders.size() + 1));
+            po.setSupplierId(supplierId);
+            po.setOrderDate(LocalDate.now());
+            po.setExpectedDeliveryDate(deliveryDate);
+            po.setTaxAmount(BigDecimal.ZERO);
+            po.setDiscountAmount(BigDecimal.ZERO);
+            po.setDeliveryAddress(replenishmentDeliveryAddress);
+            po.setRequestedBy(requestedBy);
+            po.setStatus("DRAFT");
+            po.setNotes("Generated from " + group.size() + " approved reorder plans");
+            contractService.findContractCovering(contracts.getOrDefault(supplierId, List.of()), deliveryDate)
+                    .ifPresent(contract -> {
+                        po.setContractId(contract.getContractId());
+                        po.setCurrency(contract.getCurrency());
+                        po.setPaymentTerms(contract.getPaymentTerms());
+                    });
+
+            Map<Long, PurchaseOrderItem> itemsByProduct = new LinkedHashMap<>();
+            for (ReorderPlan plan : group) {
+                PurchaseOrderItem item = itemsByProduct.get(plan.getProductId());
+                if (item == null) {
+                    item = new PurchaseOrderItem();
+                    item.setProductId(plan.getProductId());
+                    item.setProductName(plan.getProductName());
+                    item.setProductSku(plan.getProductSku());
+                    item.setQuantity(0);
+                    item.setUnitPrice(unitPrices.get(plan.getPlanId()));
+                    item.setTaxRate(BigDecimal.ZERO);
+                    item.setDiscountRate(BigDecimal.ZERO);
+                    item.setUnitOfMeasurement("PIECE");
+                    itemsByProduct.put(plan.getProductId(), item);
+                    po.addItem(item);
+                }
+                item.setQuantity(item.getQuantity() + plan.getRecommendedOrderQuantity());
+            }
+            po.getItems().forEach(PurchaseOrderItem::calculateLineTotal);
+            po.calculateTotalAmount();
+
+            purchaseOrders.add(po);
+        }
+        purchaseOrderRepository.saveAll(purchaseOrders);
+
+        List<ReorderPlan> converted = new ArrayList<>();
+        List<List<ReorderPlan>> planGroups = new ArrayList<>(groups.values());
+        for (int i = 0; i < purchaseOrders.size(); i++) {
+            for (ReorderPlan plan : planGroups.get(i)) {
+                plan.markAsConvertedToPO(purchaseOrders.get(i).getPoId());
+                converted.add(plan);
+            }
+        }
+        reorderPlanRepository.saveAll(converted);
+
+        return ReplenishmentOrderResultDTO.builder()
+                .plansConverted(converted.size())
+                .plansSkipped(skipped.size())
+                .skippedPlans(skipped)
+                .purchaseOrdersCreated(purchaseOrders.size())
+                .elapsedMillis(System.currentTimeMillis() - startMillis)
+                .purchaseOrders(purchaseOrders.stream().map(this::mapToResponseDTO).collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * Date the plan's stock is needed by; plans left approved past that date are needed now
+     */
+    private LocalDate replenishmentDeliveryDate(ReorderPlan plan) {
+        LocalDate deliveryDate = plan.getExpectedDeliveryDate();
+        if (deliveryDate == null) {
+            LocalDate orderDate = plan.getSuggestedOrderDate() != null ? plan.getSuggestedOrderDate() : LocalDate.now();
+            deliveryDate = orderDate.plusDays(plan.getLeadTimeDays() != null ? plan.getLeadTimeDays() : 0);
+        }
+        return deliveryDate.isBefore(LocalDate.now()) ? LocalDate.now() : deliveryDate;
+    }
+
+    private BigDecimal replenishmentUnitPrice(ReorderPlan plan, Product product) {
+        if (product != null && product.getCostPrice() != null && product.getCostPrice().signum() > 0) {
+            return product.getCostPrice();
+        }
+        if (plan.getEstimatedCost() != null && plan.getEstimatedCost().signum() > 0
+                && plan.getRecommendedOrderQuantity() != null && plan.getRecommendedOrderQuantity() > 0) {
+            return plan.getEstimatedCost().divide(BigDecimal.valueOf(plan.getRecommendedOrderQuantity()), 2, RoundingMode.HALF_UP);
+        }
+        return null;
+    }
+
     /**
      * Cancel a purchase order.
      */
@@ -219,6 +515,7 @@ public class ProcurementService {
         po.setUpdatedAt(LocalDateTime.now());
 
         PurchaseOrder updatedPO = purchaseOrderRepository.save(po);
+        deadlineScheduler.cancel(DeadlineType.PO_DELIVERY_DUE, poId);
 
         return mapToResponseDTO(updatedPO);
     }
@@ -226,12 +523,35 @@ public class ProcurementService {
     /**
      * Get overdue purchase orders.
      */
+    @Transactional(readOnly = true)
     public List<PurchaseOrderResponseDTO> getOverduePurchaseOrders() {
         return purchaseOrderRepository.findOverduePurchaseOrders(LocalDate.now()).stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public String getDeadlineType() {
+        return DeadlineType.PO_DELIVERY_DUE;
+    }
+
+    /**
+     * Flag a purchase order still awaiting goods once its expected delivery date has passed.
+     */
+    @Override
+    @Transactional
+    public void onDeadline(Long poId, LocalDateTime dueAt) {
+        PurchaseOrder po = purchaseOrderRepository.findById(poId).orElse(null);
+        if (po == null || !Set.of("APPROVED", "SENT", "PARTIALLY_RECEIVED").contains(po.getStatus())
+                || po.getExpectedDeliveryDate() == null || !po.getExpectedDeliveryDate().isBefore(LocalDate.now())) {
+            return;
+        }
+        String existingNotes = po.getNotes() != null ? po.getNotes() + "\n\n" : "";
+        po.setNotes(existingNotes + "Delivery overdue: expected by " + po.getExpectedDeliveryDate() + ", status " + po.getStatus());
+        po.setUpdatedAt(LocalDateTime.now());
+        purchaseOrderRepository.save(po);
+    }
+
     /**
      * Delete purchase order (soft delete).
      */
@@ -270,7 +590,7 @@ public class ProcurementService {
                         .discountRate(item.getDiscountRate())
                         .unitOfMeasurement(item.getUnitOfMeasurement())
                         .notes(item.getNotes())
-                        .fullyReceived(item.getReceivedQuantity().equals(item.getQuantity()))
+                        .fullyReceived(Objects.equals(item.getReceivedQuantity(), item.getQuantity()))
                         .build())
                 .collect(Collectors.toList());
 
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -203,7 +204,10 @@ public class QualityController {
      * GET /api/quality/standards
      */
     @GetMapping("/standards")
-    public ResponseEntity<Map<String, Object>> getAllQualityStandards() {
+    public ResponseEntity<Map<String, Object>> getAllQualityStandards(WebRequest webRequest) {
+        if (qualityService.getStandardsVersion().checkNotModified(webRequest)) {
+            return null;
+        }
         List<QualityStandardResponseDTO> qualityStandards = qualityService.getAllQualityStandards();
 
         Map<String, Object> response = new HashMap<>();
@@ -219,7 +223,10 @@ public class QualityController {
      * GET /api/quality/standards/active
      */
     @GetMapping("/standards/active")
-    public ResponseEntity<Map<String, Object>> getActiveQualityStandards() {
+    public ResponseEntity<Map<String, Object>> getActiveQualityStandards(WebRequest webRequest) {
+        if (qualityService.getStandardsVersion().checkNotModified(webRequest)) {
+            return null;
+        }
         List<QualityStandardResponseDTO> activeStandards = qualityService.getActiveQualityStandards();
 
         Map<String, Object> response = new HashMap<>();
@@ -236,7 +243,10 @@ public class QualityController {
      * GET /api/quality/standards/type/{checkType}
      */
     @GetMapping("/standards/type/{checkType}")
-    public ResponseEntity<Map<String, Object>> getQualityStandardsByType(@PathVariable String checkType) {
+    public ResponseEntity<Map<String, Object>> getQualityStandardsByType(@PathVariable String checkType, WebRequest webRequest) {
+        if (qualityService.getStandardsVersion().checkNotModified(webRequest)) {
+            return null;
+        }
         List<QualityStandardResponseDTO> standards = qualityService.getQualityStandardsByType(checkType);
 
         Map<String, Object> response = new HashMap<>();
@@ -271,6 +281,30 @@ public class QualityController {
         }
     }
 
+    /**
+     * Validate a batch of checks (e.g. a whole shift) against quality standards
+     * POST /api/quality/checks/validate-standards/batch
+     */
+    @PostMapping("/checks/validate-standards/batch")
+    public ResponseEntity<Map<String, Object>> validateBatch(@Valid @RequestBody BatchValidationRequestDTO request) {
+        try {
+            BatchValidationResultDTO result = qualityService.validateBatch(request);
+
+            Map<String, Object> responseMap = new HashMap<>();
+            responseMap.put("success", true);
+            responseMap.put("message", result.getValidated() + " checks validated: " + result.getPassed() + " passed, "
+                    + result.getConditional() + " conditional, " + result.getFailed() + " failed");
+            responseMap.put("data", result);
+
+            return ResponseEntity.ok(responseMap);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
     /**
      * Get quality dashboard statistics
      * GET /api/quality/dashboard
@@ -0,0 +1,38 @@
+package com.ecommerce.supplychain.quality.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Request to validate many quality checks (e.g. a shift's checks) against the quality standards.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchValidationRequestDTO {
+
+    @NotEmpty(message = "At least one check is required")
+    @Size(max = 5000, message = "At most 5000 checks per batch")
+    @Valid
+    private List<CheckMeasurementDTO> checks;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CheckMeasurementDTO {
+
+        @NotNull(message = "Check ID is required")
+        private Long checkId;
+
+        // Optional scale readings, checked against the standards' weight tolerance
+        private Double expectedWeightKg;
+
+        private Double actualWeightKg;
+    }
+}
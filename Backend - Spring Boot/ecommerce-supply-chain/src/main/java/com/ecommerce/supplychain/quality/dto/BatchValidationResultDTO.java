@@ -0,0 +1,26 @@
+package com.ecommerce.supplychain.quality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Response DTO for a batch validation against quality standards.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchValidationResultDTO {
+
+    private Integer validated;
+    private Integer passed;
+    private Integer conditional;
+    private Integer failed;
+    private Long elapsedMillis;
+
+    private List<Long> notFoundCheckIds;
+    private List<StandardsValidationDTO> results;
+}
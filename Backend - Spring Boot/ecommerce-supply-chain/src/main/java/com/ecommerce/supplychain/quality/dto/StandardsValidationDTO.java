@@ -0,0 +1,27 @@
+package com.ecommerce.supplychain.quality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Result of evaluating one quality check against the active standards of its type.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StandardsValidationDTO {
+
+    private Long checkId;
+    private String checkNumber;
+    private String checkType;
+    private Integer standardsApplied;
+    private String result; // PASS, CONDITIONAL, FAIL
+    private Boolean meetsAllStandards;
+
+    private List<String> violations;
+    private List<String> warnings;
+}
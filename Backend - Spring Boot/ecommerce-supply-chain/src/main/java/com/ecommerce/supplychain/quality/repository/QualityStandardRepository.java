@@ -1,11 +1,13 @@
 package com.ecommerce.supplychain.quality.repository;
 
+import com.ecommerce.supplychain.common.web.ResourceVersion;
 import com.ecommerce.supplychain.quality.model.QualityStandard;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,4 +39,18 @@ public interface QualityStandardRepository extends JpaRepository<QualityStandard
     @Query("SELECT qs FROM QualityStandard qs WHERE qs.checkType = :checkType AND qs.productCategory = :category AND qs.isActive = true")
     List<QualityStandard> findStandardsByTypeAndCategory(@Param("checkType") String checkType,
                                                          @Param("category") String category);
+
+    /**
+     * Version of the standards, with the effective and expiry dates as time boundaries: per row the
+     * latest date already passed and the earliest still ahead, as isCurrentlyEffective changes at each
+     */
+    @Query("SELECT new com.ecommerce.supplychain.common.web.ResourceVersion(COUNT(qs), MAX(COALESCE(qs.updatedAt, qs.createdAt)), " +
+            "MAX(CASE WHEN qs.effectiveDate <= :now AND qs.expiryDate <= :now " +
+            "THEN CASE WHEN qs.expiryDate > qs.effectiveDate THEN qs.expiryDate ELSE qs.effectiveDate END " +
+            "WHEN qs.expiryDate <= :now THEN qs.expiryDate WHEN qs.effectiveDate <= :now THEN qs.effectiveDate END), " +
+            "MIN(CASE WHEN qs.effectiveDate > :now AND qs.expiryDate > :now " +
+            "THEN CASE WHEN qs.effectiveDate < qs.expiryDate THEN qs.effectiveDate ELSE qs.expiryDate END " +
+            "WHEN qs.effectiveDate > :now THEN qs.effectiveDate WHEN qs.expiryDate > :now THEN qs.expiryDate END)) " +
+            "FROM QualityStandard qs")
+    ResourceVersion findStandardsVersion(@Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -0,0 +1,230 @@
+package com.ecommerce.supplychain.quality.service;
+
+import com.ecommerce.supplychain.quality.dto.StandardsValidationDTO;
+import com.ecommerce.supplychain.quality.model.QualityCheck;
+import com.ecommerce.supplychain.quality.model.QualityStandard;
+import com.ecommerce.supplychain.quality.repository.QualityStandardRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Active quality standards compiled into in-memory rule sets per check type (Process 10).
+ * Each standard becomes the list of rules that apply to it (score floor and target, overall score,
+ * weight tolerance, packaging, labeling and safety requirements), so a check is evaluated in one
+ * pass without reading the standards table. Rule sets are rebuilt in one query when they expire
+ * and a check type is recompiled when one of its standards changes.
+ */
+@Service
+public class QualityRuleEngine {
+
+    @Autowired
+    private QualityStandardRepository qualityStandardRepository;
+
+    @Value("${app.quality.rule-cache-ttl-seconds:300}")
+    private long ruleCacheTtlSeconds;
+
+    private final Map<String, List<CompiledStandard>> ruleSets = new ConcurrentHashMap<>();
+    private final Set<String> staleCheckTypes = ConcurrentHashMap.newKeySet();
+    private volatile long loadedAtMillis;
+
+    /**
+     * Evaluate a check against every active standard of its type.
+     * Declared and measured weights are optional; without them the inspector's weight flag is used.
+     */
+    public StandardsValidationDTO evaluate(QualityCheck check, Double expectedWeightKg, Double actualWeightKg) {
+        List<CompiledStandard> standards = rulesFor(check.getCheckType());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<String> violations = new ArrayList<>();
+        List<String> warnings = new ArrayList<>();
+        int applied = 0;
+        for (CompiledStandard standard : standards) {
+            if (!standard.isEffective(now)) {
+                continue;
+            }
+            applied++;
+            for (Rule rule : standard.rules) {
+                String failure = rule.check(check, expectedWeightKg, actualWeightKg);
+                if (failure != null) {
+                    (rule.blocking ? violations : warnings).add(standard.standardCode + ": " + failure);
+                }
+            }
+        }
+
+        String result = !violations.isEmpty() ? "FAIL" : !warnings.isEmpty() ? "CONDITIONAL" : "PASS";
+        return StandardsValidationDTO.builder()
+                .checkId(check.getCheckId())
+                .checkNumber(check.getCheckNumber())
+                .checkType(check.getCheckType())
+                .standardsApplied(applied)
+                .result(result)
+                .meetsAllStandards(violations.isEmpty())
+                .violations(violations)
+                .warnings(warnings)
+                .build();
+    }
+
+    /**
+     * Recompile the rule set of a check type after one of its standards changed.
+     * Inside a transaction the rule set is only marked once the change is committed.
+     */
+    public void invalidate(String checkType) {
+        if (checkType == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    staleCheckTypes.add(checkType);
+                }
+            });
+        } else {
+            staleCheckTypes.add(checkType);
+        }
+    }
+
+    private List<CompiledStandard> rulesFor(String checkType) {
+        if (System.currentTimeMillis() - loadedAtMillis > ruleCacheTtlSeconds * 1000) {
+            reloadAll();
+        } else if (staleCheckTypes.remove(checkType)) {
+            ruleSets.put(checkType, compile(qualityStandardRepository.findActiveStandardsByType(checkType)));
+        }
+        return ruleSets.getOrDefault(checkType, List.of());
+    }
+
+    private synchronized void reloadAll() {
+        if (System.currentTimeMillis() - loadedAtMillis <= ruleCacheTtlSeconds * 1000) {
+            return;
+        }
+        Map<String, List<QualityStandard>> byType = new HashMap<>();
+        for (QualityStandard standard : qualityStandardRepository.findAllActiveStandards()) {
+            byType.computeIfAbsent(standard.getCheckType(), type -> new ArrayList<>()).add(standard);
+        }
+        Map<String, List<CompiledStandard>> rebuilt = new HashMap<>();
+        byType.forEach((type, standards) -> rebuilt.put(type, compile(standards)));
+        ruleSets.keySet().retainAll(rebuilt.keySet());
+        ruleSets.putAll(rebuilt);
+        staleCheckTypes.clear();
+        loadedAtMillis = System.currentTimeMillis();
+    }
+
+    private static List<CompiledStandard> compile(List<QualityStandard> standards) {
+        return standards.stream().map(CompiledStandard::new).toList();
+    }
+
+    /**
+     * Score the standard's minimum and target apply to, by check type
+     */
+    private static ToIntFunction<QualityCheck> primaryScore(String checkType) {
+        String type = checkType != null ? checkType : "";
+        return switch (type) {
+            case "CONTENT_VERIFICATION" -> check -> score(check.getContentAccuracyScore());
+            case "WEIGHT" -> check -> score(check.getWeightAccuracyScore());
+            case "SAFETY" -> check -> score(check.getSafetyComplianceScore());
+            case "LABELING" -> check -> score(check.getLabelAccuracyScore());
+            default -> check -> score(check.getPackageIntegrityScore());
+        };
+    }
+
+    private static int score(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    @FunctionalInterface
+    private interface RuleCheck {
+        String check(QualityCheck check, Double expectedWeightKg, Double actualWeightKg);
+    }
+
+    /**
+     * One compiled rule; a blocking rule fails the check, any other makes it conditional
+     */
+    private static class Rule {
+        private final boolean blocking;
+        private final RuleCheck check;
+
+        Rule(boolean blocking, RuleCheck check) {
+            this.blocking = blocking;
+            this.check = check;
+        }
+
+        String check(QualityCheck qualityCheck, Double expectedWeightKg, Double actualWeightKg) {
+            return check.check(qualityCheck, expectedWeightKg, actualWeightKg);
+        }
+    }
+
+    /**
+     * Immutable copy of a standard with only the rules its columns call for
+     */
+    private static class CompiledStandard {
+        private final String standardCode;
+        private final LocalDateTime effectiveDate;
+        private final LocalDateTime expiryDate;
+        private final List<Rule> rules = new ArrayList<>();
+
+        CompiledStandard(QualityStandard standard) {
+            this.standardCode = standard.getStandardCode();
+            this.effectiveDate = standard.getEffectiveDate();
+            this.expiryDate = standard.getExpiryDate();
+
+            int minimumScore = standard.getMinimumScore() != null ? standard.getMinimumScore() : 3;
+            int targetScore = standard.getTargetScore() != null ? standard.getTargetScore() : 5;
+            double minimumPercentage = minimumScore / 5.0 * 100;
+            ToIntFunction<QualityCheck> primary = primaryScore(standard.getCheckType());
+
+            rules.add(new Rule(true, (check, expected, actual) -> primary.applyAsInt(check) < minimumScore
+                    ? "score " + primary.applyAsInt(check) + " below minimum " + minimumScore : null));
+            if (targetScore > minimumScore) {
+                rules.add(new Rule(false, (check, expected, actual) -> primary.applyAsInt(check) < targetScore
+                        ? "score " + primary.applyAsInt(check) + " below target " + targetScore : null));
+            }
+            rules.add(new Rule(true, (check, expected, actual) ->
+                    check.getScorePercentage() != null && check.getScorePercentage() < minimumPercentage
+                            ? "overall score " + check.getScorePercentage() + "% below " + minimumPercentage + "%" : null));
+
+            if (standard.getWeightTolerancePercentage() != null) {
+                double tolerance = standard.getWeightTolerancePercentage() / 100;
+                rules.add(new Rule(true, (check, expected, actual) -> {
+                    if (expected != null && actual != null) {
+                        return Math.abs(expected - actual) > expected * tolerance
+                                ? "weight " + actual + " kg outside " + standard.getWeightTolerancePercentage()
+                                + "% of " + expected + " kg" : null;
+                    }
+                    return Boolean.FALSE.equals(check.getIsWeightAccurate()) ? "weight not accurate" : null;
+                }));
+            }
+            if (hasText(standard.getPackagingRequirements())) {
+                rules.add(new Rule(true, (check, expected, actual) -> Boolean.TRUE.equals(check.getIsPackageDamaged())
+                        ? "package damaged" : null));
+            }
+            if (hasText(standard.getLabelingRequirements())) {
+                rules.add(new Rule(true, (check, expected, actual) -> Boolean.FALSE.equals(check.getAreLabelsCorrect())
+                        || score(check.getLabelAccuracyScore()) < minimumScore ? "labeling requirements not met" : null));
+            }
+            if (hasText(standard.getSafetyRequirements())) {
+                rules.add(new Rule(true, (check, expected, actual) -> Boolean.FALSE.equals(check.getIsHazardousCompliant())
+                        || score(check.getSafetyComplianceScore()) < minimumScore ? "safety requirements not met" : null));
+            }
+        }
+
+        boolean isEffective(LocalDateTime now) {
+            return (effectiveDate == null || now.isAfter(effectiveDate)) && (expiryDate == null || now.isBefore(expiryDate));
+        }
+    }
+}
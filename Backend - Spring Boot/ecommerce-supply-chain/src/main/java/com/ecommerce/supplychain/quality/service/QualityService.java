@@ -1,5 +1,6 @@
 package com.ecommerce.supplychain.quality.service;
 
+import com.ecommerce.supplychain.common.web.ResourceVersion;
 import com.ecommerce.supplychain.quality.dto.*;
 import com.ecommerce.supplychain.quality.model.QualityCheck;
 import com.ecommerce.supplychain.quality.model.QualityStandard;
@@ -10,7 +11,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -25,6 +30,9 @@ public class QualityService {
     @Autowired
     private QualityStandardRepository qualityStandardRepository;
 
+    @Autowired
+    private QualityRuleEngine qualityRuleEngine;
+
     /**
      * API 1: Create quality check for package
      */
@@ -125,6 +133,7 @@ public class QualityService {
     /**
      * Get all quality checks
      */
+    @Transactional(readOnly = true)
     public List<QualityCheckResponseDTO> getAllQualityChecks() {
         return qualityCheckRepository.findAll().stream()
                 .map(this::mapToQualityCheckResponseDTO)
@@ -134,6 +143,7 @@ public class QualityService {
     /**
      * Get quality check by ID
      */
+    @Transactional(readOnly = true)
     public QualityCheckResponseDTO getQualityCheckById(Long checkId) {
         QualityCheck qualityCheck = qualityCheckRepository.findById(checkId)
                 .orElseThrow(() -> new IllegalArgumentException("Quality check not found with ID: " + checkId));
@@ -143,6 +153,7 @@ public class QualityService {
     /**
      * Get quality checks by package
      */
+    @Transactional(readOnly = true)
     public List<QualityCheckResponseDTO> getQualityChecksByPackageId(Long packageId) {
         return qualityCheckRepository.findByPackageId(packageId).stream()
                 .map(this::mapToQualityCheckResponseDTO)
@@ -152,6 +163,7 @@ public class QualityService {
     /**
      * Get quality checks by status
      */
+    @Transactional(readOnly = true)
     public List<QualityCheckResponseDTO> getQualityChecksByStatus(String status) {
         return qualityCheckRepository.findByCheckStatus(status).stream()
                 .map(this::mapToQualityCheckResponseDTO)
@@ -161,6 +173,7 @@ public class QualityService {
     /**
      * Get approved quality checks
      */
+    @Transactional(readOnly = true)
     public List<QualityCheckResponseDTO> getApprovedQualityChecks() {
         return qualityCheckRepository.findApprovedChecks().stream()
                 .map(this::mapToQualityCheckResponseDTO)
@@ -170,6 +183,7 @@ public class QualityService {
     /**
      * Get checks requiring recheck
      */
+    @Transactional(readOnly = true)
     public List<QualityCheckResponseDTO> getChecksRequiringRecheck() {
         return qualityCheckRepository.findChecksRequiringRecheck().stream()
                 .map(this::mapToQualityCheckResponseDTO)
@@ -187,13 +201,23 @@ public class QualityService {
         }
 
         QualityStandard savedStandard = qualityStandardRepository.save(qualityStandard);
+        qualityRuleEngine.invalidate(savedStandard.getCheckType());
 
         return mapToQualityStandardResponseDTO(savedStandard);
     }
 
+    /**
+     * Version of the quality standards for conditional GETs
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getStandardsVersion() {
+        return qualityStandardRepository.findStandardsVersion(LocalDateTime.now());
+    }
+
     /**
      * Get all quality standards
      */
+    @Transactional(readOnly = true)
     public List<QualityStandardResponseDTO> getAllQualityStandards() {
         return qualityStandardRepository.findAll().stream()
                 .map(this::mapToQualityStandardResponseDTO)
@@ -203,6 +227,7 @@ public class QualityService {
     /**
      * Get active quality standards
      */
+    @Transactional(readOnly = true)
     public List<QualityStandardResponseDTO> getActiveQualityStandards() {
         return qualityStandardRepository.findAllActiveStandards().stream()
                 .map(this::mapToQualityStandardResponseDTO)
@@ -212,6 +237,7 @@ public class QualityService {
     /**
      * Get quality standards by type
      */
+    @Transactional(readOnly = true)
     public List<QualityStandardResponseDTO> getQualityStandardsByType(String checkType) {
         return qualityStandardRepository.findActiveStandardsByType(checkType).stream()
                 .map(this::mapToQualityStandardResponseDTO)
@@ -221,27 +247,76 @@ public class QualityService {
     /**
      * Validate package against quality standards
      */
+    @Transactional
     public QualityCheckResponseDTO validateAgainstStandards(Long checkId) {
         QualityCheck qualityCheck = qualityCheckRepository.findById(checkId)
                 .orElseThrow(() -> new IllegalArgumentException("Quality check not found with ID: " + checkId));
 
-        // Get relevant standards for this check type
-        List<QualityStandard> standards = qualityStandardRepository.findActiveStandardsByType(qualityCheck.getCheckType());
+        StandardsValidationDTO validation = qualityRuleEngine.evaluate(qualityCheck, null, null);
+        applyValidationNotes(qualityCheck, validation);
+
+        QualityCheck updatedCheck = qualityCheckRepository.save(qualityCheck);
+
+        return mapToQualityCheckResponseDTO(updatedCheck);
+    }
+
+    /**
+     * Validate many checks against quality standards: one query for the checks,
+     * standards come from the compiled rule sets
+     */
+    @Transactional
+    public BatchValidationResultDTO validateBatch(BatchValidationRequestDTO request) {
+        long startMillis = System.currentTimeMillis();
 
-        // Validate against each standard (simplified)
-        boolean meetsAllStandards = standards.stream()
-                .allMatch(standard -> standard.meetsStandard(qualityCheck.getPackageIntegrityScore()));
+        Map<Long, BatchValidationRequestDTO.CheckMeasurementDTO> measurements = new LinkedHashMap<>();
+        for (BatchValidationRequestDTO.CheckMeasurementDTO measurement : request.getChecks()) {
+            measurements.put(measurement.getCheckId(), measurement);
+        }
+        Map<Long, QualityCheck> checks = qualityCheckRepository.findAllById(measurements.keySet()).stream()
+                .collect(Collectors.toMap(QualityCheck::getCheckId, Function.identity()));
+
+        List<StandardsValidationDTO> results = new ArrayList<>();
+        List<Long> notFound = new ArrayList<>();
+        int passed = 0;
+        int conditional = 0;
+        for (BatchValidationRequestDTO.CheckMeasurementDTO measurement : measurements.values()) {
+            QualityCheck qualityCheck = checks.get(measurement.getCheckId());
+            if (qualityCheck == null) {
+                notFound.add(measurement.getCheckId());
+                continue;
+            }
+            StandardsValidationDTO validation = qualityRuleEngine.evaluate(
+                    qualityCheck, measurement.getExpectedWeightKg(), measurement.getActualWeightKg());
+            applyValidationNotes(qualityCheck, validation);
+            results.add(validation);
+            if ("PASS".equals(validation.getResult())) {
+                passed++;
+            } else if ("CONDITIONAL".equals(validation.getResult())) {
+                conditional++;
+            }
+        }
+        qualityCheckRepository.saveAll(checks.values());
+
+        return BatchValidationResultDTO.builder()
+                .validated(results.size())
+                .passed(passed)
+                .conditional(conditional)
+                .failed(results.size() - passed - conditional)
+                .elapsedMillis(System.currentTimeMillis() - startMillis)
+                .notFoundCheckIds(notFound)
+                .results(results)
+                .build();
+    }
 
-        // Update check based on standards validation
-        if (meetsAllStandards && qualityCheck.getApprovedForShipment()) {
+    private void applyValidationNotes(QualityCheck qualityCheck, StandardsValidationDTO validation) {
+        if (validation.getMeetsAllStandards() && qualityCheck.getApprovedForShipment()) {
             qualityCheck.setCheckNotes("Package meets all quality standards for shipment");
-        } else {
+        } else if (validation.getViolations().isEmpty()) {
             qualityCheck.setCheckNotes("Package requires review against quality standards");
+        } else {
+            qualityCheck.setCheckNotes("Package requires review against quality standards: "
+                    + String.join("; ", validation.getViolations()));
         }
-
-        QualityCheck updatedCheck = qualityCheckRepository.save(qualityCheck);
-
-        return mapToQualityCheckResponseDTO(updatedCheck);
     }
 
     /**
@@ -255,13 +330,13 @@ public class QualityService {
      * Helper method to convert QualityCheck to ResponseDTO
      */
     private QualityCheckResponseDTO mapToQualityCheckResponseDTO(QualityCheck qualityCheck) {
-        boolean meetsShippingStandards = qualityCheck.getApprovedForShipment() &&
+        boolean meetsShippingStandards = Boolean.TRUE.equals(qualityCheck.getApprovedForShipment()) &&
                 "PASS".equals(qualityCheck.getOverallResult());
 
         String recommendation;
-        if (qualityCheck.getApprovedForShipment()) {
+        if (Boolean.TRUE.equals(qualityCheck.getApprovedForShipment())) {
             recommendation = "APPROVE";
-        } else if (qualityCheck.getRecheckRequired()) {
+        } else if (Boolean.TRUE.equals(qualityCheck.getRecheckRequired())) {
             recommendation = "RE_CHECK";
         } else {
             recommendation = "REJECT";
@@ -1,5 +1,6 @@
 package com.ecommerce.supplychain.receiving.controller;
 
+import com.ecommerce.supplychain.receiving.dto.BulkInspectionDTO;
 import com.ecommerce.supplychain.receiving.dto.GoodsReceiptDTO;
 import com.ecommerce.supplychain.receiving.dto.GoodsReceiptResponseDTO;
 import com.ecommerce.supplychain.receiving.dto.InspectionDTO;
@@ -71,6 +72,29 @@ public class ReceivingController {
         }
     }
 
+    /**
+     * Submit a dock scanner's inspection results for one receipt
+     * POST /api/receiving/inspections/bulk
+     */
+    @PostMapping("/inspections/bulk")
+    public ResponseEntity<Map<String, Object>> performBulkInspection(@Valid @RequestBody BulkInspectionDTO dto) {
+        try {
+            GoodsReceiptResponseDTO response = receivingService.performBulkInspection(dto);
+
+            Map<String, Object> responseMap = new HashMap<>();
+            responseMap.put("success", true);
+            responseMap.put("message", dto.getResults().size() + " inspections recorded, receipt is " + response.getStatus());
+            responseMap.put("data", response);
+
+            return ResponseEntity.status(HttpStatus.OK).body(responseMap);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
     /**
      * Get all goods receipts
      * GET /api/receiving/goods-receipts
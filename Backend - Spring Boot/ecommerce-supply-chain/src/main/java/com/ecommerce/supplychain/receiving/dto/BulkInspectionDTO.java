@@ -0,0 +1,66 @@
+package com.ecommerce.supplychain.receiving.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO for submitting a dock scanner's inspection results for one goods receipt in a single request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkInspectionDTO {
+
+    @NotNull(message = "Receipt ID is required")
+    private Long receiptId;
+
+    @NotEmpty(message = "At least one inspection result is required")
+    @Size(max = 2000, message = "At most 2000 inspection results per request")
+    @Valid
+    private List<InspectionResultDTO> results;
+
+    /**
+     * One scanned line; same rules as a single inspection
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class InspectionResultDTO {
+
+        @NotNull(message = "Inspection record ID is required")
+        private Long inspectionId;
+
+        @NotNull(message = "Accepted quantity is required")
+        @Min(value = 0, message = "Accepted quantity cannot be negative")
+        private Integer acceptedQuantity;
+
+        @Min(value = 0, message = "Rejected quantity cannot be negative")
+        private Integer rejectedQuantity;
+
+        @Min(value = 0, message = "Damaged quantity cannot be negative")
+        private Integer damagedQuantity;
+
+        @NotBlank(message = "Inspector name is required")
+        private String inspectorName;
+
+        @Min(value = 1, message = "Quality rating must be between 1 and 5")
+        @Max(value = 5, message = "Quality rating must be between 1 and 5")
+        private Integer qualityRating;
+
+        @Pattern(regexp = "DAMAGED|EXPIRED|WRONG_ITEM|POOR_QUALITY|PACKAGING_ISSUE|NONE",
+                message = "Invalid defect type")
+        private String defectType;
+
+        @NotBlank(message = "Action taken is required")
+        @Pattern(regexp = "ACCEPT_ALL|PARTIAL_ACCEPT|REJECT_ALL|RETURN_TO_SUPPLIER",
+                message = "Action must be ACCEPT_ALL, PARTIAL_ACCEPT, REJECT_ALL, or RETURN_TO_SUPPLIER")
+        private String actionTaken;
+
+        private String inspectionNotes;
+        private String photoUrl;
+    }
+}
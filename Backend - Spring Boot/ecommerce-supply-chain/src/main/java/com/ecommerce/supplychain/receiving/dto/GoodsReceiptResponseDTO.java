@@ -32,9 +32,14 @@ public class GoodsReceiptResponseDTO {
     private Integer totalItemsReceived;
     private Boolean discrepancyFound;
     private String notes;
+    private LocalDateTime postedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Integer totalInspectionRecords;
+    private Integer pendingInspections;
+    private Integer passedInspections;
+    private Integer failedInspections;
+    private Integer conditionalInspections;
     private List<InspectionRecordResponseDTO> inspectionRecords;
 
     /**
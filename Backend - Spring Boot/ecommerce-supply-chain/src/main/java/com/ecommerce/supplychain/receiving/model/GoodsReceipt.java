@@ -16,6 +16,7 @@ import java.util.List;
  */
 @Entity
 @Table(name = "goods_receipts")
+@NamedEntityGraph(name = "GoodsReceipt.inspections", attributeNodes = @NamedAttributeNode("inspectionRecords"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -65,9 +66,25 @@ public class GoodsReceipt {
     @Column(name = "discrepancy_found")
     private Boolean discrepancyFound;
 
+    // Inspection outcomes by line, maintained per inspection so status never re-reads the records
+    @Column(name = "pending_inspections", nullable = false)
+    private Integer pendingInspections;
+
+    @Column(name = "passed_inspections", nullable = false)
+    private Integer passedInspections;
+
+    @Column(name = "failed_inspections", nullable = false)
+    private Integer failedInspections;
+
+    @Column(name = "conditional_inspections", nullable = false)
+    private Integer conditionalInspections;
+
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
 
+    @Column(name = "posted_at")
+    private LocalDateTime postedAt; // Quantities posted to the purchase orders; set once
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -90,6 +107,18 @@ public class GoodsReceipt {
         if (discrepancyFound == null) {
             discrepancyFound = false;
         }
+        if (pendingInspections == null) {
+            pendingInspections = inspectionRecords.size();
+        }
+        if (passedInspections == null) {
+            passedInspections = 0;
+        }
+        if (failedInspections == null) {
+            failedInspections = 0;
+        }
+        if (conditionalInspections == null) {
+            conditionalInspections = 0;
+        }
     }
 
     @PreUpdate
@@ -104,4 +133,43 @@ public class GoodsReceipt {
         inspectionRecords.add(record);
         record.setGoodsReceipt(this);
     }
+
+    /**
+     * Move one line from its previous inspection outcome to its new one and derive the
+     * receipt status from the counters: INSPECTED while lines are pending, then ACCEPTED,
+     * REJECTED or PARTIALLY_ACCEPTED
+     */
+    public void recordInspectionOutcome(String previousStatus, String newStatus) {
+        adjustInspectionCounter(previousStatus, -1);
+        adjustInspectionCounter(newStatus, 1);
+
+        if (pendingInspections > 0) {
+            status = "INSPECTED";
+        } else if (failedInspections == 0 && conditionalInspections == 0) {
+            status = "ACCEPTED";
+        } else if (failedInspections > 0) {
+            status = "REJECTED";
+        } else {
+            status = "PARTIALLY_ACCEPTED";
+        }
+    }
+
+    /**
+     * Total lines on the receipt, from the counters
+     */
+    public int getInspectionLineCount() {
+        return pendingInspections + passedInspections + failedInspections + conditionalInspections;
+    }
+
+    private void adjustInspectionCounter(String inspectionStatus, int delta) {
+        if ("PASSED".equals(inspectionStatus)) {
+            passedInspections = Math.max(0, passedInspections + delta);
+        } else if ("FAILED".equals(inspectionStatus)) {
+            failedInspections = Math.max(0, failedInspections + delta);
+        } else if ("CONDITIONAL".equals(inspectionStatus)) {
+            conditionalInspections = Math.max(0, conditionalInspections + delta);
+        } else {
+            pendingInspections = Math.max(0, pendingInspections + delta);
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package com.ecommerce.supplychain.receiving.repository;
 
 import com.ecommerce.supplychain.receiving.model.GoodsReceipt;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,12 +19,28 @@ import java.util.Optional;
 @Repository
 public interface GoodsReceiptRepository extends JpaRepository<GoodsReceipt, Long> {
 
+    // Fetch plans for response mapping; write paths keep using the lazy findById/findAll
+    @EntityGraph("GoodsReceipt.inspections")
+    @Query("SELECT gr FROM GoodsReceipt gr")
+    List<GoodsReceipt> findAllWithInspections();
+
+    @EntityGraph("GoodsReceipt.inspections")
+    Optional<GoodsReceipt> findWithInspectionsByReceiptId(Long receiptId);
+
+    // Row lock for the inspection counters: concurrent scans of one receipt apply one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT gr FROM GoodsReceipt gr WHERE gr.receiptId = :receiptId")
+    Optional<GoodsReceipt> findForUpdateByReceiptId(@Param("receiptId") Long receiptId);
+
     Optional<GoodsReceipt> findByReceiptNumber(String receiptNumber);
 
+    @EntityGraph("GoodsReceipt.inspections")
     List<GoodsReceipt> findByPoId(Long poId);
 
+    @EntityGraph("GoodsReceipt.inspections")
     List<GoodsReceipt> findBySupplierId(Long supplierId);
 
+    @EntityGraph("GoodsReceipt.inspections")
     List<GoodsReceipt> findByStatus(String status);
 
     List<GoodsReceipt> findByReceivedBy(String receivedBy);
@@ -33,6 +52,7 @@ public interface GoodsReceiptRepository extends JpaRepository<GoodsReceipt, Long
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    @EntityGraph("GoodsReceipt.inspections")
     @Query("SELECT gr FROM GoodsReceipt gr WHERE gr.discrepancyFound = true")
     List<GoodsReceipt> findReceiptsWithDiscrepancies();
 
@@ -3,6 +3,7 @@ package com.ecommerce.supplychain.receiving.repository;
 import com.ecommerce.supplychain.receiving.model.InspectionRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,7 +14,9 @@ import java.util.List;
 @Repository
 public interface InspectionRepository extends JpaRepository<InspectionRecord, Long> {
 
-    List<InspectionRecord> findByGoodsReceipt_ReceiptId(Long receiptId);
+    // Filters on the receipt_id column; the derived query outer-joins goods_receipts and scans inspection_records
+    @Query("SELECT ir FROM InspectionRecord ir WHERE ir.goodsReceipt.receiptId = :receiptId")
+    List<InspectionRecord> findByGoodsReceipt_ReceiptId(@Param("receiptId") Long receiptId);
 
     List<InspectionRecord> findByInspectionStatus(String status);
 
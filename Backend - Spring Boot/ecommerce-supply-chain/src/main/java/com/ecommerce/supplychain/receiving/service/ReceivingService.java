@@ -1,5 +1,8 @@
 package com.ecommerce.supplychain.receiving.service;
 
+import com.ecommerce.supplychain.procurement.model.PurchaseOrder;
+import com.ecommerce.supplychain.procurement.repository.PurchaseOrderRepository;
+import com.ecommerce.supplychain.receiving.dto.BulkInspectionDTO;
 import com.ecommerce.supplychain.receiving.dto.GoodsReceiptDTO;
 import com.ecommerce.supplychain.receiving.dto.GoodsReceiptResponseDTO;
 import com.ecommerce.supplychain.receiving.dto.InspectionDTO;
@@ -7,13 +10,18 @@ import com.ecommerce.supplychain.receiving.model.GoodsReceipt;
 import com.ecommerce.supplychain.receiving.model.InspectionRecord;
 import com.ecommerce.supplychain.receiving.repository.GoodsReceiptRepository;
 import com.ecommerce.supplychain.receiving.repository.InspectionRepository;
+import com.ecommerce.supplychain.supplier.service.SupplierScorecardService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +36,12 @@ public class ReceivingService {
     @Autowired
     private InspectionRepository inspectionRepository;
 
+    @Autowired
+    private PurchaseOrderRepository purchaseOrderRepository;
+
+    @Autowired
+    private SupplierScorecardService supplierScorecardService;
+
     /**
      * API 1: Create goods receipt when items arrive from supplier
      */
@@ -55,6 +69,7 @@ public class ReceivingService {
         // Calculate totals
         int totalOrdered = 0;
         int totalReceived = 0;
+        int totalFilled = 0;
         boolean discrepancy = false;
 
         // Create inspection records for each item
@@ -74,6 +89,7 @@ public class ReceivingService {
 
             totalOrdered += itemDTO.getOrderedQuantity();
             totalReceived += itemDTO.getReceivedQuantity();
+            totalFilled += Math.min(itemDTO.getReceivedQuantity(), itemDTO.getOrderedQuantity());
 
             if (!itemDTO.getOrderedQuantity().equals(itemDTO.getReceivedQuantity())) {
                 discrepancy = true;
@@ -88,32 +104,157 @@ public class ReceivingService {
 
         GoodsReceipt savedReceipt = goodsReceiptRepository.save(receipt);
 
+        // Supplier scorecard: on time against the PO's expected date, lead time from its order date
+        PurchaseOrder po = purchaseOrderRepository.findById(dto.getPoId()).orElse(null);
+        supplierScorecardService.recordDelivery(savedReceipt.getSupplierId(), savedReceipt.getReceiptDate(),
+                po != null ? po.getExpectedDeliveryDate() : null, po != null ? po.getOrderDate() : null,
+                totalOrdered, totalFilled, discrepancy);
+
         return mapToResponseDTO(savedReceipt);
     }
 
     /**
-     * API 2: Perform quality inspection on received goods
+     * API 2: Perform quality inspection on received goods.
+     * The receipt's counters are updated under a row lock and the response carries the
+     * receipt with the inspected line only, so each scan costs the same on any receipt size.
      */
     @Transactional
     public GoodsReceiptResponseDTO performInspection(InspectionDTO dto) {
-        // Fetch the goods receipt
-        GoodsReceipt receipt = goodsReceiptRepository.findById(dto.getReceiptId())
+        // Fetch the goods receipt, locked until commit
+        GoodsReceipt receipt = goodsReceiptRepository.findForUpdateByReceiptId(dto.getReceiptId())
                 .orElseThrow(() -> new IllegalArgumentException("Goods receipt not found with ID: " + dto.getReceiptId()));
 
         // Fetch the inspection record
         InspectionRecord record = inspectionRepository.findById(dto.getInspectionId())
                 .orElseThrow(() -> new IllegalArgumentException("Inspection record not found with ID: " + dto.getInspectionId()));
 
-        // Validate quantities
+        if (!receipt.getReceiptId().equals(record.getGoodsReceipt().getReceiptId())) {
+            throw new IllegalArgumentException("Inspection record " + dto.getInspectionId()
+                    + " does not belong to goods receipt " + dto.getReceiptId());
+        }
+        validateInspectedQuantities(record, dto);
+
+        String previousStatus = record.getInspectionStatus();
+        LocalDate previousDate = inspectedOn(record);
+        long previousInspected = inspectedUnits(record);
+        long previousDefective = defectiveUnits(record);
+        applyInspection(record, dto);
+        inspectionRepository.save(record);
+        // A re-inspection takes its earlier units back from the day they were counted on
+        supplierScorecardService.reverseInspection(receipt.getSupplierId(), previousDate, previousInspected, previousDefective);
+        supplierScorecardService.recordInspection(receipt.getSupplierId(), inspectedUnits(record), defectiveUnits(record));
+
+        // Receipt status follows from the counters
+        receipt.recordInspectionOutcome(previousStatus, record.getInspectionStatus());
+        receipt.setUpdatedAt(LocalDateTime.now());
+        GoodsReceipt savedReceipt = goodsReceiptRepository.save(receipt);
+
+        return mapToResponseDTO(savedReceipt, List.of(record), savedReceipt.getInspectionLineCount());
+    }
+
+    /**
+     * Apply a scanner's batch of inspection results to one receipt in a single transaction.
+     * Every result is validated before any is applied, so a bad line rejects the whole batch;
+     * the records are written as batched updates and the receipt once.
+     */
+    @Transactional
+    public GoodsReceiptResponseDTO performBulkInspection(BulkInspectionDTO dto) {
+        GoodsReceipt receipt = goodsReceiptRepository.findForUpdateByReceiptId(dto.getReceiptId())
+                .orElseThrow(() -> new IllegalArgumentException("Goods receipt not found with ID: " + dto.getReceiptId()));
+
+        Map<Long, InspectionDTO> inspections = new LinkedHashMap<>();
+        for (BulkInspectionDTO.InspectionResultDTO result : dto.getResults()) {
+            if (inspections.put(result.getInspectionId(), toInspectionDTO(dto.getReceiptId(), result)) != null) {
+                throw new IllegalArgumentException("Inspection record " + result.getInspectionId() + " appears more than once");
+            }
+        }
+
+        Map<Long, InspectionRecord> records = inspectionRepository.findAllById(inspections.keySet()).stream()
+                .collect(Collectors.toMap(InspectionRecord::getInspectionId, Function.identity()));
+        for (InspectionDTO inspection : inspections.values()) {
+            InspectionRecord record = records.get(inspection.getInspectionId());
+            if (record == null || !receipt.getReceiptId().equals(record.getGoodsReceipt().getReceiptId())) {
+                throw new IllegalArgumentException("Inspection record " + inspection.getInspectionId()
+                        + " not found on goods receipt " + dto.getReceiptId());
+            }
+            validateInspectedQuantities(record, inspection);
+        }
+
+        List<InspectionRecord> inspected = new ArrayList<>();
+        // Units of re-inspected lines by the day they were counted on, taken back from that day's row
+        Map<LocalDate, long[]> reversed = new LinkedHashMap<>();
+        long unitsInspected = 0;
+        long unitsDefective = 0;
+        for (InspectionDTO inspection : inspections.values()) {
+            InspectionRecord record = records.get(inspection.getInspectionId());
+            String previousStatus = record.getInspectionStatus();
+            if (inspectedUnits(record) > 0) {
+                long[] units = reversed.computeIfAbsent(inspectedOn(record), date -> new long[2]);
+                units[0] += inspectedUnits(record);
+                units[1] += defectiveUnits(record);
+            }
+            applyInspection(record, inspection);
+            unitsInspected += inspectedUnits(record);
+            unitsDefective += defectiveUnits(record);
+            receipt.recordInspectionOutcome(previousStatus, record.getInspectionStatus());
+            inspected.add(record);
+        }
+        inspectionRepository.saveAll(inspected);
+        reversed.forEach((date, units) ->
+                supplierScorecardService.reverseInspection(receipt.getSupplierId(), date, units[0], units[1]));
+        supplierScorecardService.recordInspection(receipt.getSupplierId(), unitsInspected, unitsDefective);
+
+        receipt.setUpdatedAt(LocalDateTime.now());
+        GoodsReceipt savedReceipt = goodsReceiptRepository.save(receipt);
+
+        return mapToResponseDTO(savedReceipt, inspected, savedReceipt.getInspectionLineCount());
+    }
+
+    private void validateInspectedQuantities(InspectionRecord record, InspectionDTO dto) {
         int totalInspected = dto.getAcceptedQuantity() +
                 (dto.getRejectedQuantity() != null ? dto.getRejectedQuantity() : 0) +
                 (dto.getDamagedQuantity() != null ? dto.getDamagedQuantity() : 0);
 
         if (totalInspected > record.getReceivedQuantity()) {
-            throw new IllegalArgumentException("Total inspected quantity cannot exceed received quantity");
+            throw new IllegalArgumentException("Total inspected quantity cannot exceed received quantity"
+                    + " for inspection record " + record.getInspectionId());
         }
+    }
 
-        // Update inspection record
+    /**
+     * Units an inspection has counted so far, zero while the line is still pending
+     */
+    private long inspectedUnits(InspectionRecord record) {
+        if (!isInspected(record)) {
+            return 0;
+        }
+        return units(record.getAcceptedQuantity()) + units(record.getRejectedQuantity()) + units(record.getDamagedQuantity());
+    }
+
+    /**
+     * Day an inspected line was counted on the supplier scorecard
+     */
+    private static LocalDate inspectedOn(InspectionRecord record) {
+        return record.getInspectionDate() != null ? record.getInspectionDate().toLocalDate() : LocalDate.now();
+    }
+
+    private long defectiveUnits(InspectionRecord record) {
+        if (!isInspected(record)) {
+            return 0;
+        }
+        return units(record.getRejectedQuantity()) + units(record.getDamagedQuantity());
+    }
+
+    private boolean isInspected(InspectionRecord record) {
+        String status = record.getInspectionStatus();
+        return "PASSED".equals(status) || "FAILED".equals(status) || "CONDITIONAL".equals(status);
+    }
+
+    private static long units(Integer quantity) {
+        return quantity != null ? quantity : 0;
+    }
+
+    private void applyInspection(InspectionRecord record, InspectionDTO dto) {
         record.setAcceptedQuantity(dto.getAcceptedQuantity());
         record.setRejectedQuantity(dto.getRejectedQuantity() != null ? dto.getRejectedQuantity() : 0);
         record.setDamagedQuantity(dto.getDamagedQuantity() != null ? dto.getDamagedQuantity() : 0);
@@ -126,57 +267,28 @@ public class ReceivingService {
         record.setInspectionDate(LocalDateTime.now());
 
         // Determine inspection status
-        if ("ACCEPT_ALL".equals(dto.getActionTaken()) && dto.getRejectedQuantity() == 0) {
+        if ("ACCEPT_ALL".equals(dto.getActionTaken()) && record.getRejectedQuantity() == 0) {
             record.setInspectionStatus("PASSED");
         } else if ("REJECT_ALL".equals(dto.getActionTaken())) {
             record.setInspectionStatus("FAILED");
         } else {
             record.setInspectionStatus("CONDITIONAL");
         }
+    }
 
-        inspectionRepository.save(record);
-
-        // Check if all items have been inspected
-        boolean allInspected = receipt.getInspectionRecords().stream()
-                .allMatch(r -> !"PENDING".equals(r.getInspectionStatus()));
-
-        if (allInspected) {
-            // Check if all passed
-            boolean allPassed = receipt.getInspectionRecords().stream()
-                    .allMatch(r -> "PASSED".equals(r.getInspectionStatus()));
-
-            // Check if any failed
-            boolean anyFailed = receipt.getInspectionRecords().stream()
-                    .anyMatch(r -> "FAILED".equals(r.getInspectionStatus()));
-
-            if (allPassed) {
-                receipt.setStatus("ACCEPTED");
-            } else if (anyFailed) {
-                receipt.setStatus("REJECTED");
-            } else {
-                receipt.setStatus("PARTIALLY_ACCEPTED");
-            }
-
-            receipt.setUpdatedAt(LocalDateTime.now());
-            goodsReceiptRepository.save(receipt);
-        } else {
-            receipt.setStatus("INSPECTED");
-            receipt.setUpdatedAt(LocalDateTime.now());
-            goodsReceiptRepository.save(receipt);
-        }
-
-        // Reload to get updated data
-        GoodsReceipt updatedReceipt = goodsReceiptRepository.findById(dto.getReceiptId())
-                .orElseThrow(() -> new IllegalArgumentException("Receipt not found"));
-
-        return mapToResponseDTO(updatedReceipt);
+    private InspectionDTO toInspectionDTO(Long receiptId, BulkInspectionDTO.InspectionResultDTO result) {
+        return new InspectionDTO(receiptId, result.getInspectionId(), result.getAcceptedQuantity(),
+                result.getRejectedQuantity(), result.getDamagedQuantity(), result.getInspectorName(),
+                result.getQualityRating(), result.getDefectType(), result.getActionTaken(),
+                result.getInspectionNotes(), result.getPhotoUrl());
     }
 
     /**
      * Get all goods receipts
      */
+    @Transactional(readOnly = true)
     public List<GoodsReceiptResponseDTO> getAllGoodsReceipts() {
-        return goodsReceiptRepository.findAll().stream()
+        return goodsReceiptRepository.findAllWithInspections().stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
     }
@@ -184,8 +296,9 @@ public class ReceivingService {
     /**
      * Get goods receipt by ID
      */
+    @Transactional(readOnly = true)
     public GoodsReceiptResponseDTO getGoodsReceiptById(Long receiptId) {
-        GoodsReceipt receipt = goodsReceiptRepository.findById(receiptId)
+        GoodsReceipt receipt = goodsReceiptRepository.findWithInspectionsByReceiptId(receiptId)
                 .orElseThrow(() -> new IllegalArgumentException("Goods receipt not found with ID: " + receiptId));
         return mapToResponseDTO(receipt);
     }
@@ -193,6 +306,7 @@ public class ReceivingService {
     /**
      * Get receipts by PO ID
      */
+    @Transactional(readOnly = true)
     public List<GoodsReceiptResponseDTO> getReceiptsByPoId(Long poId) {
         return goodsReceiptRepository.findByPoId(poId).stream()
                 .map(this::mapToResponseDTO)
@@ -202,6 +316,7 @@ public class ReceivingService {
     /**
      * Get receipts by supplier
      */
+    @Transactional(readOnly = true)
     public List<GoodsReceiptResponseDTO> getReceiptsBySupplierId(Long supplierId) {
         return goodsReceiptRepository.findBySupplierId(supplierId).stream()
                 .map(this::mapToResponseDTO)
@@ -211,6 +326,7 @@ public class ReceivingService {
     /**
      * Get receipts by status
      */
+    @Transactional(readOnly = true)
     public List<GoodsReceiptResponseDTO> getReceiptsByStatus(String status) {
         return goodsReceiptRepository.findByStatus(status).stream()
                 .map(this::mapToResponseDTO)
@@ -220,6 +336,7 @@ public class ReceivingService {
     /**
      * Get receipts with discrepancies
      */
+    @Transactional(readOnly = true)
     public List<GoodsReceiptResponseDTO> getReceiptsWithDiscrepancies() {
         return goodsReceiptRepository.findReceiptsWithDiscrepancies().stream()
                 .map(this::mapToResponseDTO)
@@ -237,6 +354,9 @@ public class ReceivingService {
         if (!"PENDING".equals(receipt.getStatus()) && !"REJECTED".equals(receipt.getStatus())) {
             throw new IllegalStateException("Only PENDING or REJECTED receipts can be deleted");
         }
+        if (receipt.getPostedAt() != null) {
+            throw new IllegalStateException("Goods receipt " + receipt.getReceiptNumber() + " is posted to its purchase order");
+        }
 
         goodsReceiptRepository.delete(receipt);
     }
@@ -245,36 +365,17 @@ public class ReceivingService {
      * Helper method to map GoodsReceipt to ResponseDTO
      */
     private GoodsReceiptResponseDTO mapToResponseDTO(GoodsReceipt receipt) {
-        List<GoodsReceiptResponseDTO.InspectionRecordResponseDTO> recordDTOs =
-                receipt.getInspectionRecords().stream()
-                        .map(record -> {
-                            Integer discrepancy = record.getOrderedQuantity() - record.getReceivedQuantity();
-                            Boolean quantityMatch = record.getOrderedQuantity().equals(record.getReceivedQuantity());
-
-                            return GoodsReceiptResponseDTO.InspectionRecordResponseDTO.builder()
-                                    .inspectionId(record.getInspectionId())
-                                    .productId(record.getProductId())
-                                    .productName(record.getProductName())
-                                    .productSku(record.getProductSku())
-                                    .orderedQuantity(record.getOrderedQuantity())
-                                    .receivedQuantity(record.getReceivedQuantity())
-                                    .acceptedQuantity(record.getAcceptedQuantity())
-                                    .rejectedQuantity(record.getRejectedQuantity())
-                                    .damagedQuantity(record.getDamagedQuantity())
-                                    .inspectionStatus(record.getInspectionStatus())
-                                    .qualityRating(record.getQualityRating())
-                                    .defectType(record.getDefectType())
-                                    .batchNumber(record.getBatchNumber())
-                                    .expiryDate(record.getExpiryDate())
-                                    .inspectorName(record.getInspectorName())
-                                    .inspectionDate(record.getInspectionDate())
-                                    .inspectionNotes(record.getInspectionNotes())
-                                    .actionTaken(record.getActionTaken())
-                                    .quantityMatch(quantityMatch)
-                                    .discrepancy(discrepancy)
-                                    .build();
-                        })
-                        .collect(Collectors.toList());
+        return mapToResponseDTO(receipt, receipt.getInspectionRecords(), receipt.getInspectionRecords().size());
+    }
+
+    /**
+     * Map GoodsReceipt with only the given inspection records out of totalInspectionRecords
+     */
+    private GoodsReceiptResponseDTO mapToResponseDTO(GoodsReceipt receipt, List<InspectionRecord> records,
+                                                     int totalInspectionRecords) {
+        List<GoodsReceiptResponseDTO.InspectionRecordResponseDTO> recordDTOs = records.stream()
+                .map(this::mapToInspectionRecordResponseDTO)
+                .collect(Collectors.toList());
 
         return GoodsReceiptResponseDTO.builder()
                 .receiptId(receipt.getReceiptId())
@@ -292,10 +393,43 @@ public class ReceivingService {
                 .totalItemsReceived(receipt.getTotalItemsReceived())
                 .discrepancyFound(receipt.getDiscrepancyFound())
                 .notes(receipt.getNotes())
+                .postedAt(receipt.getPostedAt())
                 .createdAt(receipt.getCreatedAt())
                 .updatedAt(receipt.getUpdatedAt())
-                .totalInspectionRecords(receipt.getInspectionRecords().size())
+                .totalInspectionRecords(totalInspectionRecords)
+                .pendingInspections(receipt.getPendingInspections())
+                .passedInspections(receipt.getPassedInspections())
+                .failedInspections(receipt.getFailedInspections())
+                .conditionalInspections(receipt.getConditionalInspections())
                 .inspectionRecords(recordDTOs)
                 .build();
     }
-}
\ No newline at end of file
+
+    private GoodsReceiptResponseDTO.InspectionRecordResponseDTO mapToInspectionRecordResponseDTO(InspectionRecord record) {
+        Integer discrepancy = record.getOrderedQuantity() - record.getReceivedQuantity();
+        Boolean quantityMatch = record.getOrderedQuantity().equals(record.getReceivedQuantity());
+
+        return GoodsReceiptResponseDTO.InspectionRecordResponseDTO.builder()
+                .inspectionId(record.getInspectionId())
+                .productId(record.getProductId())
+                .productName(record.getProductName())
+                .productSku(record.getProductSku())
+                .orderedQuantity(record.getOrderedQuantity())
+                .receivedQuantity(record.getReceivedQuantity())
+                .acceptedQuantity(record.getAcceptedQuantity())
+                .rejectedQuantity(record.getRejectedQuantity())
+                .damagedQuantity(record.getDamagedQuantity())
+                .inspectionStatus(record.getInspectionStatus())
+                .qualityRating(record.getQualityRating())
+                .defectType(record.getDefectType())
+                .batchNumber(record.getBatchNumber())
+                .expiryDate(record.getExpiryDate())
+                .inspectorName(record.getInspectorName())
+                .inspectionDate(record.getInspectionDate())
+                .inspectionNotes(record.getInspectionNotes())
+                .actionTaken(record.getActionTaken())
+                .quantityMatch(quantityMatch)
+                .discrepancy(discrepancy)
+                .build();
+    }
+}
@@ -178,6 +178,22 @@ public class ReturnsController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Lightweight list of return orders for tables and pickers
+     * GET /api/returns/summary?status=REQUESTED
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<Map<String, Object>> getReturnOrderSummaries(@RequestParam(required = false) String status) {
+        List<ReturnOrderSummaryDTO> returns = returnsService.getReturnOrderSummaries(status);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("count", returns.size());
+        response.put("data", returns);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get return order by ID
      * GET /api/returns/{returnOrderId}
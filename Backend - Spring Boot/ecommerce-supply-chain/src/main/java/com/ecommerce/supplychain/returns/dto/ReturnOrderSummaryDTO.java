@@ -0,0 +1,27 @@
+package com.ecommerce.supplychain.returns.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * List row for return orders without descriptions, comments and inspection notes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReturnOrderSummaryDTO {
+
+    private Long returnOrderId;
+    private String returnNumber;
+    private Long orderId;
+    private String orderNumber;
+    private String customerName;
+    private String returnReason;
+    private String returnType;
+    private String returnStatus;
+    private LocalDateTime requestDate;
+    private Double totalRefundAmount;
+    private String refundStatus;
+}
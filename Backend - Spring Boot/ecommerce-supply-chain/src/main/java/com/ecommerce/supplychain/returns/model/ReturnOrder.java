@@ -4,12 +4,15 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "return_orders")
+@NamedEntityGraph(name = "ReturnOrder.items", attributeNodes = @NamedAttributeNode("returnItems"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -128,7 +131,9 @@ public class ReturnOrder {
     @OneToMany(mappedBy = "returnOrder", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ReturnItem> returnItems = new ArrayList<>();
 
+    // Second bag, so it cannot join the ReturnOrder.items graph; loaded for all returns of the query at once
     @OneToMany(mappedBy = "returnOrder", cascade = CascadeType.ALL)
+    @Fetch(FetchMode.SUBSELECT)
     private List<RestockRecord> restockRecords = new ArrayList<>();
 
     @PrePersist
@@ -1,6 +1,8 @@
 package com.ecommerce.supplychain.returns.repository;
 
+import com.ecommerce.supplychain.returns.dto.ReturnOrderSummaryDTO;
 import com.ecommerce.supplychain.returns.model.ReturnOrder;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,8 +15,17 @@ import java.util.Optional;
 @Repository
 public interface ReturnOrderRepository extends JpaRepository<ReturnOrder, Long> {
 
+    // Fetch plans for response mapping; write paths keep using the lazy findById/findAll
+    @EntityGraph("ReturnOrder.items")
+    @Query("SELECT ro FROM ReturnOrder ro")
+    List<ReturnOrder> findAllWithItems();
+
+    @EntityGraph("ReturnOrder.items")
+    Optional<ReturnOrder> findWithItemsByReturnOrderId(Long returnOrderId);
+
     Optional<ReturnOrder> findByReturnNumber(String returnNumber);
 
+    @EntityGraph("ReturnOrder.items")
     List<ReturnOrder> findByOrderId(Long orderId);
 
     List<ReturnOrder> findByCustomerId(Long customerId);
@@ -33,9 +44,11 @@ public interface ReturnOrderRepository extends JpaRepository<ReturnOrder, Long>
     List<ReturnOrder> findReturnsByDateRange(@Param("startDate") LocalDateTime startDate,
                                              @Param("endDate") LocalDateTime endDate);
 
+    @EntityGraph("ReturnOrder.items")
     @Query("SELECT ro FROM ReturnOrder ro WHERE ro.returnStatus IN ('REQUESTED', 'APPROVED', 'RECEIVED', 'INSPECTING')")
     List<ReturnOrder> findActiveReturns();
 
+    @EntityGraph("ReturnOrder.items")
     @Query("SELECT ro FROM ReturnOrder ro WHERE ro.pickupRequired = true AND ro.pickupCompletedDate IS NULL")
     List<ReturnOrder> findReturnsRequiringPickup();
 
@@ -47,4 +60,10 @@ public interface ReturnOrderRepository extends JpaRepository<ReturnOrder, Long>
 
     @Query("SELECT ro FROM ReturnOrder ro WHERE ro.isRestockable = true AND ro.returnStatus = 'COMPLETED'")
     List<ReturnOrder> findCompletedRestockableReturns();
+
+    @Query("SELECT new com.ecommerce.supplychain.returns.dto.ReturnOrderSummaryDTO(ro.returnOrderId, ro.returnNumber, ro.orderId, " +
+            "ro.orderNumber, ro.customerName, ro.returnReason, ro.returnType, ro.returnStatus, ro.requestDate, " +
+            "ro.totalRefundAmount, ro.refundStatus) " +
+            "FROM ReturnOrder ro WHERE :status IS NULL OR ro.returnStatus = :status ORDER BY ro.returnOrderId")
+    List<ReturnOrderSummaryDTO> findSummaries(@Param("status") String status);
 }
\ No newline at end of file
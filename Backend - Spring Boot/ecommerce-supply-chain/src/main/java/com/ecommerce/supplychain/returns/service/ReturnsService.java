@@ -205,17 +205,27 @@ public class ReturnsService {
     /**
      * Get all return orders
      */
+    @Transactional(readOnly = true)
     public List<ReturnOrderResponseDTO> getAllReturnOrders() {
-        return returnOrderRepository.findAll().stream()
+        return returnOrderRepository.findAllWithItems().stream()
                 .map(this::mapToReturnOrderResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get return order list rows, optionally filtered by status; projected straight into DTOs, no entities are loaded
+     */
+    @Transactional(readOnly = true)
+    public List<ReturnOrderSummaryDTO> getReturnOrderSummaries(String status) {
+        return returnOrderRepository.findSummaries(status);
+    }
+
     /**
      * Get return order by ID
      */
+    @Transactional(readOnly = true)
     public ReturnOrderResponseDTO getReturnOrderById(Long returnOrderId) {
-        ReturnOrder returnOrder = returnOrderRepository.findById(returnOrderId)
+        ReturnOrder returnOrder = returnOrderRepository.findWithItemsByReturnOrderId(returnOrderId)
                 .orElseThrow(() -> new IllegalArgumentException("Return order not found with ID: " + returnOrderId));
         return mapToReturnOrderResponseDTO(returnOrder);
     }
@@ -223,6 +233,7 @@ public class ReturnsService {
     /**
      * Get returns by order ID
      */
+    @Transactional(readOnly = true)
     public List<ReturnOrderResponseDTO> getReturnsByOrderId(Long orderId) {
         return returnOrderRepository.findByOrderId(orderId).stream()
                 .map(this::mapToReturnOrderResponseDTO)
@@ -232,6 +243,7 @@ public class ReturnsService {
     /**
      * Get active returns
      */
+    @Transactional(readOnly = true)
     public List<ReturnOrderResponseDTO> getActiveReturns() {
         return returnOrderRepository.findActiveReturns().stream()
                 .map(this::mapToReturnOrderResponseDTO)
@@ -241,6 +253,7 @@ public class ReturnsService {
     /**
      * Get returns requiring pickup
      */
+    @Transactional(readOnly = true)
     public List<ReturnOrderResponseDTO> getReturnsRequiringPickup() {
         return returnOrderRepository.findReturnsRequiringPickup().stream()
                 .map(this::mapToReturnOrderResponseDTO)
@@ -1,13 +1,17 @@
 package com.ecommerce.supplychain.shipment.controller;
 
 import com.ecommerce.supplychain.shipment.dto.*;
+import com.ecommerce.supplychain.shipment.service.DispatchPlanningService;
+import com.ecommerce.supplychain.shipment.service.RouteOptimizationService;
 import com.ecommerce.supplychain.shipment.service.ShipmentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +24,12 @@ public class ShipmentController {
     @Autowired
     private ShipmentService shipmentService;
 
+    @Autowired
+    private DispatchPlanningService dispatchPlanningService;
+
+    @Autowired
+    private RouteOptimizationService routeOptimizationService;
+
     /**
      * API 1: Create Shipment
      * POST /api/shipments
@@ -66,6 +76,75 @@ public class ShipmentController {
         }
     }
 
+    /**
+     * Plan the day's outbound loads and assign shipments to vehicles
+     * POST /api/shipments/dispatch-plan?date=2024-01-15&commit=true
+     */
+    @PostMapping("/dispatch-plan")
+    public ResponseEntity<Map<String, Object>> planDispatch(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "true") boolean commit) {
+        try {
+            DispatchPlanDTO plan = dispatchPlanningService.planDispatch(date, commit);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", commit
+                    ? "Dispatch plan committed: " + plan.getSchedulesCreated() + " shipments on " + plan.getVehiclesUsed() + " vehicles"
+                    : "Dispatch plan preview");
+            response.put("data", plan);
+
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        }
+    }
+
+    /**
+     * Optimize the delivery sequence of a dispatched vehicle and optionally write back ETAs
+     * POST /api/shipments/routes/{vehicleNumber}/optimize?date=2024-01-15&apply=true
+     */
+    @PostMapping("/routes/{vehicleNumber}/optimize")
+    public ResponseEntity<Map<String, Object>> optimizeRoute(
+            @PathVariable String vehicleNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "false") boolean apply) {
+        try {
+            RoutePlanDTO plan = routeOptimizationService.optimizeVehicleRoute(vehicleNumber, date, apply);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Route optimized: " + plan.getStopCount() + " stops in " + plan.getTripCount() + " trips");
+            response.put("data", plan);
+
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+
+    /**
+     * Load delivery address coordinates into the local geocode table
+     * POST /api/shipments/geocodes
+     */
+    @PostMapping("/geocodes")
+    public ResponseEntity<Map<String, Object>> saveGeocodes(@Valid @RequestBody List<GeocodeDTO> geocodeDTOs) {
+        int saved = routeOptimizationService.saveGeocodes(geocodeDTOs);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Geocodes saved");
+        response.put("count", saved);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get all shipments
      * GET /api/shipments
@@ -82,6 +161,22 @@ public class ShipmentController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Lightweight list of shipments for tables and pickers
+     * GET /api/shipments/summary?status=IN_TRANSIT
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<Map<String, Object>> getShipmentSummaries(@RequestParam(required = false) String status) {
+        List<ShipmentSummaryDTO> shipments = shipmentService.getShipmentSummaries(status);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("count", shipments.size());
+        response.put("data", shipments);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get shipment by ID
      * GET /api/shipments/{shipmentId}
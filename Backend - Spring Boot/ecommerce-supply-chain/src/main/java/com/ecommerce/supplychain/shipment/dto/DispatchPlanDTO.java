@@ -0,0 +1,52 @@
+package com.ecommerce.supplychain.shipment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for a day's dispatch load plan.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DispatchPlanDTO {
+
+    private LocalDate planDate;
+    private LocalDateTime departureDateTime;
+    private Boolean committed;
+    private Integer shipmentsConsidered;
+    private Integer shipmentsAssigned;
+    private Integer vehiclesUsed;
+    private Integer schedulesCreated;
+    private Long planningTimeMicros;
+
+    private List<VehicleLoadDTO> loads;
+    private List<Long> unassignedShipmentIds;
+
+    /**
+     * One vehicle and the shipments loaded onto it
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class VehicleLoadDTO {
+        private String vehicleNumber;
+        private String vehicleType;
+        private String carrier;
+        private String serviceType;
+        private String route;
+        private Integer shipmentCount;
+        private Double totalWeightKg;
+        private Double totalVolumeM3;
+        private Double weightUtilization;
+        private Double volumeUtilization;
+        private List<Long> shipmentIds;
+    }
+}
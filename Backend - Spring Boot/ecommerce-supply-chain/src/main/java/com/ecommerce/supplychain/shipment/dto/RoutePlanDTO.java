@@ -0,0 +1,55 @@
+package com.ecommerce.supplychain.shipment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for an optimized local-delivery route of one vehicle.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoutePlanDTO {
+
+    private String vehicleNumber;
+    private String vehicleType;
+    private LocalDate planDate;
+    private LocalDateTime departureDateTime;
+    private LocalDateTime returnDateTime;
+    private Boolean applied;
+    private Integer stopCount;
+    private Integer tripCount;
+    private Integer lateStops;
+    private Double totalDistanceKm;
+    private Double savingsDistanceKm; // after construction, before local search
+    private Long computeTimeMillis;
+
+    private List<RouteStopDTO> stops;
+    private List<Long> ungeocodedShipmentIds;
+
+    /**
+     * One delivery stop in visiting order
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RouteStopDTO {
+        private Integer sequence;
+        private Integer trip;
+        private Long shipmentId;
+        private String trackingNumber;
+        private String destinationAddress;
+        private Double latitude;
+        private Double longitude;
+        private LocalDateTime estimatedArrival;
+        private LocalDateTime deliveryDeadline;
+        private Boolean late;
+    }
+}
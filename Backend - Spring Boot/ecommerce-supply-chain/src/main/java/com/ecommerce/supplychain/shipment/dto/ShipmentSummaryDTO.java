@@ -0,0 +1,27 @@
+package com.ecommerce.supplychain.shipment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * List row for shipments without the address, instruction and note columns.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShipmentSummaryDTO {
+
+    private Long shipmentId;
+    private String trackingNumber;
+    private Long orderId;
+    private String orderNumber;
+    private String carrier;
+    private String serviceType;
+    private String shipmentStatus;
+    private LocalDate shipmentDate;
+    private LocalDate estimatedDeliveryDate;
+    private LocalDate actualDeliveryDate;
+    private String recipientName;
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.supplychain.shipment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Local geocode table mapping normalized delivery addresses to coordinates for route planning.
+ */
+@Entity
+@Table(name = "geocode_locations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeocodeLocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "geocode_id")
+    private Long geocodeId;
+
+    @Column(name = "address_key", unique = true, nullable = false, length = 500)
+    private String addressKey; // lower-cased, whitespace-collapsed address
+
+    @Column(name = "latitude", nullable = false)
+    private Double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private Double longitude;
+
+    @Column(name = "source", length = 50)
+    private String source; // MANUAL, IMPORT, TRACKING
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (source == null) {
+            source = "MANUAL";
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public static String normalizeAddress(String address) {
+        return address == null ? "" : address.trim().replaceAll("\\s+", " ").toLowerCase(java.util.Locale.ROOT);
+    }
+}
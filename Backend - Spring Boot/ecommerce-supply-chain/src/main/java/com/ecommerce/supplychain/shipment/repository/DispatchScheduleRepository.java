@@ -0,0 +1,32 @@
+package com.ecommerce.supplychain.shipment.repository;
+
+import com.ecommerce.supplychain.shipment.model.DispatchSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DispatchScheduleRepository extends JpaRepository<DispatchSchedule, Long> {
+
+    List<DispatchSchedule> findByVehicleNumber(String vehicleNumber);
+
+    @Query("SELECT d FROM DispatchSchedule d WHERE d.scheduledDateTime BETWEEN :start AND :end")
+    List<DispatchSchedule> findByScheduledDateTimeBetween(@Param("start") LocalDateTime start,
+                                                          @Param("end") LocalDateTime end);
+
+    @Query("SELECT DISTINCT d.vehicleNumber FROM DispatchSchedule d WHERE d.scheduleType = :scheduleType " +
+            "AND d.scheduledDateTime BETWEEN :start AND :end")
+    List<String> findVehicleNumbersByScheduleType(@Param("scheduleType") String scheduleType,
+                                                  @Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end);
+
+    @Query("SELECT d FROM DispatchSchedule d JOIN FETCH d.shipment s WHERE d.vehicleNumber = :vehicleNumber " +
+            "AND d.dispatchStatus = 'SCHEDULED' AND d.scheduledDateTime BETWEEN :start AND :end")
+    List<DispatchSchedule> findOpenByVehicleNumber(@Param("vehicleNumber") String vehicleNumber,
+                                                   @Param("start") LocalDateTime start,
+                                                   @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.supplychain.shipment.repository;
+
+import com.ecommerce.supplychain.shipment.model.GeocodeLocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GeocodeLocationRepository extends JpaRepository<GeocodeLocation, Long> {
+
+    List<GeocodeLocation> findByAddressKeyIn(Collection<String> addressKeys);
+}
@@ -1,12 +1,16 @@
 package com.ecommerce.supplychain.shipment.repository;
 
+import com.ecommerce.supplychain.shipment.dto.ShipmentSummaryDTO;
 import com.ecommerce.supplychain.shipment.model.Shipment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +19,8 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
 
     Optional<Shipment> findByTrackingNumber(String trackingNumber);
 
+    List<Shipment> findByTrackingNumberIn(Collection<String> trackingNumbers);
+
     List<Shipment> findByOrderId(Long orderId);
 
     List<Shipment> findByShipmentStatus(String shipmentStatus);
@@ -33,5 +39,18 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
     @Query("SELECT s FROM Shipment s WHERE s.shipmentStatus = 'SCHEDULED' AND s.shipmentDate <= :today")
     List<Shipment> findReadyForDispatch(@Param("today") LocalDate today);
 
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Shipment s SET s.shipmentStatus = :status, s.updatedAt = :updatedAt " +
+            "WHERE s.shipmentId IN :shipmentIds AND s.shipmentStatus = 'SCHEDULED'")
+    int markScheduledShipments(@Param("shipmentIds") List<Long> shipmentIds,
+                               @Param("status") String status,
+                               @Param("updatedAt") LocalDateTime updatedAt);
+
     List<Shipment> findByRecipientNameContainingIgnoreCase(String recipientName);
+
+    @Query("SELECT new com.ecommerce.supplychain.shipment.dto.ShipmentSummaryDTO(s.shipmentId, s.trackingNumber, s.orderId, " +
+            "s.orderNumber, s.carrier, s.serviceType, s.shipmentStatus, s.shipmentDate, s.estimatedDeliveryDate, " +
+            "s.actualDeliveryDate, s.recipientName) " +
+            "FROM Shipment s WHERE :status IS NULL OR s.shipmentStatus = :status ORDER BY s.shipmentId")
+    List<ShipmentSummaryDTO> findSummaries(@Param("status") String status);
 }
\ No newline at end of file
@@ -0,0 +1,367 @@
+package com.ecommerce.supplychain.shipment.service;
+
+import com.ecommerce.supplychain.common.config.DispatchConfig;
+import com.ecommerce.supplychain.common.config.DispatchConfig.VehicleType;
+import com.ecommerce.supplychain.shipment.dto.DispatchPlanDTO;
+import com.ecommerce.supplychain.shipment.model.DispatchSchedule;
+import com.ecommerce.supplychain.shipment.model.Shipment;
+import com.ecommerce.supplychain.shipment.repository.DispatchScheduleRepository;
+import com.ecommerce.supplychain.shipment.repository.ShipmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service planning a day's outbound loads (Process 11 dispatch).
+ * Groups SCHEDULED shipments by carrier, service type and destination route,
+ * packs each group first-fit-decreasing by weight into the configured fleet,
+ * then downsizes every load to the smallest vehicle type that still carries it.
+ */
+@Service
+public class DispatchPlanningService {
+
+    public static final String SCHEDULE_TYPE = "PLANNED_DISPATCH";
+
+    private static final Pattern NUMBER = Pattern.compile("\\d+(?:\\.\\d+)?");
+
+    @Autowired
+    private DispatchConfig dispatchConfig;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private DispatchScheduleRepository dispatchScheduleRepository;
+
+    /**
+     * Plan all shipments ready for dispatch on the given date.
+     * Vehicles already planned that day stay taken and their numbers are not reused.
+     * When commit is true the shipments move to DISPATCH_SCHEDULED and get their
+     * dispatch schedules; otherwise the plan is only a preview.
+     */
+    @Transactional
+    public DispatchPlanDTO planDispatch(LocalDate planDate, boolean commit) {
+        long startNanos = System.nanoTime();
+        LocalDate date = planDate != null ? planDate : LocalDate.now();
+        LocalDateTime departure = date.atTime(dispatchConfig.getDepartureTime());
+
+        List<Shipment> shipments = shipmentRepository.findReadyForDispatch(date);
+
+        Map<String, List<Parcel>> groups = new LinkedHashMap<>();
+        for (Shipment shipment : shipments) {
+            Parcel parcel = new Parcel(shipment, weightOf(shipment), volumeOf(shipment));
+            groups.computeIfAbsent(groupKey(shipment), key -> new ArrayList<>()).add(parcel);
+        }
+
+        Fleet fleet = new Fleet(dispatchConfig.getVehicles());
+        Map<String, Integer> sequences = new HashMap<>();
+        for (String vehicleNumber : dispatchScheduleRepository.findVehicleNumbersByScheduleType(
+                SCHEDULE_TYPE, date.atStartOfDay(), date.atTime(LocalTime.MAX))) {
+            VehicleType type = vehicleTypeOf(vehicleNumber);
+            if (type != null) {
+                fleet.take(type);
+                sequences.merge(type.getCode(), sequenceOf(vehicleNumber), Math::max);
+            }
+        }
+        List<Load> loads = new ArrayList<>();
+        List<Long> unassigned = new ArrayList<>();
+
+        // Heaviest groups claim vehicles first so large routes are not starved by small ones
+        List<List<Parcel>> orderedGroups = new ArrayList<>(groups.values());
+        orderedGroups.sort(Comparator.comparingDouble(DispatchPlanningService::totalWeight).reversed());
+
+        for (List<Parcel> group : orderedGroups) {
+            group.sort(Comparator.comparingDouble((Parcel p) -> p.weightKg)
+                    .thenComparingDouble(p -> p.volumeCm3)
+                    .reversed());
+
+            List<Load> groupLoads = new ArrayList<>();
+            for (Parcel parcel : group) {
+                Load target = null;
+                for (Load load : groupLoads) {
+                    if (load.fits(parcel)) {
+                        target = load;
+                        break;
+                    }
+                }
+                if (target == null) {
+                    VehicleType type = fleet.takeLargestFitting(parcel.weightKg, parcel.volumeCm3);
+                    if (type == null) {
+                        unassigned.add(parcel.shipment.getShipmentId());
+                        continue;
+                    }
+                    target = new Load(type, parcel.shipment);
+                    groupLoads.add(target);
+                }
+                target.add(parcel);
+            }
+
+            for (Load load : groupLoads) {
+                fleet.release(load.type);
+                load.type = fleet.takeSmallestFitting(load.weightKg, load.volumeCm3);
+            }
+            loads.addAll(groupLoads);
+        }
+
+        for (Load load : loads) {
+            int sequence = sequences.merge(load.type.getCode(), 1, Integer::sum);
+            load.vehicleNumber = String.format("%s-%s-%02d", load.type.getCode(),
+                    date.toString().replace("-", ""), sequence);
+        }
+
+        int schedulesCreated = 0;
+        if (commit && !loads.isEmpty()) {
+            schedulesCreated = persistPlan(loads, departure);
+        }
+
+        List<DispatchPlanDTO.VehicleLoadDTO> loadDTOs = new ArrayList<>();
+        int assigned = 0;
+        for (Load load : loads) {
+            loadDTOs.add(mapToVehicleLoadDTO(load));
+            assigned += load.parcels.size();
+        }
+
+        return DispatchPlanDTO.builder()
+                .planDate(date)
+                .departureDateTime(departure)
+                .committed(commit)
+                .shipmentsConsidered(shipments.size())
+                .shipmentsAssigned(assigned)
+                .vehiclesUsed(loads.size())
+                .schedulesCreated(schedulesCreated)
+                .planningTimeMicros((System.nanoTime() - startNanos) / 1000)
+                .loads(loadDTOs)
+                .unassignedShipmentIds(unassigned)
+                .build();
+    }
+
+    /**
+     * Claim the assigned shipments with one guarded status update, then save a dispatch schedule
+     * per shipment (one insert each, the ids being generated by the database).
+     * If another plan or a manual dispatch took any of them since they were read, the whole
+     * plan is rolled back rather than saved around the gap.
+     */
+    private int persistPlan(List<Load> loads, LocalDateTime departure) {
+        LocalDateTime now = LocalDateTime.now();
+        List<DispatchSchedule> schedules = new ArrayList<>();
+        List<Long> shipmentIds = new ArrayList<>();
+
+        for (Load load : loads) {
+            for (Parcel parcel : load.parcels) {
+                DispatchSchedule schedule = new DispatchSchedule();
+                schedule.setShipment(parcel.shipment);
+                schedule.setScheduleType(SCHEDULE_TYPE);
+                schedule.setScheduledDateTime(departure);
+                schedule.setVehicleNumber(load.vehicleNumber);
+                schedule.setDispatchStatus("SCHEDULED");
+                schedule.setNotes("Route " + load.route + " via " + load.carrier + " " + load.serviceType);
+                schedule.setCreatedAt(now);
+                schedule.setUpdatedAt(now);
+                schedules.add(schedule);
+                shipmentIds.add(parcel.shipment.getShipmentId());
+            }
+        }
+
+        int claimed = shipmentRepository.markScheduledShipments(shipmentIds, "DISPATCH_SCHEDULED", now);
+        if (claimed != shipmentIds.size()) {
+            throw new IllegalStateException("Dispatch plan is stale: " + (shipmentIds.size() - claimed)
+                    + " of " + shipmentIds.size() + " shipments are no longer SCHEDULED, plan again");
+        }
+        dispatchScheduleRepository.saveAll(schedules);
+        return schedules.size();
+    }
+
+    private String groupKey(Shipment shipment) {
+        return shipment.getCarrier() + "|" + shipment.getServiceType() + "|" + routeOf(shipment.getDestinationAddress());
+    }
+
+    /**
+     * Route key is the city segment of the address: the last comma-separated part, without postal codes
+     */
+    static String routeOf(String address) {
+        if (address == null || address.isBlank()) {
+            return "UNROUTED";
+        }
+        String[] parts = address.split(",");
+        String city = parts[parts.length - 1].replaceAll("\\d", "").trim();
+        return city.isEmpty() ? "UNROUTED" : city.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Vehicle type from a planned vehicle number such as VAN-20240115-03
+     */
+    VehicleType vehicleTypeOf(String vehicleNumber) {
+        String code = vehicleNumber.split("-")[0];
+        for (VehicleType type : dispatchConfig.getVehicles()) {
+            if (type.getCode().equalsIgnoreCase(code)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static int sequenceOf(String vehicleNumber) {
+        String suffix = vehicleNumber.substring(vehicleNumber.lastIndexOf('-') + 1);
+        return suffix.matches("\\d+") ? Integer.parseInt(suffix) : 0;
+    }
+
+    double weightOf(Shipment shipment) {
+        return shipment.getPackageWeightKg() != null && shipment.getPackageWeightKg().signum() > 0
+                ? shipment.getPackageWeightKg().doubleValue()
+                : dispatchConfig.getDefaultPackageWeightKg();
+    }
+
+    /**
+     * Package volume from "LxWxH" (cm) dimensions, falling back to the configured default
+     */
+    double volumeOf(Shipment shipment) {
+        double volume = extractVolume(shipment.getPackageDimensions());
+        return volume > 0 ? volume : extractVolume(dispatchConfig.getDefaultPackageDimensions());
+    }
+
+    private double extractVolume(String dimensions) {
+        if (dimensions == null) {
+            return 0;
+        }
+        Matcher matcher = NUMBER.matcher(dimensions);
+        double volume = 1;
+        int count = 0;
+        while (count < 3 && matcher.find()) {
+            volume *= Double.parseDouble(matcher.group());
+            count++;
+        }
+        return count == 3 ? volume : 0;
+    }
+
+    private static double totalWeight(List<Parcel> parcels) {
+        double total = 0;
+        for (Parcel parcel : parcels) {
+            total += parcel.weightKg;
+        }
+        return total;
+    }
+
+    private DispatchPlanDTO.VehicleLoadDTO mapToVehicleLoadDTO(Load load) {
+        List<Long> shipmentIds = new ArrayList<>(load.parcels.size());
+        for (Parcel parcel : load.parcels) {
+            shipmentIds.add(parcel.shipment.getShipmentId());
+        }
+        return DispatchPlanDTO.VehicleLoadDTO.builder()
+                .vehicleNumber(load.vehicleNumber)
+                .vehicleType(load.type.getCode())
+                .carrier(load.carrier)
+                .serviceType(load.serviceType)
+                .route(load.route)
+                .shipmentCount(load.parcels.size())
+                .totalWeightKg(round(load.weightKg))
+                .totalVolumeM3(round(load.volumeCm3 / 1_000_000))
+                .weightUtilization(round(load.weightKg / load.type.getMaxWeightKg() * 100))
+                .volumeUtilization(round(load.volumeCm3 / load.type.getMaxVolumeCm3() * 100))
+                .shipmentIds(shipmentIds)
+                .build();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static class Parcel {
+        private final Shipment shipment;
+        private final double weightKg;
+        private final double volumeCm3;
+
+        private Parcel(Shipment shipment, double weightKg, double volumeCm3) {
+            this.shipment = shipment;
+            this.weightKg = weightKg;
+            this.volumeCm3 = volumeCm3;
+        }
+    }
+
+    private static class Load {
+        private VehicleType type;
+        private String vehicleNumber;
+        private final String carrier;
+        private final String serviceType;
+        private final String route;
+        private final List<Parcel> parcels = new ArrayList<>();
+        private double weightKg;
+        private double volumeCm3;
+
+        private Load(VehicleType type, Shipment first) {
+            this.type = type;
+            this.carrier = first.getCarrier();
+            this.serviceType = first.getServiceType();
+            this.route = routeOf(first.getDestinationAddress());
+        }
+
+        private boolean fits(Parcel parcel) {
+            return weightKg + parcel.weightKg <= type.getMaxWeightKg()
+                    && volumeCm3 + parcel.volumeCm3 <= type.getMaxVolumeCm3();
+        }
+
+        private void add(Parcel parcel) {
+            parcels.add(parcel);
+            weightKg += parcel.weightKg;
+            volumeCm3 += parcel.volumeCm3;
+        }
+    }
+
+    /**
+     * Remaining vehicles per type for the planning day, ordered smallest to largest
+     */
+    private static class Fleet {
+        private final List<VehicleType> types;
+        private final Map<VehicleType, Integer> available = new HashMap<>();
+
+        private Fleet(List<VehicleType> configured) {
+            this.types = new ArrayList<>(configured);
+            this.types.sort(Comparator.comparingDouble(VehicleType::getMaxWeightKg)
+                    .thenComparingDouble(VehicleType::getMaxVolumeCm3));
+            for (VehicleType type : types) {
+                available.put(type, type.getCount());
+            }
+        }
+
+        private VehicleType takeLargestFitting(double weightKg, double volumeCm3) {
+            for (int i = types.size() - 1; i >= 0; i--) {
+                VehicleType type = types.get(i);
+                if (available.get(type) > 0 && type.getMaxWeightKg() >= weightKg && type.getMaxVolumeCm3() >= volumeCm3) {
+                    available.merge(type, -1, Integer::sum);
+                    return type;
+                }
+            }
+            return null;
+        }
+
+        private VehicleType takeSmallestFitting(double weightKg, double volumeCm3) {
+            for (VehicleType type : types) {
+                if (available.get(type) > 0 && type.getMaxWeightKg() >= weightKg && type.getMaxVolumeCm3() >= volumeCm3) {
+                    available.merge(type, -1, Integer::sum);
+                    return type;
+                }
+            }
+            return null;
+        }
+
+        private void take(VehicleType type) {
+            available.merge(type, -1, Integer::sum);
+        }
+
+        private void release(VehicleType type) {
+            available.merge(type, 1, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.ecommerce.supplychain.shipment.service;
+
+import com.ecommerce.supplychain.common.config.DispatchConfig.VehicleType;
+import com.ecommerce.supplychain.common.config.RoutingConfig;
+import com.ecommerce.supplychain.common.constants.DeadlineType;
+import com.ecommerce.supplychain.common.scheduling.DeadlineScheduler;
+import com.ecommerce.supplychain.shipment.dto.GeocodeDTO;
+import com.ecommerce.supplychain.shipment.dto.RoutePlanDTO;
+import com.ecommerce.supplychain.shipment.model.DispatchSchedule;
+import com.ecommerce.supplychain.shipment.model.GeocodeLocation;
+import com.ecommerce.supplychain.shipment.model.Shipment;
+import com.ecommerce.supplychain.shipment.repository.DispatchScheduleRepository;
+import com.ecommerce.supplychain.shipment.repository.GeocodeLocationRepository;
+import com.ecommerce.supplychain.shipment.repository.ShipmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Service sequencing a dispatched vehicle's local deliveries (Process 11 to Process 12).
+ * Resolves destinations through the local geocode table, solves the route with
+ * {@link VehicleRouteSolver} and can write the resulting ETAs back to the shipments.
+ */
+@Service
+public class RouteOptimizationService {
+
+    private static final Pattern ROUTE_NOTE = Pattern.compile("(?m)^Stop \\d+ \\(trip \\d+\\), ETA \\S+$\\R?");
+
+    @Autowired
+    private RoutingConfig routingConfig;
+
+    @Autowired
+    private DispatchPlanningService dispatchPlanningService;
+
+    @Autowired
+    private DispatchScheduleRepository dispatchScheduleRepository;
+
+    @Autowired
+    private GeocodeLocationRepository geocodeLocationRepository;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private DeadlineScheduler deadlineScheduler;
+
+    /**
+     * Optimize the stops of one vehicle's open dispatch schedules on the given date.
+     * When apply is true, each shipment's estimated delivery date is set from its ETA, its
+     * overdue deadline follows a changed date, and the schedule's stop note replaces the one
+     * from any earlier run.
+     */
+    @Transactional
+    public RoutePlanDTO optimizeVehicleRoute(String vehicleNumber, LocalDate planDate, boolean apply) {
+        long startMillis = System.currentTimeMillis();
+        LocalDate date = planDate != null ? planDate : LocalDate.now();
+
+        List<DispatchSchedule> schedules = dispatchScheduleRepository.findOpenByVehicleNumber(
+                vehicleNumber, date.atStartOfDay(), date.atTime(LocalTime.MAX));
+        if (schedules.isEmpty()) {
+            throw new IllegalArgumentException("No open dispatch schedules for vehicle " + vehicleNumber + " on " + date);
+        }
+
+        LocalDateTime departure = schedules.stream()
+                .map(DispatchSchedule::getScheduledDateTime)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+
+        Set<String> addressKeys = new HashSet<>();
+        for (DispatchSchedule schedule : schedules) {
+            addressKeys.add(GeocodeLocation.normalizeAddress(schedule.getShipment().getDestinationAddress()));
+        }
+        Map<String, GeocodeLocation> geocodes = new HashMap<>();
+        for (GeocodeLocation location : geocodeLocationRepository.findByAddressKeyIn(addressKeys)) {
+            geocodes.put(location.getAddressKey(), location);
+        }
+
+        List<DispatchSchedule> routed = new ArrayList<>();
+        List<VehicleRouteSolver.Stop> stops = new ArrayList<>();
+        List<GeocodeLocation> locations = new ArrayList<>();
+        List<LocalDateTime> deadlines = new ArrayList<>();
+        List<Long> ungeocoded = new ArrayList<>();
+
+        for (DispatchSchedule schedule : schedules) {
+            Shipment shipment = schedule.getShipment();
+            GeocodeLocation location = geocodes.get(GeocodeLocation.normalizeAddress(shipment.getDestinationAddress()));
+            if (location == null) {
+                ungeocoded.add(shipment.getShipmentId());
+                continue;
+            }
+            LocalDateTime deadline = deadlineFor(shipment, departure);
+            routed.add(schedule);
+            locations.add(location);
+            deadlines.add(deadline);
+            stops.add(new VehicleRouteSolver.Stop(location.getLatitude(), location.getLongitude(),
+                    dispatchPlanningService.weightOf(shipment), dispatchPlanningService.volumeOf(shipment),
+                    Duration.between(departure, deadline).toSeconds() / 60.0));
+        }
+
+        VehicleType vehicleType = dispatchPlanningService.vehicleTypeOf(vehicleNumber);
+        VehicleRouteSolver.Solution solution = newSolver().solve(
+                routingConfig.getDepotLatitude(), routingConfig.getDepotLongitude(), stops,
+                vehicleType != null ? vehicleType.getMaxWeightKg() : Double.MAX_VALUE,
+                vehicleType != null ? vehicleType.getMaxVolumeCm3() : Double.MAX_VALUE);
+
+        List<RoutePlanDTO.RouteStopDTO> stopDTOs = new ArrayList<>();
+        Map<Long, Shipment> updatedShipments = new LinkedHashMap<>();
+        int sequence = 0;
+        for (int t = 0; t < solution.getTrips().size(); t++) {
+            for (int stop : solution.getTrips().get(t)) {
+                DispatchSchedule schedule = routed.get(stop);
+                Shipment shipment = schedule.getShipment();
+                LocalDateTime eta = departure.plusSeconds(Math.round(solution.getEtaMinutes(stop) * 60));
+                sequence++;
+
+                stopDTOs.add(RoutePlanDTO.RouteStopDTO.builder()
+                        .sequence(sequence)
+                        .trip(t + 1)
+                        .shipmentId(shipment.getShipmentId())
+                        .trackingNumber(shipment.getTrackingNumber())
+                        .destinationAddress(shipment.getDestinationAddress())
+                        .latitude(locations.get(stop).getLatitude())
+                        .longitude(locations.get(stop).getLongitude())
+                        .estimatedArrival(eta)
+                        .deliveryDeadline(deadlines.get(stop))
+                        .late(solution.isLate(stop))
+                        .build());
+
+                if (apply) {
+                    if (!eta.toLocalDate().equals(shipment.getEstimatedDeliveryDate())) {
+                        shipment.setEstimatedDeliveryDate(eta.toLocalDate());
+                        deadlineScheduler.schedule(DeadlineType.SHIPMENT_DELIVERY_DUE, shipment.getShipmentId(),
+                                ShipmentService.deliveryDeadline(eta.toLocalDate()));
+                    }
+                    schedule.setNotes(replaceRouteNote(schedule.getNotes(),
+                            "Stop " + sequence + " (trip " + (t + 1) + "), ETA " + eta.toLocalTime().withNano(0)));
+                    updatedShipments.put(shipment.getShipmentId(), shipment);
+                }
+            }
+        }
+
+        if (apply && !updatedShipments.isEmpty()) {
+            shipmentRepository.saveAll(updatedShipments.values());
+            dispatchScheduleRepository.saveAll(routed);
+        }
+
+        return RoutePlanDTO.builder()
+                .vehicleNumber(vehicleNumber)
+                .vehicleType(vehicleType != null ? vehicleType.getCode() : null)
+                .planDate(date)
+                .departureDateTime(departure)
+                .returnDateTime(departure.plusSeconds(Math.round(solution.getReturnMinutes() * 60)))
+                .applied(apply)
+                .stopCount(stops.size())
+                .tripCount(solution.getTrips().size())
+                .lateStops(solution.getLateStops())
+                .totalDistanceKm(round(solution.getTotalDistanceKm()))
+                .savingsDistanceKm(round(solution.getConstructionDistanceKm()))
+                .computeTimeMillis(System.currentTimeMillis() - startMillis)
+                .stops(stopDTOs)
+                .ungeocodedShipmentIds(ungeocoded)
+                .build();
+    }
+
+    /**
+     * Insert or update geocode entries keyed by normalized address
+     */
+    @Transactional
+    public int saveGeocodes(List<GeocodeDTO> geocodeDTOs) {
+        Map<String, GeocodeDTO> byKey = new LinkedHashMap<>();
+        for (GeocodeDTO dto : geocodeDTOs) {
+            byKey.put(GeocodeLocation.normalizeAddress(dto.getAddress()), dto);
+        }
+
+        Map<String, GeocodeLocation> existing = new HashMap<>();
+        for (GeocodeLocation location : geocodeLocationRepository.findByAddressKeyIn(byKey.keySet())) {
+            existing.put(location.getAddressKey(), location);
+        }
+
+        List<GeocodeLocation> toSave = new ArrayList<>();
+        byKey.forEach((key, dto) -> {
+            GeocodeLocation location = existing.getOrDefault(key, new GeocodeLocation());
+            location.setAddressKey(key);
+            location.setLatitude(dto.getLatitude());
+            location.setLongitude(dto.getLongitude());
+            location.setSource(dto.getSource() != null ? dto.getSource() : "MANUAL");
+            toSave.add(location);
+        });
+
+        geocodeLocationRepository.saveAll(toSave);
+        return toSave.size();
+    }
+
+    VehicleRouteSolver newSolver() {
+        return new VehicleRouteSolver(
+                routingConfig.getAverageSpeedKmh(),
+                routingConfig.getRoadFactor(),
+                routingConfig.getServiceMinutes(),
+                routingConfig.getReloadMinutes(),
+                routingConfig.getShiftHours() * 60,
+                routingConfig.getNeighbourCount(),
+                routingConfig.getLocalSearchMillis());
+    }
+
+    /**
+     * Latest delivery time from the service type, capped at the end of the driver's shift
+     */
+    private LocalDateTime deadlineFor(Shipment shipment, LocalDateTime departure) {
+        LocalDateTime shiftEnd = departure.plusMinutes(Math.round(routingConfig.getShiftHours() * 60));
+        LocalTime serviceDeadline = shipment.getServiceType() != null
+                ? routingConfig.getServiceDeadlines().get(shipment.getServiceType().toUpperCase())
+                : null;
+        if (serviceDeadline == null) {
+            return shiftEnd;
+        }
+        LocalDateTime deadline = departure.toLocalDate().atTime(serviceDeadline);
+        return deadline.isBefore(shiftEnd) ? deadline : shiftEnd;
+    }
+
+    /**
+     * Replace the stop line of an earlier applied plan, keeping any other notes
+     */
+    static String replaceRouteNote(String notes, String note) {
+        if (notes == null || notes.isEmpty()) {
+            return note;
+        }
+        String kept = ROUTE_NOTE.matcher(notes).replaceAll("").strip();
+        return kept.isEmpty() ? note : kept + "\n" + note;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -1,5 +1,11 @@
 package com.ecommerce.supplychain.shipment.service;
 
+import com.ecommerce.supplychain.common.constants.DeadlineType;
+import com.ecommerce.supplychain.common.scheduling.DeadlineHandler;
+import com.ecommerce.supplychain.common.scheduling.DeadlineScheduler;
+import com.ecommerce.supplychain.contract.service.SlaComplianceMonitor;
+import com.ecommerce.supplychain.exception.dto.ExceptionSignalDTO;
+import com.ecommerce.supplychain.exception.service.ExceptionTriagePipeline;
 import com.ecommerce.supplychain.shipment.dto.*;
 import com.ecommerce.supplychain.shipment.model.Shipment;
 import com.ecommerce.supplychain.shipment.model.DispatchSchedule;
@@ -14,11 +20,20 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
-public class ShipmentService {
+public class ShipmentService implements DeadlineHandler {
 
     @Autowired
     private ShipmentRepository shipmentRepository;
 
+    @Autowired
+    private SlaComplianceMonitor slaComplianceMonitor;
+
+    @Autowired
+    private ExceptionTriagePipeline exceptionTriagePipeline;
+
+    @Autowired
+    private DeadlineScheduler deadlineScheduler;
+
     /**
      * API 1: Create Shipment
      */
@@ -61,6 +76,11 @@ public class ShipmentService {
 
         Shipment savedShipment = shipmentRepository.save(shipment);
 
+        if (savedShipment.getEstimatedDeliveryDate() != null) {
+            deadlineScheduler.schedule(DeadlineType.SHIPMENT_DELIVERY_DUE, savedShipment.getShipmentId(),
+                    deliveryDeadline(savedShipment.getEstimatedDeliveryDate()));
+        }
+
         return mapToShipmentResponseDTO(savedShipment);
     }
 
@@ -100,15 +120,25 @@ public class ShipmentService {
     /**
      * Get all shipments
      */
+    @Transactional(readOnly = true)
     public List<ShipmentResponseDTO> getAllShipments() {
         return shipmentRepository.findAll().stream()
                 .map(this::mapToShipmentResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get shipment list rows, optionally filtered by status; projected straight into DTOs, no entities are loaded
+     */
+    @Transactional(readOnly = true)
+    public List<ShipmentSummaryDTO> getShipmentSummaries(String status) {
+        return shipmentRepository.findSummaries(status);
+    }
+
     /**
      * Get shipment by ID
      */
+    @Transactional(readOnly = true)
     public ShipmentResponseDTO getShipmentById(Long shipmentId) {
         Shipment shipment = shipmentRepository.findById(shipmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Shipment not found with ID: " + shipmentId));
@@ -118,6 +148,7 @@ public class ShipmentService {
     /**
      * Get shipment by tracking number
      */
+    @Transactional(readOnly = true)
     public ShipmentResponseDTO getShipmentByTrackingNumber(String trackingNumber) {
         Shipment shipment = shipmentRepository.findByTrackingNumber(trackingNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Shipment not found with tracking number: " + trackingNumber));
@@ -127,6 +158,7 @@ public class ShipmentService {
     /**
      * Get shipments by order ID
      */
+    @Transactional(readOnly = true)
     public List<ShipmentResponseDTO> getShipmentsByOrderId(Long orderId) {
         return shipmentRepository.findByOrderId(orderId).stream()
                 .map(this::mapToShipmentResponseDTO)
@@ -136,6 +168,7 @@ public class ShipmentService {
     /**
      * Get shipments by status
      */
+    @Transactional(readOnly = true)
     public List<ShipmentResponseDTO> getShipmentsByStatus(String status) {
         return shipmentRepository.findByShipmentStatus(status).stream()
                 .map(this::mapToShipmentResponseDTO)
@@ -145,6 +178,7 @@ public class ShipmentService {
     /**
      * Get ready for dispatch shipments
      */
+    @Transactional(readOnly = true)
     public List<ShipmentResponseDTO> getReadyForDispatch() {
         return shipmentRepository.findReadyForDispatch(LocalDate.now()).stream()
                 .map(this::mapToShipmentResponseDTO)
@@ -159,6 +193,8 @@ public class ShipmentService {
         Shipment shipment = shipmentRepository.findById(updateDTO.getShipmentId())
                 .orElseThrow(() -> new IllegalArgumentException("Shipment not found with ID: " + updateDTO.getShipmentId()));
 
+        boolean newlyDelivered = "DELIVERED".equals(updateDTO.getStatus())
+                && !"DELIVERED".equals(shipment.getShipmentStatus());
         shipment.setShipmentStatus(updateDTO.getStatus());
 
         if ("SHIPPED".equals(updateDTO.getStatus())) {
@@ -178,6 +214,12 @@ public class ShipmentService {
 
         Shipment updatedShipment = shipmentRepository.save(shipment);
 
+        // Transit time towards delivery-time SLAs
+        if (newlyDelivered) {
+            slaComplianceMonitor.recordShipmentDelivery(updatedShipment.getCarrier(),
+                    updatedShipment.getShipmentDate(), updatedShipment.getActualDeliveryDate());
+        }
+
         return mapToShipmentResponseDTO(updatedShipment);
     }
 
@@ -215,6 +257,49 @@ public class ShipmentService {
         }
 
         shipmentRepository.delete(shipment);
+        deadlineScheduler.cancel(DeadlineType.SHIPMENT_DELIVERY_DUE, shipmentId);
+    }
+
+    @Override
+    public String getDeadlineType() {
+        return DeadlineType.SHIPMENT_DELIVERY_DUE;
+    }
+
+    /**
+     * Raise a delay exception for a shipment not delivered by its estimated date
+     */
+    @Override
+    @Transactional
+    public void onDeadline(Long shipmentId, LocalDateTime dueAt) {
+        Shipment shipment = shipmentRepository.findById(shipmentId).orElse(null);
+        if (shipment == null || "DELIVERED".equals(shipment.getShipmentStatus()) || "CANCELLED".equals(shipment.getShipmentStatus())
+                || shipment.getEstimatedDeliveryDate() == null) {
+            return;
+        }
+        if (!shipment.getEstimatedDeliveryDate().isBefore(LocalDate.now())) {
+            // The estimate moved later without its deadline; wait for the new one
+            deadlineScheduler.schedule(DeadlineType.SHIPMENT_DELIVERY_DUE, shipmentId,
+                    deliveryDeadline(shipment.getEstimatedDeliveryDate()));
+            return;
+        }
+        // Merged into the exception already open for the parcel, if any
+        exceptionTriagePipeline.submitAfterCommit(ExceptionSignalDTO.builder()
+                .trackingNumber(shipment.getTrackingNumber())
+                .shipmentId(shipment.getShipmentId())
+                .orderId(shipment.getOrderId())
+                .packageId(shipment.getPackageId())
+                .exceptionType("DELAYED")
+                .description("Not delivered by the estimated delivery date " + shipment.getEstimatedDeliveryDate())
+                .carrier(shipment.getCarrier())
+                .source("SYSTEM")
+                .build());
+    }
+
+    /**
+     * A shipment is overdue from the start of the day after its estimated delivery
+     */
+    static LocalDateTime deliveryDeadline(LocalDate estimatedDeliveryDate) {
+        return estimatedDeliveryDate.plusDays(1).atStartOfDay();
     }
 
     /**
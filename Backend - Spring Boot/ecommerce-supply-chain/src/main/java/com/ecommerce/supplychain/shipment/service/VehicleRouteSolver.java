@@ -0,0 +1,492 @@
+package com.ecommerce.supplychain.shipment.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Heuristic solver for one vehicle's local deliveries: a capacitated routing problem
+ * with per-stop delivery deadlines, where the vehicle may return to the depot to reload.
+ *
+ * Trips are built in the order the vehicle drives them, on one clock that runs through
+ * every trip and reload, so deadlines and the shift end are checked against the time a
+ * trip really starts. Each round runs Clarke-Wright savings restricted to each stop's
+ * nearest neighbours over the stops still unassigned, rejecting merges that break capacity,
+ * the shift end or a deadline (checked in O(1) from each route's remaining slack), and
+ * commits the most urgent resulting route as the next trip. Every trip is then improved by
+ * 2-opt and single-stop relocation over the same neighbour lists within a time budget.
+ *
+ * Coordinates are projected to a flat plane around the depot, which is accurate at
+ * city scale and keeps distance evaluation to one square root.
+ */
+public class VehicleRouteSolver {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double EPSILON = 1e-6;
+
+    private final double roadFactor;
+    private final double minutesPerKm;
+    private final double serviceMinutes;
+    private final double reloadMinutes;
+    private final double shiftMinutes;
+    private final int neighbourCount;
+    private final long localSearchMillis;
+
+    // Per-solve state; index n is the depot
+    private int n;
+    private double[] x;
+    private double[] y;
+    private double[] deadline;
+    private int[][] neighbours;
+
+    public VehicleRouteSolver(double averageSpeedKmh, double roadFactor, double serviceMinutes,
+                              double reloadMinutes, double shiftMinutes, int neighbourCount, long localSearchMillis) {
+        this.roadFactor = roadFactor;
+        this.minutesPerKm = 60.0 / averageSpeedKmh;
+        this.serviceMinutes = serviceMinutes;
+        this.reloadMinutes = reloadMinutes;
+        this.shiftMinutes = shiftMinutes;
+        this.neighbourCount = neighbourCount;
+        this.localSearchMillis = localSearchMillis;
+    }
+
+    /**
+     * Solve for the given stops; deadlines are minutes after departure from the depot
+     */
+    public synchronized Solution solve(double depotLatitude, double depotLongitude, List<Stop> stops,
+                                       double maxWeightKg, double maxVolumeCm3) {
+        n = stops.size();
+        if (n > 65535) {
+            throw new IllegalArgumentException("Too many stops for one vehicle: " + n);
+        }
+        project(depotLatitude, depotLongitude, stops);
+        buildNeighbours();
+
+        List<int[]> trips = construct(stops, maxWeightKg, maxVolumeCm3);
+        double constructionDistance = totalDistance(trips);
+
+        improve(trips);
+
+        Solution solution = new Solution();
+        solution.trips = trips;
+        solution.constructionDistanceKm = constructionDistance;
+        solution.totalDistanceKm = totalDistance(trips);
+        solution.etaMinutes = new double[n];
+        solution.late = new boolean[n];
+
+        double time = 0;
+        for (int t = 0; t < trips.size(); t++) {
+            if (t > 0) {
+                time += reloadMinutes;
+            }
+            int previous = n;
+            for (int stop : trips.get(t)) {
+                time += travel(previous, stop);
+                solution.etaMinutes[stop] = time;
+                if (time > deadline[stop] + EPSILON) {
+                    solution.late[stop] = true;
+                    solution.lateStops++;
+                }
+                time += serviceMinutes;
+                previous = stop;
+            }
+            time += travel(previous, n);
+        }
+        solution.returnMinutes = time;
+        return solution;
+    }
+
+    private void project(double depotLatitude, double depotLongitude, List<Stop> stops) {
+        x = new double[n + 1];
+        y = new double[n + 1];
+        deadline = new double[n + 1];
+        double cosLat = Math.cos(Math.toRadians(depotLatitude));
+        for (int i = 0; i < n; i++) {
+            Stop stop = stops.get(i);
+            x[i] = EARTH_RADIUS_KM * Math.toRadians(stop.longitude - depotLongitude) * cosLat;
+            y[i] = EARTH_RADIUS_KM * Math.toRadians(stop.latitude - depotLatitude);
+            deadline[i] = stop.deadlineMinutes;
+        }
+        deadline[n] = Double.MAX_VALUE;
+    }
+
+    private double distance(int a, int b) {
+        double dx = x[a] - x[b];
+        double dy = y[a] - y[b];
+        return Math.sqrt(dx * dx + dy * dy) * roadFactor;
+    }
+
+    private double travel(int a, int b) {
+        return distance(a, b) * minutesPerKm;
+    }
+
+    /**
+     * k nearest stops per stop, via one primitive sort of packed (distance, index) keys
+     */
+    private void buildNeighbours() {
+        int k = Math.min(neighbourCount, n - 1);
+        neighbours = new int[n][];
+        long[] keys = new long[Math.max(n - 1, 0)];
+        for (int i = 0; i < n; i++) {
+            int count = 0;
+            for (int j = 0; j < n; j++) {
+                if (j != i) {
+                    keys[count++] = ((long) Float.floatToIntBits((float) distance(i, j)) << 32) | j;
+                }
+            }
+            Arrays.sort(keys, 0, count);
+            neighbours[i] = new int[k];
+            for (int m = 0; m < k; m++) {
+                neighbours[i][m] = (int) (keys[m] & 0xffffffffL);
+            }
+        }
+    }
+
+    /**
+     * Build the trips in driving order. Each round starts every unassigned stop as its own route
+     * departing at the current clock, applies the savings merges, and commits the route with the
+     * earliest due time (latest on-time start plus duration, which keeps the worst lateness lowest)
+     * among those back before the shift end. The clock then moves past that trip and a reload.
+     * Savings do not depend on the clock, so they are computed and sorted once.
+     */
+    private List<int[]> construct(List<Stop> stops, double maxWeightKg, double maxVolumeCm3) {
+        int[] routeOf = new int[n];
+        int[] first = new int[n];
+        int[] last = new int[n];
+        int[] next = new int[n];
+        int[] prev = new int[n];
+        double[] weight = new double[n];
+        double[] volume = new double[n];
+        double[] finish = new double[n]; // time after departure leaving the route's last stop
+        double[] slack = new double[n];  // how far the route can be pushed later without a late stop
+
+        long[] savings = new long[n > 0 ? n * neighbours[0].length : 0];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j : neighbours[i]) {
+                double saving = distance(n, i) + distance(n, j) - distance(i, j);
+                if (saving > 0) {
+                    savings[count++] = ((long) Float.floatToIntBits((float) saving) << 32) | ((long) i << 16) | j;
+                }
+            }
+        }
+        Arrays.sort(savings, 0, count);
+
+        List<int[]> trips = new ArrayList<>();
+        boolean[] assigned = new boolean[n];
+        int[] buffer = new int[n];
+        int remaining = n;
+        double clock = 0;
+        double shiftEnd = shiftMinutes;
+
+        while (remaining > 0) {
+            double tripLimit = shiftEnd - clock;
+            for (int i = 0; i < n; i++) {
+                if (assigned[i]) {
+                    continue;
+                }
+                routeOf[i] = first[i] = last[i] = i;
+                next[i] = prev[i] = -1;
+                weight[i] = stops.get(i).weightKg;
+                volume[i] = stops.get(i).volumeCm3;
+                double arrival = travel(n, i);
+                finish[i] = arrival + serviceMinutes;
+                // A stop that is late even when driven to directly is late in any order, so it holds back no merge
+                slack[i] = clock + arrival <= deadline[i] ? deadline[i] - clock - arrival : Double.MAX_VALUE;
+            }
+
+            for (int s = count - 1; s >= 0; s--) {
+                int i = (int) ((savings[s] >>> 16) & 0xffff);
+                int j = (int) (savings[s] & 0xffff);
+                if (assigned[i] || assigned[j]) {
+                    continue;
+                }
+                if (!merge(i, j, routeOf, first, last, next, prev, weight, volume, finish, slack, maxWeightKg, maxVolumeCm3, tripLimit)) {
+                    merge(j, i, routeOf, first, last, next, prev, weight, volume, finish, slack, maxWeightKg, maxVolumeCm3, tripLimit);
+                }
+            }
+
+            int chosen = -1;
+            double chosenDue = 0;
+            for (int i = 0; i < n; i++) {
+                if (assigned[i] || prev[i] != -1) {
+                    continue;
+                }
+                double duration = finish[i] + travel(last[i], n);
+                if (duration > tripLimit) {
+                    continue;
+                }
+                double due = slack[i] == Double.MAX_VALUE ? Double.MAX_VALUE : slack[i] + duration;
+                if (chosen == -1 || due < chosenDue) {
+                    chosen = i;
+                    chosenDue = due;
+                }
+            }
+            if (chosen == -1) {
+                // No remaining stop can be served and returned from before the shift ends: finish them as overtime
+                shiftEnd = Double.MAX_VALUE;
+                continue;
+            }
+
+            int length = 0;
+            for (int k = chosen; k != -1; k = next[k]) {
+                buffer[length++] = k;
+                assigned[k] = true;
+            }
+            trips.add(Arrays.copyOf(buffer, length));
+            remaining -= length;
+            clock += finish[chosen] + travel(last[chosen], n) + reloadMinutes;
+        }
+        return trips;
+    }
+
+    /**
+     * Append the route starting at j to the route ending at i, if every constraint still holds
+     * and the trip is back within the limit (minutes left in the shift when it departs)
+     */
+    private boolean merge(int i, int j, int[] routeOf, int[] first, int[] last, int[] next, int[] prev,
+                          double[] weight, double[] volume, double[] finish, double[] slack,
+                          double maxWeightKg, double maxVolumeCm3, double tripLimit) {
+        int a = routeOf[i];
+        int b = routeOf[j];
+        if (a == b || last[a] != i || first[b] != j) {
+            return false;
+        }
+        if (weight[a] + weight[b] > maxWeightKg || volume[a] + volume[b] > maxVolumeCm3) {
+            return false;
+        }
+        double delay = finish[a] + travel(i, j) - travel(n, j);
+        if (slack[a] < 0 || slack[b] - delay < 0) {
+            return false;
+        }
+        double newFinish = finish[b] + delay;
+        if (newFinish + travel(last[b], n) > tripLimit) {
+            return false;
+        }
+
+        next[i] = j;
+        prev[j] = i;
+        for (int k = j; k != -1; k = next[k]) {
+            routeOf[k] = a;
+        }
+        last[a] = last[b];
+        weight[a] += weight[b];
+        volume[a] += volume[b];
+        finish[a] = newFinish;
+        slack[a] = Math.min(slack[a], slack[b] - delay);
+        return true;
+    }
+
+    /**
+     * 2-opt and relocate per trip; trips are improved in driving order so each starts
+     * when the previous (already shortened) one has returned and reloaded
+     */
+    private void improve(List<int[]> trips) {
+        long stopAt = System.nanoTime() + localSearchMillis * 1_000_000L;
+        int[] tripOf = new int[n];
+        int[] pos = new int[n];
+        Arrays.fill(tripOf, -1);
+        double start = 0;
+
+        for (int t = 0; t < trips.size(); t++) {
+            int[] trip = trips.get(t);
+            int[] route = new int[trip.length + 2];
+            route[0] = n;
+            route[route.length - 1] = n;
+            System.arraycopy(trip, 0, route, 1, trip.length);
+            for (int p = 1; p <= trip.length; p++) {
+                tripOf[route[p]] = t;
+                pos[route[p]] = p;
+            }
+
+            double lateness = lateness(route, start);
+            boolean improved = true;
+            while (improved && System.nanoTime() < stopAt) {
+                improved = false;
+                for (int p = 0; p < route.length - 1 && System.nanoTime() < stopAt; p++) {
+                    double result = twoOpt(route, pos, tripOf, t, p, start, lateness);
+                    if (result >= 0) {
+                        lateness = result;
+                        improved = true;
+                    }
+                }
+                for (int p = 1; p < route.length - 1 && System.nanoTime() < stopAt; p++) {
+                    double result = relocate(route, pos, tripOf, t, p, start, lateness);
+                    if (result >= 0) {
+                        lateness = result;
+                        improved = true;
+                    }
+                }
+            }
+
+            System.arraycopy(route, 1, trip, 0, trip.length);
+            start += duration(route) + reloadMinutes;
+        }
+    }
+
+    /**
+     * Try reversing a segment so that route[p] is followed by one of its neighbours.
+     * Returns the new lateness when a move was applied, otherwise -1.
+     */
+    private double twoOpt(int[] route, int[] pos, int[] tripOf, int t, int p, double start, double lateness) {
+        int u = route[p];
+        if (u == n) {
+            return -1;
+        }
+        int uNext = route[p + 1];
+        for (int v : neighbours[u]) {
+            if (tripOf[v] != t || v == uNext) {
+                continue;
+            }
+            int q = pos[v];
+            int lo;
+            int hi;
+            double delta;
+            if (q > p + 1) {
+                delta = distance(u, v) + distance(uNext, route[q + 1]) - distance(u, uNext) - distance(v, route[q + 1]);
+                lo = p + 1;
+                hi = q;
+            } else if (q < p) {
+                delta = distance(v, u) + distance(route[q + 1], uNext) - distance(v, route[q + 1]) - distance(u, uNext);
+                lo = q + 1;
+                hi = p;
+            } else {
+                continue;
+            }
+            if (delta < -EPSILON) {
+                reverse(route, pos, lo, hi);
+                double candidate = lateness(route, start);
+                if (candidate <= lateness + EPSILON) {
+                    return candidate;
+                }
+                reverse(route, pos, lo, hi);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Try moving route[p] to directly after one of its neighbours.
+     * Returns the new lateness when a move was applied, otherwise -1.
+     */
+    private double relocate(int[] route, int[] pos, int[] tripOf, int t, int p, double start, double lateness) {
+        int u = route[p];
+        int before = route[p - 1];
+        int after = route[p + 1];
+        double removeGain = distance(before, u) + distance(u, after) - distance(before, after);
+        for (int v : neighbours[u]) {
+            if (tripOf[v] != t || v == before) {
+                continue;
+            }
+            int q = pos[v];
+            int w = route[q + 1];
+            double delta = distance(v, u) + distance(u, w) - distance(v, w) - removeGain;
+            if (delta < -EPSILON) {
+                int target = q > p ? q : q + 1;
+                move(route, pos, p, target);
+                double candidate = lateness(route, start);
+                if (candidate <= lateness + EPSILON) {
+                    return candidate;
+                }
+                move(route, pos, target, p);
+            }
+        }
+        return -1;
+    }
+
+    private void reverse(int[] route, int[] pos, int lo, int hi) {
+        while (lo < hi) {
+            int tmp = route[lo];
+            route[lo] = route[hi];
+            route[hi] = tmp;
+            pos[route[lo]] = lo;
+            pos[route[hi]] = hi;
+            lo++;
+            hi--;
+        }
+    }
+
+    private void move(int[] route, int[] pos, int from, int to) {
+        int node = route[from];
+        if (from < to) {
+            System.arraycopy(route, from + 1, route, from, to - from);
+        } else {
+            System.arraycopy(route, to, route, to + 1, from - to);
+        }
+        route[to] = node;
+        for (int p = Math.min(from, to); p <= Math.max(from, to); p++) {
+            pos[route[p]] = p;
+        }
+    }
+
+    /**
+     * Total minutes past deadline over the trip's stops
+     */
+    private double lateness(int[] route, double start) {
+        double time = start;
+        double late = 0;
+        for (int p = 1; p < route.length - 1; p++) {
+            time += travel(route[p - 1], route[p]);
+            if (time > deadline[route[p]]) {
+                late += time - deadline[route[p]];
+            }
+            time += serviceMinutes;
+        }
+        return late;
+    }
+
+    private double duration(int[] route) {
+        double minutes = 0;
+        for (int p = 1; p < route.length; p++) {
+            minutes += travel(route[p - 1], route[p]);
+        }
+        return minutes + (route.length - 2) * serviceMinutes;
+    }
+
+    private double totalDistance(List<int[]> trips) {
+        double total = 0;
+        for (int[] trip : trips) {
+            int previous = n;
+            for (int stop : trip) {
+                total += distance(previous, stop);
+                previous = stop;
+            }
+            total += distance(previous, n);
+        }
+        return total;
+    }
+
+    public static class Stop {
+        private final double latitude;
+        private final double longitude;
+        private final double weightKg;
+        private final double volumeCm3;
+        private final double deadlineMinutes;
+
+        public Stop(double latitude, double longitude, double weightKg, double volumeCm3, double deadlineMinutes) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.weightKg = weightKg;
+            this.volumeCm3 = volumeCm3;
+            this.deadlineMinutes = deadlineMinutes;
+        }
+    }
+
+    public static class Solution {
+        private List<int[]> trips;
+        private double[] etaMinutes;
+        private boolean[] late;
+        private int lateStops;
+        private double totalDistanceKm;
+        private double constructionDistanceKm;
+        private double returnMinutes;
+
+        public List<int[]> getTrips() { return trips; }
+        public double getEtaMinutes(int stop) { return etaMinutes[stop]; }
+        public boolean isLate(int stop) { return late[stop]; }
+        public int getLateStops() { return lateStops; }
+        public double getTotalDistanceKm() { return totalDistanceKm; }
+        public double getConstructionDistanceKm() { return constructionDistanceKm; }
+        public double getReturnMinutes() { return returnMinutes; }
+    }
+}
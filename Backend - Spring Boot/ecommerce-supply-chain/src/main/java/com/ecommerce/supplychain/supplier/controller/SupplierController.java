@@ -3,6 +3,8 @@ package com.ecommerce.supplychain.supplier.controller;
 import com.ecommerce.supplychain.supplier.dto.SupplierApprovalDTO;
 import com.ecommerce.supplychain.supplier.dto.SupplierRegistrationDTO;
 import com.ecommerce.supplychain.supplier.dto.SupplierResponseDTO;
+import com.ecommerce.supplychain.supplier.dto.SupplierScorecardDTO;
+import com.ecommerce.supplychain.supplier.service.SupplierScorecardService;
 import com.ecommerce.supplychain.supplier.service.SupplierService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +27,9 @@ public class SupplierController {
     @Autowired
     private SupplierService supplierService;
 
+    @Autowired
+    private SupplierScorecardService supplierScorecardService;
+
     /**
      * API 1: Register a new supplier
      * POST /api/suppliers/register
@@ -129,6 +134,53 @@ public class SupplierController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Supplier performance rankings over a rolling window
+     * GET /api/suppliers/scorecards?windowDays=90
+     */
+    @GetMapping("/scorecards")
+    public ResponseEntity<Map<String, Object>> getScorecardRankings(@RequestParam(required = false) Integer windowDays) {
+        try {
+            List<SupplierScorecardDTO> scorecards = supplierScorecardService.getRankings(windowDays);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("count", scorecards.size());
+            response.put("data", scorecards);
+
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    /**
+     * Supplier performance scorecard over a rolling window
+     * GET /api/suppliers/{supplierId}/scorecard?windowDays=90
+     */
+    @GetMapping("/{supplierId}/scorecard")
+    public ResponseEntity<Map<String, Object>> getScorecard(
+            @PathVariable Long supplierId,
+            @RequestParam(required = false) Integer windowDays) {
+        try {
+            SupplierScorecardDTO scorecard = supplierScorecardService.getScorecard(supplierId, windowDays);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", scorecard);
+
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
     /**
      * Update supplier rating
      * PUT /api/suppliers/{supplierId}/rating
@@ -0,0 +1,39 @@
+package com.ecommerce.supplychain.supplier.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Response DTO for a supplier's performance over a rolling window.
+ * Rates are percentages and null when the window has no data for them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SupplierScorecardDTO {
+
+    private Long supplierId;
+    private String companyName;
+    private Integer windowDays;
+    private LocalDate fromDate;
+    private Integer rank;
+    private Double score; // 0.0 - 5.0, weighted from the rates below
+
+    private Integer deliveries;
+    private Double onTimeRate;
+    private Double fillRate;
+    private Double defectRate;
+    private Double discrepancyRate;
+    private Double averageLeadTimeDays;
+    private Map<String, Integer> leadTimeDistribution; // deliveries per lead-time band
+
+    private Long unitsOrdered;
+    private Long unitsReceived;
+    private Long unitsInspected;
+    private Long unitsDefective;
+}
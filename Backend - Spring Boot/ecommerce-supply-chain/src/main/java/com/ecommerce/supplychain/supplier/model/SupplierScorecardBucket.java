@@ -0,0 +1,77 @@
+package com.ecommerce.supplychain.supplier.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding one supplier's delivery and inspection counters for one day.
+ * Rows are only ever incremented; a scorecard sums the rows of its window.
+ */
+@Entity
+@Table(name = "supplier_scorecard_buckets",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"supplier_id", "bucket_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplierScorecardBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "bucket_id")
+    private Long bucketId;
+
+    @Column(name = "supplier_id", nullable = false)
+    private Long supplierId;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(name = "deliveries", nullable = false)
+    private Integer deliveries;
+
+    @Column(name = "on_time_deliveries", nullable = false)
+    private Integer onTimeDeliveries;
+
+    @Column(name = "late_deliveries", nullable = false)
+    private Integer lateDeliveries;
+
+    @Column(name = "discrepant_deliveries", nullable = false)
+    private Integer discrepantDeliveries;
+
+    @Column(name = "units_ordered", nullable = false)
+    private Long unitsOrdered;
+
+    @Column(name = "units_received", nullable = false)
+    private Long unitsReceived;
+
+    @Column(name = "units_inspected", nullable = false)
+    private Long unitsInspected;
+
+    @Column(name = "units_defective", nullable = false)
+    private Long unitsDefective;
+
+    @Column(name = "lead_time_days_total", nullable = false)
+    private Long leadTimeDaysTotal;
+
+    @Column(name = "lead_time_0_to_3_days", nullable = false)
+    private Integer leadTime0To3Days;
+
+    @Column(name = "lead_time_4_to_7_days", nullable = false)
+    private Integer leadTime4To7Days;
+
+    @Column(name = "lead_time_8_to_14_days", nullable = false)
+    private Integer leadTime8To14Days;
+
+    @Column(name = "lead_time_15_to_30_days", nullable = false)
+    private Integer leadTime15To30Days;
+
+    @Column(name = "lead_time_over_30_days", nullable = false)
+    private Integer leadTimeOver30Days;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.supplychain.supplier.repository;
+
+import com.ecommerce.supplychain.supplier.model.SupplierScorecardBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for daily supplier scorecard counters.
+ * The upserts add to the day's row in one statement, creating it on the first event of the day,
+ * so concurrent receipts for one supplier never lose an increment.
+ */
+@Repository
+public interface SupplierScorecardBucketRepository extends JpaRepository<SupplierScorecardBucket, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO supplier_scorecard_buckets (supplier_id, bucket_date, deliveries, on_time_deliveries, " +
+            "late_deliveries, discrepant_deliveries, units_ordered, units_received, lead_time_days_total, " +
+            "lead_time_0_to_3_days, lead_time_4_to_7_days, lead_time_8_to_14_days, lead_time_15_to_30_days, " +
+            "lead_time_over_30_days, updated_at) " +
+            "VALUES (:supplierId, :bucketDate, 1, :onTime, :late, :discrepant, :unitsOrdered, :unitsReceived, :leadTimeDays, " +
+            ":leadTime0To3, :leadTime4To7, :leadTime8To14, :leadTime15To30, :leadTimeOver30, :updatedAt) " +
+            "ON DUPLICATE KEY UPDATE deliveries = deliveries + 1, " +
+            "on_time_deliveries = on_time_deliveries + VALUES(on_time_deliveries), " +
+            "late_deliveries = late_deliveries + VALUES(late_deliveries), " +
+            "discrepant_deliveries = discrepant_deliveries + VALUES(discrepant_deliveries), " +
+            "units_ordered = units_ordered + VALUES(units_ordered), " +
+            "units_received = units_received + VALUES(units_received), " +
+            "lead_time_days_total = lead_time_days_total + VALUES(lead_time_days_total), " +
+            "lead_time_0_to_3_days = lead_time_0_to_3_days + VALUES(lead_time_0_to_3_days), " +
+            "lead_time_4_to_7_days = lead_time_4_to_7_days + VALUES(lead_time_4_to_7_days), " +
+            "lead_time_8_to_14_days = lead_time_8_to_14_days + VALUES(lead_time_8_to_14_days), " +
+            "lead_time_15_to_30_days = lead_time_15_to_30_days + VALUES(lead_time_15_to_30_days), " +
+            "lead_time_over_30_days = lead_time_over_30_days + VALUES(lead_time_over_30_days), " +
+            "updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int addDelivery(@Param("supplierId") Long supplierId,
+                    @Param("bucketDate") LocalDate bucketDate,
+                    @Param("onTime") int onTime,
+                    @Param("late") int late,
+                    @Param("discrepant") int discrepant,
+                    @Param("unitsOrdered") long unitsOrdered,
+                    @Param("unitsReceived") long unitsReceived,
+                    @Param("leadTimeDays") long leadTimeDays,
+                    @Param("leadTime0To3") int leadTime0To3,
+                    @Param("leadTime4To7") int leadTime4To7,
+                    @Param("leadTime8To14") int leadTime8To14,
+                    @Param("leadTime15To30") int leadTime15To30,
+                    @Param("leadTimeOver30") int leadTimeOver30,
+                    @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO supplier_scorecard_buckets (supplier_id, bucket_date, units_inspected, units_defective, updated_at) " +
+            "VALUES (:supplierId, :bucketDate, :unitsInspected, :unitsDefective, :updatedAt) " +
+            "ON DUPLICATE KEY UPDATE units_inspected = units_inspected + VALUES(units_inspected), " +
+            "units_defective = units_defective + VALUES(units_defective), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int addInspection(@Param("supplierId") Long supplierId,
+                      @Param("bucketDate") LocalDate bucketDate,
+                      @Param("unitsInspected") long unitsInspected,
+                      @Param("unitsDefective") long unitsDefective,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Take inspected units back from the day they were counted on; never creates a row or goes below zero
+     */
+    @Modifying
+    @Query(value = "UPDATE supplier_scorecard_buckets SET units_inspected = GREATEST(0, units_inspected - :unitsInspected), " +
+            "units_defective = GREATEST(0, units_defective - :unitsDefective), updated_at = :updatedAt " +
+            "WHERE supplier_id = :supplierId AND bucket_date = :bucketDate",
+            nativeQuery = true)
+    int removeInspection(@Param("supplierId") Long supplierId,
+                         @Param("bucketDate") LocalDate bucketDate,
+                         @Param("unitsInspected") long unitsInspected,
+                         @Param("unitsDefective") long unitsDefective,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("SELECT b FROM SupplierScorecardBucket b WHERE b.supplierId = :supplierId AND b.bucketDate >= :fromDate")
+    List<SupplierScorecardBucket> findBySupplierSince(@Param("supplierId") Long supplierId,
+                                                      @Param("fromDate") LocalDate fromDate);
+
+    @Query("SELECT b FROM SupplierScorecardBucket b WHERE b.bucketDate >= :fromDate")
+    List<SupplierScorecardBucket> findAllSince(@Param("fromDate") LocalDate fromDate);
+
+    @Query("SELECT DISTINCT b.supplierId FROM SupplierScorecardBucket b WHERE b.updatedAt > :since")
+    List<Long> findSupplierIdsUpdatedSince(@Param("since") LocalDateTime since);
+}
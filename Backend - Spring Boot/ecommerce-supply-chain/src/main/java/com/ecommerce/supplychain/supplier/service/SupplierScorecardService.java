@@ -0,0 +1,232 @@
+package com.ecommerce.supplychain.supplier.service;
+
+import com.ecommerce.supplychain.supplier.dto.SupplierScorecardDTO;
+import com.ecommerce.supplychain.supplier.model.Supplier;
+import com.ecommerce.supplychain.supplier.model.SupplierScorecardBucket;
+import com.ecommerce.supplychain.supplier.repository.SupplierRepository;
+import com.ecommerce.supplychain.supplier.repository.SupplierScorecardBucketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Supplier performance scorecards kept up to date as goods arrive (Process 1 with Processes 3 and 4).
+ * Receiving reports each delivery and inspection here and the day's counters are incremented in
+ * one upsert, so no event re-reads history. A scorecard for any rolling window sums at most one
+ * row per day of the window.
+ */
+@Service
+public class SupplierScorecardService {
+
+    private static final double ON_TIME_WEIGHT = 0.4;
+    private static final double FILL_WEIGHT = 0.3;
+    private static final double QUALITY_WEIGHT = 0.3;
+
+    @Autowired
+    private SupplierScorecardBucketRepository bucketRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Value("${app.supplier-scorecard.default-window-days:90}")
+    private int defaultWindowDays;
+
+    @Value("${app.supplier-scorecard.max-window-days:365}")
+    private int maxWindowDays;
+
+    /**
+     * Count a delivery. Due and order dates are optional; without them the delivery
+     * counts towards fill rate but not towards on-time rate or lead time.
+     */
+    @Transactional
+    public void recordDelivery(Long supplierId, LocalDate deliveryDate, LocalDate dueDate, LocalDate orderDate,
+                               long unitsOrdered, long unitsReceived, boolean discrepancy) {
+        if (supplierId == null) {
+            return;
+        }
+        int onTime = dueDate != null && !deliveryDate.isAfter(dueDate) ? 1 : 0;
+        int late = dueDate != null && deliveryDate.isAfter(dueDate) ? 1 : 0;
+        long leadTime = orderDate != null ? Math.max(0, ChronoUnit.DAYS.between(orderDate, deliveryDate)) : -1;
+
+        bucketRepository.addDelivery(supplierId, deliveryDate, onTime, late, discrepancy ? 1 : 0,
+                unitsOrdered, unitsReceived, Math.max(0, leadTime),
+                band(leadTime, 0, 3), band(leadTime, 4, 7), band(leadTime, 8, 14), band(leadTime, 15, 30),
+                band(leadTime, 31, Long.MAX_VALUE), LocalDateTime.now());
+    }
+
+    /**
+     * Count inspected units on today's row
+     */
+    @Transactional
+    public void recordInspection(Long supplierId, long unitsInspected, long unitsDefective) {
+        if (supplierId == null || (unitsInspected <= 0 && unitsDefective <= 0)) {
+            return;
+        }
+        bucketRepository.addInspection(supplierId, LocalDate.now(), Math.max(0, unitsInspected), Math.max(0, unitsDefective),
+                LocalDateTime.now());
+    }
+
+    /**
+     * Take back the units of an inspection that is being redone, from the row of the day it was
+     * counted on, so a re-inspection moves its units to today instead of leaving a negative today
+     */
+    @Transactional
+    public void reverseInspection(Long supplierId, LocalDate inspectedOn, long unitsInspected, long unitsDefective) {
+        if (supplierId == null || (unitsInspected <= 0 && unitsDefective <= 0)) {
+            return;
+        }
+        bucketRepository.removeInspection(supplierId, inspectedOn != null ? inspectedOn : LocalDate.now(),
+                Math.max(0, unitsInspected), Math.max(0, unitsDefective), LocalDateTime.now());
+    }
+
+    /**
+     * Scorecard of one supplier over the last windowDays days
+     */
+    @Transactional(readOnly = true)
+    public SupplierScorecardDTO getScorecard(Long supplierId, Integer windowDays) {
+        Supplier supplier = supplierRepository.findById(supplierId)
+                .orElseThrow(() -> new IllegalArgumentException("Supplier not found with ID: " + supplierId));
+        int days = windowDays(windowDays);
+        LocalDate fromDate = LocalDate.now().minusDays(days - 1L);
+
+        return toScorecard(supplierId, supplier.getCompanyName(), days, fromDate,
+                bucketRepository.findBySupplierSince(supplierId, fromDate));
+    }
+
+    /**
+     * Scorecards of every supplier with activity in the window, best score first
+     */
+    @Transactional(readOnly = true)
+    public List<SupplierScorecardDTO> getRankings(Integer windowDays) {
+        int days = windowDays(windowDays);
+        LocalDate fromDate = LocalDate.now().minusDays(days - 1L);
+
+        Map<Long, List<SupplierScorecardBucket>> bucketsBySupplier = bucketRepository.findAllSince(fromDate).stream()
+                .collect(Collectors.groupingBy(SupplierScorecardBucket::getSupplierId));
+        Map<Long, String> names = supplierRepository.findAllById(bucketsBySupplier.keySet()).stream()
+                .collect(Collectors.toMap(Supplier::getSupplierId, Supplier::getCompanyName));
+
+        List<SupplierScorecardDTO> scorecards = new ArrayList<>();
+        bucketsBySupplier.forEach((supplierId, buckets) ->
+                scorecards.add(toScorecard(supplierId, names.get(supplierId), days, fromDate, buckets)));
+        scorecards.sort(Comparator.comparing(SupplierScorecardDTO::getScore, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(SupplierScorecardDTO::getSupplierId));
+        for (int i = 0; i < scorecards.size(); i++) {
+            scorecards.get(i).setRank(i + 1);
+        }
+        return scorecards;
+    }
+
+    private int windowDays(Integer windowDays) {
+        int days = windowDays != null ? windowDays : defaultWindowDays;
+        if (days < 1 || days > maxWindowDays) {
+            throw new IllegalArgumentException("Window must be between 1 and " + maxWindowDays + " days");
+        }
+        return days;
+    }
+
+    private static int band(long leadTime, long fromDays, long toDays) {
+        return leadTime >= fromDays && leadTime <= toDays ? 1 : 0;
+    }
+
+    private SupplierScorecardDTO toScorecard(Long supplierId, String companyName, int windowDays, LocalDate fromDate,
+                                             List<SupplierScorecardBucket> buckets) {
+        int deliveries = 0;
+        int onTime = 0;
+        int late = 0;
+        int discrepant = 0;
+        long unitsOrdered = 0;
+        long unitsReceived = 0;
+        long unitsInspected = 0;
+        long unitsDefective = 0;
+        long leadTimeTotal = 0;
+        int[] leadTimeBands = new int[5];
+        for (SupplierScorecardBucket bucket : buckets) {
+            deliveries += bucket.getDeliveries();
+            onTime += bucket.getOnTimeDeliveries();
+            late += bucket.getLateDeliveries();
+            discrepant += bucket.getDiscrepantDeliveries();
+            unitsOrdered += bucket.getUnitsOrdered();
+            unitsReceived += bucket.getUnitsReceived();
+            unitsInspected += bucket.getUnitsInspected();
+            unitsDefective += bucket.getUnitsDefective();
+            leadTimeTotal += bucket.getLeadTimeDaysTotal();
+            leadTimeBands[0] += bucket.getLeadTime0To3Days();
+            leadTimeBands[1] += bucket.getLeadTime4To7Days();
+            leadTimeBands[2] += bucket.getLeadTime8To14Days();
+            leadTimeBands[3] += bucket.getLeadTime15To30Days();
+            leadTimeBands[4] += bucket.getLeadTimeOver30Days();
+        }
+        int leadTimeSamples = leadTimeBands[0] + leadTimeBands[1] + leadTimeBands[2] + leadTimeBands[3] + leadTimeBands[4];
+
+        Map<String, Integer> distribution = new LinkedHashMap<>();
+        distribution.put("0-3", leadTimeBands[0]);
+        distribution.put("4-7", leadTimeBands[1]);
+        distribution.put("8-14", leadTimeBands[2]);
+        distribution.put("15-30", leadTimeBands[3]);
+        distribution.put("31+", leadTimeBands[4]);
+
+        Double onTimeRate = percentage(onTime, onTime + late);
+        Double fillRate = percentage(unitsReceived, unitsOrdered);
+        Double defectRate = percentage(unitsDefective, unitsInspected);
+
+        return SupplierScorecardDTO.builder()
+                .supplierId(supplierId)
+                .companyName(companyName)
+                .windowDays(windowDays)
+                .fromDate(fromDate)
+                .score(score(onTimeRate, fillRate, defectRate))
+                .deliveries(deliveries)
+                .onTimeRate(onTimeRate)
+                .fillRate(fillRate)
+                .defectRate(defectRate)
+                .discrepancyRate(percentage(discrepant, deliveries))
+                .averageLeadTimeDays(leadTimeSamples > 0 ? round((double) leadTimeTotal / leadTimeSamples) : null)
+                .leadTimeDistribution(distribution)
+                .unitsOrdered(unitsOrdered)
+                .unitsReceived(unitsReceived)
+                .unitsInspected(unitsInspected)
+                .unitsDefective(unitsDefective)
+                .build();
+    }
+
+    /**
+     * Weighted 0-5 score over the rates the window has data for
+     */
+    private static Double score(Double onTimeRate, Double fillRate, Double defectRate) {
+        double weighted = 0;
+        double weights = 0;
+        if (onTimeRate != null) {
+            weighted += ON_TIME_WEIGHT * onTimeRate;
+            weights += ON_TIME_WEIGHT;
+        }
+        if (fillRate != null) {
+            weighted += FILL_WEIGHT * fillRate;
+            weights += FILL_WEIGHT;
+        }
+        if (defectRate != null) {
+            weighted += QUALITY_WEIGHT * (100 - defectRate);
+            weights += QUALITY_WEIGHT;
+        }
+        return weights > 0 ? round(weighted / weights / 20) : null;
+    }
+
+    private static Double percentage(long part, long whole) {
+        return whole > 0 ? round(part * 100.0 / whole) : null;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
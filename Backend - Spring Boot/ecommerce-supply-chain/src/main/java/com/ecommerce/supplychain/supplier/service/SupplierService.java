@@ -94,6 +94,7 @@ public class SupplierService {
     /**
      * Get all suppliers in the system.
      */
+    @Transactional(readOnly = true)
     public List<SupplierResponseDTO> getAllSuppliers() {
         return supplierRepository.findAll().stream()
                 .map(this::mapToResponseDTO)
@@ -103,6 +104,7 @@ public class SupplierService {
     /**
      * Get supplier by ID.
      */
+    @Transactional(readOnly = true)
     public SupplierResponseDTO getSupplierById(Long supplierId) {
         Supplier supplier = supplierRepository.findById(supplierId)
                 .orElseThrow(() -> new IllegalArgumentException("Supplier not found with ID: " + supplierId));
@@ -112,6 +114,7 @@ public class SupplierService {
     /**
      * Get suppliers by status (PENDING, ACTIVE, REJECTED, SUSPENDED).
      */
+    @Transactional(readOnly = true)
     public List<SupplierResponseDTO> getSuppliersByStatus(String status) {
         return supplierRepository.findByStatus(status).stream()
                 .map(this::mapToResponseDTO)
@@ -1,5 +1,7 @@
 package com.ecommerce.supplychain.tracking.service;
 
+import com.ecommerce.supplychain.exception.dto.ExceptionSignalDTO;
+import com.ecommerce.supplychain.exception.service.ExceptionTriagePipeline;
 import com.ecommerce.supplychain.tracking.dto.*;
 import com.ecommerce.supplychain.tracking.model.TrackingEvent;
 import com.ecommerce.supplychain.tracking.model.DeliveryStatus;
@@ -20,6 +22,9 @@ public class TrackingService {
     @Autowired
     private TrackingEventRepository trackingEventRepository;
 
+    @Autowired
+    private ExceptionTriagePipeline exceptionTriagePipeline;
+
     /**
      * API 1: Add tracking event for a shipment
      */
@@ -50,12 +55,30 @@ public class TrackingService {
         // Update delivery status (this would be a separate entity in real implementation)
         updateDeliveryStatus(trackingDTO);
 
+        // Exception events feed the triage pipeline, which merges repeats per tracking number
+        if ("EXCEPTION".equals(savedEvent.getEventType())) {
+            exceptionTriagePipeline.submitAfterCommit(ExceptionSignalDTO.builder()
+                    .trackingNumber(savedEvent.getTrackingNumber())
+                    .shipmentId(savedEvent.getShipmentId())
+                    .orderId(savedEvent.getOrderId())
+                    .packageId(savedEvent.getPackageId())
+                    .carrierStatusCode(savedEvent.getCarrierStatusCode())
+                    .description(savedEvent.getCarrierStatusDescription() != null
+                            ? savedEvent.getCarrierStatusDescription() : savedEvent.getEventDescription())
+                    .location(savedEvent.getEventLocation())
+                    .carrier(savedEvent.getCarrier())
+                    .source("TRACKING_EVENT")
+                    .occurredAt(savedEvent.getEventTimestamp())
+                    .build());
+        }
+
         return mapToTrackingResponseDTO(savedEvent);
     }
 
     /**
      * API 2: Get tracking history for a shipment
      */
+    @Transactional(readOnly = true)
     public List<TrackingResponseDTO> getTrackingHistory(String trackingNumber) {
         List<TrackingEvent> events = trackingEventRepository.findByTrackingNumber(trackingNumber);
 
@@ -67,6 +90,7 @@ public class TrackingService {
     /**
      * Get delivery status by tracking number
      */
+    @Transactional(readOnly = true)
     public DeliveryStatusResponseDTO getDeliveryStatus(String trackingNumber) {
         // In a real implementation, this would query the DeliveryStatus entity
         // For now, we'll simulate it using tracking events
@@ -86,6 +110,7 @@ public class TrackingService {
     /**
      * Get tracking events by order ID
      */
+    @Transactional(readOnly = true)
     public List<TrackingResponseDTO> getTrackingByOrderId(Long orderId) {
         List<TrackingEvent> events = trackingEventRepository.findByOrderId(orderId);
 
@@ -97,6 +122,7 @@ public class TrackingService {
     /**
      * Get milestone events for tracking number
      */
+    @Transactional(readOnly = true)
     public List<TrackingResponseDTO> getMilestoneEvents(String trackingNumber) {
         List<TrackingEvent> milestoneEvents = trackingEventRepository.findMilestoneEventsByTrackingNumber(trackingNumber);
 
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -74,7 +75,10 @@ public class WarehouseController {
      * GET /api/warehouse/warehouses
      */
     @GetMapping("/warehouses")
-    public ResponseEntity<Map<String, Object>> getAllWarehouses() {
+    public ResponseEntity<Map<String, Object>> getAllWarehouses(WebRequest webRequest) {
+        if (warehouseService.getWarehousesVersion().checkNotModified(webRequest)) {
+            return null;
+        }
         List<WarehouseResponseDTO> warehouses = warehouseService.getAllWarehouses();
 
         Map<String, Object> response = new HashMap<>();
@@ -90,7 +94,10 @@ public class WarehouseController {
      * GET /api/warehouse/warehouses/{warehouseId}
      */
     @GetMapping("/warehouses/{warehouseId}")
-    public ResponseEntity<Map<String, Object>> getWarehouseById(@PathVariable Long warehouseId) {
+    public ResponseEntity<Map<String, Object>> getWarehouseById(@PathVariable Long warehouseId, WebRequest webRequest) {
+        if (warehouseService.getWarehouseVersion(warehouseId).checkNotModified(webRequest)) {
+            return null;
+        }
         try {
             WarehouseResponseDTO warehouse = warehouseService.getWarehouseById(warehouseId);
 
@@ -213,7 +220,11 @@ public class WarehouseController {
      */
     @GetMapping("/warehouses/available-capacity")
     public ResponseEntity<Map<String, Object>> getWarehousesWithAvailableCapacity(
-            @RequestParam(defaultValue = "100.0") Double minCapacity) {
+            @RequestParam(defaultValue = "100.0") Double minCapacity,
+            WebRequest webRequest) {
+        if (warehouseService.getWarehousesVersion().checkNotModified(webRequest)) {
+            return null;
+        }
         List<WarehouseResponseDTO> warehouses = warehouseService.getWarehousesWithAvailableCapacity(minCapacity);
 
         Map<String, Object> response = new HashMap<>();
@@ -197,7 +197,7 @@ public class ShelfLocation {
             this.availableUnits = this.maxCapacityUnits - this.currentUnits;
             this.currentWeightKg = Math.max(0, this.currentWeightKg - weight);
             this.lastPicked = LocalDateTime.now();
-            this.pickFrequency += 1;
+            this.pickFrequency = (pickFrequency != null ? pickFrequency : 0) + 1;
 
             if (this.currentUnits == 0) {
                 this.productId = null;
@@ -131,7 +131,7 @@ public class StorageZone {
     public void updateCapacity(Double additionalUsedSpace, Double additionalWeight) {
         this.usedCapacitySqft += additionalUsedSpace;
         this.availableCapacitySqft = this.totalCapacitySqft - this.usedCapacitySqft;
-        this.currentWeightKg += additionalWeight;
+        this.currentWeightKg = (currentWeightKg != null ? currentWeightKg : 0.0) + additionalWeight;
         calculateCapacityUtilization();
     }
 
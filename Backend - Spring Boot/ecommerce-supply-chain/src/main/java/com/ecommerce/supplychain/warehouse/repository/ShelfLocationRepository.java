@@ -1,7 +1,9 @@
 package com.ecommerce.supplychain.warehouse.repository;
 
 import com.ecommerce.supplychain.warehouse.model.ShelfLocation;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -45,4 +47,23 @@ public interface ShelfLocationRepository extends JpaRepository<ShelfLocation, Lo
 
     @Query("SELECT sl FROM ShelfLocation sl WHERE sl.occupancyRate <= :maxOccupancy AND sl.locationStatus = 'AVAILABLE'")
     List<ShelfLocation> findLowOccupancyShelves(@Param("maxOccupancy") Double maxOccupancy);
-}
\ No newline at end of file
+
+    @Query("SELECT sl FROM ShelfLocation sl JOIN FETCH sl.warehouse w WHERE w.isActive = true AND sl.productId IS NOT NULL AND sl.currentUnits > 0")
+    List<ShelfLocation> findStockedShelvesInActiveWarehouses();
+
+    @Query("SELECT sl FROM ShelfLocation sl JOIN FETCH sl.warehouse w WHERE w.warehouseId = :warehouseId AND w.isActive = true AND sl.productId IS NOT NULL AND sl.currentUnits > 0")
+    List<ShelfLocation> findStockedShelvesInWarehouse(@Param("warehouseId") Long warehouseId);
+
+    /**
+     * (shelfId, currentUnits, productName, productSku) of the warehouse's shelves holding the product, fullest first;
+     * read as values so units taken earlier in the same transaction are not served from managed entities
+     */
+    @Query("SELECT sl.shelfId, sl.currentUnits, sl.productName, sl.productSku FROM ShelfLocation sl WHERE sl.warehouse.warehouseId = :warehouseId " +
+            "AND sl.productId = :productId AND sl.currentUnits > 0 ORDER BY sl.currentUnits DESC")
+    List<Object[]> findStockedShelvesForProduct(@Param("warehouseId") Long warehouseId, @Param("productId") Long productId);
+
+    // Reservations and releases change a shelf under its row lock, so concurrent orders see each other's units
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sl FROM ShelfLocation sl WHERE sl.shelfId = :shelfId")
+    Optional<ShelfLocation> findByIdForUpdate(@Param("shelfId") Long shelfId);
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.supplychain.warehouse.repository;
 
+import com.ecommerce.supplychain.common.web.ResourceVersion;
 import com.ecommerce.supplychain.warehouse.model.Warehouse;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -40,4 +41,12 @@ public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
 
     @Query("SELECT w FROM Warehouse w WHERE w.warehouseName LIKE %:searchTerm% OR w.warehouseCode LIKE %:searchTerm%")
     List<Warehouse> searchWarehouses(@Param("searchTerm") String searchTerm);
+
+    @Query("SELECT new com.ecommerce.supplychain.common.web.ResourceVersion(COUNT(w), MAX(COALESCE(w.updatedAt, w.createdAt))) " +
+            "FROM Warehouse w")
+    ResourceVersion findWarehousesVersion();
+
+    @Query("SELECT new com.ecommerce.supplychain.common.web.ResourceVersion(COUNT(w), MAX(COALESCE(w.updatedAt, w.createdAt))) " +
+            "FROM Warehouse w WHERE w.warehouseId = :warehouseId")
+    ResourceVersion findVersionByWarehouseId(@Param("warehouseId") Long warehouseId);
 }
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.ecommerce.supplychain.warehouse.service;
+
+import com.ecommerce.supplychain.warehouse.model.ShelfLocation;
+import com.ecommerce.supplychain.warehouse.model.Warehouse;
+import com.ecommerce.supplychain.warehouse.repository.ShelfLocationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory per-warehouse stock snapshots used by order sourcing (Process 8).
+ * Snapshots are rebuilt from shelf locations in one query when they expire and
+ * individual warehouses are refreshed when their shelves change.
+ */
+@Service
+public class WarehouseAvailabilityCache {
+
+    @Autowired
+    private ShelfLocationRepository shelfLocationRepository;
+
+    @Value("${app.sourcing.snapshot-ttl-seconds:30}")
+    private long snapshotTtlSeconds;
+
+    private final Map<Long, WarehouseSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Set<Long> staleWarehouses = ConcurrentHashMap.newKeySet();
+    private volatile long loadedAtMillis;
+
+    /**
+     * Get availability snapshots for all active warehouses holding stock
+     */
+    public Collection<WarehouseSnapshot> getSnapshots() {
+        if (System.currentTimeMillis() - loadedAtMillis > snapshotTtlSeconds * 1000) {
+            reloadAll();
+        } else if (!staleWarehouses.isEmpty()) {
+            for (Long warehouseId : List.copyOf(staleWarehouses)) {
+                staleWarehouses.remove(warehouseId);
+                reloadWarehouse(warehouseId);
+            }
+        }
+        return Collections.unmodifiableCollection(snapshots.values());
+    }
+
+    /**
+     * Mark a warehouse snapshot as stale after its shelves changed.
+     * Inside a transaction the snapshot is only marked once the change is committed.
+     */
+    public void invalidate(Long warehouseId) {
+        if (warehouseId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    staleWarehouses.add(warehouseId);
+                }
+            });
+        } else {
+            staleWarehouses.add(warehouseId);
+        }
+    }
+
+    private synchronized void reloadAll() {
+        if (System.currentTimeMillis() - loadedAtMillis <= snapshotTtlSeconds * 1000) {
+            return;
+        }
+        Map<Long, WarehouseSnapshot> rebuilt = buildSnapshots(shelfLocationRepository.findStockedShelvesInActiveWarehouses());
+        snapshots.keySet().retainAll(rebuilt.keySet());
+        snapshots.putAll(rebuilt);
+        staleWarehouses.clear();
+        loadedAtMillis = System.currentTimeMillis();
+    }
+
+    private void reloadWarehouse(Long warehouseId) {
+        Map<Long, WarehouseSnapshot> rebuilt = buildSnapshots(shelfLocationRepository.findStockedShelvesInWarehouse(warehouseId));
+        WarehouseSnapshot snapshot = rebuilt.get(warehouseId);
+        if (snapshot != null) {
+            snapshots.put(warehouseId, snapshot);
+        } else {
+            snapshots.remove(warehouseId);
+        }
+    }
+
+    private Map<Long, WarehouseSnapshot> buildSnapshots(List<ShelfLocation> shelves) {
+        Map<Long, WarehouseSnapshot> result = new HashMap<>();
+        for (ShelfLocation shelf : shelves) {
+            Warehouse warehouse = shelf.getWarehouse();
+            WarehouseSnapshot snapshot = result.computeIfAbsent(warehouse.getWarehouseId(),
+                    id -> new WarehouseSnapshot(warehouse));
+            snapshot.addShelf(shelf.getProductId(), shelf.getShelfId(), shelf.getCurrentUnits());
+        }
+        return result;
+    }
+
+    /**
+     * Immutable view of one warehouse's location, capacity and per-product stock
+     */
+    public static class WarehouseSnapshot {
+        private final Long warehouseId;
+        private final String warehouseCode;
+        private final String warehouseName;
+        private final String city;
+        private final String state;
+        private final String country;
+        private final String postalCode;
+        private final double capacityUtilization;
+        private final Map<Long, ProductStock> stockByProduct = new HashMap<>();
+
+        WarehouseSnapshot(Warehouse warehouse) {
+            this.warehouseId = warehouse.getWarehouseId();
+            this.warehouseCode = warehouse.getWarehouseCode();
+            this.warehouseName = warehouse.getWarehouseName();
+            this.city = warehouse.getCity();
+            this.state = warehouse.getState();
+            this.country = warehouse.getCountry();
+            this.postalCode = warehouse.getPostalCode();
+            this.capacityUtilization = warehouse.getCapacityUtilization() != null ? warehouse.getCapacityUtilization() : 0.0;
+        }
+
+        private void addShelf(Long productId, Long shelfId, int units) {
+            stockByProduct.computeIfAbsent(productId, id -> new ProductStock()).add(shelfId, units);
+        }
+
+        public int getAvailableUnits(Long productId) {
+            ProductStock stock = stockByProduct.get(productId);
+            return stock != null ? stock.totalUnits : 0;
+        }
+
+        /**
+         * Shelf holding the most units of the product, used as the pick location
+         */
+        public Long getBestShelfId(Long productId) {
+            ProductStock stock = stockByProduct.get(productId);
+            return stock != null ? stock.bestShelfId : null;
+        }
+
+        public Long getWarehouseId() { return warehouseId; }
+        public String getWarehouseCode() { return warehouseCode; }
+        public String getWarehouseName() { return warehouseName; }
+        public String getCity() { return city; }
+        public String getState() { return state; }
+        public String getCountry() { return country; }
+        public String getPostalCode() { return postalCode; }
+        public double getCapacityUtilization() { return capacityUtilization; }
+    }
+
+    private static class ProductStock {
+        private int totalUnits;
+        private Long bestShelfId;
+        private int bestShelfUnits;
+
+        private void add(Long shelfId, int units) {
+            totalUnits += units;
+            if (units > bestShelfUnits) {
+                bestShelfUnits = units;
+                bestShelfId = shelfId;
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.supplychain.warehouse.service;
 
+import com.ecommerce.supplychain.common.web.ResourceVersion;
 import com.ecommerce.supplychain.warehouse.dto.*;
 import com.ecommerce.supplychain.warehouse.model.ShelfLocation;
 import com.ecommerce.supplychain.warehouse.model.StorageZone;
@@ -30,6 +31,9 @@ public class WarehouseService {
     @Autowired
     private StorageZoneRepository storageZoneRepository;
 
+    @Autowired
+    private WarehouseAvailabilityCache warehouseAvailabilityCache;
+
     /**
      * API 1: Create new warehouse
      */
@@ -104,13 +108,31 @@ public class WarehouseService {
         updateParentCapacities(shelf, placementDTO.getQuantity(), totalWeight);
 
         ShelfLocation updatedShelf = shelfLocationRepository.save(shelf);
+        warehouseAvailabilityCache.invalidate(updatedShelf.getWarehouse().getWarehouseId());
 
         return mapToShelfLocationResponseDTO(updatedShelf);
     }
 
+    /**
+     * Version of the warehouse list for conditional GETs
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getWarehousesVersion() {
+        return warehouseRepository.findWarehousesVersion();
+    }
+
+    /**
+     * Version of a single warehouse for conditional GETs
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getWarehouseVersion(Long warehouseId) {
+        return warehouseRepository.findVersionByWarehouseId(warehouseId);
+    }
+
     /**
      * Get all warehouses
      */
+    @Transactional(readOnly = true)
     public List<WarehouseResponseDTO> getAllWarehouses() {
         return warehouseRepository.findAll().stream()
                 .map(this::mapToWarehouseResponseDTO)
@@ -120,6 +142,7 @@ public class WarehouseService {
     /**
      * Get warehouse by ID
      */
+    @Transactional(readOnly = true)
     public WarehouseResponseDTO getWarehouseById(Long warehouseId) {
         Warehouse warehouse = warehouseRepository.findById(warehouseId)
                 .orElseThrow(() -> new IllegalArgumentException("Warehouse not found with ID: " + warehouseId));
@@ -129,6 +152,7 @@ public class WarehouseService {
     /**
      * Get shelf location by ID
      */
+    @Transactional(readOnly = true)
     public ShelfLocationResponseDTO getShelfLocationById(Long shelfId) {
         ShelfLocation shelf = shelfLocationRepository.findById(shelfId)
                 .orElseThrow(() -> new IllegalArgumentException("Shelf location not found with ID: " + shelfId));
@@ -138,6 +162,7 @@ public class WarehouseService {
     /**
      * Get all shelf locations in warehouse
      */
+    @Transactional(readOnly = true)
     public List<ShelfLocationResponseDTO> getShelfLocationsByWarehouse(Long warehouseId) {
         return shelfLocationRepository.findByWarehouse_WarehouseId(warehouseId).stream()
                 .map(this::mapToShelfLocationResponseDTO)
@@ -147,6 +172,7 @@ public class WarehouseService {
     /**
      * Get available shelf locations with capacity
      */
+    @Transactional(readOnly = true)
     public List<ShelfLocationResponseDTO> getAvailableShelvesWithCapacity(Integer minUnits) {
         return shelfLocationRepository.findAvailableShelvesWithCapacity(minUnits).stream()
                 .map(this::mapToShelfLocationResponseDTO)
@@ -156,6 +182,7 @@ public class WarehouseService {
     /**
      * Get shelves containing specific product
      */
+    @Transactional(readOnly = true)
     public List<ShelfLocationResponseDTO> getShelvesWithProduct(Long productId) {
         return shelfLocationRepository.findShelvesWithProduct(productId).stream()
                 .map(this::mapToShelfLocationResponseDTO)
@@ -202,13 +229,56 @@ public class WarehouseService {
         updateParentCapacities(shelf, -quantity, -totalWeight);
 
         ShelfLocation updatedShelf = shelfLocationRepository.save(shelf);
+        warehouseAvailabilityCache.invalidate(updatedShelf.getWarehouse().getWarehouseId());
 
         return mapToShelfLocationResponseDTO(updatedShelf);
     }
 
+    /**
+     * Take units of a product off a shelf for an order, under the shelf's row lock. Weight, occupancy and the
+     * warehouse and zone capacities change as in removeProductFromShelf, at the shelf's average unit weight.
+     * Returns the weight taken, or null when the shelf no longer holds the units.
+     */
+    @Transactional
+    public Double reserveUnits(Long shelfId, Long productId, int units) {
+        ShelfLocation shelf = shelfLocationRepository.findByIdForUpdate(shelfId)
+                .orElseThrow(() -> new IllegalArgumentException("Shelf location not found with ID: " + shelfId));
+        if (!productId.equals(shelf.getProductId()) || shelf.getCurrentUnits() < units) {
+            return null;
+        }
+
+        Double totalWeight = shelf.getCurrentUnits() == units
+                ? shelf.getCurrentWeightKg()
+                : shelf.getCurrentWeightKg() * units / shelf.getCurrentUnits();
+        shelf.removeUnits(units, totalWeight);
+        updateParentCapacities(shelf, -units, -totalWeight);
+        return totalWeight;
+    }
+
+    /**
+     * Put units reserved by an order back on their shelf, under the shelf's row lock. Returns false when
+     * the shelf now holds another product or lacks the room, leaving the units for a manual put-away.
+     */
+    @Transactional
+    public boolean releaseUnits(Long shelfId, Long productId, String productName, String productSku, int units, Double weight) {
+        ShelfLocation shelf = shelfLocationRepository.findByIdForUpdate(shelfId)
+                .orElseThrow(() -> new IllegalArgumentException("Shelf location not found with ID: " + shelfId));
+        if (shelf.getProductId() != null && !productId.equals(shelf.getProductId())) {
+            return false;
+        }
+        String name = shelf.getProductId() != null ? shelf.getProductName() : productName;
+        String sku = shelf.getProductId() != null ? shelf.getProductSku() : productSku;
+        if (!shelf.addUnits(units, weight, productId, name, sku)) {
+            return false;
+        }
+        updateParentCapacities(shelf, units, weight);
+        return true;
+    }
+
     /**
      * Get warehouses with available capacity
      */
+    @Transactional(readOnly = true)
     public List<WarehouseResponseDTO> getWarehousesWithAvailableCapacity(Double minCapacity) {
         return warehouseRepository.findByAvailableCapacity(minCapacity).stream()
                 .map(this::mapToWarehouseResponseDTO)
@@ -240,7 +310,7 @@ public class WarehouseService {
      */
     private WarehouseResponseDTO mapToWarehouseResponseDTO(Warehouse warehouse) {
         int availableShelves = warehouse.getShelfLocations().stream()
-                .filter(shelf -> !shelf.getIsOccupied())
+                .filter(shelf -> !Boolean.TRUE.equals(shelf.getIsOccupied()))
                 .mapToInt(shelf -> 1)
                 .sum();
 
@@ -0,0 +1,3 @@
+-- hbm2ddl named the unannotated product id column after the field; the entity now maps it
+-- to product_id explicitly, as in the documented schema and every other table's id column.
+ALTER TABLE products RENAME COLUMN productId TO product_id;
@@ -0,0 +1,31 @@
+-- Entity changes made between the hbm2ddl baseline and the first migrations: the sourcing
+-- warehouse per order line, the order status history and the geocode cache.
+
+ALTER TABLE order_items ADD COLUMN source_warehouse_id BIGINT;
+
+CREATE TABLE geocode_locations (
+    geocode_id BIGINT NOT NULL AUTO_INCREMENT,
+    address_key VARCHAR(500) NOT NULL,
+    latitude FLOAT(53) NOT NULL,
+    longitude FLOAT(53) NOT NULL,
+    source VARCHAR(50),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (geocode_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE order_status_history (
+    history_id BIGINT NOT NULL AUTO_INCREMENT,
+    order_id BIGINT NOT NULL,
+    from_status VARCHAR(50),
+    to_status VARCHAR(50) NOT NULL,
+    transition_source VARCHAR(20),
+    batch_id VARCHAR(36),
+    notes TEXT,
+    changed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (history_id)
+) ENGINE=InnoDB;
+
+ALTER TABLE geocode_locations ADD CONSTRAINT uk_geocode_locations_address_key UNIQUE (address_key);
+
+CREATE INDEX idx_order_status_history_order ON order_status_history (order_id, changed_at);
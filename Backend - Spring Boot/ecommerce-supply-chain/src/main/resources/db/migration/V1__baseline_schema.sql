@@ -0,0 +1,912 @@
+-- Baseline: the schema hbm2ddl created from the entities before migrations took over, including
+-- its generated constraint names. Databases it created are baselined at this version and receive
+-- V1_1 onwards. A database whose schema drifted from these entities (older builds, manual changes)
+-- must be dumped, recreated through the migrations and reloaded instead.
+
+CREATE TABLE contracts (
+    contract_id BIGINT NOT NULL AUTO_INCREMENT,
+    contract_number VARCHAR(50) NOT NULL,
+    supplier_id BIGINT NOT NULL,
+    contract_title VARCHAR(255) NOT NULL,
+    contract_type VARCHAR(50),
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    contract_value DECIMAL(15,2),
+    currency VARCHAR(10),
+    payment_terms VARCHAR(100),
+    renewal_terms TEXT,
+    status VARCHAR(50),
+    signed_date DATE,
+    notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (contract_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE customer_orders (
+    order_id BIGINT NOT NULL AUTO_INCREMENT,
+    order_number VARCHAR(50) NOT NULL,
+    customer_id BIGINT NOT NULL,
+    customer_name VARCHAR(255) NOT NULL,
+    customer_email VARCHAR(100) NOT NULL,
+    customer_phone VARCHAR(20),
+    shipping_address TEXT NOT NULL,
+    billing_address TEXT,
+    order_status VARCHAR(50) NOT NULL,
+    payment_status VARCHAR(50),
+    payment_method VARCHAR(50),
+    total_amount DECIMAL(12,2),
+    shipping_cost DECIMAL(8,2),
+    tax_amount DECIMAL(8,2),
+    discount_amount DECIMAL(8,2),
+    final_amount DECIMAL(12,2),
+    currency VARCHAR(3),
+    warehouse_id BIGINT,
+    priority_level VARCHAR(20),
+    estimated_delivery_date DATETIME(6),
+    actual_delivery_date DATETIME(6),
+    order_notes TEXT,
+    internal_notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    pick_list_id BIGINT,
+    shipment_id BIGINT,
+    quality_check_id BIGINT,
+    PRIMARY KEY (order_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE delivery_exceptions (
+    exception_id BIGINT NOT NULL AUTO_INCREMENT,
+    exception_number VARCHAR(50) NOT NULL,
+    tracking_number VARCHAR(100) NOT NULL,
+    shipment_id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    package_id BIGINT,
+    exception_type VARCHAR(50) NOT NULL,
+    exception_severity VARCHAR(20) NOT NULL,
+    exception_description TEXT NOT NULL,
+    exception_location VARCHAR(255),
+    exception_date DATETIME(6) NOT NULL,
+    reported_by VARCHAR(100),
+    carrier VARCHAR(100),
+    carrier_contact VARCHAR(255),
+    customer_contacted BIT,
+    customer_contact_date DATETIME(6),
+    customer_response VARCHAR(255),
+    estimated_resolution_date DATETIME(6),
+    assigned_to VARCHAR(100),
+    exception_status VARCHAR(50) NOT NULL,
+    priority_level VARCHAR(20),
+    requires_insurance_claim BIT,
+    insurance_claim_filed BIT,
+    claim_reference VARCHAR(100),
+    estimated_compensation_amount FLOAT(53),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (exception_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE delivery_status (
+    delivery_status_id BIGINT NOT NULL AUTO_INCREMENT,
+    tracking_number VARCHAR(100) NOT NULL,
+    shipment_id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    package_id BIGINT,
+    current_status VARCHAR(50) NOT NULL,
+    status_description VARCHAR(255),
+    last_updated DATETIME(6) NOT NULL,
+    last_location VARCHAR(255),
+    carrier VARCHAR(100),
+    service_type VARCHAR(50),
+    estimated_delivery DATETIME(6),
+    actual_delivery DATETIME(6),
+    signed_by VARCHAR(100),
+    delivery_attempts INTEGER,
+    is_delivered BIT,
+    is_exception BIT,
+    exception_reason VARCHAR(255),
+    exception_resolution VARCHAR(255),
+    customer_notified BIT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (delivery_status_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE demand_forecasts (
+    forecast_id BIGINT NOT NULL AUTO_INCREMENT,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    product_sku VARCHAR(50) NOT NULL,
+    forecast_period VARCHAR(20) NOT NULL,
+    forecast_date DATE NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    predicted_demand INTEGER NOT NULL,
+    confidence_level DECIMAL(5,2),
+    historical_accuracy DECIMAL(5,2),
+    seasonality_factor DECIMAL(5,2),
+    trend_factor DECIMAL(5,2),
+    promotion_impact DECIMAL(5,2),
+    base_demand INTEGER NOT NULL,
+    adjusted_demand INTEGER,
+    forecast_method VARCHAR(50),
+    forecast_status VARCHAR(50),
+    actual_demand INTEGER,
+    forecast_error INTEGER,
+    mean_absolute_error DECIMAL(10,2),
+    notes TEXT,
+    created_by VARCHAR(100),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (forecast_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE dispatch_schedules (
+    schedule_id BIGINT NOT NULL AUTO_INCREMENT,
+    shipment_id BIGINT NOT NULL,
+    schedule_type VARCHAR(50) NOT NULL,
+    scheduled_date_time DATETIME(6) NOT NULL,
+    actual_date_time DATETIME(6),
+    driver_name VARCHAR(100),
+    vehicle_number VARCHAR(50),
+    dispatch_status VARCHAR(50),
+    notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (schedule_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE exception_resolutions (
+    resolution_id BIGINT NOT NULL AUTO_INCREMENT,
+    exception_id BIGINT NOT NULL,
+    resolution_type VARCHAR(50) NOT NULL,
+    resolution_description TEXT NOT NULL,
+    action_taken TEXT,
+    resolution_date DATETIME(6),
+    resolved_by VARCHAR(100),
+    customer_satisfaction_rating INTEGER,
+    compensation_amount FLOAT(53),
+    compensation_approved_by VARCHAR(100),
+    reshipment_tracking_number VARCHAR(100),
+    reshipment_date DATETIME(6),
+    additional_notes TEXT,
+    resolution_duration_hours INTEGER,
+    cost_incurred FLOAT(53),
+    root_cause_analysis TEXT,
+    preventive_measures TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (resolution_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE goods_receipts (
+    receipt_id BIGINT NOT NULL AUTO_INCREMENT,
+    receipt_number VARCHAR(50) NOT NULL,
+    po_id BIGINT NOT NULL,
+    po_number VARCHAR(50),
+    supplier_id BIGINT NOT NULL,
+    receipt_date DATE NOT NULL,
+    received_by VARCHAR(100) NOT NULL,
+    warehouse_location VARCHAR(100),
+    delivery_note_number VARCHAR(50),
+    vehicle_number VARCHAR(50),
+    status VARCHAR(50),
+    total_items_ordered INTEGER,
+    total_items_received INTEGER,
+    discrepancy_found BIT,
+    notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (receipt_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE inspection_records (
+    inspection_id BIGINT NOT NULL AUTO_INCREMENT,
+    receipt_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    product_sku VARCHAR(50),
+    ordered_quantity INTEGER NOT NULL,
+    received_quantity INTEGER NOT NULL,
+    accepted_quantity INTEGER,
+    rejected_quantity INTEGER,
+    damaged_quantity INTEGER,
+    inspection_status VARCHAR(50),
+    quality_rating INTEGER,
+    defect_type VARCHAR(100),
+    batch_number VARCHAR(50),
+    expiry_date DATE,
+    inspector_name VARCHAR(100) NOT NULL,
+    inspection_date DATETIME(6),
+    inspection_notes TEXT,
+    photo_url VARCHAR(500),
+    action_taken VARCHAR(100),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (inspection_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE inventory_discrepancies (
+    discrepancy_id BIGINT NOT NULL AUTO_INCREMENT,
+    report_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    product_sku VARCHAR(50) NOT NULL,
+    warehouse_id BIGINT NOT NULL,
+    shelf_location_id BIGINT,
+    location_code VARCHAR(50),
+    expected_quantity INTEGER NOT NULL,
+    actual_quantity INTEGER NOT NULL,
+    variance_quantity INTEGER NOT NULL,
+    variance_value FLOAT(53) NOT NULL,
+    unit_cost FLOAT(53) NOT NULL,
+    discrepancy_severity VARCHAR(20),
+    discrepancy_category VARCHAR(50),
+    root_cause VARCHAR(255),
+    corrective_action TEXT,
+    assigned_to VARCHAR(100),
+    resolution_status VARCHAR(50),
+    resolution_date DATETIME(6),
+    resolved_by VARCHAR(100),
+    resolution_notes TEXT,
+    is_adjusted_in_system BIT,
+    system_adjustment_date DATETIME(6),
+    adjusted_by VARCHAR(100),
+    notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    variance_type VARCHAR(255),
+    PRIMARY KEY (discrepancy_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE inventory_monitoring (
+    inventory_id BIGINT NOT NULL AUTO_INCREMENT,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    product_sku VARCHAR(50) NOT NULL,
+    current_stock INTEGER NOT NULL,
+    reserved_stock INTEGER,
+    available_stock INTEGER NOT NULL,
+    minimum_stock_level INTEGER NOT NULL,
+    maximum_stock_level INTEGER,
+    reorder_point INTEGER NOT NULL,
+    stock_value FLOAT(53),
+    stock_turnover_rate FLOAT(53),
+    days_of_supply INTEGER,
+    stock_status VARCHAR(50),
+    last_restocked_date DATETIME(6),
+    last_sold_date DATETIME(6),
+    movement_frequency VARCHAR(50),
+    is_monitored BIT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (inventory_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE order_items (
+    order_item_id BIGINT NOT NULL AUTO_INCREMENT,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    product_sku VARCHAR(50) NOT NULL,
+    quantity INTEGER NOT NULL,
+    unit_price DECIMAL(10,2) NOT NULL,
+    total_price DECIMAL(10,2),
+    weight_kg DECIMAL(8,3),
+    is_fragile BIT,
+    requires_quality_check BIT,
+    category VARCHAR(100),
+    brand VARCHAR(100),
+    item_notes TEXT,
+    inventory_id BIGINT,
+    shelf_location_id BIGINT,
+    PRIMARY KEY (order_item_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE package_items (
+    package_item_id BIGINT NOT NULL AUTO_INCREMENT,
+    package_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    product_sku VARCHAR(50) NOT NULL,
+    quantity INTEGER NOT NULL,
+    weight_kg DECIMAL(8,2) NOT NULL,
+    unit_price DECIMAL(10,2),
+    is_fragile BIT,
+    requires_special_handling BIT,
+    item_notes TEXT,
+    PRIMARY KEY (package_item_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE packages (
+    package_id BIGINT NOT NULL AUTO_INCREMENT,
+    tracking_number VARCHAR(100) NOT NULL,
+    order_id BIGINT NOT NULL,
+    order_number VARCHAR(50) NOT NULL,
+    pick_list_id BIGINT NOT NULL,
+    warehouse_id BIGINT NOT NULL,
+    package_type VARCHAR(50),
+    package_size VARCHAR(50),
+    weight_kg DECIMAL(8,2),
+    dimensions VARCHAR(100),
+    package_status VARCHAR(50),
+    packed_by VARCHAR(100),
+    packed_at DATETIME(6),
+    carrier VARCHAR(100),
+    service_type VARCHAR(100),
+    shipping_cost DECIMAL(10,2),
+    insurance_amount DECIMAL(10,2),
+    requires_signature BIT,
+    is_fragile BIT,
+    is_hazardous BIT,
+    temperature_control VARCHAR(50),
+    customs_declaration_required BIT,
+    package_notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (package_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE pick_list_items (
+    pick_item_id BIGINT NOT NULL AUTO_INCREMENT,
+    pick_list_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    product_sku VARCHAR(50) NOT NULL,
+    shelf_location_id BIGINT NOT NULL,
+    location_code VARCHAR(50) NOT NULL,
+    required_quantity INTEGER NOT NULL,
+    picked_quantity INTEGER,
+    is_picked BIT,
+    pick_sequence INTEGER,
+    zone_code VARCHAR(20),
+    aisle_number VARCHAR(10),
+    weight_per_unit_kg FLOAT(53),
+    pick_notes TEXT,
+    picked_at DATETIME(6),
+    PRIMARY KEY (pick_item_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE pick_lists (
+    pick_list_id BIGINT NOT NULL AUTO_INCREMENT,
+    pick_list_number VARCHAR(50) NOT NULL,
+    order_id BIGINT NOT NULL,
+    order_number VARCHAR(50) NOT NULL,
+    warehouse_id BIGINT NOT NULL,
+    warehouse_name VARCHAR(255),
+    assigned_to VARCHAR(100),
+    priority_level VARCHAR(20),
+    pick_status VARCHAR(50),
+    total_items INTEGER,
+    picked_items INTEGER,
+    remaining_items INTEGER,
+    estimated_pick_time_minutes INTEGER,
+    actual_pick_time_minutes INTEGER,
+    pick_route_optimized BIT,
+    zone_sequence VARCHAR(255),
+    started_at DATETIME(6),
+    completed_at DATETIME(6),
+    pick_notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (pick_list_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE products (
+    productId BIGINT NOT NULL AUTO_INCREMENT,
+    product_name VARCHAR(255) NOT NULL,
+    product_sku VARCHAR(255) NOT NULL,
+    description TEXT,
+    category VARCHAR(255) NOT NULL,
+    brand VARCHAR(255),
+    supplier_id BIGINT,
+    cost_price DECIMAL(38,2),
+    selling_price DECIMAL(38,2),
+    current_stock INTEGER,
+    minimum_stock_level INTEGER,
+    maximum_stock_level INTEGER,
+    reorder_point INTEGER,
+    weight FLOAT(53),
+    dimensions VARCHAR(255),
+    unit_of_measurement VARCHAR(255),
+    barcode VARCHAR(255),
+    image_url VARCHAR(255),
+    is_active BIT,
+    status VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    last_stock_update DATETIME(6),
+    PRIMARY KEY (productId)
+) ENGINE=InnoDB;
+
+CREATE TABLE purchase_order_items (
+    item_id BIGINT NOT NULL AUTO_INCREMENT,
+    po_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    product_sku VARCHAR(50),
+    quantity INTEGER NOT NULL,
+    received_quantity INTEGER,
+    unit_price DECIMAL(12,2) NOT NULL,
+    line_total DECIMAL(15,2),
+    tax_rate DECIMAL(5,2),
+    discount_rate DECIMAL(5,2),
+    unit_of_measurement VARCHAR(20),
+    notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (item_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE purchase_orders (
+    po_id BIGINT NOT NULL AUTO_INCREMENT,
+    po_number VARCHAR(50) NOT NULL,
+    supplier_id BIGINT NOT NULL,
+    contract_id BIGINT,
+    order_date DATE NOT NULL,
+    expected_delivery_date DATE,
+    actual_delivery_date DATE,
+    status VARCHAR(50),
+    total_amount DECIMAL(15,2),
+    tax_amount DECIMAL(15,2),
+    discount_amount DECIMAL(15,2),
+    final_amount DECIMAL(15,2),
+    currency VARCHAR(10),
+    payment_terms VARCHAR(100),
+    delivery_address TEXT,
+    requested_by VARCHAR(100),
+    approved_by VARCHAR(100),
+    approval_date DATE,
+    notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (po_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE quality_checks (
+    check_id BIGINT NOT NULL AUTO_INCREMENT,
+    check_number VARCHAR(50) NOT NULL,
+    package_id BIGINT NOT NULL,
+    tracking_number VARCHAR(100) NOT NULL,
+    order_id BIGINT NOT NULL,
+    order_number VARCHAR(50) NOT NULL,
+    warehouse_id BIGINT NOT NULL,
+    check_type VARCHAR(50) NOT NULL,
+    inspector_name VARCHAR(100) NOT NULL,
+    check_status VARCHAR(50),
+    overall_result VARCHAR(20),
+    score_percentage FLOAT(53),
+    package_integrity_score INTEGER,
+    content_accuracy_score INTEGER,
+    label_accuracy_score INTEGER,
+    weight_accuracy_score INTEGER,
+    safety_compliance_score INTEGER,
+    is_package_damaged BIT,
+    is_content_correct BIT,
+    is_weight_accurate BIT,
+    are_labels_correct BIT,
+    is_hazardous_compliant BIT,
+    issues_found TEXT,
+    corrective_actions TEXT,
+    recheck_required BIT,
+    recheck_notes TEXT,
+    approved_for_shipment BIT,
+    check_notes TEXT,
+    started_at DATETIME(6),
+    completed_at DATETIME(6),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (check_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE quality_standards (
+    standard_id BIGINT NOT NULL AUTO_INCREMENT,
+    standard_code VARCHAR(50) NOT NULL,
+    standard_name VARCHAR(255) NOT NULL,
+    check_type VARCHAR(50) NOT NULL,
+    product_category VARCHAR(100),
+    minimum_score INTEGER NOT NULL,
+    target_score INTEGER NOT NULL,
+    weight_tolerance_percentage FLOAT(53),
+    dimension_tolerance_percentage FLOAT(53),
+    required_documentation TEXT,
+    safety_requirements TEXT,
+    packaging_requirements TEXT,
+    labeling_requirements TEXT,
+    testing_procedures TEXT,
+    is_active BIT,
+    version VARCHAR(20),
+    effective_date DATETIME(6),
+    expiry_date DATETIME(6),
+    created_by VARCHAR(100),
+    notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (standard_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE reconciliation_reports (
+    report_id BIGINT NOT NULL AUTO_INCREMENT,
+    report_number VARCHAR(50) NOT NULL,
+    report_type VARCHAR(50) NOT NULL,
+    warehouse_id BIGINT NOT NULL,
+    warehouse_name VARCHAR(255),
+    report_period_start DATETIME(6) NOT NULL,
+    report_period_end DATETIME(6) NOT NULL,
+    conducted_by VARCHAR(100),
+    conducted_date DATETIME(6) NOT NULL,
+    total_products_counted INTEGER,
+    total_sku_counted INTEGER,
+    total_expected_quantity INTEGER,
+    total_actual_quantity INTEGER,
+    total_discrepancies_found INTEGER,
+    discrepancy_value FLOAT(53),
+    accuracy_rate FLOAT(53),
+    variance_rate FLOAT(53),
+    report_status VARCHAR(50) NOT NULL,
+    reviewed_by VARCHAR(100),
+    reviewed_date DATETIME(6),
+    approval_status VARCHAR(50),
+    approved_by VARCHAR(100),
+    approved_date DATETIME(6),
+    summary_findings TEXT,
+    corrective_actions TEXT,
+    preventive_measures TEXT,
+    notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (report_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE reorder_plans (
+    plan_id BIGINT NOT NULL AUTO_INCREMENT,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    product_sku VARCHAR(50) NOT NULL,
+    forecast_id BIGINT,
+    current_stock INTEGER NOT NULL,
+    safety_stock INTEGER NOT NULL,
+    lead_time_days INTEGER NOT NULL,
+    daily_demand_rate INTEGER NOT NULL,
+    reorder_point INTEGER NOT NULL,
+    economic_order_quantity INTEGER,
+    recommended_order_quantity INTEGER NOT NULL,
+    order_urgency VARCHAR(50),
+    expected_stockout_date DATE,
+    suggested_order_date DATE NOT NULL,
+    expected_delivery_date DATE,
+    estimated_cost DECIMAL(15,2),
+    supplier_id BIGINT,
+    supplier_name VARCHAR(255),
+    plan_status VARCHAR(50),
+    converted_to_po BIT,
+    purchase_order_id BIGINT,
+    conversion_date DATETIME(6),
+    stockout_risk_level VARCHAR(20),
+    service_level_target DECIMAL(5,2),
+    calculated_service_level DECIMAL(5,2),
+    notes TEXT,
+    created_by VARCHAR(100),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (plan_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE restock_records (
+    restock_id BIGINT NOT NULL AUTO_INCREMENT,
+    return_order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    product_sku VARCHAR(50) NOT NULL,
+    warehouse_id BIGINT NOT NULL,
+    shelf_location_id BIGINT,
+    location_code VARCHAR(50),
+    restock_quantity INTEGER NOT NULL,
+    restock_date DATETIME(6) NOT NULL,
+    restocked_by VARCHAR(100),
+    item_condition VARCHAR(50),
+    quality_grade VARCHAR(20),
+    original_cost FLOAT(53),
+    current_value FLOAT(53),
+    value_adjustment_reason VARCHAR(255),
+    requires_repair BIT,
+    repair_notes TEXT,
+    is_sellable BIT,
+    sellable_quantity INTEGER,
+    restock_notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (restock_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE return_items (
+    return_item_id BIGINT NOT NULL AUTO_INCREMENT,
+    return_order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    product_sku VARCHAR(50) NOT NULL,
+    original_order_item_id BIGINT NOT NULL,
+    return_quantity INTEGER NOT NULL,
+    original_quantity INTEGER NOT NULL,
+    unit_price FLOAT(53) NOT NULL,
+    return_reason VARCHAR(100),
+    item_condition VARCHAR(50),
+    is_restockable BIT,
+    restock_quantity INTEGER,
+    quality_notes TEXT,
+    PRIMARY KEY (return_item_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE return_orders (
+    return_order_id BIGINT NOT NULL AUTO_INCREMENT,
+    return_number VARCHAR(50) NOT NULL,
+    order_id BIGINT NOT NULL,
+    order_number VARCHAR(50) NOT NULL,
+    customer_id BIGINT NOT NULL,
+    customer_name VARCHAR(255),
+    customer_email VARCHAR(100),
+    return_reason VARCHAR(100) NOT NULL,
+    return_description TEXT,
+    return_type VARCHAR(50) NOT NULL,
+    return_status VARCHAR(50) NOT NULL,
+    request_date DATETIME(6) NOT NULL,
+    approval_date DATETIME(6),
+    approved_by VARCHAR(100),
+    rejection_reason TEXT,
+    pickup_required BIT,
+    pickup_scheduled_date DATETIME(6),
+    pickup_completed_date DATETIME(6),
+    carrier_for_return VARCHAR(100),
+    return_tracking_number VARCHAR(100),
+    warehouse_id BIGINT,
+    refund_amount FLOAT(53),
+    refund_method VARCHAR(50),
+    refund_status VARCHAR(50),
+    exchange_order_id BIGINT,
+    store_credit_amount FLOAT(53),
+    restocking_fee FLOAT(53),
+    shipping_cost_refund FLOAT(53),
+    total_refund_amount FLOAT(53),
+    quality_check_notes TEXT,
+    quality_grade VARCHAR(20),
+    is_restockable BIT,
+    customer_comments TEXT,
+    resolution_notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (return_order_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE shelf_locations (
+    shelf_id BIGINT NOT NULL AUTO_INCREMENT,
+    warehouse_id BIGINT NOT NULL,
+    zone_id BIGINT,
+    location_code VARCHAR(50) NOT NULL,
+    aisle_number VARCHAR(10) NOT NULL,
+    shelf_number VARCHAR(10) NOT NULL,
+    level_number VARCHAR(10) NOT NULL,
+    bin_number VARCHAR(10),
+    location_type VARCHAR(50),
+    max_capacity_units INTEGER,
+    current_units INTEGER,
+    available_units INTEGER,
+    max_weight_kg FLOAT(53),
+    current_weight_kg FLOAT(53),
+    dimensions VARCHAR(100),
+    temperature_requirement VARCHAR(50),
+    is_occupied BIT,
+    occupancy_rate FLOAT(53),
+    product_id BIGINT,
+    product_name VARCHAR(255),
+    product_sku VARCHAR(50),
+    last_restocked DATETIME(6),
+    last_picked DATETIME(6),
+    pick_frequency INTEGER,
+    location_status VARCHAR(50),
+    notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (shelf_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE shipments (
+    shipment_id BIGINT NOT NULL AUTO_INCREMENT,
+    tracking_number VARCHAR(100) NOT NULL,
+    order_id BIGINT NOT NULL,
+    order_number VARCHAR(50) NOT NULL,
+    package_id BIGINT NOT NULL,
+    carrier VARCHAR(100) NOT NULL,
+    service_type VARCHAR(100) NOT NULL,
+    shipment_status VARCHAR(50),
+    shipment_date DATE,
+    estimated_delivery_date DATE,
+    actual_delivery_date DATE,
+    pickup_date DATE,
+    shipping_cost DECIMAL(10,2),
+    insurance_amount DECIMAL(10,2),
+    package_weight_kg DECIMAL(8,2),
+    package_dimensions VARCHAR(100),
+    origin_address TEXT,
+    destination_address TEXT NOT NULL,
+    recipient_name VARCHAR(255) NOT NULL,
+    recipient_phone VARCHAR(20),
+    recipient_email VARCHAR(100),
+    requires_signature BIT,
+    is_insured BIT,
+    is_fragile BIT,
+    special_instructions TEXT,
+    carrier_tracking_url VARCHAR(500),
+    notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (shipment_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE slas (
+    sla_id BIGINT NOT NULL AUTO_INCREMENT,
+    contract_id BIGINT NOT NULL,
+    metric_name VARCHAR(255) NOT NULL,
+    metric_description TEXT,
+    target_value VARCHAR(100),
+    measurement_unit VARCHAR(50),
+    minimum_acceptable VARCHAR(100),
+    penalty_clause TEXT,
+    monitoring_frequency VARCHAR(50),
+    status VARCHAR(50),
+    compliance_percentage FLOAT(53),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (sla_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE stock_alerts (
+    alert_id BIGINT NOT NULL AUTO_INCREMENT,
+    inventory_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    product_sku VARCHAR(50) NOT NULL,
+    alert_type VARCHAR(50) NOT NULL,
+    alert_level VARCHAR(20) NOT NULL,
+    current_stock INTEGER,
+    threshold_stock INTEGER,
+    message TEXT NOT NULL,
+    is_resolved BIT,
+    resolved_by VARCHAR(100),
+    resolution_notes TEXT,
+    resolved_at DATETIME(6),
+    suggested_action TEXT,
+    notification_sent BIT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (alert_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE storage_zones (
+    zone_id BIGINT NOT NULL AUTO_INCREMENT,
+    warehouse_id BIGINT NOT NULL,
+    zone_code VARCHAR(20) NOT NULL,
+    zone_name VARCHAR(255) NOT NULL,
+    zone_type VARCHAR(50) NOT NULL,
+    temperature_control VARCHAR(50),
+    total_capacity_sqft FLOAT(53) NOT NULL,
+    used_capacity_sqft FLOAT(53),
+    available_capacity_sqft FLOAT(53),
+    max_weight_capacity_kg FLOAT(53),
+    current_weight_kg FLOAT(53),
+    aisle_count INTEGER,
+    shelf_count INTEGER,
+    access_requirements VARCHAR(100),
+    zone_status VARCHAR(50),
+    capacity_utilization FLOAT(53),
+    notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (zone_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE suppliers (
+    supplier_id BIGINT NOT NULL AUTO_INCREMENT,
+    company_name VARCHAR(255) NOT NULL,
+    contact_person VARCHAR(100),
+    email VARCHAR(100) NOT NULL,
+    phone VARCHAR(20),
+    address TEXT,
+    city VARCHAR(100),
+    country VARCHAR(100),
+    tax_id VARCHAR(50),
+    business_license VARCHAR(100),
+    rating FLOAT(53),
+    status VARCHAR(50),
+    payment_terms VARCHAR(100),
+    registered_at DATETIME(6),
+    approved_at DATETIME(6),
+    notes TEXT,
+    PRIMARY KEY (supplier_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE tracking_events (
+    tracking_event_id BIGINT NOT NULL AUTO_INCREMENT,
+    tracking_number VARCHAR(100) NOT NULL,
+    shipment_id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    package_id BIGINT,
+    event_type VARCHAR(50) NOT NULL,
+    event_description VARCHAR(255) NOT NULL,
+    event_location VARCHAR(255),
+    event_timestamp DATETIME(6) NOT NULL,
+    carrier VARCHAR(100),
+    carrier_status_code VARCHAR(50),
+    carrier_status_description VARCHAR(255),
+    latitude FLOAT(53),
+    longitude FLOAT(53),
+    estimated_delivery DATETIME(6),
+    signed_by VARCHAR(100),
+    delivery_notes TEXT,
+    is_milestone BIT,
+    created_at DATETIME(6),
+    PRIMARY KEY (tracking_event_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE warehouses (
+    warehouse_id BIGINT NOT NULL AUTO_INCREMENT,
+    warehouse_code VARCHAR(20) NOT NULL,
+    warehouse_name VARCHAR(255) NOT NULL,
+    address TEXT NOT NULL,
+    city VARCHAR(100) NOT NULL,
+    state VARCHAR(100),
+    country VARCHAR(100) NOT NULL,
+    postal_code VARCHAR(20),
+    total_capacity_sqft FLOAT(53) NOT NULL,
+    used_capacity_sqft FLOAT(53),
+    available_capacity_sqft FLOAT(53),
+    total_shelves INTEGER,
+    occupied_shelves INTEGER,
+    temperature_zone VARCHAR(50),
+    warehouse_type VARCHAR(50),
+    is_active BIT,
+    manager_name VARCHAR(100),
+    contact_phone VARCHAR(20),
+    contact_email VARCHAR(100),
+    operating_hours VARCHAR(100),
+    capacity_utilization FLOAT(53),
+    notes TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (warehouse_id)
+) ENGINE=InnoDB;
+
+-- Natural keys
+ALTER TABLE contracts ADD CONSTRAINT UKbx9jyu2cccdntb3ehrf0ojpfd UNIQUE (contract_number);
+ALTER TABLE customer_orders ADD CONSTRAINT UKs4wt1sgd48rj6cgahwlksogx UNIQUE (order_number);
+ALTER TABLE delivery_exceptions ADD CONSTRAINT UKrx9gtdr7y2bk3kqi0a9tee7nd UNIQUE (exception_number);
+ALTER TABLE delivery_status ADD CONSTRAINT UKai8m4ynk8xjlsjjo5dgex40nq UNIQUE (tracking_number);
+ALTER TABLE exception_resolutions ADD CONSTRAINT UK7dsftrgh16wqvs58kvebip6or UNIQUE (exception_id);
+ALTER TABLE goods_receipts ADD CONSTRAINT UKmfasptxi0jgu968w81s5f89mg UNIQUE (receipt_number);
+ALTER TABLE inventory_monitoring ADD CONSTRAINT UK9e2fmvsojltuk1aiwbgv0d9yj UNIQUE (product_id);
+ALTER TABLE packages ADD CONSTRAINT UKeoq3w5c9d428h0jlkr2h9wa47 UNIQUE (tracking_number);
+ALTER TABLE pick_lists ADD CONSTRAINT UK7ipth6a44n677nqe4oyq8ik5a UNIQUE (pick_list_number);
+ALTER TABLE products ADD CONSTRAINT UKifvg6qjjgj4ie5k7oacs02rdw UNIQUE (product_sku);
+ALTER TABLE purchase_orders ADD CONSTRAINT UKpbiykvcpyg0jslne4gviyeuc2 UNIQUE (po_number);
+ALTER TABLE quality_checks ADD CONSTRAINT UKkic0lewmeohwnk85c8iuupmqb UNIQUE (check_number);
+ALTER TABLE quality_standards ADD CONSTRAINT UKlpc6k3sl5lxtvjl1thcnhsswn UNIQUE (standard_code);
+ALTER TABLE reconciliation_reports ADD CONSTRAINT UK24k4ygmd2mlubfpyx3kcf6jqk UNIQUE (report_number);
+ALTER TABLE return_orders ADD CONSTRAINT UK5g0dsl0dlw8ynte8dogx354f5 UNIQUE (return_number);
+ALTER TABLE shelf_locations ADD CONSTRAINT UK6559yu5lbisf4ahu2ajj4qr0u UNIQUE (location_code);
+ALTER TABLE shipments ADD CONSTRAINT UK2980t5kjkkrwnjhwvit59x61k UNIQUE (tracking_number);
+ALTER TABLE suppliers ADD CONSTRAINT UKq5uvp89ra4ksaty5ghyaw4kjr UNIQUE (email);
+ALTER TABLE warehouses ADD CONSTRAINT UK1bidj95gewy1e3q54xbdrxykv UNIQUE (warehouse_code);
+
+-- Parent/child links
+ALTER TABLE dispatch_schedules ADD CONSTRAINT FK5510mrdmk2xoofbd295fs33a4 FOREIGN KEY (shipment_id) REFERENCES shipments (shipment_id);
+ALTER TABLE exception_resolutions ADD CONSTRAINT FK2pr5o71d9wngn8rp2gpexgskx FOREIGN KEY (exception_id) REFERENCES delivery_exceptions (exception_id);
+ALTER TABLE inspection_records ADD CONSTRAINT FKtldj0i6h4bv8fn1sdhqntoec2 FOREIGN KEY (receipt_id) REFERENCES goods_receipts (receipt_id);
+ALTER TABLE inventory_discrepancies ADD CONSTRAINT FK18i3m4yb71b2mnjibmxbvi42g FOREIGN KEY (report_id) REFERENCES reconciliation_reports (report_id);
+ALTER TABLE order_items ADD CONSTRAINT FKb2vrrqy10nnyqhb5ergl5498r FOREIGN KEY (order_id) REFERENCES customer_orders (order_id);
+ALTER TABLE package_items ADD CONSTRAINT FKlk7ccw8ywkjidktb4627y7vbj FOREIGN KEY (package_id) REFERENCES packages (package_id);
+ALTER TABLE pick_list_items ADD CONSTRAINT FKbrvpvej8nqb0qkgimtxwqibx6 FOREIGN KEY (pick_list_id) REFERENCES pick_lists (pick_list_id);
+ALTER TABLE purchase_order_items ADD CONSTRAINT FK5y0w29ahv8gqn5hq6ug5f9u9o FOREIGN KEY (po_id) REFERENCES purchase_orders (po_id);
+ALTER TABLE restock_records ADD CONSTRAINT FKetj7p82d6v97q1t6sxmbrxv7x FOREIGN KEY (return_order_id) REFERENCES return_orders (return_order_id);
+ALTER TABLE return_items ADD CONSTRAINT FKtqlrdkarnsanj3537huxt6xy6 FOREIGN KEY (return_order_id) REFERENCES return_orders (return_order_id);
+ALTER TABLE shelf_locations ADD CONSTRAINT FKsc1a4ittjs1i2fbflw78vcq4e FOREIGN KEY (zone_id) REFERENCES storage_zones (zone_id);
+ALTER TABLE shelf_locations ADD CONSTRAINT FK9x68lk8qou76aytqy3sh7hop9 FOREIGN KEY (warehouse_id) REFERENCES warehouses (warehouse_id);
+ALTER TABLE storage_zones ADD CONSTRAINT FK1g9w3niy8spb6kn8mayuqkiuc FOREIGN KEY (warehouse_id) REFERENCES warehouses (warehouse_id);
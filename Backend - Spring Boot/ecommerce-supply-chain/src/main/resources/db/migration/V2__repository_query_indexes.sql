@@ -0,0 +1,78 @@
+-- Secondary indexes for the repository queries, chosen per table rather than per finder:
+--  * foreign and lookup keys that drive the per-entity reads (order, shipment, tracking number, product, PO);
+--  * one status + date composite per table for worklists over open items, where the status is skewed
+--    (few rows are open) and equality on it is followed by a range or sort on the date;
+--  * one time column where a table is read by date range.
+-- The unresolved flag on stock alerts is the alert's status and is treated as one: few alerts are open.
+-- Nothing leads with a flag or a small enum (type, severity, priority, level, rating, confidence):
+-- such a filter matches a large share of the table, MySQL would scan anyway, and every index costs
+-- a write on the hot insert tables. Queries filtering only on those columns are listed as accepted
+-- scans in RepositoryQueryPlanTest, which fails on any other full scan of these tables.
+
+-- Orders: OrderRepository, OrderItemRepository, OrderStatusHistoryRepository
+CREATE INDEX idx_customer_orders_customer ON customer_orders (customer_id);
+CREATE INDEX idx_customer_orders_email_created ON customer_orders (customer_email, created_at);
+CREATE INDEX idx_customer_orders_status_warehouse ON customer_orders (order_status, warehouse_id);
+CREATE INDEX idx_customer_orders_created ON customer_orders (created_at);
+CREATE INDEX idx_order_items_product ON order_items (product_id, quantity);
+CREATE INDEX idx_order_status_history_batch ON order_status_history (batch_id);
+
+-- Shipments and dispatch: ShipmentRepository, DispatchScheduleRepository
+CREATE INDEX idx_shipments_order ON shipments (order_id);
+CREATE INDEX idx_shipments_status_date ON shipments (shipment_status, shipment_date);
+CREATE INDEX idx_shipments_estimated_delivery ON shipments (estimated_delivery_date);
+CREATE INDEX idx_dispatch_schedules_vehicle ON dispatch_schedules (vehicle_number, dispatch_status, scheduled_date_time);
+CREATE INDEX idx_dispatch_schedules_scheduled ON dispatch_schedules (scheduled_date_time);
+
+-- Tracking: TrackingEventRepository (the busiest insert table, so lookups by parcel and order only)
+CREATE INDEX idx_tracking_events_tracking ON tracking_events (tracking_number, event_timestamp);
+CREATE INDEX idx_tracking_events_order ON tracking_events (order_id, event_timestamp);
+CREATE INDEX idx_tracking_events_shipment ON tracking_events (shipment_id);
+
+-- Delivery exceptions: DeliveryExceptionRepository
+CREATE INDEX idx_delivery_exceptions_tracking_status ON delivery_exceptions (tracking_number, exception_status);
+CREATE INDEX idx_delivery_exceptions_order ON delivery_exceptions (order_id);
+CREATE INDEX idx_delivery_exceptions_assigned_status ON delivery_exceptions (assigned_to, exception_status);
+CREATE INDEX idx_delivery_exceptions_status_date ON delivery_exceptions (exception_status, exception_date);
+
+-- Picking and packing: PickListRepository, PackageRepository
+CREATE INDEX idx_pick_lists_order ON pick_lists (order_id);
+CREATE INDEX idx_pick_lists_status_warehouse ON pick_lists (pick_status, warehouse_id);
+CREATE INDEX idx_packages_order_status ON packages (order_id, package_status);
+CREATE INDEX idx_packages_pick_list ON packages (pick_list_id);
+CREATE INDEX idx_packages_status_warehouse ON packages (package_status, warehouse_id);
+
+-- Returns: ReturnOrderRepository
+CREATE INDEX idx_return_orders_order_status ON return_orders (order_id, return_status);
+CREATE INDEX idx_return_orders_customer ON return_orders (customer_id);
+CREATE INDEX idx_return_orders_status_date ON return_orders (return_status, request_date);
+
+-- Catalog and stock: ProductRepository, InventoryRepository, StockAlertRepository
+-- (no index on stock levels: they change with every movement and the low-stock reports read the catalogue)
+CREATE INDEX idx_products_supplier ON products (supplier_id);
+CREATE INDEX idx_products_category ON products (category);
+CREATE INDEX idx_inventory_monitoring_sku ON inventory_monitoring (product_sku);
+CREATE INDEX idx_stock_alerts_product_resolved ON stock_alerts (product_id, is_resolved);
+CREATE INDEX idx_stock_alerts_resolved_created ON stock_alerts (is_resolved, created_at);
+
+-- Quality checks: QualityCheckRepository
+CREATE INDEX idx_quality_checks_package_status ON quality_checks (package_id, check_status);
+CREATE INDEX idx_quality_checks_order ON quality_checks (order_id);
+CREATE INDEX idx_quality_checks_status_created ON quality_checks (check_status, created_at);
+
+-- Procurement and receiving: PurchaseOrderRepository, GoodsReceiptRepository, InspectionRepository
+CREATE INDEX idx_purchase_orders_supplier ON purchase_orders (supplier_id);
+CREATE INDEX idx_purchase_orders_contract ON purchase_orders (contract_id);
+CREATE INDEX idx_purchase_orders_status_expected ON purchase_orders (status, expected_delivery_date);
+CREATE INDEX idx_purchase_orders_order_date ON purchase_orders (order_date);
+CREATE INDEX idx_goods_receipts_po ON goods_receipts (po_id);
+CREATE INDEX idx_goods_receipts_supplier ON goods_receipts (supplier_id);
+CREATE INDEX idx_goods_receipts_status_date ON goods_receipts (status, receipt_date);
+CREATE INDEX idx_inspection_records_product ON inspection_records (product_id);
+
+-- Forecasting: DemandForecastRepository, ReorderPlanRepository
+CREATE INDEX idx_demand_forecasts_product_period ON demand_forecasts (product_id, forecast_period, start_date);
+CREATE INDEX idx_reorder_plans_product_converted ON reorder_plans (product_id, converted_to_po);
+CREATE INDEX idx_reorder_plans_supplier ON reorder_plans (supplier_id);
+CREATE INDEX idx_reorder_plans_forecast ON reorder_plans (forecast_id);
+CREATE INDEX idx_reorder_plans_status_suggested ON reorder_plans (plan_status, suggested_order_date);
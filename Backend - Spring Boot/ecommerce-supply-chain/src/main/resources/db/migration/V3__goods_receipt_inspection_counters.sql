@@ -0,0 +1,17 @@
+-- Inspection outcome counters per goods receipt, kept by ReceivingService.performInspection
+-- so a scanned line updates the receipt without reading its other inspection records.
+-- Lines in any status other than PASSED, FAILED or CONDITIONAL count as pending.
+ALTER TABLE goods_receipts ADD COLUMN pending_inspections INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE goods_receipts ADD COLUMN passed_inspections INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE goods_receipts ADD COLUMN failed_inspections INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE goods_receipts ADD COLUMN conditional_inspections INTEGER NOT NULL DEFAULT 0;
+
+UPDATE goods_receipts SET
+    pending_inspections = (SELECT COUNT(*) FROM inspection_records ir WHERE ir.receipt_id = goods_receipts.receipt_id
+        AND COALESCE(ir.inspection_status, 'PENDING') NOT IN ('PASSED', 'FAILED', 'CONDITIONAL')),
+    passed_inspections = (SELECT COUNT(*) FROM inspection_records ir WHERE ir.receipt_id = goods_receipts.receipt_id
+        AND ir.inspection_status = 'PASSED'),
+    failed_inspections = (SELECT COUNT(*) FROM inspection_records ir WHERE ir.receipt_id = goods_receipts.receipt_id
+        AND ir.inspection_status = 'FAILED'),
+    conditional_inspections = (SELECT COUNT(*) FROM inspection_records ir WHERE ir.receipt_id = goods_receipts.receipt_id
+        AND ir.inspection_status = 'CONDITIONAL');
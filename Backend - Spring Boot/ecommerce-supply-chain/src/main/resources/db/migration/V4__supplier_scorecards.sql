@@ -0,0 +1,27 @@
+-- Daily supplier performance counters, one row per supplier and day, incremented by
+-- SupplierScorecardService as goods receipts and inspections are recorded. Scorecards
+-- for any rolling window sum the rows of that window; nothing is recomputed from history.
+CREATE TABLE supplier_scorecard_buckets (
+    bucket_id BIGINT NOT NULL AUTO_INCREMENT,
+    supplier_id BIGINT NOT NULL,
+    bucket_date DATE NOT NULL,
+    deliveries INTEGER NOT NULL DEFAULT 0,
+    on_time_deliveries INTEGER NOT NULL DEFAULT 0,
+    late_deliveries INTEGER NOT NULL DEFAULT 0,
+    discrepant_deliveries INTEGER NOT NULL DEFAULT 0,
+    units_ordered BIGINT NOT NULL DEFAULT 0,
+    units_received BIGINT NOT NULL DEFAULT 0,
+    units_inspected BIGINT NOT NULL DEFAULT 0,
+    units_defective BIGINT NOT NULL DEFAULT 0,
+    lead_time_days_total BIGINT NOT NULL DEFAULT 0,
+    lead_time_0_to_3_days INTEGER NOT NULL DEFAULT 0,
+    lead_time_4_to_7_days INTEGER NOT NULL DEFAULT 0,
+    lead_time_8_to_14_days INTEGER NOT NULL DEFAULT 0,
+    lead_time_15_to_30_days INTEGER NOT NULL DEFAULT 0,
+    lead_time_over_30_days INTEGER NOT NULL DEFAULT 0,
+    updated_at DATETIME(6),
+    PRIMARY KEY (bucket_id)
+) ENGINE=InnoDB;
+
+ALTER TABLE supplier_scorecard_buckets ADD CONSTRAINT uk_supplier_scorecard_buckets_supplier_date UNIQUE (supplier_id, bucket_date);
+CREATE INDEX idx_supplier_scorecard_buckets_date ON supplier_scorecard_buckets (bucket_date);
@@ -0,0 +1,25 @@
+-- SLAs bound to an operational metric are measured by SlaComplianceMonitor instead of by hand.
+-- metric_source names the event stream (PO_ON_TIME_DELIVERY, INSPECTION_PASS_RATE,
+-- SHIPMENT_DELIVERY_TIME); metric_scope narrows shipment SLAs to one carrier.
+ALTER TABLE slas ADD COLUMN metric_source VARCHAR(50);
+ALTER TABLE slas ADD COLUMN metric_scope VARCHAR(100);
+ALTER TABLE slas ADD COLUMN sample_count BIGINT;
+ALTER TABLE slas ADD COLUMN last_evaluated_at DATETIME(6);
+
+-- Checkpoint of the monitor's in-memory daily aggregates, one row per source, scope and day.
+-- The monitor reloads the rows of its longest window on startup instead of rescanning history.
+CREATE TABLE sla_metric_buckets (
+    bucket_id BIGINT NOT NULL AUTO_INCREMENT,
+    metric_source VARCHAR(50) NOT NULL,
+    scope_key VARCHAR(100) NOT NULL,
+    bucket_date DATE NOT NULL,
+    samples BIGINT NOT NULL DEFAULT 0,
+    passes BIGINT NOT NULL DEFAULT 0,
+    delivery_days_histogram VARCHAR(500),
+    updated_at DATETIME(6),
+    PRIMARY KEY (bucket_id)
+) ENGINE=InnoDB;
+
+ALTER TABLE sla_metric_buckets ADD CONSTRAINT uk_sla_metric_buckets_source_scope_date UNIQUE (metric_source, scope_key, bucket_date);
+CREATE INDEX idx_sla_metric_buckets_date ON sla_metric_buckets (bucket_date);
+CREATE INDEX idx_slas_metric_source ON slas (metric_source);
@@ -0,0 +1,40 @@
+-- Durable deadlines for DeadlineScheduler, one row per deadline type and subject.
+-- Rows due within the scheduler's horizon are held in its in-memory timing wheel; the rest are
+-- read by due time as the horizon moves, so nothing scans the subject tables for overdue rows.
+CREATE TABLE scheduled_deadlines (
+    deadline_id BIGINT NOT NULL AUTO_INCREMENT,
+    deadline_type VARCHAR(50) NOT NULL,
+    reference_id BIGINT NOT NULL,
+    due_at DATETIME(6) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    fired_at DATETIME(6),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (deadline_id)
+) ENGINE=InnoDB;
+
+ALTER TABLE scheduled_deadlines ADD CONSTRAINT uk_scheduled_deadlines_type_reference UNIQUE (deadline_type, reference_id);
+CREATE INDEX idx_scheduled_deadlines_status_due ON scheduled_deadlines (status, due_at);
+
+-- Deadlines for the rows that are already open; from here on the services register their own
+INSERT INTO scheduled_deadlines (deadline_type, reference_id, due_at, status, attempts, created_at, updated_at)
+SELECT 'CONTRACT_EXPIRY', contract_id, TIMESTAMPADD(DAY, 1, end_date), 'PENDING', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM contracts WHERE status = 'ACTIVE' AND end_date IS NOT NULL;
+
+INSERT INTO scheduled_deadlines (deadline_type, reference_id, due_at, status, attempts, created_at, updated_at)
+SELECT 'PO_DELIVERY_DUE', po_id, TIMESTAMPADD(DAY, 1, expected_delivery_date), 'PENDING', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM purchase_orders WHERE status IN ('APPROVED', 'SENT', 'PARTIALLY_RECEIVED') AND expected_delivery_date IS NOT NULL;
+
+INSERT INTO scheduled_deadlines (deadline_type, reference_id, due_at, status, attempts, created_at, updated_at)
+SELECT 'SHIPMENT_DELIVERY_DUE', shipment_id, TIMESTAMPADD(DAY, 1, estimated_delivery_date), 'PENDING', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM shipments WHERE shipment_status NOT IN ('DELIVERED', 'CANCELLED') AND estimated_delivery_date IS NOT NULL;
+
+INSERT INTO scheduled_deadlines (deadline_type, reference_id, due_at, status, attempts, created_at, updated_at)
+SELECT 'STOCK_ALERT_ESCALATION', alert_id, TIMESTAMPADD(HOUR, 24, created_at), 'PENDING', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM stock_alerts WHERE is_resolved = FALSE AND alert_level <> 'CRITICAL' AND created_at IS NOT NULL;
+
+INSERT INTO scheduled_deadlines (deadline_type, reference_id, due_at, status, attempts, created_at, updated_at)
+SELECT 'REORDER_STOCKOUT', plan_id, TIMESTAMPADD(DAY, 0, expected_stockout_date), 'PENDING', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM reorder_plans WHERE plan_status IN ('DRAFT', 'APPROVED') AND expected_stockout_date IS NOT NULL;
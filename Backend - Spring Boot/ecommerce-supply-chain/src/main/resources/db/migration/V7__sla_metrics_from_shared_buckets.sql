@@ -0,0 +1,10 @@
+-- SlaComplianceMonitor now measures supplier SLAs from supplier_scorecard_buckets, and only
+-- checkpoints shipment delivery times into sla_metric_buckets, adding to the day's row rather
+-- than overwriting it. The supplier rows written by the old checkpoint are no longer read.
+DELETE FROM sla_metric_buckets WHERE metric_source IN ('PO_ON_TIME_DELIVERY', 'INSPECTION_PASS_RATE');
+
+-- Each evaluation reads which buckets changed since the previous run, on any instance
+CREATE INDEX idx_sla_metric_buckets_updated ON sla_metric_buckets (updated_at);
+CREATE INDEX idx_supplier_scorecard_buckets_updated ON supplier_scorecard_buckets (updated_at);
+-- Buckets are no longer reloaded by date alone
+DROP INDEX idx_sla_metric_buckets_date ON sla_metric_buckets;
@@ -0,0 +1,3 @@
+-- When a goods receipt's quantities were posted to its purchase orders (ProcurementService.postReceipt).
+-- Set once under the receipt's row lock; a receipt with a posting time cannot be posted again.
+ALTER TABLE goods_receipts ADD COLUMN posted_at DATETIME(6);
@@ -0,0 +1,18 @@
+-- Units an order took off each shelf when it was sourced (OrderSourcingService.reserve), so a
+-- cancelled order can put them back on the shelves they came from. released_at is set once.
+CREATE TABLE order_shelf_reservations (
+    reservation_id BIGINT NOT NULL AUTO_INCREMENT,
+    order_id BIGINT NOT NULL,
+    warehouse_id BIGINT NOT NULL,
+    shelf_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255),
+    product_sku VARCHAR(50),
+    units INTEGER NOT NULL,
+    weight_kg FLOAT(53) NOT NULL,
+    reserved_at DATETIME(6) NOT NULL,
+    released_at DATETIME(6),
+    PRIMARY KEY (reservation_id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_order_shelf_reservations_order ON order_shelf_reservations (order_id);
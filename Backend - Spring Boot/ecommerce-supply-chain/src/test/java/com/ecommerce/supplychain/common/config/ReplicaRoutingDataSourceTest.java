@@ -0,0 +1,149 @@
+package com.ecommerce.supplychain.common.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replica selection against three in-memory H2 instances, a primary and two replicas, each
+ * answering the lag query from a one-row status table the test edits. Checks are run directly
+ * rather than waiting for the background schedule.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String STATUS_TABLE = "replica_status";
+
+    private final Map<String, JdbcDataSource> instances = new LinkedHashMap<>();
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void startInstances() throws SQLException {
+        for (String name : new String[] {"primary", "replica-1", "replica-2"}) {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+            execute(dataSource, "CREATE TABLE instance (name VARCHAR(20))");
+            execute(dataSource, "INSERT INTO instance VALUES ('" + name + "')");
+            execute(dataSource, "CREATE TABLE " + STATUS_TABLE + " (seconds_behind_source BIGINT)");
+            instances.put(name, dataSource);
+        }
+        setLag("replica-1", "0");
+        setLag("replica-2", "0");
+
+        ReadReplicaConfig config = new ReadReplicaConfig();
+        config.setMaxLagSeconds(5);
+        config.setCheckIntervalMillis(3_600_000);
+        config.setLagQuery("SELECT seconds_behind_source FROM " + STATUS_TABLE);
+        config.setLagColumn("SECONDS_BEHIND_SOURCE");
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", instances.get("replica-1"));
+        replicas.put("replica-2", instances.get("replica-2"));
+        routing = new ReplicaRoutingDataSource(instances.get("primary"), replicas, config);
+    }
+
+    @AfterEach
+    void stopInstances() throws SQLException {
+        routing.close();
+        for (JdbcDataSource dataSource : instances.values()) {
+            execute(dataSource, "SHUTDOWN");
+        }
+    }
+
+    @Test
+    void readsAreSpreadOverReplicasWithinTheLagLimit() throws SQLException {
+        routing.checkReplicas();
+
+        assertThat(servedBy(4)).containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    @Test
+    void replicaBeyondTheLagLimitIsSkipped() throws SQLException {
+        setLag("replica-2", "30");
+        routing.checkReplicas();
+
+        assertThat(servedBy(4)).containsExactly("replica-1");
+        assertThat(status("replica-2")).containsEntry("available", false).containsEntry("lagSeconds", 30L);
+    }
+
+    @Test
+    void replicaWithStoppedReplicationIsSkipped() throws SQLException {
+        setLag("replica-1", "NULL");
+        routing.checkReplicas();
+
+        assertThat(servedBy(4)).containsExactly("replica-2");
+        assertThat(status("replica-1")).containsEntry("available", false)
+                .containsEntry("error", "Replication is not running");
+    }
+
+    @Test
+    void instanceWithoutReplicationStatusIsSkipped() throws SQLException {
+        execute(instances.get("replica-1"), "DELETE FROM " + STATUS_TABLE);
+        routing.checkReplicas();
+
+        assertThat(servedBy(4)).containsExactly("replica-2");
+        assertThat(status("replica-1")).containsEntry("available", false);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenNoReplicaQualifies() throws SQLException {
+        setLag("replica-1", "NULL");
+        execute(instances.get("replica-2"), "DELETE FROM " + STATUS_TABLE);
+        routing.checkReplicas();
+
+        assertThat(servedBy(2)).containsExactly("primary");
+    }
+
+    @Test
+    void unreachableReplicaIsSkippedAndReturnsOnceItAnswers() throws SQLException {
+        execute(instances.get("replica-2"), "DROP TABLE " + STATUS_TABLE);
+        routing.checkReplicas();
+        assertThat(servedBy(4)).containsExactly("replica-1");
+
+        execute(instances.get("replica-2"), "CREATE TABLE " + STATUS_TABLE + " (seconds_behind_source BIGINT)");
+        setLag("replica-2", "1");
+        routing.checkReplicas();
+        assertThat(servedBy(4)).containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    private Set<String> servedBy(int reads) throws SQLException {
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < reads; i++) {
+            try (Connection connection = routing.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT name FROM instance")) {
+                resultSet.next();
+                names.add(resultSet.getString(1));
+            }
+        }
+        return names;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> status(String replica) {
+        return (Map<String, Object>) routing.getReplicaStatus().get(replica);
+    }
+
+    private void setLag(String replica, String seconds) throws SQLException {
+        execute(instances.get(replica), "DELETE FROM " + STATUS_TABLE);
+        execute(instances.get(replica), "INSERT INTO " + STATUS_TABLE + " VALUES (" + seconds + ")");
+    }
+
+    private static void execute(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.ecommerce.supplychain.common.scheduling;
+
+import com.ecommerce.supplychain.common.constants.DeadlineType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Firing and retrying against the embedded database. The background thread is off in tests, so
+ * each test drives the scheduler with tick(). Retries are due at once, so a failing deadline is
+ * retried within the same tick until it fires or runs out of attempts.
+ */
+@SpringBootTest(properties = "app.deadlines.retry-delay-seconds=0")
+@ActiveProfiles("test")
+class DeadlineSchedulerTest {
+
+    private static final String TEST_DEADLINE = "TEST_DEADLINE";
+
+    @Autowired
+    private DeadlineScheduler deadlineScheduler;
+
+    @Autowired
+    private ScheduledDeadlineRepository deadlineRepository;
+
+    @Autowired
+    private RecordingHandler handler;
+
+    @Test
+    void deadlineRescheduledAfterFiringFiresAgain() {
+        deadlineScheduler.schedule(TEST_DEADLINE, 101L, LocalDateTime.now().minusSeconds(1));
+        deadlineScheduler.tick();
+        assertThat(handler.calls(101L)).isEqualTo(1);
+        assertThat(deadline(101L).getStatus()).isEqualTo(DeadlineType.FIRED);
+
+        deadlineScheduler.schedule(TEST_DEADLINE, 101L, LocalDateTime.now().minusSeconds(1));
+        assertThat(deadline(101L).getStatus()).isEqualTo(DeadlineType.PENDING);
+        assertThat(deadline(101L).getAttempts()).isZero();
+        deadlineScheduler.tick();
+
+        assertThat(handler.calls(101L)).isEqualTo(2);
+        assertThat(deadline(101L).getStatus()).isEqualTo(DeadlineType.FIRED);
+    }
+
+    @Test
+    void deadlineRescheduledIntoTheFutureDoesNotFireOnItsOldTime() {
+        deadlineScheduler.schedule(TEST_DEADLINE, 102L, LocalDateTime.now().minusSeconds(1));
+        deadlineScheduler.tick();
+        deadlineScheduler.schedule(TEST_DEADLINE, 102L, LocalDateTime.now().plusHours(1));
+        deadlineScheduler.tick();
+
+        assertThat(handler.calls(102L)).isEqualTo(1);
+        assertThat(deadline(102L).getStatus()).isEqualTo(DeadlineType.PENDING);
+    }
+
+    @Test
+    void cancelledDeadlineDoesNotFire() {
+        deadlineScheduler.schedule(TEST_DEADLINE, 103L, LocalDateTime.now().minusSeconds(1));
+        deadlineScheduler.cancel(TEST_DEADLINE, 103L);
+        deadlineScheduler.tick();
+
+        assertThat(handler.calls(103L)).isZero();
+        assertThat(deadline(103L).getStatus()).isEqualTo(DeadlineType.CANCELLED);
+    }
+
+    @Test
+    void failedDeadlineIsRetriedUntilItFires() {
+        handler.failNext(104L, 2);
+        deadlineScheduler.schedule(TEST_DEADLINE, 104L, LocalDateTime.now().minusSeconds(1));
+        deadlineScheduler.tick();
+
+        ScheduledDeadline deadline = deadline(104L);
+        assertThat(handler.calls(104L)).isEqualTo(3);
+        assertThat(deadline.getStatus()).isEqualTo(DeadlineType.FIRED);
+        assertThat(deadline.getAttempts()).isEqualTo(3);
+        assertThat(deadline.getFiredAt()).isNotNull();
+    }
+
+    @Test
+    void deadlineFailingOnEveryAttemptStopsAtMaxAttempts() {
+        handler.failNext(105L, Integer.MAX_VALUE);
+        deadlineScheduler.schedule(TEST_DEADLINE, 105L, LocalDateTime.now().minusSeconds(1));
+        deadlineScheduler.tick();
+        deadlineScheduler.tick();
+
+        ScheduledDeadline deadline = deadline(105L);
+        assertThat(handler.calls(105L)).isEqualTo(3);
+        assertThat(deadline.getStatus()).isEqualTo(DeadlineType.FAILED);
+        assertThat(deadline.getAttempts()).isEqualTo(3);
+        assertThat(deadline.getLastError()).isEqualTo("handler failed for 105");
+        assertThat(deadline.getFiredAt()).isNull();
+    }
+
+    private ScheduledDeadline deadline(Long referenceId) {
+        return deadlineRepository.findAll().stream()
+                .filter(d -> TEST_DEADLINE.equals(d.getDeadlineType()) && referenceId.equals(d.getReferenceId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @TestConfiguration
+    static class HandlerConfig {
+
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+
+    /**
+     * Counts calls per subject and throws while a subject still has failures to use up
+     */
+    static class RecordingHandler implements DeadlineHandler {
+
+        private final Map<Long, AtomicInteger> calls = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicInteger> failures = new ConcurrentHashMap<>();
+
+        @Override
+        public String getDeadlineType() {
+            return TEST_DEADLINE;
+        }
+
+        @Override
+        public void onDeadline(Long referenceId, LocalDateTime dueAt) {
+            calls.computeIfAbsent(referenceId, id -> new AtomicInteger()).incrementAndGet();
+            AtomicInteger left = failures.get(referenceId);
+            if (left != null && left.getAndDecrement() > 0) {
+                throw new IllegalStateException("handler failed for " + referenceId);
+            }
+        }
+
+        void failNext(Long referenceId, int times) {
+            failures.put(referenceId, new AtomicInteger(times));
+        }
+
+        int calls(Long referenceId) {
+            AtomicInteger count = calls.get(referenceId);
+            return count != null ? count.get() : 0;
+        }
+    }
+}
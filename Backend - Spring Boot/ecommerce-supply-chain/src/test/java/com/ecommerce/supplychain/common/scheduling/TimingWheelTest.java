@@ -0,0 +1,111 @@
+package com.ecommerce.supplychain.common.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Wheel behaviour with a one-millisecond tick, so ticks and milliseconds read the same.
+ * Level 1 turns every 64 ticks and level 2 every 4096; entries due that far ahead cascade down
+ * on those boundaries and must still expire on their own tick, never before.
+ */
+class TimingWheelTest {
+
+    @Test
+    void entryDueWithinTheFirstLevelExpiresOnItsTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 10);
+        wheel.add(73, "a");
+
+        assertThat(advance(wheel, 72)).isEmpty();
+        assertThat(advance(wheel, 73)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void entryDueExactlyOnALevelOneBoundaryExpiresOnIt() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.add(64, "a");
+        wheel.add(128, "b");
+
+        assertThat(advance(wheel, 63)).isEmpty();
+        assertThat(advance(wheel, 64)).containsExactly("a");
+        assertThat(advance(wheel, 127)).isEmpty();
+        assertThat(advance(wheel, 128)).containsExactly("b");
+    }
+
+    @Test
+    void entryCascadedFromLevelOneWaitsForItsTick() {
+        // Handed down at tick 128 with two ticks left
+        TimingWheel<String> wheel = new TimingWheel<>(1, 50);
+        wheel.add(130, "a");
+
+        assertThat(advance(wheel, 128)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(advance(wheel, 129)).isEmpty();
+        assertThat(advance(wheel, 130)).containsExactly("a");
+    }
+
+    @Test
+    void entryDueExactlyOnALevelTwoBoundaryExpiresOnIt() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.add(4096, "a");
+
+        assertThat(advance(wheel, 4095)).isEmpty();
+        assertThat(advance(wheel, 4096)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void entryCascadesThroughEveryLevelOnTheWayDown() {
+        // Level 2 at first, level 1 from tick 4096, level 0 from tick 4160
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.add(4161, "a");
+
+        assertThat(advance(wheel, 4096)).isEmpty();
+        assertThat(advance(wheel, 4160)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(advance(wheel, 4161)).containsExactly("a");
+    }
+
+    @Test
+    void entryDueAFullLevelOneTurnAheadIsNotFiredOnTheCurrentTurn() {
+        // Same level 1 slot as the current tick, one turn of the level ahead
+        TimingWheel<String> wheel = new TimingWheel<>(1, 4000);
+        wheel.add(8095, "a");
+
+        assertThat(advance(wheel, 8094)).isEmpty();
+        assertThat(advance(wheel, 8095)).containsExactly("a");
+    }
+
+    @Test
+    void entriesExpireInDueOrderAcrossOneLongAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.add(5000, "c");
+        wheel.add(64, "b");
+        wheel.add(3, "a");
+
+        assertThat(advance(wheel, 10_000)).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void entryAlreadyDueIsNotAdded() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 1000);
+
+        assertThat(wheel.add(995, "past")).isFalse();
+        assertThat(wheel.add(1000, "now")).isFalse();
+        assertThat(wheel.size()).isZero();
+        // Rounded up to the next tick, so it never expires early
+        assertThat(wheel.add(1001, "next")).isTrue();
+        assertThat(advance(wheel, 1009)).isEmpty();
+        assertThat(advance(wheel, 1010)).containsExactly("next");
+    }
+
+    private static List<String> advance(TimingWheel<String> wheel, long nowMillis) {
+        List<String> expired = new ArrayList<>();
+        wheel.advance(nowMillis, expired::add);
+        return expired;
+    }
+}
@@ -0,0 +1,172 @@
+package com.ecommerce.supplychain.common.web;
+
+import com.ecommerce.supplychain.common.config.ConcurrencyLimitConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Permit accounting of the workload filter: a request beyond a workload's cap is turned away
+ * with 503 once the acquire timeout passes, unmatched requests share the default cap, actuator
+ * probes bypass every cap, and startup fails when the caps do not fit in the primary pool.
+ */
+class WorkloadConcurrencyFilterTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HikariDataSource pool = new HikariDataSource();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+        pool.close();
+    }
+
+    @Test
+    void requestBeyondTheWorkloadCapIsRejectedWithRetryAfter() throws Exception {
+        WorkloadConcurrencyFilter filter = filter(config(1, 1, 0), 10);
+
+        MockHttpServletResponse rejected = whileOneRequestIsHeld(filter, request("POST", "/api/orders"),
+                request("PUT", "/api/orders/7"));
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(rejected.getContentAsString()).contains("WORKLOAD_LIMIT_REACHED", "order-writes");
+        assertThat(meterRegistry.counter("http.workload.rejected", "workload", "order-writes").count()).isEqualTo(1);
+    }
+
+    @Test
+    void unmatchedRequestsShareTheDefaultCap() throws Exception {
+        WorkloadConcurrencyFilter filter = filter(config(1, 1, 0), 10);
+
+        MockHttpServletResponse rejected = whileOneRequestIsHeld(filter, request("GET", "/api/catalog/products"),
+                request("GET", "/api/shipments"));
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getContentAsString()).contains("default");
+
+        MockHttpServletResponse orderWrite = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/orders"), orderWrite, (req, res) -> { });
+        assertThat(orderWrite.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void actuatorProbesAreAnsweredWhileTheDefaultCapIsFull() throws Exception {
+        WorkloadConcurrencyFilter filter = filter(config(1, 1, 0), 10);
+
+        for (String probe : List.of("/actuator/health", "/actuator/health/liveness", "/actuator/prometheus")) {
+            MockHttpServletResponse response = whileOneRequestIsHeld(filter, request("GET", "/api/shipments"),
+                    request("GET", probe));
+            assertThat(response.getStatus()).as("GET %s", probe).isEqualTo(200);
+        }
+        assertThat(meterRegistry.find("http.workload.rejected").counters()).isEmpty();
+    }
+
+    @Test
+    void permitsReleasedAfterTheRequestAreAvailableAgain() throws Exception {
+        WorkloadConcurrencyFilter filter = filter(config(1, 1, 0), 10);
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("POST", "/api/orders"), response, (req, res) -> { });
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void capsThatDoNotFitInThePoolFailStartup() {
+        assertThatThrownBy(() -> filter(config(4, 4, 3), 10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("exceed the primary pool size of 10");
+    }
+
+    @Test
+    void capsThatFillThePoolExactlyAreAccepted() {
+        assertThatCode(() -> filter(config(4, 4, 2), 10)).doesNotThrowAnyException();
+    }
+
+    private ConcurrencyLimitConfig config(int orderWritePermits, int defaultPermits, int reservedConnections) {
+        ConcurrencyLimitConfig.Workload orderWrites = new ConcurrencyLimitConfig.Workload();
+        orderWrites.setName("order-writes");
+        orderWrites.setPermits(orderWritePermits);
+        orderWrites.setMethods(List.of("POST", "PUT", "PATCH", "DELETE"));
+        orderWrites.setPaths(List.of("/api/orders/**"));
+
+        ConcurrencyLimitConfig config = new ConcurrencyLimitConfig();
+        config.setAcquireTimeoutMillis(50);
+        config.setRetryAfterSeconds(2);
+        config.setDefaultPermits(defaultPermits);
+        config.setReservedConnections(reservedConnections);
+        config.setWorkloads(List.of(orderWrites));
+        return config;
+    }
+
+    private WorkloadConcurrencyFilter filter(ConcurrencyLimitConfig config, int poolSize) throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        pool.setMaximumPoolSize(poolSize);
+
+        WorkloadConcurrencyFilter filter = new WorkloadConcurrencyFilter();
+        ReflectionTestUtils.setField(filter, "concurrencyLimitConfig", config);
+        ReflectionTestUtils.setField(filter, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        ReflectionTestUtils.setField(filter, "meterRegistry", beanFactory.getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(filter, "primaryDataSource", pool);
+        filter.init();
+        return filter;
+    }
+
+    /**
+     * Hold the only permit with the first request on another thread and send the second meanwhile
+     */
+    private MockHttpServletResponse whileOneRequestIsHeld(WorkloadConcurrencyFilter filter,
+                                                          MockHttpServletRequest held,
+                                                          MockHttpServletRequest second) throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blocking = (req, res) -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Future<?> first = executor.submit(() -> {
+            filter.doFilter(held, new MockHttpServletResponse(), blocking);
+            return null;
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(second, response, (req, res) -> { });
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+}
@@ -0,0 +1,226 @@
+package com.ecommerce.supplychain.contract.service;
+
+import com.ecommerce.supplychain.contract.model.SLA;
+import com.ecommerce.supplychain.contract.model.SlaMetricBucket;
+import com.ecommerce.supplychain.contract.repository.SLARepository;
+import com.ecommerce.supplychain.contract.repository.SlaMetricBucketRepository;
+import com.ecommerce.supplychain.supplier.model.SupplierScorecardBucket;
+import com.ecommerce.supplychain.supplier.repository.SupplierScorecardBucketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.ecommerce.supplychain.contract.service.SlaComplianceMonitor.INSPECTION_PASS_RATE;
+import static com.ecommerce.supplychain.contract.service.SlaComplianceMonitor.PO_ON_TIME_DELIVERY;
+import static com.ecommerce.supplychain.contract.service.SlaComplianceMonitor.SHIPMENT_DELIVERY_TIME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checkpoints and evaluations of the SLA compliance monitor against mocked repositories and a
+ * mocked transaction manager. Every SLA belongs to a contract of supplier 7; the background
+ * tasks are disabled and the tests call checkpoint and evaluate directly.
+ */
+class SlaComplianceMonitorTest {
+
+    private static final Long SUPPLIER_ID = 7L;
+
+    private final SLARepository slaRepository = mock(SLARepository.class);
+    private final SlaMetricBucketRepository bucketRepository = mock(SlaMetricBucketRepository.class);
+    private final SupplierScorecardBucketRepository scorecardBucketRepository = mock(SupplierScorecardBucketRepository.class);
+    private final LocalDate today = LocalDate.now();
+    private final List<SLA> slas = new ArrayList<>();
+    private SlaComplianceMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new SlaComplianceMonitor();
+        ReflectionTestUtils.setField(monitor, "slaRepository", slaRepository);
+        ReflectionTestUtils.setField(monitor, "bucketRepository", bucketRepository);
+        ReflectionTestUtils.setField(monitor, "scorecardBucketRepository", scorecardBucketRepository);
+        ReflectionTestUtils.setField(monitor, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(monitor, "defaultWindowDays", 30);
+        ReflectionTestUtils.setField(monitor, "retentionDays", 90);
+        when(slaRepository.findMeasuredSLAsWithSupplier()).thenAnswer(invocation -> slas.stream()
+                .map(sla -> new Object[]{sla, SUPPLIER_ID})
+                .toList());
+    }
+
+    @Test
+    void checkpointAddsToTheExistingDayRowAndCreatesMissingOnes() {
+        SlaMetricBucket existing = new SlaMetricBucket(11L, SHIPMENT_DELIVERY_TIME, "*", today, 2L, 0L, "1,1", null);
+        when(bucketRepository.findForUpdate(SHIPMENT_DELIVERY_TIME, "*", today)).thenReturn(Optional.of(existing));
+
+        monitor.recordShipmentDelivery(" tcs ", today.minusDays(2), today);
+        int written = monitor.checkpoint();
+
+        assertThat(written).isEqualTo(2);
+        assertThat(savedBuckets(2))
+                .extracting(SlaMetricBucket::getBucketId, SlaMetricBucket::getScopeKey, SlaMetricBucket::getBucketDate,
+                        SlaMetricBucket::getSamples, SlaMetricBucket::getDeliveryDaysHistogram)
+                .containsExactlyInAnyOrder(
+                        tuple(11L, "*", today, 3L, "1,1,1"),
+                        tuple(null, "TCS", today, 1L, "0,0,1"));
+        assertThat(existing.getUpdatedAt()).isNotNull();
+        // Nothing was recorded since, so the next checkpoint writes nothing
+        assertThat(monitor.checkpoint()).isZero();
+    }
+
+    @Test
+    void failedCheckpointKeepsItsCountsForTheNextOne() {
+        when(bucketRepository.save(any(SlaMetricBucket.class)))
+                .thenThrow(new CannotAcquireLockException("lock wait timeout"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        monitor.recordShipmentDelivery(null, today.minusDays(1), today);
+
+        assertThatThrownBy(() -> monitor.checkpoint()).isInstanceOf(CannotAcquireLockException.class);
+        monitor.recordShipmentDelivery(null, today.minusDays(3), today);
+        int written = monitor.checkpoint();
+
+        assertThat(written).isEqualTo(1);
+        SlaMetricBucket saved = savedBuckets(2).get(1);
+        assertThat(saved.getSamples()).isEqualTo(2L);
+        assertThat(saved.getDeliveryDaysHistogram()).isEqualTo("0,1,0,1");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {PO_ON_TIME_DELIVERY, INSPECTION_PASS_RATE, SHIPMENT_DELIVERY_TIME})
+    void statusMovesBetweenMetAndViolatedForEachMetricSource(String metricSource) {
+        boolean shipments = SHIPMENT_DELIVERY_TIME.equals(metricSource);
+        SLA sla = sla(metricSource, "DAILY", shipments ? "2 days" : "95%");
+
+        // 19 of 20 events pass: at the 95% target, or 19 shipments within 2 days
+        stubToday(metricSource, 19);
+        assertThat(monitor.evaluateAll()).isEqualTo(1);
+        assertThat(sla.getStatus()).isEqualTo("MET");
+        assertThat(sla.getCompliancePercentage()).isEqualTo(shipments ? 95.0 : 100.0);
+        assertThat(sla.getSampleCount()).isEqualTo(20L);
+
+        stubToday(metricSource, 6);
+        assertThat(monitor.evaluateAll()).isEqualTo(1);
+        assertThat(sla.getStatus()).isEqualTo("VIOLATED");
+        assertThat(sla.getCompliancePercentage()).isEqualTo(shipments ? 30.0 : 31.58);
+
+        stubToday(metricSource, 16);
+        monitor.evaluateAll();
+        assertThat(sla.getStatus()).isEqualTo("ACTIVE");
+    }
+
+    @Test
+    void windowFollowsTheMonitoringFrequencyWithinRetention() {
+        // Today passes 10 of 10, five days ago 0 of 10, sixty days ago 0 of 80
+        when(scorecardBucketRepository.findBySupplierSince(eq(SUPPLIER_ID), any())).thenReturn(List.of(
+                inspections(today, 10, 0), inspections(today.minusDays(5), 10, 10), inspections(today.minusDays(60), 80, 80)));
+        SLA daily = sla(INSPECTION_PASS_RATE, "DAILY", "100%");
+        SLA weekly = sla(INSPECTION_PASS_RATE, "WEEKLY", "100%");
+        SLA monthly = sla(INSPECTION_PASS_RATE, "MONTHLY", "100%");
+        SLA quarterly = sla(INSPECTION_PASS_RATE, "QUARTERLY", "100%");
+        SLA unscheduled = sla(INSPECTION_PASS_RATE, null, "100%");
+
+        monitor.evaluateAll();
+
+        assertThat(Arrays.asList(daily, weekly, monthly, quarterly, unscheduled))
+                .extracting(SLA::getCompliancePercentage, SLA::getSampleCount)
+                .containsExactly(tuple(100.0, 10L), tuple(50.0, 20L), tuple(50.0, 20L), tuple(10.0, 100L), tuple(50.0, 20L));
+        // The supplier's rows are read once for all five SLAs
+        verify(scorecardBucketRepository, times(1)).findBySupplierSince(eq(SUPPLIER_ID), any());
+
+        ReflectionTestUtils.setField(monitor, "retentionDays", 45);
+        monitor.evaluateAll();
+
+        assertThat(quarterly.getCompliancePercentage()).isEqualTo(50.0);
+    }
+
+    @Test
+    void laterRunsMeasureOnlyChangedAndNewlyBoundSLAs() {
+        SLA inspection = sla(INSPECTION_PASS_RATE, "DAILY", "100%");
+        SLA shipment = sla(SHIPMENT_DELIVERY_TIME, "DAILY", "1 day");
+        stubToday(INSPECTION_PASS_RATE, 20);
+        stubToday(SHIPMENT_DELIVERY_TIME, 20);
+        assertThat(monitor.evaluateAll()).isEqualTo(2);
+
+        // Both sources move, but only the supplier's scorecard rows were written since
+        stubToday(INSPECTION_PASS_RATE, 10);
+        stubToday(SHIPMENT_DELIVERY_TIME, 10);
+        when(scorecardBucketRepository.findSupplierIdsUpdatedSince(any())).thenReturn(List.of(SUPPLIER_ID));
+        assertThat(monitor.evaluate()).isEqualTo(1);
+        assertThat(inspection.getCompliancePercentage()).isEqualTo(50.0);
+        assertThat(shipment.getCompliancePercentage()).isEqualTo(100.0);
+
+        when(scorecardBucketRepository.findSupplierIdsUpdatedSince(any())).thenReturn(List.of());
+        monitor.slaBound(SHIPMENT_DELIVERY_TIME, "", null);
+        assertThat(monitor.evaluate()).isEqualTo(1);
+        assertThat(shipment.getCompliancePercentage()).isEqualTo(50.0);
+
+        // Neither changed nor bound: nothing is measured
+        assertThat(monitor.evaluate()).isZero();
+    }
+
+    private SLA sla(String metricSource, String monitoringFrequency, String targetValue) {
+        SLA sla = new SLA();
+        sla.setSlaId((long) slas.size() + 1);
+        sla.setMetricName(metricSource);
+        sla.setMetricSource(metricSource);
+        sla.setMonitoringFrequency(monitoringFrequency);
+        sla.setTargetValue(targetValue);
+        sla.setMeasurementUnit(SHIPMENT_DELIVERY_TIME.equals(metricSource) ? "DAYS" : "PERCENTAGE");
+        sla.setStatus("ACTIVE");
+        slas.add(sla);
+        return sla;
+    }
+
+    /**
+     * Twenty events today of which the given number pass; failing shipments took five days
+     */
+    private void stubToday(String metricSource, int passing) {
+        int failing = 20 - passing;
+        switch (metricSource) {
+            case PO_ON_TIME_DELIVERY -> {
+                SupplierScorecardBucket bucket = inspections(today, 0, 0);
+                bucket.setOnTimeDeliveries(passing);
+                bucket.setLateDeliveries(failing);
+                when(scorecardBucketRepository.findBySupplierSince(eq(SUPPLIER_ID), any())).thenReturn(List.of(bucket));
+            }
+            case INSPECTION_PASS_RATE -> when(scorecardBucketRepository.findBySupplierSince(eq(SUPPLIER_ID), any()))
+                    .thenReturn(List.of(inspections(today, 20, failing)));
+            default -> when(bucketRepository.findByKeySince(eq(SHIPMENT_DELIVERY_TIME), eq("*"), any()))
+                    .thenReturn(List.of(new SlaMetricBucket(1L, SHIPMENT_DELIVERY_TIME, "*", today, 20L, 0L,
+                            passing + ",0,0,0,0," + failing, null)));
+        }
+    }
+
+    private static SupplierScorecardBucket inspections(LocalDate date, long inspected, long defective) {
+        SupplierScorecardBucket bucket = new SupplierScorecardBucket();
+        bucket.setSupplierId(SUPPLIER_ID);
+        bucket.setBucketDate(date);
+        bucket.setOnTimeDeliveries(0);
+        bucket.setLateDeliveries(0);
+        bucket.setUnitsInspected(inspected);
+        bucket.setUnitsDefective(defective);
+        return bucket;
+    }
+
+    private List<SlaMetricBucket> savedBuckets(int saves) {
+        ArgumentCaptor<SlaMetricBucket> saved = ArgumentCaptor.forClass(SlaMetricBucket.class);
+        verify(bucketRepository, times(saves)).save(saved.capture());
+        return saved.getAllValues();
+    }
+}
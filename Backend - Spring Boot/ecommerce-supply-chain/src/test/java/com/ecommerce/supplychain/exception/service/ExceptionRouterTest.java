@@ -0,0 +1,98 @@
+package com.ecommerce.supplychain.exception.service;
+
+import com.ecommerce.supplychain.common.config.ExceptionTriageConfig;
+import com.ecommerce.supplychain.exception.repository.DeliveryExceptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Queue selection and least-loaded assignment. Queues: lost parcels (lost_1, lost_2), TCS parcels
+ * (tcs_1) and an unstaffed critical queue; anything else goes to the default agent. Open
+ * workloads come from a mocked repository.
+ */
+class ExceptionRouterTest {
+
+    private final DeliveryExceptionRepository repository = mock(DeliveryExceptionRepository.class);
+    private final ExceptionTriageConfig config = new ExceptionTriageConfig();
+    private ExceptionRouter router;
+
+    @BeforeEach
+    void setUp() {
+        config.setDefaultAgents(new ArrayList<>(List.of("general_1")));
+        config.setQueues(new ArrayList<>(List.of(
+                queue("unstaffed", List.of(), List.of("CRITICAL"), List.of()),
+                queue("lost", List.of("LOST"), List.of(), List.of(), "lost_1", "lost_2"),
+                queue("tcs", List.of(), List.of(), List.of("TCS"), "tcs_1"))));
+        router = new ExceptionRouter();
+        ReflectionTestUtils.setField(router, "deliveryExceptionRepository", repository);
+        ReflectionTestUtils.setField(router, "triageConfig", config);
+        ReflectionTestUtils.setField(router, "loadRefreshSeconds", 300L);
+    }
+
+    @Test
+    void firstMatchingStaffedQueueTakesTheException() {
+        assertThat(router.route("LOST", "CRITICAL", "TCS", null)).startsWith("lost_");
+        assertThat(router.route("DELAYED", "MEDIUM", "tcs", null)).isEqualTo("tcs_1");
+        assertThat(router.route("DELAYED", "MEDIUM", "DHL", null)).isEqualTo("general_1");
+        assertThat(router.route("DELAYED", "MEDIUM", null, null)).isEqualTo("general_1");
+    }
+
+    @Test
+    void leastLoadedAgentIsChosenAndCountedAsItIsAssigned() {
+        when(repository.countActiveByAssignee(anyCollection())).thenReturn(List.<Object[]>of(
+                new Object[]{"lost_1", 3L}, new Object[]{"lost_2", 1L}));
+
+        List<String> assignees = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            assignees.add(router.route("LOST", "CRITICAL", null, null));
+        }
+
+        // lost_2 catches up from 1 to 3, then the tie goes to the first agent of the queue
+        assertThat(assignees).containsExactly("lost_2", "lost_2", "lost_1", "lost_2");
+        assertThat(router.getActiveLoad()).containsEntry("lost_1", 4L).containsEntry("lost_2", 4L);
+    }
+
+    @Test
+    void workloadsAreReadAgainOnlyAfterTheRefreshInterval() {
+        router.route("LOST", "CRITICAL", null, null);
+        router.route("LOST", "CRITICAL", null, null);
+        verify(repository, times(1)).countActiveByAssignee(anyCollection());
+
+        ReflectionTestUtils.setField(router, "loadRefreshSeconds", 0L);
+        when(repository.countActiveByAssignee(anyCollection())).thenReturn(List.<Object[]>of(new Object[]{"lost_1", 5L}));
+        router.route("LOST", "CRITICAL", null, null);
+
+        verify(repository, times(2)).countActiveByAssignee(anyCollection());
+        assertThat(router.getActiveLoad()).containsEntry("lost_1", 5L).containsEntry("lost_2", 1L);
+    }
+
+    @Test
+    void noAgentAnywhereLeavesTheExceptionUnassigned() {
+        config.setDefaultAgents(new ArrayList<>());
+
+        assertThat(router.route("DELAYED", "MEDIUM", "DHL", null)).isNull();
+        assertThat(router.getActiveLoad()).isEmpty();
+    }
+
+    private static ExceptionTriageConfig.Queue queue(String name, List<String> types, List<String> severities,
+                                                     List<String> carriers, String... agents) {
+        ExceptionTriageConfig.Queue queue = new ExceptionTriageConfig.Queue();
+        queue.setName(name);
+        queue.setTypes(types);
+        queue.setSeverities(severities);
+        queue.setCarriers(carriers);
+        queue.setAgents(List.of(agents));
+        return queue;
+    }
+}
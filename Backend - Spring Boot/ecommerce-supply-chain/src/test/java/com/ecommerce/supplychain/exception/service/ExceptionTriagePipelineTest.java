@@ -0,0 +1,304 @@
+package com.ecommerce.supplychain.exception.service;
+
+import com.ecommerce.supplychain.common.constants.ExceptionStatus;
+import com.ecommerce.supplychain.exception.dto.ExceptionSignalDTO;
+import com.ecommerce.supplychain.exception.dto.ExceptionTriageResultDTO;
+import com.ecommerce.supplychain.exception.model.DeliveryException;
+import com.ecommerce.supplychain.exception.repository.DeliveryExceptionRepository;
+import com.ecommerce.supplychain.shipment.model.Shipment;
+import com.ecommerce.supplychain.shipment.repository.ShipmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Triage of exception signals with mocked repositories and transaction manager. No exception is
+ * open unless a test says so, and writing any batch holding tracking number BAD fails. The
+ * background flusher is disabled; tests call flush directly.
+ */
+class ExceptionTriagePipelineTest {
+
+    private final DeliveryExceptionRepository deliveryExceptionRepository = mock(DeliveryExceptionRepository.class);
+    private final ShipmentRepository shipmentRepository = mock(ShipmentRepository.class);
+    private final ExceptionRouter exceptionRouter = mock(ExceptionRouter.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<DeliveryException> saved = new ArrayList<>();
+    private ExceptionTriagePipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new ExceptionTriagePipeline();
+        ReflectionTestUtils.setField(pipeline, "deliveryExceptionRepository", deliveryExceptionRepository);
+        ReflectionTestUtils.setField(pipeline, "shipmentRepository", shipmentRepository);
+        ReflectionTestUtils.setField(pipeline, "exceptionRouter", exceptionRouter);
+        ReflectionTestUtils.setField(pipeline, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(pipeline, "enabled", false);
+        ReflectionTestUtils.setField(pipeline, "mergeWindowSeconds", 60L);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 500);
+        ReflectionTestUtils.setField(pipeline, "maxBuffered", 20_000);
+        ReflectionTestUtils.setField(pipeline, "maxAttempts", 3);
+        ReflectionTestUtils.setField(pipeline, "retryDelaySeconds", 30L);
+        ReflectionTestUtils.setField(pipeline, "maxDeadLetters", 1000);
+        ReflectionTestUtils.setField(pipeline, "maxNotes", 20);
+
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(exceptionRouter.route(any(), any(), any(), any())).thenReturn("agent_a");
+        when(deliveryExceptionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<DeliveryException> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(exception -> "BAD".equals(exception.getTrackingNumber()))) {
+                throw new IllegalStateException("constraint violated");
+            }
+            saved.addAll(batch);
+            return batch;
+        });
+    }
+
+    @Test
+    void signalsForOneParcelAreMergedIntoOneException() {
+        ExceptionTriageResultDTO submitted = pipeline.submit(List.of(
+                signal(" TRK-1 ", null, "DELAYED", "Held at hub", "CARRIER"),
+                signal("TRK-1", "Lost in transit", null, "Scan missing", "SYSTEM"),
+                signal("TRK-1", null, "DELAYED", "Held at hub", "CARRIER")));
+
+        ExceptionTriageResultDTO flushed = pipeline.flush(true);
+
+        assertThat(submitted.getNewlyBuffered()).isEqualTo(1);
+        assertThat(submitted.getMergedInBuffer()).isEqualTo(2);
+        assertThat(flushed.getSignalsReceived()).isEqualTo(3);
+        assertThat(flushed.getExceptionsCreated()).isEqualTo(1);
+        assertThat(saved).singleElement().satisfies(exception -> {
+            assertThat(exception.getTrackingNumber()).isEqualTo("TRK-1");
+            assertThat(exception.getExceptionType()).isEqualTo(ExceptionStatus.LOST);
+            assertThat(exception.getExceptionSeverity()).isEqualTo(ExceptionStatus.CRITICAL);
+            assertThat(exception.getPriorityLevel()).isEqualTo(ExceptionStatus.PRIORITY_URGENT);
+            assertThat(exception.getExceptionStatus()).isEqualTo(ExceptionStatus.IN_PROGRESS);
+            assertThat(exception.getRequiresInsuranceClaim()).isTrue();
+            assertThat(exception.getReportedBy()).isEqualTo("CARRIER,SYSTEM");
+            assertThat(exception.getExceptionDescription()).isEqualTo("Held at hub (3 reports)");
+            assertThat(exception.getAssignedTo()).isEqualTo("agent_a");
+        });
+        assertThat(pipeline.getPendingCount()).isZero();
+    }
+
+    @Test
+    void reportsForAnOpenExceptionAreNotedOnItAndKeepItsOwner() {
+        DeliveryException open = new DeliveryException();
+        open.setTrackingNumber("TRK-1");
+        open.setExceptionType(ExceptionStatus.DELAYED);
+        open.setExceptionSeverity(ExceptionStatus.MEDIUM);
+        open.setPriorityLevel(ExceptionStatus.PRIORITY_MEDIUM);
+        open.setExceptionDescription("Held at hub");
+        open.setExceptionDate(LocalDateTime.now().minusHours(2));
+        open.setAssignedTo("agent_b");
+        when(deliveryExceptionRepository.findActiveByTrackingNumberIn(anyCollection())).thenReturn(List.of(open));
+
+        pipeline.submit(List.of(signal("TRK-1", "DAMAGED", null, "Box crushed", "CARRIER")));
+        ExceptionTriageResultDTO flushed = pipeline.flush(true);
+
+        assertThat(flushed.getExceptionsUpdated()).isEqualTo(1);
+        assertThat(flushed.getExceptionsCreated()).isZero();
+        assertThat(saved).containsExactly(open);
+        assertThat(open.getExceptionSeverity()).isEqualTo(ExceptionStatus.HIGH);
+        assertThat(open.getPriorityLevel()).isEqualTo(ExceptionStatus.HIGH);
+        assertThat(open.getExceptionDescription()).startsWith("Held at hub\n").endsWith(" DAMAGED: Box crushed");
+        assertThat(open.getAssignedTo()).isEqualTo("agent_b");
+        verify(exceptionRouter, never()).route(any(), any(), any(), any());
+    }
+
+    @Test
+    void noteOnAnOpenExceptionIsCutToTheMaximumLength() {
+        DeliveryException open = new DeliveryException();
+        open.setTrackingNumber("TRK-1");
+        open.setExceptionSeverity(ExceptionStatus.MEDIUM);
+        open.setExceptionDescription("Held at hub");
+        open.setExceptionDate(LocalDateTime.now());
+        open.setAssignedTo("agent_b");
+        when(deliveryExceptionRepository.findActiveByTrackingNumberIn(anyCollection())).thenReturn(List.of(open));
+
+        pipeline.submit(List.of(signal("TRK-1", "DELAYED", null, "x".repeat(800), "CARRIER")));
+        pipeline.flush(true);
+
+        String[] lines = open.getExceptionDescription().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[1]).hasSize(500);
+    }
+
+    @Test
+    void signalsForUnknownParcelsAreDroppedAndKnownOnesFilledFromTheShipment() {
+        Shipment shipment = new Shipment();
+        shipment.setShipmentId(10L);
+        shipment.setOrderId(20L);
+        shipment.setPackageId(30L);
+        shipment.setTrackingNumber("TRK-KNOWN");
+        shipment.setCarrier("TCS");
+        when(shipmentRepository.findByTrackingNumberIn(anyCollection())).thenReturn(List.of(shipment));
+        ExceptionSignalDTO known = signal("TRK-KNOWN", "DELAYED", null, "Late", "CARRIER");
+        ExceptionSignalDTO unknown = signal("TRK-UNKNOWN", "DELAYED", null, "Late", "CARRIER");
+        known.setShipmentId(null);
+        known.setOrderId(null);
+        unknown.setShipmentId(null);
+        unknown.setOrderId(null);
+
+        pipeline.submit(List.of(known, unknown));
+        ExceptionTriageResultDTO flushed = pipeline.flush(true);
+
+        assertThat(flushed.getExceptionsCreated()).isEqualTo(1);
+        assertThat(flushed.getSignalsDropped()).isEqualTo(1);
+        assertThat(saved).singleElement().satisfies(exception -> {
+            assertThat(exception.getShipmentId()).isEqualTo(10L);
+            assertThat(exception.getOrderId()).isEqualTo(20L);
+            assertThat(exception.getPackageId()).isEqualTo(30L);
+            assertThat(exception.getCarrier()).isEqualTo("TCS");
+        });
+    }
+
+    @Test
+    void batchWithABadEntryIsHalvedUntilOnlyThatEntryFails() {
+        ReflectionTestUtils.setField(pipeline, "batchSize", 4);
+        pipeline.submit(List.of(signal("TRK-1"), signal("TRK-2"), signal("BAD"), signal("TRK-3")));
+
+        ExceptionTriageResultDTO flushed = pipeline.flush(true);
+
+        assertThat(flushed.getExceptionsCreated()).isEqualTo(3);
+        assertThat(flushed.getSignalsRetrying()).isEqualTo(1);
+        assertThat(saved).extracting(DeliveryException::getTrackingNumber).containsExactlyInAnyOrder("TRK-1", "TRK-2", "TRK-3");
+        assertThat(pipeline.getPendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failedEntryWaitsOutItsRetryDelayAndIsDeadLetteredAfterTheLastAttempt() {
+        ReflectionTestUtils.setField(pipeline, "mergeWindowSeconds", 0L);
+        ReflectionTestUtils.setField(pipeline, "maxAttempts", 2);
+        pipeline.submit(List.of(signal("BAD")));
+
+        ExceptionTriageResultDTO first = pipeline.flush(false);
+        ExceptionTriageResultDTO beforeRetry = pipeline.flush(false);
+        ExceptionTriageResultDTO last = pipeline.flush(true);
+
+        assertThat(first.getSignalsRetrying()).isEqualTo(1);
+        assertThat(beforeRetry.getSignalsReceived()).isZero();
+        assertThat(beforeRetry.getPendingTrackingNumbers()).isEqualTo(1);
+        assertThat(last.getSignalsDeadLettered()).isEqualTo(1);
+        assertThat(pipeline.getPendingCount()).isZero();
+        assertThat(pipeline.getDeadLetteredTrackingNumbers()).containsExactly("BAD");
+    }
+
+    @Test
+    void deadLettersAreBounded() {
+        ReflectionTestUtils.setField(pipeline, "maxAttempts", 1);
+        ReflectionTestUtils.setField(pipeline, "maxDeadLetters", 1);
+        when(deliveryExceptionRepository.saveAll(anyList())).thenThrow(new IllegalStateException("constraint violated"));
+        pipeline.submit(List.of(signal("TRK-1")));
+        pipeline.flush(true);
+        pipeline.submit(List.of(signal("TRK-2")));
+        pipeline.flush(true);
+
+        assertThat(pipeline.getDeadLetteredTrackingNumbers()).containsExactly("TRK-2");
+    }
+
+    @Test
+    void unreachableDatabaseKeepsEntriesBufferedWithoutUsingAttempts() {
+        ReflectionTestUtils.setField(pipeline, "maxAttempts", 1);
+        when(transactionManager.getTransaction(any())).thenThrow(new CannotCreateTransactionException("connection refused"));
+        pipeline.submit(List.of(signal("TRK-1"), signal("TRK-2")));
+
+        pipeline.flush(true);
+        pipeline.flush(true);
+
+        assertThat(pipeline.getPendingCount()).isEqualTo(2);
+        assertThat(pipeline.getDeadLetteredTrackingNumbers()).isEmpty();
+    }
+
+    @Test
+    void stopWritesWhatIsStillInsideItsMergeWindow() {
+        pipeline.submit(List.of(signal("TRK-1")));
+
+        assertThat(pipeline.flush(false).getExceptionsCreated()).isZero();
+        pipeline.stop();
+
+        assertThat(saved).extracting(DeliveryException::getTrackingNumber).containsExactly("TRK-1");
+        assertThat(pipeline.getPendingCount()).isZero();
+    }
+
+    @Test
+    void onlyTheLatestNotesAreKeptAndTheOlderOnesCounted() {
+        String description = "Held at hub";
+        for (int i = 1; i <= 2; i++) {
+            description = ExceptionTriagePipeline.appendNote(description, "note " + i, 2);
+        }
+        assertThat(description).isEqualTo("Held at hub\nnote 1\nnote 2");
+
+        description = ExceptionTriagePipeline.appendNote(description, "note 3", 2);
+        assertThat(description).isEqualTo("Held at hub\n(1 earlier notes not shown)\nnote 2\nnote 3");
+
+        description = ExceptionTriagePipeline.appendNote(description, "note 4", 2);
+        assertThat(description).isEqualTo("Held at hub\n(2 earlier notes not shown)\nnote 3\nnote 4");
+    }
+
+    @ParameterizedTest(name = "type {0}, carrier code {1} -> {2}")
+    @CsvSource({
+            "Lost in transit,     ,                  LOST",
+            ",                    MISSING,           LOST",
+            "damaged,             LOST,              DAMAGED",
+            "refused-by-customer, ,                  REFUSED",
+            "bad address,         ,                  WRONG_ADDRESS",
+            ",                    NOT HOME,          CUSTOMER_NOT_AVAILABLE",
+            ",                    no-access,         CUSTOMER_NOT_AVAILABLE",
+            ",                    WEATHER_HOLD,      WEATHER_DELAY",
+            "vehicle breakdown,   ,                  MECHANICAL_ISSUE",
+            "held at customs,     ,                  DELAYED",
+            ",                    ,                  DELAYED"
+    })
+    void carrierVocabularyMapsOntoExceptionTypes(String exceptionType, String carrierStatusCode, String expected) {
+        assertThat(ExceptionTriagePipeline.classifyType(exceptionType, carrierStatusCode)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest(name = "{0} reported {1} -> {2}")
+    @CsvSource({
+            "LOST,             ,        CRITICAL",
+            "DAMAGED,          low,     HIGH",
+            "DELAYED,          ,        MEDIUM",
+            "WEATHER_DELAY,    ' high ', HIGH",
+            "MECHANICAL_ISSUE, ,        LOW",
+            "REFUSED,          bogus,   MEDIUM"
+    })
+    void severityIsRaisedToTheReportedOneButNeverLowered(String exceptionType, String reported, String expected) {
+        assertThat(ExceptionTriagePipeline.classifySeverity(exceptionType, reported)).isEqualTo(expected);
+    }
+
+    private static ExceptionSignalDTO signal(String trackingNumber) {
+        return signal(trackingNumber, "DELAYED", null, "Late", "CARRIER");
+    }
+
+    private static ExceptionSignalDTO signal(String trackingNumber, String exceptionType, String carrierStatusCode,
+                                             String description, String source) {
+        return ExceptionSignalDTO.builder()
+                .trackingNumber(trackingNumber)
+                .shipmentId(10L)
+                .orderId(20L)
+                .exceptionType(exceptionType)
+                .carrierStatusCode(carrierStatusCode)
+                .description(description)
+                .source(source)
+                .carrier("TCS")
+                .build();
+    }
+}
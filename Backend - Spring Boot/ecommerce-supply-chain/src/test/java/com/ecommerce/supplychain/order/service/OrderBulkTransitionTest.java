@@ -0,0 +1,226 @@
+package com.ecommerce.supplychain.order.service;
+
+import com.ecommerce.supplychain.order.dto.BulkStatusTransitionDTO;
+import com.ecommerce.supplychain.order.dto.BulkTransitionResultDTO;
+import com.ecommerce.supplychain.order.dto.OrderDTO;
+import com.ecommerce.supplychain.order.dto.OrderStatusUpdateDTO;
+import com.ecommerce.supplychain.order.model.Order;
+import com.ecommerce.supplychain.order.model.OrderStatusHistory;
+import com.ecommerce.supplychain.order.repository.OrderRepository;
+import com.ecommerce.supplychain.order.repository.OrderStatusHistoryRepository;
+import com.ecommerce.supplychain.performance.SeedDataLoader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Bulk status transitions against orders created from the seed stock (one unit of product 3 each).
+ * Every test runs in a transaction that is rolled back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderBulkTransitionTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderStatusHistoryRepository orderStatusHistoryRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.seed-data.schema}")
+    private String schemaFile;
+
+    @Value("${app.seed-data.data}")
+    private String dataFile;
+
+    @BeforeAll
+    void loadSeedData() throws Exception {
+        SeedDataLoader.load(dataSource, Path.of(schemaFile), Path.of(dataFile));
+    }
+
+    @Test
+    void ordersTheStateMachineRefusesAreReportedAndLeftAlone() {
+        inRolledBackTransaction(() -> {
+            Long pending = createOrder();
+            Long failedPayment = createOrder();
+            entityManager.createNativeQuery("UPDATE customer_orders SET payment_status = 'FAILED' WHERE order_id = " + failedPayment)
+                    .executeUpdate();
+            Long confirmed = createOrder();
+
+            BulkTransitionResultDTO toShipped = orderService.bulkTransition(request("SHIPPED", pending));
+            BulkTransitionResultDTO toConfirmed = orderService.bulkTransition(request("CONFIRMED", failedPayment, confirmed));
+
+            assertThat(toShipped.getTransitioned()).isZero();
+            assertThat(toShipped.getRejections())
+                    .extracting(BulkTransitionResultDTO.RejectionDTO::getOrderId, BulkTransitionResultDTO.RejectionDTO::getReason)
+                    .containsExactly(tuple(pending, "Transition PENDING -> SHIPPED is not allowed"));
+            assertThat(toConfirmed.getTransitioned()).isEqualTo(1);
+            assertThat(toConfirmed.getRejections())
+                    .extracting(BulkTransitionResultDTO.RejectionDTO::getOrderId, BulkTransitionResultDTO.RejectionDTO::getReason)
+                    .containsExactly(tuple(failedPayment, "Payment has failed"));
+            assertThat(status(pending)).isEqualTo("PENDING");
+            assertThat(status(failedPayment)).isEqualTo("PENDING");
+            assertThat(status(confirmed)).isEqualTo("CONFIRMED");
+        });
+    }
+
+    @Test
+    void orderOutsideTheRequestedFromStatusIsRejected() {
+        inRolledBackTransaction(() -> {
+            Long pending = createOrder();
+            BulkStatusTransitionDTO request = request("CONFIRMED", pending);
+            request.setFromStatus("ON_HOLD");
+
+            BulkTransitionResultDTO result = orderService.bulkTransition(request);
+
+            assertThat(result.getSelected()).isEqualTo(1);
+            assertThat(result.getRejections()).singleElement()
+                    .satisfies(rejection -> assertThat(rejection.getReason()).isEqualTo("Order is not in status ON_HOLD"));
+            assertThat(status(pending)).isEqualTo("PENDING");
+        });
+    }
+
+    @Test
+    void ordersInDifferentStatusesMoveTogetherAndAreAuditedFromTheirOwnStatus() {
+        inRolledBackTransaction(() -> {
+            Long pending = createOrder();
+            Long onHold = createOrder();
+            OrderStatusUpdateDTO hold = new OrderStatusUpdateDTO();
+            hold.setOrderStatus("ON_HOLD");
+            orderService.updateOrderStatus(onHold, hold);
+
+            BulkStatusTransitionDTO request = request("CONFIRMED", pending, onHold);
+            request.setNotes("Released by the morning batch");
+            BulkTransitionResultDTO result = orderService.bulkTransition(request);
+
+            assertThat(result.getSelected()).isEqualTo(2);
+            assertThat(result.getTransitioned()).isEqualTo(2);
+            assertThat(result.getRejected()).isZero();
+            List<OrderStatusHistory> audit = orderStatusHistoryRepository.findByBatchId(result.getBatchId());
+            assertThat(audit)
+                    .extracting(OrderStatusHistory::getOrderId, OrderStatusHistory::getFromStatus,
+                            OrderStatusHistory::getToStatus, OrderStatusHistory::getTransitionSource, OrderStatusHistory::getNotes)
+                    .containsExactlyInAnyOrder(
+                            tuple(pending, "PENDING", "CONFIRMED", "BULK", "Released by the morning batch"),
+                            tuple(onHold, "ON_HOLD", "CONFIRMED", "BULK", "Released by the morning batch"));
+            for (Long orderId : List.of(pending, onHold)) {
+                Order order = orderRepository.findById(orderId).orElseThrow();
+                assertThat(order.getShipmentId()).isEqualTo(orderId + 5000);
+                // The audit matched the stored timestamp exactly, so every moved order has its row
+                assertThat(audit).filteredOn(row -> row.getOrderId().equals(orderId))
+                        .singleElement()
+                        .satisfies(row -> assertThat(row.getChangedAt()).isEqualTo(order.getUpdatedAt()));
+            }
+        });
+    }
+
+    @Test
+    void selectionByFromStatusMovesOnlyOrdersInIt() {
+        inRolledBackTransaction(() -> {
+            Long pending = createOrder();
+            Long onHold = createOrder();
+            OrderStatusUpdateDTO hold = new OrderStatusUpdateDTO();
+            hold.setOrderStatus("ON_HOLD");
+            orderService.updateOrderStatus(onHold, hold);
+
+            BulkStatusTransitionDTO request = new BulkStatusTransitionDTO();
+            request.setFromStatus("ON_HOLD");
+            request.setToStatus("PENDING");
+            BulkTransitionResultDTO result = orderService.bulkTransition(request);
+
+            assertThat(result.getTransitioned()).isEqualTo(result.getSelected());
+            assertThat(orderStatusHistoryRepository.findByBatchId(result.getBatchId()))
+                    .hasSize(result.getTransitioned())
+                    .extracting(OrderStatusHistory::getOrderId)
+                    .contains(onHold)
+                    .doesNotContain(pending);
+            assertThat(status(onHold)).isEqualTo("PENDING");
+        });
+    }
+
+    @Test
+    void bulkCancellationRefundsLikeCancelOrder() {
+        inRolledBackTransaction(() -> {
+            Long bulkCancelled = createOrder();
+            Long singleCancelled = createOrder();
+
+            orderService.bulkTransition(request("CANCELLED", bulkCancelled));
+            orderService.cancelOrder(singleCancelled);
+
+            for (Long orderId : List.of(bulkCancelled, singleCancelled)) {
+                Order order = orderRepository.findById(orderId).orElseThrow();
+                assertThat(order.getOrderStatus()).isEqualTo("CANCELLED");
+                assertThat(order.getPaymentStatus()).isEqualTo("REFUNDED");
+            }
+        });
+    }
+
+    private Long createOrder() {
+        OrderDTO.OrderItemDTO item = new OrderDTO.OrderItemDTO();
+        item.setProductId(3L);
+        item.setProductName("Vitamin C 500mg Tablets");
+        item.setProductSku("VIT-C-500-TAB");
+        item.setQuantity(1);
+        item.setUnitPrice(BigDecimal.TEN);
+        OrderDTO order = new OrderDTO();
+        order.setCustomerId(1L);
+        order.setCustomerName("Bulk Test");
+        order.setCustomerEmail("bulk.test@example.com");
+        order.setShippingAddress("Sector I-9/3, Islamabad, Pakistan");
+        order.setItems(List.of(item));
+        return orderService.createOrder(order).getOrderId();
+    }
+
+    private static BulkStatusTransitionDTO request(String toStatus, Long... orderIds) {
+        BulkStatusTransitionDTO request = new BulkStatusTransitionDTO();
+        request.setOrderIds(List.of(orderIds));
+        request.setToStatus(toStatus);
+        return request;
+    }
+
+    private String status(Long orderId) {
+        return (String) entityManager.createNativeQuery("SELECT order_status FROM customer_orders WHERE order_id = " + orderId)
+                .getSingleResult();
+    }
+
+    private void inRolledBackTransaction(Runnable body) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                body.run();
+            } finally {
+                status.setRollbackOnly();
+            }
+        });
+    }
+}
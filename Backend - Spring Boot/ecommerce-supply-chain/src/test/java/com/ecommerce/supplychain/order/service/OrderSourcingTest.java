@@ -0,0 +1,276 @@
+package com.ecommerce.supplychain.order.service;
+
+import com.ecommerce.supplychain.common.exception.InsufficientStockException;
+import com.ecommerce.supplychain.order.dto.BulkStatusTransitionDTO;
+import com.ecommerce.supplychain.order.dto.BulkTransitionResultDTO;
+import com.ecommerce.supplychain.order.dto.OrderDTO;
+import com.ecommerce.supplychain.order.dto.OrderResponseDTO;
+import com.ecommerce.supplychain.order.dto.SourcingPlanDTO;
+import com.ecommerce.supplychain.performance.SeedDataLoader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Warehouse sourcing against the seed stock: product 1 (25 units) and 2 on shelves in warehouse 1,
+ * product 3 (500 units) in warehouse 3. Orders are created in a transaction that is rolled back,
+ * so the shelves other tests read are left as seeded. Cancelling an order puts its units back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderSourcingTest {
+
+    private static final String KARACHI = "12 Shahrah-e-Faisal, Karachi 75400, Sindh, Pakistan";
+
+    @Autowired
+    private OrderSourcingService orderSourcingService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.seed-data.schema}")
+    private String schemaFile;
+
+    @Value("${app.seed-data.data}")
+    private String dataFile;
+
+    @BeforeAll
+    void loadSeedData() throws Exception {
+        SeedDataLoader.load(dataSource, Path.of(schemaFile), Path.of(dataFile));
+    }
+
+    @Test
+    void basketOneWarehouseHoldsShipsFromIt() {
+        SourcingPlanDTO plan = orderSourcingService.planSourcing(KARACHI, null, Map.of(1L, 2, 2L, 3));
+
+        assertThat(plan.getStrategy()).isEqualTo(OrderSourcingService.SINGLE_SOURCE);
+        assertThat(plan.getPrimaryWarehouseId()).isEqualTo(1L);
+        assertThat(plan.getFullyAllocated()).isTrue();
+    }
+
+    @Test
+    void basketSpreadOverWarehousesIsSplit() {
+        SourcingPlanDTO plan = orderSourcingService.planSourcing(KARACHI, null, quantities(1L, 2, 3L, 4));
+
+        assertThat(plan.getStrategy()).isEqualTo(OrderSourcingService.SPLIT_SHIPMENT);
+        assertThat(plan.getShipments()).extracting(SourcingPlanDTO.WarehouseShipmentDTO::getWarehouseId)
+                .containsExactlyInAnyOrder(1L, 3L);
+        assertThat(plan.getShipments()).extracting(SourcingPlanDTO.WarehouseShipmentDTO::getTotalUnits)
+                .containsExactlyInAnyOrder(2, 4);
+        assertThat(plan.getUnallocatedLines()).isEmpty();
+    }
+
+    @Test
+    void shortfallMakesThePlanUnfulfillableAndShowsWhatCouldBeSourced() {
+        SourcingPlanDTO plan = orderSourcingService.planSourcing(KARACHI, null, quantities(1L, 30, 3L, 1));
+
+        assertThat(plan.getStrategy()).isEqualTo(OrderSourcingService.UNFULFILLABLE);
+        assertThat(plan.getFullyAllocated()).isFalse();
+        assertThat(plan.getUnallocatedLines()).singleElement()
+                .satisfies(line -> {
+                    assertThat(line.getProductId()).isEqualTo(1L);
+                    assertThat(line.getQuantity()).isEqualTo(5);
+                });
+        assertThat(plan.getShipments()).extracting(SourcingPlanDTO.WarehouseShipmentDTO::getTotalUnits).contains(25);
+    }
+
+    @Test
+    void createdOrderTakesItsUnitsOffTheShelves() {
+        inRolledBackTransaction(() -> {
+            OrderResponseDTO order = orderService.createOrder(order(1L, 5, 3L, 2));
+
+            assertThat(order.getOrderId()).isNotNull();
+            assertThat(shelfUnits(1L)).isEqualTo(20);
+            assertThat(shelfUnits(3L)).isEqualTo(498);
+            // 5 of the shelf's 25 units at its average 15.5 kg, 0.1 sqft per unit off the warehouse and zone
+            assertThat(shelfColumn(1L, "current_weight_kg")).isEqualTo(310.0);
+            assertThat(shelfColumn(1L, "available_units")).isEqualTo(30);
+            assertThat(column("SELECT used_capacity_sqft FROM warehouses WHERE warehouse_id = 1")).isEqualTo(32499.5);
+            assertThat(column("SELECT used_capacity_sqft FROM storage_zones WHERE zone_id = 1")).isEqualTo(6499.5);
+        });
+    }
+
+    @Test
+    void orderTakingAShelfsLastUnitsFreesTheShelf() {
+        inRolledBackTransaction(() -> {
+            orderService.createOrder(order(1L, 25));
+
+            assertThat(shelfUnits(1L)).isZero();
+            assertThat(shelfColumn(1L, "current_weight_kg")).isEqualTo(0.0);
+            assertThat(shelfColumn(1L, "is_occupied")).isEqualTo(false);
+            assertThat(shelfColumn(1L, "location_status")).isEqualTo("AVAILABLE");
+            assertThat(shelfColumn(1L, "product_id")).isNull();
+        });
+    }
+
+    @Test
+    void cancelledOrderPutsItsUnitsBackOnTheirShelves() {
+        inRolledBackTransaction(() -> {
+            OrderResponseDTO order = orderService.createOrder(order(1L, 25, 3L, 2));
+
+            orderService.cancelOrder(order.getOrderId());
+
+            assertThat(shelfUnits(1L)).isEqualTo(25);
+            assertThat(shelfUnits(3L)).isEqualTo(500);
+            assertThat(shelfColumn(1L, "current_weight_kg")).isEqualTo(387.5);
+            assertThat(((Number) shelfColumn(1L, "product_id")).longValue()).isEqualTo(1L);
+            assertThat(shelfColumn(1L, "product_sku")).isEqualTo("LED-TV-55-SAMS");
+            assertThat(column("SELECT used_capacity_sqft FROM warehouses WHERE warehouse_id = 1")).isEqualTo(32500.0);
+            assertThat(openReservations(order.getOrderId())).isZero();
+
+            // A second cancellation path finds nothing left to release
+            assertThat(orderSourcingService.release(List.of(order.getOrderId()))).isZero();
+            assertThat(shelfUnits(1L)).isEqualTo(25);
+        });
+    }
+
+    @Test
+    void bulkCancellationPutsTheUnitsOfEveryMovedOrderBack() {
+        inRolledBackTransaction(() -> {
+            OrderResponseDTO first = orderService.createOrder(order(1L, 10));
+            OrderResponseDTO second = orderService.createOrder(order(1L, 5, 3L, 4));
+            BulkStatusTransitionDTO request = new BulkStatusTransitionDTO();
+            request.setOrderIds(List.of(first.getOrderId(), second.getOrderId()));
+            request.setToStatus("CANCELLED");
+
+            BulkTransitionResultDTO result = orderService.bulkTransition(request);
+
+            assertThat(result.getTransitioned()).isEqualTo(2);
+            assertThat(shelfUnits(1L)).isEqualTo(25);
+            assertThat(shelfUnits(3L)).isEqualTo(500);
+            assertThat(openReservations(first.getOrderId()) + openReservations(second.getOrderId())).isZero();
+        });
+    }
+
+    @Test
+    void orderWithoutStockIsRejectedAndTakesNothing() {
+        inRolledBackTransaction(() -> {
+            assertThatThrownBy(() -> orderService.createOrder(order(1L, 30, 3L, 2)))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("Requested: 30, Available: 25");
+            assertThat(shelfUnits(1L)).isEqualTo(25);
+            assertThat(shelfUnits(3L)).isEqualTo(500);
+        });
+    }
+
+    @Test
+    void secondOrderPlannedFromTheSameSnapshotCannotTakeTheSameUnits() {
+        inRolledBackTransaction(() -> {
+            orderService.createOrder(order(1L, 20));
+
+            // The snapshot still shows 25 units until the first order commits; the shelf guard does not
+            assertThat(orderSourcingService.planSourcing(KARACHI, null, Map.of(1L, 20)).getStrategy())
+                    .isEqualTo(OrderSourcingService.SINGLE_SOURCE);
+            assertThatThrownBy(() -> orderService.createOrder(order(1L, 20)))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("Requested: 20, Available: 5");
+        });
+    }
+
+    @Test
+    void largeBasketShipsWhatIsStockedAndReportsTheRest() {
+        // Every seeded product plus lines no warehouse stocks; planning time is measured in OrderSourcingBenchmarkIT
+        Map<Long, Integer> basket = new LinkedHashMap<>();
+        for (long productId = 1; productId <= 200; productId++) {
+            basket.put(productId, 1 + (int) (productId % 3));
+        }
+
+        SourcingPlanDTO plan = orderSourcingService.planSourcing(KARACHI, null, basket);
+
+        assertThat(plan.getStrategy()).isEqualTo(OrderSourcingService.UNFULFILLABLE);
+        assertThat(plan.getShipments()).extracting(SourcingPlanDTO.WarehouseShipmentDTO::getWarehouseId)
+                .containsExactlyInAnyOrder(1L, 3L, 4L, 5L);
+        assertThat(plan.getShipments()).extracting(SourcingPlanDTO.WarehouseShipmentDTO::getTotalUnits)
+                .containsExactlyInAnyOrder(2 + 3, 1, 2, 3);
+        assertThat(plan.getUnallocatedLines()).hasSize(195)
+                .extracting(SourcingPlanDTO.LineAllocationDTO::getProductId)
+                .doesNotContain(1L, 2L, 3L, 4L, 5L);
+    }
+
+    private void inRolledBackTransaction(Runnable body) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                body.run();
+            } finally {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private int shelfUnits(Long shelfId) {
+        return ((Number) entityManager.createNativeQuery("SELECT current_units FROM shelf_locations WHERE shelf_id = :shelfId")
+                .setParameter("shelfId", shelfId)
+                .getSingleResult()).intValue();
+    }
+
+    private Object shelfColumn(Long shelfId, String column) {
+        return column("SELECT " + column + " FROM shelf_locations WHERE shelf_id = " + shelfId);
+    }
+
+    private Object column(String sql) {
+        return entityManager.createNativeQuery(sql).getSingleResult();
+    }
+
+    private int openReservations(Long orderId) {
+        return ((Number) column("SELECT COUNT(*) FROM order_shelf_reservations WHERE released_at IS NULL AND order_id = " + orderId)).intValue();
+    }
+
+    private static Map<Long, Integer> quantities(Object... productQuantities) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (int i = 0; i < productQuantities.length; i += 2) {
+            quantities.put((Long) productQuantities[i], (Integer) productQuantities[i + 1]);
+        }
+        return quantities;
+    }
+
+    private static OrderDTO order(Object... productQuantities) {
+        List<OrderDTO.OrderItemDTO> items = new ArrayList<>();
+        quantities(productQuantities).forEach((productId, quantity) -> {
+            OrderDTO.OrderItemDTO item = new OrderDTO.OrderItemDTO();
+            item.setProductId(productId);
+            item.setProductName("Product " + productId);
+            item.setProductSku("SKU-" + productId);
+            item.setQuantity(quantity);
+            item.setUnitPrice(BigDecimal.TEN);
+            items.add(item);
+        });
+        OrderDTO order = new OrderDTO();
+        order.setCustomerId(1L);
+        order.setCustomerName("Sourcing Test");
+        order.setCustomerEmail("sourcing.test@example.com");
+        order.setShippingAddress(KARACHI);
+        order.setItems(items);
+        return order;
+    }
+}
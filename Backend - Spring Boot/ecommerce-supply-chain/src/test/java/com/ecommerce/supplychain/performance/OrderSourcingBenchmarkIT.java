@@ -0,0 +1,80 @@
+package com.ecommerce.supplychain.performance;
+
+import com.ecommerce.supplychain.order.service.OrderSourcingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Planning time of {@link OrderSourcingService} against the seed stock for a 200-line basket:
+ * every seeded product plus lines no warehouse stocks, so each plan also walks the split path.
+ * The basket is planned sourcing.benchmark.warmup times for the JIT and then
+ * sourcing.benchmark.runs times; median and p99 are written to target/sourcing-benchmark.
+ * Runs only in the sourcing-benchmark Maven profile.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderSourcingBenchmarkIT {
+
+    private static final String KARACHI = "12 Shahrah-e-Faisal, Karachi 75400, Sindh, Pakistan";
+
+    @Autowired
+    private OrderSourcingService orderSourcingService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource dataSource;
+
+    @Value("${app.seed-data.schema}")
+    private String schemaFile;
+
+    @Value("${app.seed-data.data}")
+    private String dataFile;
+
+    @Test
+    void planningTimeForALargeBasket() throws Exception {
+        SeedDataLoader.load(dataSource, Path.of(schemaFile), Path.of(dataFile));
+        int warmup = Integer.getInteger("sourcing.benchmark.warmup", 2_000);
+        int runs = Integer.getInteger("sourcing.benchmark.runs", 5_000);
+        Path output = Path.of(System.getProperty("sourcing.benchmark.output", "target/sourcing-benchmark"));
+        Files.createDirectories(output);
+
+        Map<Long, Integer> basket = new LinkedHashMap<>();
+        for (long productId = 1; productId <= 200; productId++) {
+            basket.put(productId, 1 + (int) (productId % 3));
+        }
+        for (int i = 0; i < warmup; i++) {
+            orderSourcingService.planSourcing(KARACHI, null, basket);
+        }
+
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long started = System.nanoTime();
+            orderSourcingService.planSourcing(KARACHI, null, basket);
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        long medianMicros = nanos[runs / 2] / 1000;
+        long p99Micros = nanos[runs * 99 / 100] / 1000;
+        System.out.printf("Sourcing plan for %d lines: median %d us, p99 %d us over %d runs%n",
+                basket.size(), medianMicros, p99Micros, runs);
+        Files.writeString(output.resolve("order-sourcing.csv"),
+                "lines,runs,medianMicros,p99Micros\n" + basket.size() + "," + runs + "," + medianMicros + "," + p99Micros + "\n",
+                StandardCharsets.UTF_8);
+
+        assertThat(p99Micros).as("p99 planning time in microseconds").isLessThan(3_000);
+    }
+}
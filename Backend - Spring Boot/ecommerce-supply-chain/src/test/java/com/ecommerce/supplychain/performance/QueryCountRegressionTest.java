@@ -0,0 +1,175 @@
+package com.ecommerce.supplychain.performance;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query-count budgets per endpoint against the seed data in seeddata.sql.
+ * Each GET endpoint is driven once through MockMvc and the JDBC statements Hibernate
+ * prepared and the entities it loaded are compared with the endpoint's budget.
+ * A failure means the endpoint now costs more queries than it used to, usually a lazy
+ * association loaded once per row; when an endpoint gets cheaper, lower its budget.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryCountRegressionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.seed-data.schema}")
+    private String schemaFile;
+
+    @Value("${app.seed-data.data}")
+    private String dataFile;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    void loadSeedData() throws Exception {
+        Map<String, Integer> loaded = SeedDataLoader.load(dataSource, Path.of(schemaFile), Path.of(dataFile));
+        assertThat(loaded).as("seed rows per table").containsKeys("customer_orders", "order_items", "shipments");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void seedDataIsVisibleThroughTheApi() throws Exception {
+        mockMvc.perform(get("/api/orders/1")).andExpect(status().isOk());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "/api/catalog/products",
+            "/api/catalog/products/1",
+            "/api/quality/standards"
+    })
+    void unchangedResourceAnswersNotModifiedWithOneQuery(String path) throws Exception {
+        String etag = mockMvc.perform(get(path)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).as("ETag of GET %s", path).isNotNull();
+        statistics.clear();
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements for a 304 on %s", path).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).as("entities loaded for a 304 on %s", path).isZero();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            // path, max statements, max entities loaded
+            "/api/catalog/products,                                   2, 5",
+            "/api/catalog/products/1,                                 2, 1",
+            "/api/catalog/products/low-stock,                         2, 0",
+            "/api/catalog/products/search?q=Samsung,                  2, 1",
+            "/api/catalog/products/summary,                           2, 0",
+            "/api/contracts,                                          1, 5",
+            "/api/contracts/1/slas,                                   1, 2",
+            "/api/contracts/expiring,                                 1, 0",
+            "/api/exceptions,                                         6, 10",
+            "/api/exceptions/active,                                  1, 0",
+            "/api/forecasting/demand-forecasts,                       1, 5",
+            "/api/forecasting/reorder-plans,                          1, 5",
+            "/api/forecasting/reorder-plans/pending,                  1, 0",
+            "/api/inventory/alerts/active,                            1, 2",
+            "/api/inventory/alerts/critical,                          1, 0",
+            "/api/inventory/alerts/product/1,                         1, 1",
+            "/api/inventory/monitoring,                               1, 5",
+            "/api/inventory/low-stock,                                1, 0",
+            "/api/inventory/monitoring/summary,                       1, 0",
+            "/api/inventory/monitoring/product/1,                     1, 1",
+            "/api/inventory/out-of-stock,                             1, 0",
+            "/api/inventory/overstock,                                1, 0",
+            "/api/orders,                                             1, 10",
+            "/api/orders/1,                                           1, 3",
+            "/api/orders/customer/101,                                1, 3",
+            "/api/orders/active,                                      1, 4",
+            "/api/orders/summary,                                     1, 0",
+            "/api/picking/pick-lists,                                 1, 10",
+            "/api/picking/pick-lists/1,                               1, 3",
+            "/api/picking/pick-lists/1/cartonization,                 3, 5",
+            "/api/picking/packages,                                   1, 10",
+            "/api/picking/packages/ready-for-shipment,                1, 0",
+            "/api/procurement/purchase-orders,                        1, 10",
+            "/api/procurement/purchase-orders/overdue,                1, 2",
+            "/api/quality/checks,                                     1, 5",
+            "/api/quality/checks/approved,                            1, 0",
+            "/api/quality/checks/require-recheck,                     1, 0",
+            "/api/quality/dashboard,                                  3, 5",
+            "/api/quality/standards,                                  2, 5",
+            "/api/receiving/goods-receipts,                           1, 10",
+            "/api/receiving/goods-receipts/1,                         1, 2",
+            "/api/receiving/goods-receipts/discrepancies,             1, 0",
+            "/api/reconciliation/performance/1,                       1, 0",
+            "/api/reconciliation/reports,                             2, 10",
+            "/api/reconciliation/reports/active,                      2, 2",
+            "/api/reconciliation/reports/high-variance,               1, 0",
+            "/api/reconciliation/reports/warehouse/1,                 2, 2",
+            "/api/returns,                                            2, 15",
+            "/api/returns/1,                                          2, 3",
+            "/api/returns/active,                                     2, 3",
+            "/api/returns/summary,                                    1, 0",
+            "/api/shipments,                                          2, 10",
+            "/api/shipments/1,                                        2, 2",
+            "/api/shipments/ready-for-dispatch,                       1, 0",
+            "/api/shipments/summary,                                  1, 0",
+            "/api/suppliers,                                          1, 5",
+            "/api/suppliers/1,                                        1, 1",
+            "/api/suppliers/1/scorecard,                              2, 1",
+            "/api/suppliers/scorecards,                               1, 0",
+            "/api/tracking/history/TRK-PK-789456123,                  1, 3",
+            "/api/tracking/status/TRK-PK-789456123,                   1, 3",
+            "/api/warehouse/warehouses,                               4, 15",
+            "/api/warehouse/warehouses/1,                             4, 5",
+            "/api/warehouse/warehouses/available-capacity,            4, 15",
+            "/api/warehouse/warehouses/1/shelves,                     3, 5",
+            "/api/warehouse/shelves/1,                                3, 3",
+            "/api/warehouse/shelves/available?minUnits=1,             1, 0",
+            "/api/warehouse/shelves/product/1,                        3, 3"
+    })
+    void endpointStaysWithinQueryBudget(String path, long maxStatements, long maxEntities) throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(get(path)).andExpect(status().isOk());
+
+        long statements = statistics.getPrepareStatementCount();
+        long entities = statistics.getEntityLoadCount();
+        assertThat(statements).as("SQL statements issued by GET %s", path).isLessThanOrEqualTo(maxStatements);
+        assertThat(entities).as("entities loaded by GET %s", path).isLessThanOrEqualTo(maxEntities);
+    }
+}
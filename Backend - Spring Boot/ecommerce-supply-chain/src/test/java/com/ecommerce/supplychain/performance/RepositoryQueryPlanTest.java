@@ -0,0 +1,342 @@
+package com.ecommerce.supplychain.performance;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.ChainListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every declared repository query method against the seed data, captures the SQL
+ * Hibernate sends and checks its plan with EXPLAIN. A filtered query that scans a whole
+ * transactional table fails the test: add an index for it in a new migration, or list
+ * the method in INTENDED_SCANS with the reason a scan is acceptable.
+ * A method that sends no statement, because its sample arguments made it fail first, fails the
+ * test too, so no query goes unchecked.
+ * The plans are H2's, run in MySQL mode against the same migrations, so they show whether a
+ * usable index exists rather than which one MySQL's optimizer would pick: H2 has no table
+ * statistics here and takes any index whose leading column matches. Cost-based choices, such as
+ * MySQL preferring a scan over a low-selectivity index, are checked with EXPLAIN on MySQL.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+
+    private static final Pattern WHERE = Pattern.compile("\\bwhere\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TABLE_SCAN = Pattern.compile("PUBLIC\\.(\\w+)\\.tableScan");
+
+    // Tables that grow with order, shipment and receipt volume. Reference and catalogue tables
+    // (products, inventory_monitoring: one row per product) may be scanned.
+    private static final Set<String> LARGE_TABLES = Set.of(
+            "customer_orders", "order_items", "order_status_history", "shipments", "dispatch_schedules",
+            "tracking_events", "delivery_exceptions", "pick_lists", "packages", "return_orders",
+            "stock_alerts", "quality_checks", "purchase_orders", "goods_receipts", "inspection_records",
+            "demand_forecasts", "reorder_plans", "supplier_scorecard_buckets", "sla_metric_buckets",
+            "scheduled_deadlines");
+
+    private static final String SUBSTRING = "substring search";
+    private static final String OPTIONAL = "optional filter, lists every row when absent";
+    private static final String FLAG = "filters only on a flag or small enum, matching too large a share for an index";
+    private static final String UNCALLED = "no caller; index it in the migration that adds one";
+
+    private static final Map<String, String> INTENDED_SCANS = Map.ofEntries(
+            Map.entry("ProductRepository.searchProducts", SUBSTRING),
+            Map.entry("InventoryRepository.searchInventory", SUBSTRING),
+            Map.entry("ShipmentRepository.findByRecipientNameContainingIgnoreCase", SUBSTRING),
+            Map.entry("OrderRepository.findSummaries", OPTIONAL),
+            Map.entry("ProductRepository.findSummaries", OPTIONAL),
+            Map.entry("ShipmentRepository.findSummaries", OPTIONAL),
+            Map.entry("InventoryRepository.findSummaries", OPTIONAL),
+            Map.entry("ReturnOrderRepository.findSummaries", OPTIONAL),
+            Map.entry("DemandForecastRepository.findForecastsWithActualDemand", "accuracy report over every closed forecast"),
+            Map.entry("DemandForecastRepository.findByForecastStatus", FLAG),
+            Map.entry("GoodsReceiptRepository.findReceiptsWithDiscrepancies", FLAG),
+            Map.entry("QualityCheckRepository.findApprovedChecks", FLAG),
+            Map.entry("QualityCheckRepository.findChecksRequiringRecheck", FLAG),
+            Map.entry("ReorderPlanRepository.findCriticalReorderPlans", FLAG),
+            Map.entry("ReorderPlanRepository.findPendingReorderPlans", FLAG),
+            Map.entry("ReturnOrderRepository.findReturnsRequiringPickup", FLAG),
+            Map.entry("DeliveryExceptionRepository.findByCarrier", UNCALLED),
+            Map.entry("DeliveryExceptionRepository.findByExceptionSeverity", UNCALLED),
+            Map.entry("DeliveryExceptionRepository.findByExceptionType", UNCALLED),
+            Map.entry("DeliveryExceptionRepository.findByPriorityLevel", UNCALLED),
+            Map.entry("DeliveryExceptionRepository.findByShipmentId", UNCALLED),
+            Map.entry("DeliveryExceptionRepository.findCriticalExceptionsRequiringCustomerContact", UNCALLED),
+            Map.entry("DeliveryExceptionRepository.findExceptionsByDateRange", UNCALLED),
+            Map.entry("DeliveryExceptionRepository.findExceptionsRequiringInsuranceClaim", UNCALLED),
+            Map.entry("DeliveryExceptionRepository.findOverdueExceptions", UNCALLED),
+            Map.entry("DemandForecastRepository.findByForecastMethod", UNCALLED),
+            Map.entry("DemandForecastRepository.findByForecastPeriod", UNCALLED),
+            Map.entry("DemandForecastRepository.findForecastsByDateRange", UNCALLED),
+            Map.entry("DemandForecastRepository.findHighConfidenceForecasts", UNCALLED),
+            Map.entry("DemandForecastRepository.findRecentForecasts", UNCALLED),
+            Map.entry("GoodsReceiptRepository.findByReceiptDateBetween", UNCALLED),
+            Map.entry("GoodsReceiptRepository.findByReceivedBy", UNCALLED),
+            Map.entry("GoodsReceiptRepository.findByWarehouseLocation", UNCALLED),
+            Map.entry("InspectionRepository.findByInspectionStatus", UNCALLED),
+            Map.entry("InspectionRepository.findByInspectorName", UNCALLED),
+            Map.entry("InspectionRepository.findLowQualityRecords", UNCALLED),
+            Map.entry("InspectionRepository.findRecordsWithRejections", UNCALLED),
+            Map.entry("OrderItemRepository.findByProductSku", UNCALLED),
+            Map.entry("OrderRepository.findByPaymentStatus", UNCALLED),
+            Map.entry("OrderRepository.findByWarehouseId", UNCALLED),
+            Map.entry("PackageRepository.findByCarrier", UNCALLED),
+            Map.entry("PackageRepository.findByPackedBy", UNCALLED),
+            Map.entry("PackageRepository.findByWarehouseId", UNCALLED),
+            Map.entry("PackageRepository.findPackagesByDateRange", UNCALLED),
+            Map.entry("PackageRepository.findPackagesPackedByDateRange", UNCALLED),
+            Map.entry("PickListRepository.findByAssignedTo", UNCALLED),
+            Map.entry("PickListRepository.findByPriorityLevel", UNCALLED),
+            Map.entry("PickListRepository.findByWarehouseId", UNCALLED),
+            Map.entry("PickListRepository.findPickListsByDateRange", UNCALLED),
+            Map.entry("PurchaseOrderRepository.findByExpectedDeliveryDateBetween", UNCALLED),
+            Map.entry("PurchaseOrderRepository.findByRequestedBy", UNCALLED),
+            Map.entry("QualityCheckRepository.findByApprovedForShipment", UNCALLED),
+            Map.entry("QualityCheckRepository.findByInspectorName", UNCALLED),
+            Map.entry("QualityCheckRepository.findByOverallResult", UNCALLED),
+            Map.entry("QualityCheckRepository.findByWarehouseId", UNCALLED),
+            Map.entry("QualityCheckRepository.findHighQualityChecks", UNCALLED),
+            Map.entry("QualityCheckRepository.findPassedChecksByType", UNCALLED),
+            Map.entry("QualityCheckRepository.findQualityChecksByDateRange", UNCALLED),
+            Map.entry("ReorderPlanRepository.findByConvertedToPo", UNCALLED),
+            Map.entry("ReorderPlanRepository.findByOrderUrgency", UNCALLED),
+            Map.entry("ReorderPlanRepository.findByStockoutRiskLevel", UNCALLED),
+            Map.entry("ReorderPlanRepository.findPlansWithExpectedStockout", UNCALLED),
+            Map.entry("ReturnOrderRepository.findByReturnReason", UNCALLED),
+            Map.entry("ReturnOrderRepository.findByReturnType", UNCALLED),
+            Map.entry("ReturnOrderRepository.findByWarehouseId", UNCALLED),
+            Map.entry("ReturnOrderRepository.findReturnsByDateRange", UNCALLED),
+            Map.entry("ShipmentRepository.findByCarrier", UNCALLED),
+            Map.entry("ShipmentRepository.findByShipmentDateBetween", UNCALLED),
+            Map.entry("StockAlertRepository.findAlertsByDateRange", UNCALLED),
+            Map.entry("StockAlertRepository.findByAlertLevel", UNCALLED),
+            Map.entry("StockAlertRepository.findByAlertType", UNCALLED),
+            Map.entry("StockAlertRepository.findByNotificationSent", UNCALLED),
+            Map.entry("TrackingEventRepository.findByCarrier", UNCALLED),
+            Map.entry("TrackingEventRepository.findByEventType", UNCALLED),
+            Map.entry("TrackingEventRepository.findByPackageId", UNCALLED),
+            Map.entry("TrackingEventRepository.findEventsByDateRange", UNCALLED));
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.seed-data.schema}")
+    private String schemaFile;
+
+    @Value("${app.seed-data.data}")
+    private String dataFile;
+
+    @Test
+    void filteredQueriesUseAnIndexOnLargeTables() throws Exception {
+        SeedDataLoader.load(primaryDataSource, Path.of(schemaFile), Path.of(dataFile));
+
+        List<CapturedQuery> captured = new ArrayList<>();
+        ChainListener chain = (ChainListener) ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener();
+        CaptureListener listener = new CaptureListener(captured);
+        chain.addListener(listener);
+        List<String> silent;
+        try {
+            silent = runEveryQueryMethod(captured);
+        } finally {
+            chain.getListeners().remove(listener);
+        }
+        assertThat(captured).as("statements captured from the repository query methods").isNotEmpty();
+        assertThat(silent).as("query methods that sent no SQL, so their plan was not checked").isEmpty();
+
+        List<String> violations = new ArrayList<>();
+        try (Connection connection = primaryDataSource.getConnection()) {
+            for (CapturedQuery query : captured) {
+                if (INTENDED_SCANS.containsKey(query.method) || !WHERE.matcher(query.sql).find()) {
+                    continue;
+                }
+                String plan = explain(connection, query);
+                Matcher scan = TABLE_SCAN.matcher(plan);
+                while (scan.find()) {
+                    String table = scan.group(1).toLowerCase(Locale.ROOT);
+                    if (LARGE_TABLES.contains(table)) {
+                        violations.add(query.method + " scans " + table + ": " + plan);
+                    }
+                }
+            }
+        }
+        assertThat(violations).as("full scans of large tables").isEmpty();
+    }
+
+    /**
+     * Invoke each non-modifying query method and tag the statements it sent with its name;
+     * returns the methods that sent none, with the exception that stopped them if any
+     */
+    private List<String> runEveryQueryMethod(List<CapturedQuery> captured) {
+        List<String> silent = new ArrayList<>();
+        Repositories repositories = new Repositories(applicationContext);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+            List<Method> methods = new ArrayList<>(information.getQueryMethods().toList());
+            methods.sort(Comparator.comparing(Method::getName));
+            for (Method method : methods) {
+                if (method.isAnnotationPresent(Modifying.class)) {
+                    continue;
+                }
+                String name = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                Object[] arguments = sampleArguments(method);
+                int before = captured.size();
+                RuntimeException failure = transaction.execute(status -> {
+                    status.setRollbackOnly();
+                    try {
+                        invoke(repository, method, arguments);
+                        return null;
+                    } catch (RuntimeException e) {
+                        // Sample arguments may match several rows for a single-result finder; the SQL was still
+                        // sent. Any other failure before the statement leaves the method silent and is reported.
+                        return e;
+                    }
+                });
+                if (captured.size() == before) {
+                    silent.add(failure == null ? name : name + ": " + failure);
+                }
+                for (int i = before; i < captured.size(); i++) {
+                    captured.get(i).method = name;
+                }
+            }
+        }
+        return silent;
+    }
+
+    private static void invoke(Object repository, Method method, Object[] arguments) {
+        try {
+            method.invoke(repository, arguments);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object[] sampleArguments(Method method) {
+        Type[] types = method.getGenericParameterTypes();
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            arguments[i] = sampleValue(types[i]);
+        }
+        return arguments;
+    }
+
+    private static Object sampleValue(Type type) {
+        if (type instanceof ParameterizedType parameterized
+                && Collection.class.isAssignableFrom((Class<?>) parameterized.getRawType())) {
+            return List.of(sampleValue(parameterized.getActualTypeArguments()[0]));
+        }
+        Class<?> raw = (Class<?>) type;
+        if (raw == Long.class || raw == long.class) {
+            return 1L;
+        } else if (raw == Integer.class || raw == int.class) {
+            return 1;
+        } else if (raw == Double.class || raw == double.class) {
+            return 1.0;
+        } else if (raw == BigDecimal.class) {
+            return BigDecimal.ONE;
+        } else if (raw == Boolean.class || raw == boolean.class) {
+            return Boolean.TRUE;
+        } else if (raw == LocalDate.class) {
+            return LocalDate.now();
+        } else if (raw == LocalDateTime.class) {
+            return LocalDateTime.now();
+        } else if (raw == String.class) {
+            return "PENDING";
+        }
+        return null;
+    }
+
+    private static String explain(Connection connection, CapturedQuery query) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.sql)) {
+            for (ParameterSetOperation operation : query.parameters) {
+                Object[] args = operation.getArgs();
+                if (operation.getMethod().getName().equals("setNull")) {
+                    statement.setNull((Integer) args[0], (Integer) args[1]);
+                } else {
+                    statement.setObject((Integer) args[0], args[1]);
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1).replaceAll("\\s+", " ");
+            }
+        }
+    }
+
+    private static class CapturedQuery {
+        private final String sql;
+        private final List<ParameterSetOperation> parameters;
+        private String method;
+
+        CapturedQuery(String sql, List<ParameterSetOperation> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
+
+    private record CaptureListener(List<CapturedQuery> captured) implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                if (!queryInfo.getQuery().trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                    continue;
+                }
+                List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty()
+                        ? List.of() : queryInfo.getParametersList().get(0);
+                captured.add(new CapturedQuery(queryInfo.getQuery(), parameters));
+            }
+        }
+    }
+}
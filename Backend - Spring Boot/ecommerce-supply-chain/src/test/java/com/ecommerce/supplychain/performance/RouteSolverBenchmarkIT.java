@@ -0,0 +1,95 @@
+package com.ecommerce.supplychain.performance;
+
+import com.ecommerce.supplychain.shipment.service.VehicleRouteSolver;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Solve time and route quality of {@link VehicleRouteSolver} on synthetic city-scale deliveries:
+ * stops spread around the depot in app.routing, parcel weights and volumes of a van load, and
+ * deadlines drawn from the express, same-day and end-of-shift service levels. The solver runs
+ * with the app.routing defaults. Each size is solved once to warm up and then route.benchmark.runs
+ * times on the same seeded layout; the median time, trips, distance and late stops are written to
+ * target/route-benchmark. Runs only in the route-benchmark Maven profile.
+ */
+class RouteSolverBenchmarkIT {
+
+    private static final double DEPOT_LATITUDE = 24.9056;
+    private static final double DEPOT_LONGITUDE = 66.9936;
+    private static final double CITY_RADIUS_KM = 15;
+    private static final double SHIFT_MINUTES = 600;
+    private static final double LOCAL_SEARCH_MILLIS = 1500;
+
+    @Test
+    void solveTimeByStopCount() throws Exception {
+        int runs = Integer.getInteger("route.benchmark.runs", 5);
+        Path output = Path.of(System.getProperty("route.benchmark.output", "target/route-benchmark"));
+        Files.createDirectories(output);
+
+        StringBuilder csv = new StringBuilder("stops,run,millis,trips,distanceKm,constructionDistanceKm,lateStops\n");
+        for (int size : new int[] {200, 2000}) {
+            List<VehicleRouteSolver.Stop> stops = stops(size, new Random(size));
+            solve(stops); // warm-up: JIT
+
+            List<Long> millis = new ArrayList<>();
+            VehicleRouteSolver.Solution solution = null;
+            for (int run = 1; run <= runs; run++) {
+                long started = System.nanoTime();
+                solution = solve(stops);
+                long elapsed = (System.nanoTime() - started) / 1_000_000;
+                millis.add(elapsed);
+                csv.append(size).append(',').append(run).append(',').append(elapsed).append(',')
+                        .append(solution.getTrips().size()).append(',')
+                        .append(String.format("%.1f,%.1f", solution.getTotalDistanceKm(), solution.getConstructionDistanceKm()))
+                        .append(',').append(solution.getLateStops()).append('\n');
+            }
+            System.out.printf("Route solver %d stops: median %d ms over %d runs %s, %d trips, %.1f km (savings %.1f km), %d late%n",
+                    size, median(millis), runs, millis, solution.getTrips().size(), solution.getTotalDistanceKm(),
+                    solution.getConstructionDistanceKm(), solution.getLateStops());
+
+            // Local search stops at its budget; construction must leave room for it
+            assertThat(median(millis)).as("median solve time for %d stops", size).isLessThan((long) LOCAL_SEARCH_MILLIS + 1000);
+            assertThat(solution.getTotalDistanceKm()).isLessThanOrEqualTo(solution.getConstructionDistanceKm() + 1e-6);
+        }
+        Files.writeString(output.resolve("route-solver.csv"), csv, StandardCharsets.UTF_8);
+    }
+
+    private static VehicleRouteSolver.Solution solve(List<VehicleRouteSolver.Stop> stops) {
+        VehicleRouteSolver solver = new VehicleRouteSolver(30, 1.3, 5, 20, SHIFT_MINUTES, 40, (long) LOCAL_SEARCH_MILLIS);
+        return solver.solve(DEPOT_LATITUDE, DEPOT_LONGITUDE, stops, 800, 6_000_000);
+    }
+
+    private static List<VehicleRouteSolver.Stop> stops(int count, Random random) {
+        double kmPerDegreeLatitude = 6371.0 * Math.PI / 180;
+        double kmPerDegreeLongitude = kmPerDegreeLatitude * Math.cos(Math.toRadians(DEPOT_LATITUDE));
+        List<VehicleRouteSolver.Stop> stops = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            double radius = CITY_RADIUS_KM * Math.sqrt(random.nextDouble());
+            double angle = random.nextDouble() * 2 * Math.PI;
+            // One in ten express (13:00 after an 08:00 departure); same-day and standard end with the shift
+            double deadline = random.nextInt(10) == 0 ? 300 : SHIFT_MINUTES;
+            stops.add(new VehicleRouteSolver.Stop(
+                    DEPOT_LATITUDE + radius * Math.sin(angle) / kmPerDegreeLatitude,
+                    DEPOT_LONGITUDE + radius * Math.cos(angle) / kmPerDegreeLongitude,
+                    0.5 + random.nextDouble() * 15,
+                    1_000 + random.nextInt(30_000),
+                    deadline));
+        }
+        return stops;
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
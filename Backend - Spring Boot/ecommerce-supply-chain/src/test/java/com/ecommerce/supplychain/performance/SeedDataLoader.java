@@ -0,0 +1,222 @@
+package com.ecommerce.supplychain.performance;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loads the MySQL dump in seeddata.sql into the embedded test database.
+ * The dump's INSERTs are positional, so column names come from the matching CREATE TABLE
+ * in sqlschema.sql. Columns the entities no longer map are skipped, and values are bound
+ * as parameters so MySQL-only literals (backslash escapes, _binary bits) need no translation.
+ */
+public class SeedDataLoader {
+
+    private static final Pattern CREATE_TABLE = Pattern.compile("CREATE TABLE `(\\w+)` \\((.*?)\\n\\)", Pattern.DOTALL);
+    private static final Pattern COLUMN = Pattern.compile("^\\s*`(\\w+)`(.*)$", Pattern.MULTILINE);
+    private static final Pattern INSERT = Pattern.compile("^INSERT INTO `(\\w+)` VALUES (.*);$", Pattern.MULTILINE);
+
+    private SeedDataLoader() {
+    }
+
+    /**
+     * Insert every seed row and move identity columns past the seeded ids; returns rows per table
+     */
+    public static Map<String, Integer> load(DataSource dataSource, Path schemaFile, Path dataFile) throws IOException, SQLException {
+        Map<String, List<String>> dumpColumns = new HashMap<>();
+        Map<String, String> identityColumns = new HashMap<>();
+        Matcher table = CREATE_TABLE.matcher(Files.readString(schemaFile, StandardCharsets.UTF_8));
+        while (table.find()) {
+            List<String> columns = new ArrayList<>();
+            Matcher column = COLUMN.matcher(table.group(2));
+            while (column.find()) {
+                columns.add(column.group(1));
+                if (column.group(2).contains("AUTO_INCREMENT")) {
+                    identityColumns.put(table.group(1), column.group(1));
+                }
+            }
+            dumpColumns.put(table.group(1), columns);
+        }
+
+        Map<String, Integer> loaded = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            Map<String, Set<String>> mappedColumns = mappedColumns(connection.getMetaData());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            }
+
+            Matcher insert = INSERT.matcher(Files.readString(dataFile, StandardCharsets.UTF_8));
+            while (insert.find()) {
+                String tableName = insert.group(1);
+                List<String> columns = dumpColumns.get(tableName);
+                Set<String> mapped = mappedColumns.get(tableName.toLowerCase(Locale.ROOT));
+                if (columns == null || mapped == null) {
+                    continue;
+                }
+                // Test contexts share the in-memory database, so another context may have seeded it already
+                int existing = rowCount(connection, tableName);
+                if (existing > 0) {
+                    loaded.put(tableName, existing);
+                    continue;
+                }
+                loaded.put(tableName, insertRows(connection, tableName, columns, mapped, parseRows(insert.group(2))));
+
+                String identity = identityColumns.get(tableName);
+                if (identity != null) {
+                    restartIdentity(connection, tableName, identity);
+                }
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+        }
+        return loaded;
+    }
+
+    private static Map<String, Set<String>> mappedColumns(DatabaseMetaData metaData) throws SQLException {
+        Map<String, Set<String>> columns = new HashMap<>();
+        try (ResultSet resultSet = metaData.getColumns(null, null, "%", "%")) {
+            while (resultSet.next()) {
+                columns.computeIfAbsent(resultSet.getString("TABLE_NAME").toLowerCase(Locale.ROOT), key -> new HashSet<>())
+                        .add(resultSet.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        return columns;
+    }
+
+    private static int insertRows(Connection connection, String tableName, List<String> columns, Set<String> mapped,
+                                  List<List<Object>> rows) throws SQLException {
+        List<Integer> positions = new ArrayList<>();
+        StringBuilder names = new StringBuilder();
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            if (mapped.contains(columns.get(i).toLowerCase(Locale.ROOT))) {
+                positions.add(i);
+                names.append(names.length() > 0 ? ", " : "").append(columns.get(i));
+                placeholders.append(placeholders.length() > 0 ? ", " : "").append('?');
+            }
+        }
+
+        String sql = "INSERT INTO " + tableName + " (" + names + ") VALUES (" + placeholders + ")";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (List<Object> row : rows) {
+                for (int i = 0; i < positions.size(); i++) {
+                    statement.setObject(i + 1, row.get(positions.get(i)));
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        return rows.size();
+    }
+
+    private static int rowCount(Connection connection, String tableName) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + tableName)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static void restartIdentity(Connection connection, String tableName, String column) throws SQLException {
+        long next;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) + 1 FROM " + tableName)) {
+            resultSet.next();
+            next = resultSet.getLong(1);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + tableName + " ALTER COLUMN " + column + " RESTART WITH " + next);
+        }
+    }
+
+    /**
+     * Parse "(v1,v2,...),(...)" into rows of Java values: strings, numbers, booleans for _binary bits, nulls
+     */
+    static List<List<Object>> parseRows(String values) {
+        List<List<Object>> rows = new ArrayList<>();
+        List<Object> row = null;
+        int i = 0;
+        while (i < values.length()) {
+            char c = values.charAt(i);
+            if (c == '(') {
+                row = new ArrayList<>();
+                i++;
+            } else if (c == ')') {
+                rows.add(row);
+                row = null;
+                i++;
+            } else if (c == ',' || Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'') {
+                StringBuilder value = new StringBuilder();
+                i = readString(values, i, value);
+                row.add(value.toString());
+            } else if (values.startsWith("_binary ", i)) {
+                StringBuilder value = new StringBuilder();
+                i = readString(values, i + "_binary ".length(), value);
+                row.add(value.length() > 0 && value.charAt(0) != '\0');
+            } else {
+                int end = i;
+                while (end < values.length() && values.charAt(end) != ',' && values.charAt(end) != ')') {
+                    end++;
+                }
+                String token = values.substring(i, end).trim();
+                row.add("NULL".equals(token) ? null : new BigDecimal(token));
+                i = end;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Read a single-quoted MySQL literal starting at the opening quote; returns the index after the closing quote
+     */
+    private static int readString(String values, int start, StringBuilder value) {
+        int i = start + 1;
+        while (i < values.length()) {
+            char c = values.charAt(i);
+            if (c == '\\' && i + 1 < values.length()) {
+                char escaped = values.charAt(i + 1);
+                value.append(switch (escaped) {
+                    case '0' -> '\0';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    case 't' -> '\t';
+                    case 'Z' -> (char) 26;
+                    default -> escaped;
+                });
+                i += 2;
+            } else if (c == '\'' && i + 1 < values.length() && values.charAt(i + 1) == '\'') {
+                value.append('\'');
+                i += 2;
+            } else if (c == '\'') {
+                return i + 1;
+            } else {
+                value.append(c);
+                i++;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated string literal at offset " + start);
+    }
+}
@@ -0,0 +1,193 @@
+package com.ecommerce.supplychain.performance;
+
+import com.ecommerce.supplychain.EcommerceSupplyChainApplication;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time from JVM launch to the first answered request, default startup against the fast-startup
+ * profile. Every run is a fresh JVM on the embedded test database, so class loading and JIT
+ * warm-up are measured as they are on a restart. The fast-startup runs use the AOT-generated
+ * context when the build produced one (-Pfast-startup) and a CDS archive from a training run.
+ * CDS only archives classes from jars, so both variants run with the class directories packed as jars.
+ * Runs only in the startup-benchmark Maven profile; medians are written to target/startup-benchmark
+ * and appended to startup.benchmark.history when set, so CI can track them across builds.
+ */
+class StartupTimeBenchmarkIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final String AOT_INITIALIZER = EcommerceSupplyChainApplication.class.getName() + "__ApplicationContextInitializer";
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        int runs = Integer.getInteger("startup.benchmark.runs", 5);
+        Path output = Path.of(System.getProperty("startup.benchmark.output", "target/startup-benchmark"));
+        Files.createDirectories(output);
+        String classpath = jarredClasspath(output);
+
+        List<String> fastStartupOptions = new ArrayList<>();
+        if (isAotProcessed()) {
+            fastStartupOptions.add("-Dspring.aot.enabled=true");
+        }
+        Path archive = output.resolve("application.jsa");
+        Files.deleteIfExists(archive);
+        List<String> training = new ArrayList<>(fastStartupOptions);
+        training.add("-XX:ArchiveClassesAtExit=" + archive);
+        training.add("-Dspring.context.exit=onRefresh");
+        assertThat(launch(classpath, training, "test,fast-startup", 0).waitFor(STARTUP_TIMEOUT.toSeconds(), TimeUnit.SECONDS))
+                .as("CDS training run finished").isTrue();
+        if (Files.exists(archive)) {
+            fastStartupOptions.add("-XX:SharedArchiveFile=" + archive);
+        }
+
+        Map<String, List<Long>> timings = new LinkedHashMap<>();
+        timings.put("default", measure(classpath, List.of(), "test", runs));
+        timings.put("fast-startup", measure(classpath, fastStartupOptions, "test,fast-startup", runs));
+
+        StringBuilder csv = new StringBuilder("variant,run,millis\n");
+        StringBuilder history = new StringBuilder();
+        String timestamp = Instant.now().toString();
+        timings.forEach((variant, millis) -> {
+            for (int i = 0; i < millis.size(); i++) {
+                csv.append(variant).append(',').append(i + 1).append(',').append(millis.get(i)).append('\n');
+            }
+            history.append(timestamp).append(',').append(variant).append(',').append(median(millis)).append('\n');
+            System.out.printf("Startup %s: median %d ms over %d runs %s%n", variant, median(millis), millis.size(), millis);
+        });
+        System.out.println("Fast-startup options: " + fastStartupOptions);
+        Files.writeString(output.resolve("startup-times.csv"), csv, StandardCharsets.UTF_8);
+
+        String historyFile = System.getProperty("startup.benchmark.history", "");
+        if (!historyFile.isBlank()) {
+            Files.writeString(Path.of(historyFile), history, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    private List<Long> measure(String classpath, List<String> jvmOptions, String profiles, int runs) throws Exception {
+        measureOnce(classpath, jvmOptions, profiles); // warm-up: file system cache
+        List<Long> millis = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            millis.add(measureOnce(classpath, jvmOptions, profiles));
+        }
+        return millis;
+    }
+
+    private long measureOnce(String classpath, List<String> jvmOptions, String profiles) throws Exception {
+        int port = freePort();
+        long started = System.nanoTime();
+        Process process = launch(classpath, jvmOptions, profiles, port);
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                    .timeout(Duration.ofSeconds(5)).build();
+            while (System.nanoTime() - started < STARTUP_TIMEOUT.toNanos()) {
+                assertThat(process.isAlive()).as("application process with profiles %s", profiles).isTrue();
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(20);
+            }
+            throw new IllegalStateException("No answer within " + STARTUP_TIMEOUT + " with profiles " + profiles);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static Process launch(String classpath, List<String> jvmOptions, String profiles, int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(EcommerceSupplyChainApplication.class.getName());
+        command.add("--spring.profiles.active=" + profiles);
+        command.add("--server.port=" + port);
+        command.add("--logging.level.root=WARN");
+        command.add("--logging.level.com.ecommerce.supplychain=WARN");
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(new File("target/startup-benchmark.log")))
+                .start();
+    }
+
+    /**
+     * The test classpath with every class directory replaced by a jar of its contents
+     */
+    private static String jarredClasspath(Path output) throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            if (!Files.isDirectory(path)) {
+                entries.add(entry);
+                continue;
+            }
+            Path jar = output.resolve(path.getFileName() + ".jar");
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+                 Stream<Path> files = Files.walk(path)) {
+                for (Path file : files.filter(file -> !file.equals(path)).toList()) {
+                    String name = path.relativize(file).toString().replace(File.separatorChar, '/');
+                    // Directory entries too, component scanning looks packages up as resources
+                    out.putNextEntry(new JarEntry(Files.isDirectory(file) ? name + "/" : name));
+                    if (Files.isRegularFile(file)) {
+                        Files.copy(file, out);
+                    }
+                    out.closeEntry();
+                }
+            }
+            entries.add(jar.toString());
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static boolean isAotProcessed() {
+        try {
+            Class.forName(AOT_INITIALIZER);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = values.stream().sorted().toList();
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,223 @@
+package com.ecommerce.supplychain.picking.service;
+
+import com.ecommerce.supplychain.catalog.model.Product;
+import com.ecommerce.supplychain.catalog.repository.ProductRepository;
+import com.ecommerce.supplychain.common.config.CartonizationConfig;
+import com.ecommerce.supplychain.picking.dto.CartonizationResultDTO;
+import com.ecommerce.supplychain.picking.dto.PackageDTO;
+import com.ecommerce.supplychain.picking.dto.PackageResponseDTO;
+import com.ecommerce.supplychain.picking.model.Package;
+import com.ecommerce.supplychain.picking.model.PickList;
+import com.ecommerce.supplychain.picking.repository.PackageRepository;
+import com.ecommerce.supplychain.picking.repository.PickListRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Carton recommendations from a three-carton catalogue: ENV-S 35x25x3 (1 kg), BOX-S 30x20x15
+ * (10 kg) and BOX-L 60x45x40 (30 kg). Product dimensions come from a mocked repository, and
+ * packages are created through PickingService against mocked repositories.
+ */
+class CartonizationServiceTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final PickListRepository pickListRepository = mock(PickListRepository.class);
+    private final PackageRepository packageRepository = mock(PackageRepository.class);
+    private final List<Product> products = new ArrayList<>();
+    private CartonizationService cartonizationService;
+    private PickingService pickingService;
+
+    @BeforeEach
+    void setUp() {
+        CartonizationConfig config = new CartonizationConfig();
+        config.setCartons(List.of(
+                carton("ENV-S", "ENVELOPE", "SMALL", 35, 25, 3, 1, 0.05),
+                carton("BOX-S", "BOX", "SMALL", 30, 20, 15, 10, 0.3),
+                carton("BOX-L", "BOX", "LARGE", 60, 45, 40, 30, 1.0)));
+        cartonizationService = new CartonizationService();
+        ReflectionTestUtils.setField(cartonizationService, "cartonizationConfig", config);
+        ReflectionTestUtils.setField(cartonizationService, "productRepository", productRepository);
+        when(productRepository.findAllById(anyCollection())).thenReturn(products);
+
+        PickList pickList = new PickList();
+        pickList.setPickListId(7L);
+        pickList.setPickStatus("COMPLETED");
+        when(pickListRepository.findById(7L)).thenReturn(Optional.of(pickList));
+        when(packageRepository.save(any(Package.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        pickingService = new PickingService();
+        ReflectionTestUtils.setField(pickingService, "pickListRepository", pickListRepository);
+        ReflectionTestUtils.setField(pickingService, "packageRepository", packageRepository);
+        ReflectionTestUtils.setField(pickingService, "cartonizationService", cartonizationService);
+    }
+
+    @Test
+    void flatItemIsTurnedOntoItsSideToFitTheEnvelope() {
+        // Standing 30 cm wide and 20 cm tall it only fits the envelope laid flat
+        CartonizationResultDTO result = cartonizationService.cartonize(List.of(item(1L, 1, 0.5, "2x30x20")));
+
+        assertThat(result.getCartons()).singleElement().satisfies(carton -> {
+            assertThat(carton.getCartonCode()).isEqualTo("ENV-S");
+            assertThat(carton.getDimensions()).isEqualTo("35x25x3");
+            assertThat(carton.getWeightKg()).isEqualTo(0.55);
+            assertThat(carton.getVolumeUtilization()).isEqualTo(45.71);
+        });
+        assertThat(result.getUnpackableItems()).isEmpty();
+    }
+
+    @Test
+    void filledCartonIsShrunkToTheSmallestTypeThatHoldsIt() {
+        CartonizationResultDTO result = cartonizationService.cartonize(List.of(item(1L, 6, 1.0, "10x10x10")));
+
+        // Opened as BOX-L, but the six cubes stand in one layer of BOX-S
+        assertThat(result.getCartons()).singleElement().satisfies(carton -> {
+            assertThat(carton.getCartonCode()).isEqualTo("BOX-S");
+            assertThat(carton.getWeightKg()).isEqualTo(6.3);
+            assertThat(carton.getVolumeUtilization()).isEqualTo(66.67);
+            assertThat(carton.getItems()).singleElement()
+                    .satisfies(line -> assertThat(line.getQuantity()).isEqualTo(6));
+        });
+    }
+
+    @Test
+    void weightLimitOpensAnotherCartonAndKeepsTheHeavyOneLarge() {
+        CartonizationResultDTO result = cartonizationService.cartonize(List.of(item(1L, 4, 9.0, "10x10x10")));
+
+        // Three units reach 27 of BOX-L's 30 kg; the fourth alone shrinks to BOX-S
+        assertThat(result.getCartonCount()).isEqualTo(2);
+        assertThat(result.getCartons())
+                .extracting(CartonizationResultDTO.CartonDTO::getCartonCode, CartonizationResultDTO.CartonDTO::getWeightKg)
+                .containsExactly(tuple("BOX-L", 28.0), tuple("BOX-S", 9.3));
+        assertThat(result.getTotalWeightKg()).isEqualTo(37.3);
+        assertThat(result.getTotalUnits()).isEqualTo(4);
+    }
+
+    @Test
+    void unitsNoCartonHoldsAreReportedUnpackable() {
+        CartonizationResultDTO result = cartonizationService.cartonize(List.of(
+                item(1L, 1, 1.0, "100x10x10"),
+                item(2L, 2, 31.0, "10x10x10"),
+                item(3L, 1, 0.5, "5x5x5")));
+
+        assertThat(result.getUnpackableItems())
+                .extracting(CartonizationResultDTO.CartonItemDTO::getProductId, CartonizationResultDTO.CartonItemDTO::getQuantity)
+                .containsExactly(tuple(1L, 1), tuple(2L, 2));
+        assertThat(result.getCartons()).singleElement()
+                .satisfies(carton -> assertThat(carton.getCartonCode()).isEqualTo("BOX-S"));
+        assertThat(result.getTotalUnits()).isEqualTo(4);
+    }
+
+    @Test
+    void missingOrUnreadableDimensionsUseTheDefault() {
+        CartonizationResultDTO result = cartonizationService.cartonize(List.of(
+                item(1L, 1, 0.5, null), item(2L, 1, 0.5, "N/A")));
+
+        // Two 10 cm cubes: too tall for the envelope
+        assertThat(result.getCartons()).singleElement().satisfies(carton -> {
+            assertThat(carton.getCartonCode()).isEqualTo("BOX-S");
+            assertThat(carton.getVolumeUtilization()).isEqualTo(22.22);
+        });
+    }
+
+    @Test
+    void packageWithoutAChosenCartonTakesTheRecommendation() {
+        products.add(product(10L, "2x30x20"));
+
+        PackageResponseDTO created = pickingService.createPackage(packageOf(packageItem(10L, 1, "0.5")));
+
+        assertThat(created.getPackageType()).isEqualTo("ENVELOPE");
+        assertThat(created.getPackageSize()).isEqualTo("SMALL");
+        assertThat(created.getDimensions()).isEqualTo("35x25x3");
+        // Contents plus the envelope's tare
+        assertThat(created.getWeightKg()).isEqualByComparingTo("0.55");
+        assertThat(created.getPackageNotes()).isNull();
+    }
+
+    @Test
+    void packageNeedingSeveralCartonsTakesTheFirstAndNotesTheCount() {
+        products.add(product(11L, "10x10x10"));
+        PackageDTO dto = packageOf(packageItem(11L, 4, "9.0"));
+        dto.setPackageNotes("Handle with care");
+
+        PackageResponseDTO created = pickingService.createPackage(dto);
+
+        assertThat(created.getPackageSize()).isEqualTo("LARGE");
+        assertThat(created.getDimensions()).isEqualTo("60x45x40");
+        assertThat(created.getWeightKg()).isEqualByComparingTo("37.0");
+        assertThat(created.getPackageNotes()).isEqualTo("Handle with care\nCartonization recommends 2 cartons for these items");
+    }
+
+    @Test
+    void packersChoiceOfCartonIsKept() {
+        PackageDTO dto = packageOf(packageItem(10L, 1, "0.5"));
+        dto.setPackageType("PALLET");
+
+        PackageResponseDTO created = pickingService.createPackage(dto);
+
+        assertThat(created.getPackageType()).isEqualTo("PALLET");
+        assertThat(created.getDimensions()).isNull();
+        assertThat(created.getWeightKg()).isEqualByComparingTo("0.5");
+        verify(productRepository, never()).findAllById(anyCollection());
+    }
+
+    private static CartonizationConfig.CartonType carton(String code, String packageType, String packageSize,
+                                                         double length, double width, double height,
+                                                         double maxWeightKg, double tareWeightKg) {
+        CartonizationConfig.CartonType carton = new CartonizationConfig.CartonType();
+        carton.setCode(code);
+        carton.setPackageType(packageType);
+        carton.setPackageSize(packageSize);
+        carton.setLengthCm(length);
+        carton.setWidthCm(width);
+        carton.setHeightCm(height);
+        carton.setMaxWeightKg(maxWeightKg);
+        carton.setTareWeightKg(tareWeightKg);
+        return carton;
+    }
+
+    private static CartonizationService.ItemSpec item(Long productId, int quantity, double weightKg, String dimensions) {
+        return new CartonizationService.ItemSpec(productId, "Product " + productId, quantity, weightKg, dimensions);
+    }
+
+    private static Product product(Long productId, String dimensions) {
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setDimensions(dimensions);
+        return product;
+    }
+
+    private static PackageDTO packageOf(PackageDTO.PackageItemDTO... items) {
+        PackageDTO dto = new PackageDTO();
+        dto.setTrackingNumber("PKG-TEST-1");
+        dto.setOrderId(1L);
+        dto.setOrderNumber("ORD-TEST-1");
+        dto.setPickListId(7L);
+        dto.setWarehouseId(1L);
+        dto.setItems(List.of(items));
+        return dto;
+    }
+
+    private static PackageDTO.PackageItemDTO packageItem(Long productId, int quantity, String weightKg) {
+        PackageDTO.PackageItemDTO item = new PackageDTO.PackageItemDTO();
+        item.setProductId(productId);
+        item.setProductName("Product " + productId);
+        item.setProductSku("SKU-" + productId);
+        item.setQuantity(quantity);
+        item.setWeightKg(new BigDecimal(weightKg));
+        return item;
+    }
+}
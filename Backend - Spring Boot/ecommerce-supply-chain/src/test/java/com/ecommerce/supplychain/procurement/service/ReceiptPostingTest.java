@@ -0,0 +1,261 @@
+package com.ecommerce.supplychain.procurement.service;
+
+import com.ecommerce.supplychain.performance.SeedDataLoader;
+import com.ecommerce.supplychain.procurement.dto.PurchaseOrderDTO;
+import com.ecommerce.supplychain.procurement.dto.PurchaseOrderResponseDTO;
+import com.ecommerce.supplychain.procurement.dto.ReceiptPostingDTO;
+import com.ecommerce.supplychain.procurement.dto.ReceiptPostingResultDTO;
+import com.ecommerce.supplychain.receiving.dto.GoodsReceiptDTO;
+import com.ecommerce.supplychain.receiving.model.GoodsReceipt;
+import com.ecommerce.supplychain.receiving.repository.GoodsReceiptRepository;
+import com.ecommerce.supplychain.receiving.service.ReceivingService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Posting deliveries against two sent purchase orders of supplier 1: PO A orders 10 units of
+ * TEST-A1 and 5 of TEST-A2, PO B orders 8 of TEST-B1. Each posting names a goods receipt booked
+ * in against PO A. Each test runs in a transaction that is rolled back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReceiptPostingTest {
+
+    @Autowired
+    private ProcurementService procurementService;
+
+    @Autowired
+    private ReceivingService receivingService;
+
+    @Autowired
+    private GoodsReceiptRepository goodsReceiptRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.seed-data.schema}")
+    private String schemaFile;
+
+    @Value("${app.seed-data.data}")
+    private String dataFile;
+
+    @BeforeAll
+    void loadSeedData() throws Exception {
+        SeedDataLoader.load(dataSource, Path.of(schemaFile), Path.of(dataFile));
+    }
+
+    @Test
+    void deliveryIsPostedAcrossPurchaseOrdersAndEachStatusSettled() {
+        inRolledBackTransaction(() -> {
+            PurchaseOrderResponseDTO poA = sentPurchaseOrder("A", item("TEST-A1", 10), item("TEST-A2", 5));
+            PurchaseOrderResponseDTO poB = sentPurchaseOrder("B", item("TEST-B1", 8));
+            Long receiptId = goodsReceipt(poA.getPoId());
+
+            // TEST-A1 arrives on two lines, one naming the item and one its SKU
+            ReceiptPostingResultDTO result = procurementService.postReceipt(posting(receiptId,
+                    byId(poA.getPoId(), itemId(poA, "TEST-A1"), 6),
+                    bySku(poA.getPoId(), "TEST-A1", 4),
+                    bySku(poA.getPoId(), "TEST-A2", 5),
+                    bySku(poB.getPoId(), "TEST-B1", 3)));
+
+            assertThat(result.getLinesPosted()).isEqualTo(4);
+            assertThat(result.getQuantityPosted()).isEqualTo(18);
+            assertThat(result.getPurchaseOrdersReceived()).isEqualTo(1);
+            assertThat(result.getGoodsReceiptId()).isEqualTo(receiptId);
+            assertThat(result.getPostedAt()).isNotNull();
+            assertThat(result.getPurchaseOrders())
+                    .extracting(PurchaseOrderResponseDTO::getPoId, PurchaseOrderResponseDTO::getStatus)
+                    .containsExactly(tuple(poA.getPoId(), "RECEIVED"), tuple(poB.getPoId(), "PARTIALLY_RECEIVED"));
+
+            PurchaseOrderResponseDTO receivedA = procurementService.getPurchaseOrderById(poA.getPoId());
+            assertThat(receivedA.getActualDeliveryDate()).isEqualTo(LocalDate.now());
+            assertThat(receivedQuantities(receivedA)).containsExactly(10, 5);
+            assertThat(receivedQuantities(procurementService.getPurchaseOrderById(poB.getPoId()))).containsExactly(3);
+            assertThat(goodsReceiptRepository.findById(receiptId)).get()
+                    .extracting(GoodsReceipt::getPostedAt)
+                    .isEqualTo(result.getPostedAt());
+        });
+    }
+
+    @Test
+    void lineNamingNoItemOfItsPurchaseOrderIsRejected() {
+        inRolledBackTransaction(() -> {
+            PurchaseOrderResponseDTO poA = sentPurchaseOrder("A", item("TEST-A1", 10), item("TEST-A2", 5));
+            PurchaseOrderResponseDTO poB = sentPurchaseOrder("B", item("TEST-B1", 8));
+            Long receiptId = goodsReceipt(poA.getPoId());
+
+            // TEST-B1 is ordered, but on PO B
+            assertThatThrownBy(() -> procurementService.postReceipt(posting(receiptId, bySku(poA.getPoId(), "TEST-B1", 1))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Item TEST-B1 not found in purchase order " + poA.getPoNumber());
+            Long itemOfB = itemId(poB, "TEST-B1");
+            assertThatThrownBy(() -> procurementService.postReceipt(posting(receiptId, byId(poA.getPoId(), itemOfB, 1))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Item " + itemOfB + " not found in purchase order " + poA.getPoNumber());
+        });
+    }
+
+    @Test
+    void oneBadLineRejectsTheWholeDelivery() {
+        inRolledBackTransaction(() -> {
+            PurchaseOrderResponseDTO poA = sentPurchaseOrder("A", item("TEST-A1", 10), item("TEST-A2", 5));
+            PurchaseOrderResponseDTO poB = sentPurchaseOrder("B", item("TEST-B1", 8));
+            Long receiptId = goodsReceipt(poA.getPoId());
+
+            // Each line alone fits, but together they receive 9 of the 8 units ordered
+            assertThatThrownBy(() -> procurementService.postReceipt(posting(receiptId,
+                    bySku(poA.getPoId(), "TEST-A1", 10),
+                    bySku(poB.getPoId(), "TEST-B1", 5),
+                    byId(poB.getPoId(), itemId(poB, "TEST-B1"), 4))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Received quantity cannot exceed ordered quantity for item " + itemId(poB, "TEST-B1"));
+
+            PurchaseOrderResponseDTO draft = createPurchaseOrder("C", item("TEST-C1", 1));
+            assertThatThrownBy(() -> procurementService.postReceipt(posting(receiptId,
+                    bySku(poA.getPoId(), "TEST-A1", 10),
+                    bySku(draft.getPoId(), "TEST-C1", 1))))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Can only receive goods for SENT or PARTIALLY_RECEIVED orders, " + draft.getPoNumber() + " is DRAFT");
+
+            assertThat(procurementService.getPurchaseOrderById(poA.getPoId()).getStatus()).isEqualTo("SENT");
+            assertThat(receivedQuantities(procurementService.getPurchaseOrderById(poA.getPoId()))).containsExactly(0, 0);
+            assertThat(receivedQuantities(procurementService.getPurchaseOrderById(poB.getPoId()))).containsExactly(0);
+            assertThat(goodsReceiptRepository.findById(receiptId).orElseThrow().getPostedAt()).isNull();
+        });
+    }
+
+    @Test
+    void goodsReceiptIsPostedOnlyOnce() {
+        inRolledBackTransaction(() -> {
+            PurchaseOrderResponseDTO poA = sentPurchaseOrder("A", item("TEST-A1", 10), item("TEST-A2", 5));
+            Long receiptId = goodsReceipt(poA.getPoId());
+            ReceiptPostingResultDTO first = procurementService.postReceipt(posting(receiptId, bySku(poA.getPoId(), "TEST-A1", 4)));
+
+            // A retry of the same delivery must not count it twice
+            assertThatThrownBy(() -> procurementService.postReceipt(posting(receiptId, bySku(poA.getPoId(), "TEST-A1", 4))))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageEndingWith("was already posted at " + first.getPostedAt());
+
+            assertThat(receivedQuantities(procurementService.getPurchaseOrderById(poA.getPoId()))).containsExactly(4, 0);
+        });
+    }
+
+    @Test
+    void postingMustNameAGoodsReceiptOfOneOfItsPurchaseOrders() {
+        inRolledBackTransaction(() -> {
+            PurchaseOrderResponseDTO poA = sentPurchaseOrder("A", item("TEST-A1", 10));
+            PurchaseOrderResponseDTO poB = sentPurchaseOrder("B", item("TEST-B1", 8));
+            Long receiptOfB = goodsReceipt(poB.getPoId());
+
+            assertThatThrownBy(() -> procurementService.postReceipt(posting(null, bySku(poA.getPoId(), "TEST-A1", 1))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Goods receipt ID is required");
+            assertThatThrownBy(() -> procurementService.postReceipt(posting(receiptOfB, bySku(poA.getPoId(), "TEST-A1", 1))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageEndingWith("is for purchase order " + poB.getPoId() + ", which is not in this posting");
+            assertThat(receivedQuantities(procurementService.getPurchaseOrderById(poA.getPoId()))).containsExactly(0);
+        });
+    }
+
+    private PurchaseOrderResponseDTO sentPurchaseOrder(String name, PurchaseOrderDTO.PurchaseOrderItemDTO... items) {
+        PurchaseOrderResponseDTO po = createPurchaseOrder(name, items);
+        procurementService.approvePurchaseOrder(po.getPoId(), "Approver");
+        return procurementService.sendPurchaseOrder(po.getPoId());
+    }
+
+    private PurchaseOrderResponseDTO createPurchaseOrder(String name, PurchaseOrderDTO.PurchaseOrderItemDTO... items) {
+        PurchaseOrderDTO dto = new PurchaseOrderDTO();
+        dto.setPoNumber("PO-TEST-" + name + "-" + System.nanoTime());
+        dto.setSupplierId(1L);
+        dto.setExpectedDeliveryDate(LocalDate.now().plusDays(7));
+        dto.setCurrency("PKR");
+        dto.setItems(List.of(items));
+        return procurementService.createPurchaseOrder(dto);
+    }
+
+    private static PurchaseOrderDTO.PurchaseOrderItemDTO item(String sku, int quantity) {
+        PurchaseOrderDTO.PurchaseOrderItemDTO item = new PurchaseOrderDTO.PurchaseOrderItemDTO();
+        item.setProductId(1L);
+        item.setProductName("Product " + sku);
+        item.setProductSku(sku);
+        item.setQuantity(quantity);
+        item.setUnitPrice(BigDecimal.TEN);
+        return item;
+    }
+
+    private Long goodsReceipt(Long poId) {
+        GoodsReceiptDTO.InspectionItemDTO item = new GoodsReceiptDTO.InspectionItemDTO();
+        item.setProductId(1L);
+        item.setProductName("Delivered goods");
+        item.setProductSku("TEST-A1");
+        item.setOrderedQuantity(10);
+        item.setReceivedQuantity(10);
+        GoodsReceiptDTO dto = new GoodsReceiptDTO();
+        dto.setReceiptNumber("GR-TEST-" + System.nanoTime());
+        dto.setPoId(poId);
+        dto.setSupplierId(1L);
+        dto.setReceivedBy("Dock 1");
+        dto.setItems(List.of(item));
+        return receivingService.createGoodsReceipt(dto).getReceiptId();
+    }
+
+    private static Long itemId(PurchaseOrderResponseDTO po, String sku) {
+        return po.getItems().stream()
+                .filter(item -> sku.equals(item.getProductSku()))
+                .findFirst()
+                .orElseThrow()
+                .getItemId();
+    }
+
+    private static List<Integer> receivedQuantities(PurchaseOrderResponseDTO po) {
+        return po.getItems().stream()
+                .sorted((a, b) -> a.getProductSku().compareTo(b.getProductSku()))
+                .map(PurchaseOrderResponseDTO.PurchaseOrderItemResponseDTO::getReceivedQuantity)
+                .toList();
+    }
+
+    private static ReceiptPostingDTO posting(Long goodsReceiptId, ReceiptPostingDTO.ReceiptLineDTO... lines) {
+        return new ReceiptPostingDTO(goodsReceiptId, List.of(lines));
+    }
+
+    private static ReceiptPostingDTO.ReceiptLineDTO byId(Long poId, Long itemId, int quantity) {
+        return new ReceiptPostingDTO.ReceiptLineDTO(poId, itemId, null, quantity);
+    }
+
+    private static ReceiptPostingDTO.ReceiptLineDTO bySku(Long poId, String sku, int quantity) {
+        return new ReceiptPostingDTO.ReceiptLineDTO(poId, null, sku, quantity);
+    }
+
+    private void inRolledBackTransaction(Runnable body) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                body.run();
+            } finally {
+                status.setRollbackOnly();
+            }
+        });
+    }
+}
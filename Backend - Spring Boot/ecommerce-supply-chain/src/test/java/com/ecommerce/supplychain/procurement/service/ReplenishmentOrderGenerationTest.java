@@ -0,0 +1,224 @@
+package com.ecommerce.supplychain.procurement.service;
+
+import com.ecommerce.supplychain.catalog.repository.ProductRepository;
+import com.ecommerce.supplychain.contract.model.Contract;
+import com.ecommerce.supplychain.contract.repository.ContractRepository;
+import com.ecommerce.supplychain.forecasting.model.ReorderPlan;
+import com.ecommerce.supplychain.forecasting.repository.ReorderPlanRepository;
+import com.ecommerce.supplychain.performance.SeedDataLoader;
+import com.ecommerce.supplychain.procurement.dto.PurchaseOrderResponseDTO;
+import com.ecommerce.supplychain.procurement.dto.ReplenishmentOrderResultDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Purchase orders generated from approved reorder plans over the seed products and suppliers.
+ * The seed's approved plans are cancelled first, so only the plans a test saves are converted;
+ * delivery windows are seven days and start on a window boundary. Each test runs in a
+ * transaction that is rolled back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReplenishmentOrderGenerationTest {
+
+    private static final long NO_PRODUCT = 9_999L;
+
+    @Autowired
+    private ProcurementService procurementService;
+
+    @Autowired
+    private ReorderPlanRepository reorderPlanRepository;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.seed-data.schema}")
+    private String schemaFile;
+
+    @Value("${app.seed-data.data}")
+    private String dataFile;
+
+    // First day of a delivery window at least a week out, so no date is moved up to today
+    private final LocalDate windowStart = LocalDate.ofEpochDay(Math.floorDiv(LocalDate.now().plusDays(14).toEpochDay(), 7) * 7);
+
+    @BeforeAll
+    void loadSeedData() throws Exception {
+        SeedDataLoader.load(dataSource, Path.of(schemaFile), Path.of(dataFile));
+    }
+
+    @Test
+    void plansAreGroupedBySupplierAndWindowAndMergedByProduct() {
+        inRolledBackTransaction(() -> {
+            cancelSeedPlans();
+            ReorderPlan tvs = plan(1L, 1L, 10, windowStart, null);
+            ReorderPlan moreTvs = plan(1L, 1L, 5, windowStart.plusDays(3), null);
+            ReorderPlan sheets = plan(1L, 2L, 20, windowStart.plusDays(2), null);
+            ReorderPlan nextWindow = plan(1L, 3L, 7, windowStart.plusDays(7), null);
+            ReorderPlan otherSupplier = plan(2L, 2L, 8, windowStart, null);
+            ReorderPlan priceFromPlan = plan(4L, NO_PRODUCT, 8, windowStart, new BigDecimal("100.00"));
+            ReorderPlan noSupplier = plan(null, 1L, 3, windowStart, null);
+            ReorderPlan noPrice = plan(2L, NO_PRODUCT, 3, windowStart, null);
+
+            ReplenishmentOrderResultDTO result = procurementService.generatePurchaseOrdersFromReorderPlans("PLANNER");
+
+            assertThat(result.getPurchaseOrdersCreated()).isEqualTo(4);
+            assertThat(result.getPlansConverted()).isEqualTo(6);
+            assertThat(result.getPlansSkipped()).isEqualTo(2);
+            assertThat(result.getSkippedPlans()).containsExactlyInAnyOrder(
+                    "plan " + noSupplier.getPlanId() + ": no supplier",
+                    "plan " + noPrice.getPlanId() + ": no cost price for TEST-" + NO_PRODUCT);
+
+            // Supplier first, then the oldest window; each PO is due on its earliest plan's date
+            List<PurchaseOrderResponseDTO> purchaseOrders = result.getPurchaseOrders();
+            assertThat(purchaseOrders)
+                    .extracting(PurchaseOrderResponseDTO::getSupplierId, PurchaseOrderResponseDTO::getExpectedDeliveryDate,
+                            PurchaseOrderResponseDTO::getStatus, PurchaseOrderResponseDTO::getRequestedBy)
+                    .containsExactly(
+                            tuple(1L, windowStart, "DRAFT", "PLANNER"),
+                            tuple(1L, windowStart.plusDays(7), "DRAFT", "PLANNER"),
+                            tuple(2L, windowStart, "DRAFT", "PLANNER"),
+                            tuple(4L, windowStart, "DRAFT", "PLANNER"));
+            assertThat(purchaseOrders.get(0).getItems())
+                    .extracting(PurchaseOrderResponseDTO.PurchaseOrderItemResponseDTO::getProductId,
+                            PurchaseOrderResponseDTO.PurchaseOrderItemResponseDTO::getQuantity)
+                    .containsExactly(tuple(1L, 15), tuple(2L, 20));
+            assertThat(purchaseOrders.get(0).getNotes()).isEqualTo("Generated from 3 approved reorder plans");
+            assertThat(purchaseOrders.get(0).getItems().get(0).getUnitPrice())
+                    .isEqualByComparingTo(productRepository.findById(1L).orElseThrow().getCostPrice());
+            // Without a cost price the line is priced at the plan's estimated cost per unit
+            assertThat(purchaseOrders.get(3).getItems()).singleElement()
+                    .satisfies(item -> assertThat(item.getUnitPrice()).isEqualByComparingTo("12.50"));
+
+            assertConverted(purchaseOrders.get(0).getPoId(), tvs, moreTvs, sheets);
+            assertConverted(purchaseOrders.get(1).getPoId(), nextWindow);
+            assertConverted(purchaseOrders.get(2).getPoId(), otherSupplier);
+            assertConverted(purchaseOrders.get(3).getPoId(), priceFromPlan);
+            for (ReorderPlan skipped : List.of(noSupplier, noPrice)) {
+                assertThat(reorderPlanRepository.findById(skipped.getPlanId()).orElseThrow())
+                        .satisfies(plan -> assertThat(plan.getPlanStatus()).isEqualTo("APPROVED"))
+                        .satisfies(plan -> assertThat(plan.getPurchaseOrderId()).isNull());
+            }
+
+            // Converted plans are not picked up again
+            assertThat(procurementService.generatePurchaseOrdersFromReorderPlans("PLANNER").getPurchaseOrdersCreated()).isZero();
+        });
+    }
+
+    @Test
+    void contractCoveringTheDeliveryDateSetsCurrencyAndTerms() {
+        inRolledBackTransaction(() -> {
+            cancelSeedPlans();
+            Contract current = contract(1L, "CURRENT", windowStart.minusDays(30), windowStart.plusDays(5), "Net 30 days", "ACTIVE");
+            Contract following = contract(1L, "FOLLOWING", windowStart.plusDays(6), windowStart.plusDays(60), "Net 10 days", "ACTIVE");
+            // Covers the first window but is not active
+            contract(1L, "DRAFT", windowStart.minusDays(60), windowStart.plusDays(90), "Net 90 days", "DRAFT");
+            plan(1L, 1L, 10, windowStart, null);
+            plan(1L, 1L, 10, windowStart.plusDays(7), null);
+            plan(2L, 2L, 10, windowStart, null);
+
+            List<PurchaseOrderResponseDTO> purchaseOrders = procurementService
+                    .generatePurchaseOrdersFromReorderPlans("PLANNER").getPurchaseOrders();
+
+            assertThat(purchaseOrders)
+                    .extracting(PurchaseOrderResponseDTO::getSupplierId, PurchaseOrderResponseDTO::getContractId,
+                            PurchaseOrderResponseDTO::getCurrency, PurchaseOrderResponseDTO::getPaymentTerms)
+                    .containsExactly(
+                            tuple(1L, current.getContractId(), "PKR", "Net 30 days"),
+                            tuple(1L, following.getContractId(), "PKR", "Net 10 days"),
+                            // Supplier 2's seed contract ended long ago, so the PO keeps the default currency
+                            tuple(2L, null, "USD", null));
+        });
+    }
+
+    private void assertConverted(Long poId, ReorderPlan... plans) {
+        for (ReorderPlan plan : plans) {
+            ReorderPlan stored = reorderPlanRepository.findById(plan.getPlanId()).orElseThrow();
+            assertThat(stored.getPlanStatus()).isEqualTo("CONVERTED_TO_PO");
+            assertThat(stored.getConvertedToPo()).isTrue();
+            assertThat(stored.getPurchaseOrderId()).isEqualTo(poId);
+            assertThat(stored.getConversionDate()).isNotNull();
+        }
+    }
+
+    private void cancelSeedPlans() {
+        entityManager.createNativeQuery("UPDATE reorder_plans SET plan_status = 'CANCELLED' WHERE plan_status = 'APPROVED'")
+                .executeUpdate();
+    }
+
+    private ReorderPlan plan(Long supplierId, Long productId, int quantity, LocalDate deliveryDate, BigDecimal estimatedCost) {
+        ReorderPlan plan = new ReorderPlan();
+        plan.setProductId(productId);
+        plan.setProductName("Product " + productId);
+        plan.setProductSku("TEST-" + productId);
+        plan.setCurrentStock(10);
+        plan.setSafetyStock(5);
+        plan.setLeadTimeDays(7);
+        plan.setDailyDemandRate(2);
+        plan.setReorderPoint(20);
+        plan.setRecommendedOrderQuantity(quantity);
+        plan.setSuggestedOrderDate(deliveryDate.minusDays(7));
+        plan.setExpectedDeliveryDate(deliveryDate);
+        plan.setEstimatedCost(estimatedCost);
+        plan.setSupplierId(supplierId);
+        plan.setPlanStatus("APPROVED");
+        return reorderPlanRepository.save(plan);
+    }
+
+    private Contract contract(Long supplierId, String name, LocalDate startDate, LocalDate endDate, String paymentTerms,
+                              String status) {
+        Contract contract = new Contract();
+        contract.setContractNumber("CT-TEST-" + name + "-" + System.nanoTime());
+        contract.setSupplierId(supplierId);
+        contract.setContractTitle("Replenishment test " + name);
+        contract.setContractType("SUPPLY_AGREEMENT");
+        contract.setStartDate(startDate);
+        contract.setEndDate(endDate);
+        contract.setCurrency("PKR");
+        contract.setPaymentTerms(paymentTerms);
+        contract.setStatus(status);
+        return contractRepository.save(contract);
+    }
+
+    private void inRolledBackTransaction(Runnable body) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                body.run();
+            } finally {
+                status.setRollbackOnly();
+            }
+        });
+    }
+}
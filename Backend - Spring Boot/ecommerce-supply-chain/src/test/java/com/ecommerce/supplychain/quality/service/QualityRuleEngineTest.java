@@ -0,0 +1,269 @@
+package com.ecommerce.supplychain.quality.service;
+
+import com.ecommerce.supplychain.quality.dto.StandardsValidationDTO;
+import com.ecommerce.supplychain.quality.model.QualityCheck;
+import com.ecommerce.supplychain.quality.model.QualityStandard;
+import com.ecommerce.supplychain.quality.repository.QualityStandardRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rules compiled from quality standards, one check at a time. The standards come from a mocked
+ * repository; unless a test says otherwise a standard has minimum 3 and target 5, and the check
+ * scores 5 everywhere with no flag raised, so it passes.
+ */
+class QualityRuleEngineTest {
+
+    private static final Map<String, BiConsumer<QualityCheck, Integer>> SCORES = new LinkedHashMap<>();
+
+    static {
+        SCORES.put("packageIntegrityScore", QualityCheck::setPackageIntegrityScore);
+        SCORES.put("contentAccuracyScore", QualityCheck::setContentAccuracyScore);
+        SCORES.put("weightAccuracyScore", QualityCheck::setWeightAccuracyScore);
+        SCORES.put("safetyComplianceScore", QualityCheck::setSafetyComplianceScore);
+        SCORES.put("labelAccuracyScore", QualityCheck::setLabelAccuracyScore);
+    }
+
+    private final QualityStandardRepository repository = mock(QualityStandardRepository.class);
+
+    @ParameterizedTest(name = "{0} scores {1}")
+    @CsvSource({
+            "PACKAGING,            packageIntegrityScore",
+            "DIMENSIONS,           packageIntegrityScore",
+            "CONTENT_VERIFICATION, contentAccuracyScore",
+            "WEIGHT,               weightAccuracyScore",
+            "SAFETY,               safetyComplianceScore",
+            "LABELING,             labelAccuracyScore"
+    })
+    void minimumScoreAppliesToTheScoreOfTheCheckType(String checkType, String primaryScore) {
+        QualityRuleEngine engine = engine(standard("STD-1", checkType));
+
+        SCORES.forEach((score, setter) -> {
+            QualityCheck check = passingCheck(checkType);
+            setter.accept(check, 2);
+
+            StandardsValidationDTO result = engine.evaluate(check, null, null);
+
+            if (score.equals(primaryScore)) {
+                assertThat(result.getResult()).as("%s at 2", score).isEqualTo("FAIL");
+                assertThat(result.getViolations()).containsExactly("STD-1: score 2 below minimum 3");
+            } else {
+                assertThat(result.getResult()).as("%s at 2", score).isEqualTo("PASS");
+            }
+        });
+    }
+
+    @Test
+    void scoreBetweenMinimumAndTargetIsConditional() {
+        QualityCheck check = passingCheck("PACKAGING");
+        check.setPackageIntegrityScore(4);
+
+        StandardsValidationDTO result = engine(standard("STD-1", "PACKAGING")).evaluate(check, null, null);
+
+        assertThat(result.getResult()).isEqualTo("CONDITIONAL");
+        assertThat(result.getMeetsAllStandards()).isTrue();
+        assertThat(result.getViolations()).isEmpty();
+        assertThat(result.getWarnings()).containsExactly("STD-1: score 4 below target 5");
+    }
+
+    @Test
+    void targetAtTheMinimumAddsNoTargetRule() {
+        QualityStandard standard = standard("STD-1", "PACKAGING");
+        standard.setTargetScore(3);
+        QualityCheck check = passingCheck("PACKAGING");
+        check.setPackageIntegrityScore(3);
+
+        assertThat(engine(standard).evaluate(check, null, null).getResult()).isEqualTo("PASS");
+    }
+
+    @Test
+    void overallScoreBelowTheMinimumAsPercentageFails() {
+        // Minimum 3 of 5 is 60%
+        QualityRuleEngine engine = engine(standard("STD-1", "PACKAGING"));
+        QualityCheck atMinimum = passingCheck("PACKAGING");
+        atMinimum.setScorePercentage(60.0);
+        QualityCheck below = passingCheck("PACKAGING");
+        below.setScorePercentage(59.0);
+
+        assertThat(engine.evaluate(atMinimum, null, null).getResult()).isEqualTo("PASS");
+        assertThat(engine.evaluate(below, null, null).getViolations())
+                .containsExactly("STD-1: overall score 59.0% below 60.0%");
+    }
+
+    @Test
+    void measuredWeightOutsideTheToleranceFails() {
+        QualityStandard standard = standard("STD-W", "WEIGHT");
+        standard.setWeightTolerancePercentage(5.0);
+        QualityRuleEngine engine = engine(standard);
+        QualityCheck check = passingCheck("WEIGHT");
+
+        assertThat(engine.evaluate(check, 10.0, 10.4).getResult()).isEqualTo("PASS");
+        assertThat(engine.evaluate(check, 10.0, 9.6).getResult()).isEqualTo("PASS");
+        assertThat(engine.evaluate(check, 10.0, 10.6).getViolations())
+                .containsExactly("STD-W: weight 10.6 kg outside 5.0% of 10.0 kg");
+        assertThat(engine.evaluate(check, 10.0, 9.4).getResult()).isEqualTo("FAIL");
+    }
+
+    @Test
+    void withoutMeasuredWeightsTheInspectorsWeightFlagDecides() {
+        QualityStandard standard = standard("STD-W", "WEIGHT");
+        standard.setWeightTolerancePercentage(5.0);
+        QualityRuleEngine engine = engine(standard);
+        QualityCheck unflagged = passingCheck("WEIGHT");
+        unflagged.setIsWeightAccurate(null);
+        QualityCheck inaccurate = passingCheck("WEIGHT");
+        inaccurate.setIsWeightAccurate(false);
+
+        assertThat(engine.evaluate(unflagged, null, null).getResult()).isEqualTo("PASS");
+        assertThat(engine.evaluate(inaccurate, 10.0, null).getViolations()).containsExactly("STD-W: weight not accurate");
+    }
+
+    @Test
+    void weightIsNotCheckedWithoutATolerance() {
+        QualityCheck check = passingCheck("WEIGHT");
+        check.setIsWeightAccurate(false);
+
+        assertThat(engine(standard("STD-W", "WEIGHT")).evaluate(check, 10.0, 20.0).getResult()).isEqualTo("PASS");
+    }
+
+    @Test
+    void damagedPackageFailsOnlyWhenTheStandardHasPackagingRequirements() {
+        QualityStandard withRequirements = standard("STD-P", "PACKAGING");
+        withRequirements.setPackagingRequirements("Sealed carton, corner protectors");
+        QualityCheck damaged = passingCheck("PACKAGING");
+        damaged.setIsPackageDamaged(true);
+
+        assertThat(engine(withRequirements).evaluate(damaged, null, null).getViolations())
+                .containsExactly("STD-P: package damaged");
+        assertThat(engine(standard("STD-P", "PACKAGING")).evaluate(damaged, null, null).getResult()).isEqualTo("PASS");
+    }
+
+    @Test
+    void labelingRequirementsFailOnWrongLabelsOrALowLabelScore() {
+        QualityStandard standard = standard("STD-L", "PACKAGING");
+        standard.setLabelingRequirements("Barcode and handling labels on two sides");
+        QualityRuleEngine engine = engine(standard);
+        QualityCheck wrongLabels = passingCheck("PACKAGING");
+        wrongLabels.setAreLabelsCorrect(false);
+        QualityCheck lowScore = passingCheck("PACKAGING");
+        lowScore.setLabelAccuracyScore(2);
+        QualityCheck unflagged = passingCheck("PACKAGING");
+        unflagged.setAreLabelsCorrect(null);
+
+        assertThat(engine.evaluate(wrongLabels, null, null).getViolations())
+                .containsExactly("STD-L: labeling requirements not met");
+        assertThat(engine.evaluate(lowScore, null, null).getViolations())
+                .containsExactly("STD-L: labeling requirements not met");
+        assertThat(engine.evaluate(unflagged, null, null).getResult()).isEqualTo("PASS");
+    }
+
+    @Test
+    void safetyRequirementsFailOnNonCompliantHazardsOrALowSafetyScore() {
+        QualityStandard standard = standard("STD-S", "PACKAGING");
+        standard.setSafetyRequirements("UN3481 marking for lithium batteries");
+        QualityRuleEngine engine = engine(standard);
+        QualityCheck nonCompliant = passingCheck("PACKAGING");
+        nonCompliant.setIsHazardousCompliant(false);
+        QualityCheck lowScore = passingCheck("PACKAGING");
+        lowScore.setSafetyComplianceScore(2);
+
+        assertThat(engine.evaluate(nonCompliant, null, null).getViolations())
+                .containsExactly("STD-S: safety requirements not met");
+        assertThat(engine.evaluate(lowScore, null, null).getViolations())
+                .containsExactly("STD-S: safety requirements not met");
+    }
+
+    @Test
+    void everyStandardOfTheTypeIsAppliedAndReported() {
+        QualityStandard strict = standard("STD-STRICT", "PACKAGING");
+        strict.setMinimumScore(5);
+        QualityStandard lenient = standard("STD-LENIENT", "PACKAGING");
+        lenient.setMinimumScore(2);
+        lenient.setTargetScore(2);
+        QualityCheck check = passingCheck("PACKAGING");
+        check.setPackageIntegrityScore(4);
+
+        StandardsValidationDTO result = engine(strict, lenient).evaluate(check, null, null);
+
+        assertThat(result.getStandardsApplied()).isEqualTo(2);
+        assertThat(result.getResult()).isEqualTo("FAIL");
+        assertThat(result.getMeetsAllStandards()).isFalse();
+        assertThat(result.getViolations()).containsExactly("STD-STRICT: score 4 below minimum 5");
+    }
+
+    @Test
+    void standardOutsideItsEffectivePeriodIsSkipped() {
+        QualityStandard expired = standard("STD-OLD", "PACKAGING");
+        expired.setExpiryDate(LocalDateTime.now().minusDays(1));
+        QualityStandard upcoming = standard("STD-NEW", "PACKAGING");
+        upcoming.setEffectiveDate(LocalDateTime.now().plusDays(1));
+        QualityCheck check = passingCheck("PACKAGING");
+        check.setPackageIntegrityScore(1);
+
+        StandardsValidationDTO result = engine(expired, upcoming).evaluate(check, null, null);
+
+        assertThat(result.getStandardsApplied()).isZero();
+        assertThat(result.getResult()).isEqualTo("PASS");
+    }
+
+    @Test
+    void invalidatedCheckTypeIsRecompiledBeforeTheCacheExpires() {
+        QualityStandard standard = standard("STD-1", "PACKAGING");
+        QualityRuleEngine engine = engine(standard);
+        ReflectionTestUtils.setField(engine, "ruleCacheTtlSeconds", 300L);
+        QualityCheck check = passingCheck("PACKAGING");
+        check.setPackageIntegrityScore(4);
+        assertThat(engine.evaluate(check, null, null).getResult()).isEqualTo("CONDITIONAL");
+
+        QualityStandard raised = standard("STD-1", "PACKAGING");
+        raised.setMinimumScore(5);
+        when(repository.findActiveStandardsByType("PACKAGING")).thenReturn(List.of(raised));
+        assertThat(engine.evaluate(check, null, null).getResult()).as("cached rule set").isEqualTo("CONDITIONAL");
+
+        engine.invalidate("PACKAGING");
+        assertThat(engine.evaluate(check, null, null).getResult()).isEqualTo("FAIL");
+    }
+
+    private QualityRuleEngine engine(QualityStandard... standards) {
+        when(repository.findAllActiveStandards()).thenReturn(List.of(standards));
+        QualityRuleEngine engine = new QualityRuleEngine();
+        ReflectionTestUtils.setField(engine, "qualityStandardRepository", repository);
+        return engine;
+    }
+
+    private static QualityStandard standard(String code, String checkType) {
+        QualityStandard standard = new QualityStandard();
+        standard.setStandardCode(code);
+        standard.setStandardName(code);
+        standard.setCheckType(checkType);
+        standard.setMinimumScore(3);
+        standard.setTargetScore(5);
+        standard.setIsActive(true);
+        return standard;
+    }
+
+    private static QualityCheck passingCheck(String checkType) {
+        QualityCheck check = new QualityCheck();
+        check.setCheckNumber("QC-TEST");
+        check.setCheckType(checkType);
+        SCORES.values().forEach(setter -> setter.accept(check, 5));
+        check.setScorePercentage(100.0);
+        check.setIsPackageDamaged(false);
+        check.setIsWeightAccurate(true);
+        check.setAreLabelsCorrect(true);
+        check.setIsHazardousCompliant(true);
+        return check;
+    }
+}
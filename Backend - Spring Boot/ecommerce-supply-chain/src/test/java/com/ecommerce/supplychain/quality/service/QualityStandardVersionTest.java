@@ -0,0 +1,98 @@
+package com.ecommerce.supplychain.quality.service;
+
+import com.ecommerce.supplychain.common.web.ResourceVersion;
+import com.ecommerce.supplychain.quality.model.QualityStandard;
+import com.ecommerce.supplychain.quality.repository.QualityStandardRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The standards version moves when an effective or expiry date passes, as isCurrentlyEffective in
+ * the responses does, although no row changes. The standard is dated in 2100 so every other row's
+ * dates have passed at the times read; it is saved in a transaction that is rolled back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QualityStandardVersionTest {
+
+    private static final LocalDateTime EFFECTIVE = LocalDateTime.of(2100, 1, 1, 8, 0);
+    private static final LocalDateTime EXPIRY = LocalDateTime.of(2100, 1, 1, 18, 0);
+
+    @Autowired
+    private QualityStandardRepository qualityStandardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void versionMovesAtTheEffectiveAndExpiryDates() {
+        inRolledBackTransaction(() -> {
+            QualityStandard standard = new QualityStandard();
+            standard.setStandardCode("STD-VERSION-TEST");
+            standard.setStandardName("Version test");
+            standard.setCheckType("PACKAGING");
+            standard.setEffectiveDate(EFFECTIVE);
+            standard.setExpiryDate(EXPIRY);
+            qualityStandardRepository.saveAndFlush(standard);
+
+            ResourceVersion pending = qualityStandardRepository.findStandardsVersion(EFFECTIVE.minusHours(1));
+            ResourceVersion stillPending = qualityStandardRepository.findStandardsVersion(EFFECTIVE.minusMinutes(1));
+            ResourceVersion inEffect = qualityStandardRepository.findStandardsVersion(EFFECTIVE.plusHours(1));
+            ResourceVersion expired = qualityStandardRepository.findStandardsVersion(EXPIRY.plusHours(1));
+
+            assertThat(stillPending.getEtag()).isEqualTo(pending.getEtag());
+            assertThat(pending.getValidUntil()).isEqualTo(EFFECTIVE);
+            assertThat(inEffect.getLastModified()).isEqualTo(EFFECTIVE);
+            assertThat(inEffect.getValidUntil()).isEqualTo(EXPIRY);
+            assertThat(expired.getLastModified()).isEqualTo(EXPIRY);
+            assertThat(expired.getValidUntil()).isNull();
+            assertThat(inEffect.getEtag()).isNotEqualTo(pending.getEtag()).isNotEqualTo(expired.getEtag());
+        });
+    }
+
+    @Test
+    void cachesAreToldToRevalidateAtTheNextBoundary() {
+        ResourceVersion version = new ResourceVersion(3L, LocalDateTime.now().minusDays(1), null, LocalDateTime.now().plusHours(1));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        version.checkNotModified(new ServletWebRequest(new MockHttpServletRequest("GET", "/api/quality/standards"), response));
+
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        assertThat(cacheControl).startsWith("max-age=").endsWith(", must-revalidate");
+        assertThat(Long.parseLong(cacheControl.substring("max-age=".length(), cacheControl.indexOf(','))))
+                .isBetween(3590L, 3600L);
+    }
+
+    @Test
+    void versionWithoutBoundariesSendsNoCacheControl() {
+        ResourceVersion version = new ResourceVersion(3L, LocalDateTime.now().minusDays(1));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        version.checkNotModified(new ServletWebRequest(new MockHttpServletRequest("GET", "/api/quality/standards"), response));
+
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isNull();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(version.getEtag());
+    }
+
+    private void inRolledBackTransaction(Runnable body) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                body.run();
+            } finally {
+                status.setRollbackOnly();
+            }
+        });
+    }
+}
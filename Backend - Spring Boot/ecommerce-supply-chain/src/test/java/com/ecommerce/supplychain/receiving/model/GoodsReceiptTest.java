@@ -0,0 +1,111 @@
+package com.ecommerce.supplychain.receiving.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inspection counters of a goods receipt with three lines, all pending at first. Each outcome
+ * moves one line between counters, so re-inspecting a line never changes the line count.
+ */
+class GoodsReceiptTest {
+
+    @Test
+    void receiptStaysInspectedWhileLinesArePending() {
+        GoodsReceipt receipt = receipt();
+
+        receipt.recordInspectionOutcome("PENDING", "PASSED");
+        receipt.recordInspectionOutcome("PENDING", "FAILED");
+
+        assertCounters(receipt, 1, 1, 1, 0);
+        assertThat(receipt.getStatus()).isEqualTo("INSPECTED");
+    }
+
+    @Test
+    void statusFollowsTheOutcomesOnceEveryLineIsInspected() {
+        GoodsReceipt accepted = receipt();
+        accepted.recordInspectionOutcome("PENDING", "PASSED");
+        accepted.recordInspectionOutcome("PENDING", "PASSED");
+        accepted.recordInspectionOutcome("PENDING", "PASSED");
+        GoodsReceipt partial = receipt();
+        partial.recordInspectionOutcome("PENDING", "PASSED");
+        partial.recordInspectionOutcome("PENDING", "PASSED");
+        partial.recordInspectionOutcome("PENDING", "CONDITIONAL");
+        GoodsReceipt rejected = receipt();
+        rejected.recordInspectionOutcome("PENDING", "PASSED");
+        rejected.recordInspectionOutcome("PENDING", "CONDITIONAL");
+        rejected.recordInspectionOutcome("PENDING", "FAILED");
+
+        assertThat(accepted.getStatus()).isEqualTo("ACCEPTED");
+        assertThat(partial.getStatus()).isEqualTo("PARTIALLY_ACCEPTED");
+        assertThat(rejected.getStatus()).isEqualTo("REJECTED");
+    }
+
+    @Test
+    void reInspectionMovesTheLineBetweenCounters() {
+        GoodsReceipt receipt = receipt();
+        receipt.recordInspectionOutcome("PENDING", "PASSED");
+        receipt.recordInspectionOutcome("PENDING", "PASSED");
+        receipt.recordInspectionOutcome("PENDING", "PASSED");
+
+        receipt.recordInspectionOutcome("PASSED", "FAILED");
+        assertCounters(receipt, 0, 2, 1, 0);
+        assertThat(receipt.getStatus()).isEqualTo("REJECTED");
+
+        receipt.recordInspectionOutcome("FAILED", "CONDITIONAL");
+        assertCounters(receipt, 0, 2, 0, 1);
+        assertThat(receipt.getStatus()).isEqualTo("PARTIALLY_ACCEPTED");
+
+        receipt.recordInspectionOutcome("CONDITIONAL", "PASSED");
+        assertCounters(receipt, 0, 3, 0, 0);
+        assertThat(receipt.getStatus()).isEqualTo("ACCEPTED");
+        assertThat(receipt.getInspectionLineCount()).isEqualTo(3);
+    }
+
+    @Test
+    void reInspectionWithTheSameOutcomeChangesNothing() {
+        GoodsReceipt receipt = receipt();
+        receipt.recordInspectionOutcome("PENDING", "CONDITIONAL");
+
+        receipt.recordInspectionOutcome("CONDITIONAL", "CONDITIONAL");
+
+        assertCounters(receipt, 2, 0, 0, 1);
+    }
+
+    @Test
+    void lineWithoutAnOutcomeCountsAsPending() {
+        GoodsReceipt receipt = receipt();
+
+        receipt.recordInspectionOutcome(null, "PASSED");
+        receipt.recordInspectionOutcome("PARTIAL_PASS", "PASSED");
+
+        assertCounters(receipt, 1, 2, 0, 0);
+    }
+
+    @Test
+    void counterNeverGoesBelowZero() {
+        // A previous outcome the counters do not hold, e.g. a line recorded before they were kept
+        GoodsReceipt receipt = receipt();
+
+        receipt.recordInspectionOutcome("FAILED", "PASSED");
+
+        assertCounters(receipt, 3, 1, 0, 0);
+    }
+
+    private static GoodsReceipt receipt() {
+        GoodsReceipt receipt = new GoodsReceipt();
+        receipt.setStatus("RECEIVED");
+        receipt.setPendingInspections(3);
+        receipt.setPassedInspections(0);
+        receipt.setFailedInspections(0);
+        receipt.setConditionalInspections(0);
+        return receipt;
+    }
+
+    private static void assertCounters(GoodsReceipt receipt, int pending, int passed, int failed, int conditional) {
+        assertThat(receipt.getPendingInspections()).as("pending").isEqualTo(pending);
+        assertThat(receipt.getPassedInspections()).as("passed").isEqualTo(passed);
+        assertThat(receipt.getFailedInspections()).as("failed").isEqualTo(failed);
+        assertThat(receipt.getConditionalInspections()).as("conditional").isEqualTo(conditional);
+    }
+}
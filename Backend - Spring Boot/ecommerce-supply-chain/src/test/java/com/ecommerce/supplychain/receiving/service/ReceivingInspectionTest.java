@@ -0,0 +1,341 @@
+package com.ecommerce.supplychain.receiving.service;
+
+import com.ecommerce.supplychain.performance.SeedDataLoader;
+import com.ecommerce.supplychain.receiving.dto.BulkInspectionDTO;
+import com.ecommerce.supplychain.receiving.dto.GoodsReceiptDTO;
+import com.ecommerce.supplychain.receiving.dto.GoodsReceiptResponseDTO;
+import com.ecommerce.supplychain.receiving.dto.InspectionDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Single and bulk inspections against a fresh goods receipt with three lines of 10 units from
+ * supplier 1. Each test runs in a transaction that is rolled back; seed receipt 1 and its
+ * inspection record 1 stand in for another receipt's line. A bulk request with a bad line must
+ * leave every line of the receipt as it was.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReceivingInspectionTest {
+
+    private static final long SEED_RECEIPT_INSPECTION_ID = 1L;
+
+    @Autowired
+    private ReceivingService receivingService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.seed-data.schema}")
+    private String schemaFile;
+
+    @Value("${app.seed-data.data}")
+    private String dataFile;
+
+    @BeforeAll
+    void loadSeedData() throws Exception {
+        SeedDataLoader.load(dataSource, Path.of(schemaFile), Path.of(dataFile));
+    }
+
+    @Test
+    void inspectionMovesTheLineFromPendingToItsOutcome() {
+        inRolledBackTransaction(() -> {
+            GoodsReceiptResponseDTO receipt = createReceipt();
+            List<Long> lines = inspectionIds(receipt);
+
+            GoodsReceiptResponseDTO inspected = receivingService.performInspection(
+                    inspection(receipt.getReceiptId(), lines.get(0), 10, 0, "ACCEPT_ALL"));
+
+            assertCounters(inspected, 2, 1, 0, 0);
+            assertThat(inspected.getStatus()).isEqualTo("INSPECTED");
+            assertThat(inspected.getTotalInspectionRecords()).isEqualTo(3);
+            assertThat(inspected.getInspectionRecords()).singleElement()
+                    .satisfies(line -> assertThat(line.getInspectionStatus()).isEqualTo("PASSED"));
+        });
+    }
+
+    @Test
+    void reInspectionMovesTheLineInsteadOfCountingItTwice() {
+        inRolledBackTransaction(() -> {
+            GoodsReceiptResponseDTO receipt = createReceipt();
+            Long receiptId = receipt.getReceiptId();
+            List<Long> lines = inspectionIds(receipt);
+            for (Long line : lines) {
+                receivingService.performInspection(inspection(receiptId, line, 10, 0, "ACCEPT_ALL"));
+            }
+
+            GoodsReceiptResponseDTO failed = receivingService.performInspection(
+                    inspection(receiptId, lines.get(1), 0, 10, "REJECT_ALL"));
+            assertCounters(failed, 0, 2, 1, 0);
+            assertThat(failed.getStatus()).isEqualTo("REJECTED");
+
+            GoodsReceiptResponseDTO conditional = receivingService.performInspection(
+                    inspection(receiptId, lines.get(1), 8, 2, "PARTIAL_ACCEPT"));
+            assertCounters(conditional, 0, 2, 0, 1);
+            assertThat(conditional.getStatus()).isEqualTo("PARTIALLY_ACCEPTED");
+
+            GoodsReceiptResponseDTO accepted = receivingService.performInspection(
+                    inspection(receiptId, lines.get(1), 10, 0, "ACCEPT_ALL"));
+            assertCounters(accepted, 0, 3, 0, 0);
+            assertThat(accepted.getStatus()).isEqualTo("ACCEPTED");
+            assertThat(accepted.getTotalInspectionRecords()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void inspectionOfAnotherReceiptsLineIsRejected() {
+        inRolledBackTransaction(() -> {
+            GoodsReceiptResponseDTO receipt = createReceipt();
+
+            assertThatThrownBy(() -> receivingService.performInspection(
+                    inspection(receipt.getReceiptId(), SEED_RECEIPT_INSPECTION_ID, 10, 0, "ACCEPT_ALL")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("does not belong to goods receipt " + receipt.getReceiptId());
+        });
+    }
+
+    @Test
+    void inspectionOfMoreUnitsThanReceivedIsRejected() {
+        inRolledBackTransaction(() -> {
+            GoodsReceiptResponseDTO receipt = createReceipt();
+
+            assertThatThrownBy(() -> receivingService.performInspection(
+                    inspection(receipt.getReceiptId(), inspectionIds(receipt).get(0), 8, 3, "PARTIAL_ACCEPT")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("cannot exceed received quantity");
+        });
+    }
+
+    @Test
+    void bulkInspectionAppliesEveryLineAndAggregatesTheStatus() {
+        inRolledBackTransaction(() -> {
+            GoodsReceiptResponseDTO receipt = createReceipt();
+            List<Long> lines = inspectionIds(receipt);
+
+            GoodsReceiptResponseDTO inspected = receivingService.performBulkInspection(bulk(receipt.getReceiptId(),
+                    result(lines.get(0), 10, 0, "ACCEPT_ALL"),
+                    result(lines.get(1), 8, 2, "PARTIAL_ACCEPT"),
+                    result(lines.get(2), 10, 0, "ACCEPT_ALL")));
+
+            assertCounters(inspected, 0, 2, 0, 1);
+            assertThat(inspected.getStatus()).isEqualTo("PARTIALLY_ACCEPTED");
+            assertThat(inspected.getInspectionRecords()).hasSize(3);
+        });
+    }
+
+    @Test
+    void bulkReInspectionMovesLinesInsteadOfCountingThemTwice() {
+        inRolledBackTransaction(() -> {
+            GoodsReceiptResponseDTO receipt = createReceipt();
+            Long receiptId = receipt.getReceiptId();
+            List<Long> lines = inspectionIds(receipt);
+            receivingService.performInspection(inspection(receiptId, lines.get(0), 10, 0, "ACCEPT_ALL"));
+
+            GoodsReceiptResponseDTO inspected = receivingService.performBulkInspection(bulk(receiptId,
+                    result(lines.get(0), 0, 10, "REJECT_ALL"),
+                    result(lines.get(1), 10, 0, "ACCEPT_ALL")));
+
+            assertCounters(inspected, 1, 1, 1, 0);
+            assertThat(inspected.getStatus()).isEqualTo("INSPECTED");
+            assertThat(inspected.getTotalInspectionRecords()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void reInspectionOnALaterDayTakesTheUnitsBackFromTheOriginalDay() {
+        inRolledBackTransaction(() -> {
+            entityManager.createNativeQuery("DELETE FROM supplier_scorecard_buckets").executeUpdate();
+            GoodsReceiptResponseDTO receipt = createReceipt();
+            Long receiptId = receipt.getReceiptId();
+            List<Long> lines = inspectionIds(receipt);
+            receivingService.performBulkInspection(bulk(receiptId,
+                    result(lines.get(0), 6, 4, "PARTIAL_ACCEPT"),
+                    result(lines.get(1), 10, 0, "ACCEPT_ALL")));
+            moveToYesterday(receiptId);
+
+            receivingService.performInspection(inspection(receiptId, lines.get(0), 10, 0, "ACCEPT_ALL"));
+            receivingService.performBulkInspection(bulk(receiptId,
+                    result(lines.get(1), 7, 3, "PARTIAL_ACCEPT"),
+                    result(lines.get(2), 10, 0, "ACCEPT_ALL")));
+
+            assertThat(scorecardInspections(LocalDate.now().minusDays(1))).containsExactly(0L, 0L);
+            assertThat(scorecardInspections(LocalDate.now())).containsExactly(30L, 3L);
+        });
+    }
+
+    @Test
+    void bulkInspectionNamingALineTwiceIsRejectedWhole() {
+        inRolledBackTransaction(() -> {
+            GoodsReceiptResponseDTO receipt = createReceipt();
+            List<Long> lines = inspectionIds(receipt);
+
+            assertThatThrownBy(() -> receivingService.performBulkInspection(bulk(receipt.getReceiptId(),
+                    result(lines.get(0), 10, 0, "ACCEPT_ALL"),
+                    result(lines.get(1), 10, 0, "ACCEPT_ALL"),
+                    result(lines.get(0), 0, 10, "REJECT_ALL"))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Inspection record " + lines.get(0) + " appears more than once");
+            assertNothingInspected(receipt.getReceiptId());
+        });
+    }
+
+    @Test
+    void bulkInspectionWithAnotherReceiptsLineIsRejectedWhole() {
+        inRolledBackTransaction(() -> {
+            GoodsReceiptResponseDTO receipt = createReceipt();
+            List<Long> lines = inspectionIds(receipt);
+
+            assertThatThrownBy(() -> receivingService.performBulkInspection(bulk(receipt.getReceiptId(),
+                    result(lines.get(0), 10, 0, "ACCEPT_ALL"),
+                    result(SEED_RECEIPT_INSPECTION_ID, 10, 0, "ACCEPT_ALL"))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Inspection record " + SEED_RECEIPT_INSPECTION_ID + " not found on goods receipt "
+                            + receipt.getReceiptId());
+            assertNothingInspected(receipt.getReceiptId());
+        });
+    }
+
+    @Test
+    void bulkInspectionWithAnUnknownLineIsRejectedWhole() {
+        inRolledBackTransaction(() -> {
+            GoodsReceiptResponseDTO receipt = createReceipt();
+            List<Long> lines = inspectionIds(receipt);
+
+            assertThatThrownBy(() -> receivingService.performBulkInspection(bulk(receipt.getReceiptId(),
+                    result(lines.get(0), 10, 0, "ACCEPT_ALL"),
+                    result(Long.MAX_VALUE, 10, 0, "ACCEPT_ALL"))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("not found on goods receipt");
+            assertNothingInspected(receipt.getReceiptId());
+        });
+    }
+
+    private void assertNothingInspected(Long receiptId) {
+        GoodsReceiptResponseDTO receipt = receivingService.getGoodsReceiptById(receiptId);
+        assertCounters(receipt, 3, 0, 0, 0);
+        assertThat(receipt.getInspectionRecords())
+                .extracting(GoodsReceiptResponseDTO.InspectionRecordResponseDTO::getInspectionStatus)
+                .containsOnly("PENDING");
+    }
+
+    /**
+     * Date the receipt's inspections, and the supplier's scorecard row they were counted on, a day back
+     */
+    private void moveToYesterday(Long receiptId) {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE inspection_records SET inspection_date = :yesterday "
+                        + "WHERE receipt_id = :receiptId AND inspection_date IS NOT NULL")
+                .setParameter("yesterday", yesterday.atTime(9, 0))
+                .setParameter("receiptId", receiptId)
+                .executeUpdate();
+        entityManager.createNativeQuery("UPDATE supplier_scorecard_buckets SET bucket_date = :yesterday WHERE supplier_id = 1")
+                .setParameter("yesterday", yesterday)
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    private List<Long> scorecardInspections(LocalDate date) {
+        Object[] row = (Object[]) entityManager.createNativeQuery("SELECT units_inspected, units_defective "
+                        + "FROM supplier_scorecard_buckets WHERE supplier_id = 1 AND bucket_date = :date")
+                .setParameter("date", date)
+                .getSingleResult();
+        return List.of(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+    }
+
+    private GoodsReceiptResponseDTO createReceipt() {
+        List<GoodsReceiptDTO.InspectionItemDTO> items = new ArrayList<>();
+        for (long productId = 1; productId <= 3; productId++) {
+            GoodsReceiptDTO.InspectionItemDTO item = new GoodsReceiptDTO.InspectionItemDTO();
+            item.setProductId(productId);
+            item.setProductName("Product " + productId);
+            item.setProductSku("SKU-" + productId);
+            item.setOrderedQuantity(10);
+            item.setReceivedQuantity(10);
+            items.add(item);
+        }
+        GoodsReceiptDTO dto = new GoodsReceiptDTO();
+        dto.setReceiptNumber("GR-TEST-" + System.nanoTime());
+        dto.setPoId(1L);
+        dto.setSupplierId(1L);
+        dto.setReceivedBy("Dock 2");
+        dto.setItems(items);
+        return receivingService.createGoodsReceipt(dto);
+    }
+
+    private static List<Long> inspectionIds(GoodsReceiptResponseDTO receipt) {
+        return receipt.getInspectionRecords().stream()
+                .map(GoodsReceiptResponseDTO.InspectionRecordResponseDTO::getInspectionId)
+                .sorted()
+                .toList();
+    }
+
+    private static InspectionDTO inspection(Long receiptId, Long inspectionId, int accepted, int rejected, String action) {
+        InspectionDTO dto = new InspectionDTO();
+        dto.setReceiptId(receiptId);
+        dto.setInspectionId(inspectionId);
+        dto.setAcceptedQuantity(accepted);
+        dto.setRejectedQuantity(rejected);
+        dto.setInspectorName("Inspector");
+        dto.setActionTaken(action);
+        return dto;
+    }
+
+    private static BulkInspectionDTO bulk(Long receiptId, BulkInspectionDTO.InspectionResultDTO... results) {
+        return new BulkInspectionDTO(receiptId, List.of(results));
+    }
+
+    private static BulkInspectionDTO.InspectionResultDTO result(Long inspectionId, int accepted, int rejected, String action) {
+        BulkInspectionDTO.InspectionResultDTO result = new BulkInspectionDTO.InspectionResultDTO();
+        result.setInspectionId(inspectionId);
+        result.setAcceptedQuantity(accepted);
+        result.setRejectedQuantity(rejected);
+        result.setInspectorName("Scanner 4");
+        result.setActionTaken(action);
+        return result;
+    }
+
+    private static void assertCounters(GoodsReceiptResponseDTO receipt, int pending, int passed, int failed, int conditional) {
+        assertThat(receipt.getPendingInspections()).as("pending").isEqualTo(pending);
+        assertThat(receipt.getPassedInspections()).as("passed").isEqualTo(passed);
+        assertThat(receipt.getFailedInspections()).as("failed").isEqualTo(failed);
+        assertThat(receipt.getConditionalInspections()).as("conditional").isEqualTo(conditional);
+    }
+
+    private void inRolledBackTransaction(Runnable body) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                body.run();
+            } finally {
+                status.setRollbackOnly();
+            }
+        });
+    }
+}
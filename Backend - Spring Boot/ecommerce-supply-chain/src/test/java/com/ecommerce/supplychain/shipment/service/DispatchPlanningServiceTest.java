@@ -0,0 +1,201 @@
+package com.ecommerce.supplychain.shipment.service;
+
+import com.ecommerce.supplychain.common.config.DispatchConfig;
+import com.ecommerce.supplychain.shipment.dto.DispatchPlanDTO;
+import com.ecommerce.supplychain.shipment.model.DispatchSchedule;
+import com.ecommerce.supplychain.shipment.model.Shipment;
+import com.ecommerce.supplychain.shipment.repository.DispatchScheduleRepository;
+import com.ecommerce.supplychain.shipment.repository.ShipmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dispatch plans for 2 March 2026 over a fleet of vans (500 kg, 5 m3) and trucks (3000 kg, 20 m3),
+ * departing at 06:30. Ready shipments and the day's planned vehicles come from mocked repositories;
+ * parcels without dimensions take the default 30x20x15 cm.
+ */
+class DispatchPlanningServiceTest {
+
+    private static final LocalDate PLAN_DATE = LocalDate.of(2026, 3, 2);
+
+    private final ShipmentRepository shipmentRepository = mock(ShipmentRepository.class);
+    private final DispatchScheduleRepository dispatchScheduleRepository = mock(DispatchScheduleRepository.class);
+    private final List<Shipment> readyShipments = new ArrayList<>();
+    private DispatchConfig dispatchConfig;
+    private DispatchPlanningService dispatchPlanningService;
+
+    @BeforeEach
+    void setUp() {
+        dispatchConfig = new DispatchConfig();
+        dispatchConfig.setDepartureTime(LocalTime.of(6, 30));
+        when(shipmentRepository.findReadyForDispatch(PLAN_DATE)).thenReturn(readyShipments);
+        dispatchPlanningService = new DispatchPlanningService();
+        ReflectionTestUtils.setField(dispatchPlanningService, "dispatchConfig", dispatchConfig);
+        ReflectionTestUtils.setField(dispatchPlanningService, "shipmentRepository", shipmentRepository);
+        ReflectionTestUtils.setField(dispatchPlanningService, "dispatchScheduleRepository", dispatchScheduleRepository);
+    }
+
+    @Test
+    void shipmentsShareALoadOnlyWithTheSameCarrierServiceAndRoute() {
+        fleet(5, 2);
+        shipment(1L, "TCS", "EXPRESS", "12 Mall Road, Lahore 54000", "100", null);
+        shipment(2L, "TCS", "EXPRESS", "5 Main Boulevard, Gulberg, lahore", "50", null);
+        shipment(3L, "TCS", "STANDARD", "12 Mall Road, Lahore", "30", null);
+        shipment(4L, "Leopards", "EXPRESS", "12 Mall Road, Lahore", "20", null);
+        shipment(5L, "TCS", "EXPRESS", "14 Tariq Road, Karachi", "10", null);
+
+        DispatchPlanDTO plan = dispatchPlanningService.planDispatch(PLAN_DATE, false);
+
+        // Heaviest group numbered first; each load is downsized from a truck to a van
+        assertThat(plan.getLoads())
+                .extracting(DispatchPlanDTO.VehicleLoadDTO::getVehicleNumber, DispatchPlanDTO.VehicleLoadDTO::getCarrier,
+                        DispatchPlanDTO.VehicleLoadDTO::getServiceType, DispatchPlanDTO.VehicleLoadDTO::getRoute,
+                        DispatchPlanDTO.VehicleLoadDTO::getShipmentIds)
+                .containsExactly(
+                        tuple("VAN-20260302-01", "TCS", "EXPRESS", "LAHORE", List.of(1L, 2L)),
+                        tuple("VAN-20260302-02", "TCS", "STANDARD", "LAHORE", List.of(3L)),
+                        tuple("VAN-20260302-03", "Leopards", "EXPRESS", "LAHORE", List.of(4L)),
+                        tuple("VAN-20260302-04", "TCS", "EXPRESS", "KARACHI", List.of(5L)));
+        assertThat(plan.getLoads().get(0)).satisfies(load -> {
+            assertThat(load.getTotalWeightKg()).isEqualTo(150.0);
+            assertThat(load.getWeightUtilization()).isEqualTo(30.0);
+            assertThat(load.getTotalVolumeM3()).isEqualTo(0.02);
+        });
+        assertThat(plan.getDepartureDateTime()).isEqualTo(PLAN_DATE.atTime(6, 30));
+        assertThat(plan.getShipmentsConsidered()).isEqualTo(5);
+        assertThat(plan.getShipmentsAssigned()).isEqualTo(5);
+        assertThat(plan.getSchedulesCreated()).isZero();
+        assertThat(plan.getUnassignedShipmentIds()).isEmpty();
+        verify(shipmentRepository, never()).markScheduledShipments(anyList(), any(), any());
+        verify(dispatchScheduleRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void vehiclesAlreadyPlannedThatDayAreTakenAndNotRenumbered() {
+        fleet(5, 1);
+        when(dispatchScheduleRepository.findVehicleNumbersByScheduleType(DispatchPlanningService.SCHEDULE_TYPE,
+                PLAN_DATE.atStartOfDay(), PLAN_DATE.atTime(LocalTime.MAX)))
+                .thenReturn(List.of("TRUCK-20260302-01", "VAN-20260302-03", "CART-20260302-07"));
+        shipment(1L, "TCS", "EXPRESS", "12 Mall Road, Lahore", "400", null);
+        shipment(2L, "TCS", "EXPRESS", "12 Mall Road, Lahore", "300", null);
+        shipment(3L, "TCS", "EXPRESS", "14 Tariq Road, Karachi", "600", null);
+
+        DispatchPlanDTO plan = dispatchPlanningService.planDispatch(PLAN_DATE, false);
+
+        // With the only truck gone, Lahore splits over two vans and Karachi fits nothing left
+        assertThat(plan.getLoads())
+                .extracting(DispatchPlanDTO.VehicleLoadDTO::getVehicleNumber, DispatchPlanDTO.VehicleLoadDTO::getShipmentIds)
+                .containsExactly(
+                        tuple("VAN-20260302-04", List.of(1L)),
+                        tuple("VAN-20260302-05", List.of(2L)));
+        assertThat(plan.getUnassignedShipmentIds()).containsExactly(3L);
+        assertThat(plan.getShipmentsAssigned()).isEqualTo(2);
+        assertThat(plan.getVehiclesUsed()).isEqualTo(2);
+    }
+
+    @Test
+    void downsizedLoadLeavesTheLargerVehicleForTheNextGroup() {
+        fleet(1, 1);
+        shipment(1L, "TCS", "EXPRESS", "12 Mall Road, Lahore", "250", null);
+        shipment(2L, "TCS", "EXPRESS", "12 Mall Road, Lahore", "200", null);
+        // Lighter, but 8 m3 only fits the truck
+        shipment(3L, "TCS", "EXPRESS", "14 Tariq Road, Karachi", "100", "200x200x200");
+
+        DispatchPlanDTO plan = dispatchPlanningService.planDispatch(PLAN_DATE, false);
+
+        // Lahore opens the truck, then moves into the van and gives the truck back to Karachi
+        assertThat(plan.getLoads())
+                .extracting(DispatchPlanDTO.VehicleLoadDTO::getVehicleType, DispatchPlanDTO.VehicleLoadDTO::getRoute,
+                        DispatchPlanDTO.VehicleLoadDTO::getShipmentIds)
+                .containsExactly(
+                        tuple("VAN", "LAHORE", List.of(1L, 2L)),
+                        tuple("TRUCK", "KARACHI", List.of(3L)));
+        assertThat(plan.getLoads().get(1).getVolumeUtilization()).isEqualTo(40.0);
+        assertThat(plan.getUnassignedShipmentIds()).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void committedPlanClaimsTheShipmentsAndSavesASchedulePerShipment() {
+        fleet(5, 1);
+        shipment(1L, "TCS", "EXPRESS", "12 Mall Road, Lahore", "100", null);
+        shipment(2L, "TCS", "EXPRESS", "14 Tariq Road, Karachi", "50", null);
+        when(shipmentRepository.markScheduledShipments(eq(List.of(1L, 2L)), eq("DISPATCH_SCHEDULED"), any()))
+                .thenReturn(2);
+
+        DispatchPlanDTO plan = dispatchPlanningService.planDispatch(PLAN_DATE, true);
+
+        assertThat(plan.getCommitted()).isTrue();
+        assertThat(plan.getSchedulesCreated()).isEqualTo(2);
+        ArgumentCaptor<List<DispatchSchedule>> saved = ArgumentCaptor.forClass(List.class);
+        verify(dispatchScheduleRepository).saveAll(saved.capture());
+        assertThat(saved.getValue())
+                .extracting(schedule -> schedule.getShipment().getShipmentId(), DispatchSchedule::getVehicleNumber,
+                        DispatchSchedule::getScheduleType, DispatchSchedule::getScheduledDateTime,
+                        DispatchSchedule::getDispatchStatus, DispatchSchedule::getNotes)
+                .containsExactly(
+                        tuple(1L, "VAN-20260302-01", "PLANNED_DISPATCH", PLAN_DATE.atTime(6, 30), "SCHEDULED",
+                                "Route LAHORE via TCS EXPRESS"),
+                        tuple(2L, "VAN-20260302-02", "PLANNED_DISPATCH", PLAN_DATE.atTime(6, 30), "SCHEDULED",
+                                "Route KARACHI via TCS EXPRESS"));
+    }
+
+    @Test
+    void planIsRejectedWhenAShipmentWasTakenSinceItWasRead() {
+        fleet(5, 1);
+        shipment(1L, "TCS", "EXPRESS", "12 Mall Road, Lahore", "100", null);
+        shipment(2L, "TCS", "EXPRESS", "14 Tariq Road, Karachi", "50", null);
+        // Shipment 2 was dispatched by hand in the meantime
+        when(shipmentRepository.markScheduledShipments(anyList(), eq("DISPATCH_SCHEDULED"), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> dispatchPlanningService.planDispatch(PLAN_DATE, true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Dispatch plan is stale: 1 of 2 shipments are no longer SCHEDULED, plan again");
+        verify(dispatchScheduleRepository, never()).saveAll(anyList());
+    }
+
+    private void fleet(int vans, int trucks) {
+        dispatchConfig.setVehicles(List.of(vehicle("TRUCK", trucks, 3000, 20), vehicle("VAN", vans, 500, 5)));
+    }
+
+    private static DispatchConfig.VehicleType vehicle(String code, int count, double maxWeightKg, double maxVolumeM3) {
+        DispatchConfig.VehicleType type = new DispatchConfig.VehicleType();
+        type.setCode(code);
+        type.setCount(count);
+        type.setMaxWeightKg(maxWeightKg);
+        type.setMaxVolumeM3(maxVolumeM3);
+        return type;
+    }
+
+    private void shipment(Long shipmentId, String carrier, String serviceType, String destinationAddress,
+                          String weightKg, String dimensions) {
+        Shipment shipment = new Shipment();
+        shipment.setShipmentId(shipmentId);
+        shipment.setCarrier(carrier);
+        shipment.setServiceType(serviceType);
+        shipment.setDestinationAddress(destinationAddress);
+        shipment.setPackageWeightKg(new BigDecimal(weightKg));
+        shipment.setPackageDimensions(dimensions);
+        shipment.setShipmentStatus("SCHEDULED");
+        readyShipments.add(shipment);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.supplychain.shipment.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteOptimizationServiceTest {
+
+    @Test
+    void applyingAPlanAgainReplacesTheStopNote() {
+        String first = RouteOptimizationService.replaceRouteNote(null, "Stop 3 (trip 1), ETA 09:40:00");
+        String second = RouteOptimizationService.replaceRouteNote(first, "Stop 1 (trip 1), ETA 09:05:00");
+
+        assertThat(second).isEqualTo("Stop 1 (trip 1), ETA 09:05:00");
+    }
+
+    @Test
+    void otherNotesAreKept() {
+        String notes = "Fragile, ring twice\nStop 3 (trip 1), ETA 09:40:00\nGate code 1234";
+
+        assertThat(RouteOptimizationService.replaceRouteNote(notes, "Stop 2 (trip 2), ETA 13:15:00"))
+                .isEqualTo("Fragile, ring twice\nGate code 1234\nStop 2 (trip 2), ETA 13:15:00");
+    }
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.supplychain.shipment.service;
+
+import com.ecommerce.supplychain.common.constants.DeadlineType;
+import com.ecommerce.supplychain.shipment.dto.DispatchDTO;
+import com.ecommerce.supplychain.shipment.dto.GeocodeDTO;
+import com.ecommerce.supplychain.shipment.dto.RoutePlanDTO;
+import com.ecommerce.supplychain.shipment.dto.ShipmentDTO;
+import com.ecommerce.supplychain.shipment.dto.ShipmentResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The SHIPMENT_DELIVERY_DUE deadline follows the estimated delivery date: it moves when a
+ * route plan is applied with a new ETA and is registered again when it fires before the
+ * estimate has passed. Each test runs in a transaction that is rolled back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ShipmentDeliveryDeadlineTest {
+
+    private static final String ADDRESS = "14 Tariq Road, PECHS, Karachi";
+
+    @Autowired
+    private ShipmentService shipmentService;
+
+    @Autowired
+    private RouteOptimizationService routeOptimizationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void appliedRoutePlanMovesTheDeadlineWithTheEstimate() {
+        inRolledBackTransaction(() -> {
+            LocalDate dispatchDay = LocalDate.now().plusDays(1);
+            ShipmentResponseDTO shipment = createShipment(LocalDate.now().plusDays(5));
+            assertThat(deadlineDueAt(shipment.getShipmentId())).isEqualTo(LocalDate.now().plusDays(6).atStartOfDay());
+
+            DispatchDTO dispatch = new DispatchDTO();
+            dispatch.setShipmentId(shipment.getShipmentId());
+            dispatch.setScheduleType("STANDARD");
+            dispatch.setScheduledDateTime(dispatchDay.atTime(8, 0));
+            dispatch.setVehicleNumber("TEST-VAN-1");
+            shipmentService.scheduleDispatch(dispatch);
+            routeOptimizationService.saveGeocodes(List.of(new GeocodeDTO(ADDRESS, 24.8700, 67.0600, "MANUAL")));
+
+            RoutePlanDTO plan = routeOptimizationService.optimizeVehicleRoute("TEST-VAN-1", dispatchDay, true);
+
+            assertThat(plan.getStops()).singleElement()
+                    .satisfies(stop -> assertThat(stop.getEstimatedArrival().toLocalDate()).isEqualTo(dispatchDay));
+            assertThat(deadlineDueAt(shipment.getShipmentId())).isEqualTo(dispatchDay.plusDays(1).atStartOfDay());
+            assertThat(deadlineStatus(shipment.getShipmentId())).isEqualTo(DeadlineType.PENDING);
+        });
+    }
+
+    @Test
+    void deadlineFiringBeforeTheEstimateIsRegisteredAgain() {
+        inRolledBackTransaction(() -> {
+            LocalDate estimate = LocalDate.now().plusDays(3);
+            ShipmentResponseDTO shipment = createShipment(estimate);
+
+            shipmentService.onDeadline(shipment.getShipmentId(), LocalDate.now().atStartOfDay());
+
+            assertThat(deadlineDueAt(shipment.getShipmentId())).isEqualTo(estimate.plusDays(1).atStartOfDay());
+            assertThat(deadlineStatus(shipment.getShipmentId())).isEqualTo(DeadlineType.PENDING);
+        });
+    }
+
+    private ShipmentResponseDTO createShipment(LocalDate estimatedDeliveryDate) {
+        ShipmentDTO dto = new ShipmentDTO();
+        dto.setTrackingNumber("TRK-TEST-" + System.nanoTime());
+        dto.setOrderId(1L);
+        dto.setOrderNumber("ORD-TEST");
+        dto.setPackageId(1L);
+        dto.setCarrier("TCS");
+        dto.setServiceType("STANDARD");
+        dto.setShipmentDate(LocalDate.now());
+        dto.setEstimatedDeliveryDate(estimatedDeliveryDate);
+        dto.setDestinationAddress(ADDRESS);
+        dto.setRecipientName("Recipient");
+        return shipmentService.createShipment(dto);
+    }
+
+    // Read with SQL: the deadline is written by a native upsert the persistence context does not see
+    private LocalDateTime deadlineDueAt(Long shipmentId) {
+        Object dueAt = deadlineColumn("due_at", shipmentId);
+        return dueAt instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) dueAt;
+    }
+
+    private String deadlineStatus(Long shipmentId) {
+        return (String) deadlineColumn("status", shipmentId);
+    }
+
+    private Object deadlineColumn(String column, Long shipmentId) {
+        return entityManager.createNativeQuery("SELECT " + column + " FROM scheduled_deadlines "
+                        + "WHERE deadline_type = :type AND reference_id = :id")
+                .setParameter("type", DeadlineType.SHIPMENT_DELIVERY_DUE)
+                .setParameter("id", shipmentId)
+                .getSingleResult();
+    }
+
+    private void inRolledBackTransaction(Runnable body) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                body.run();
+            } finally {
+                status.setRollbackOnly();
+            }
+        });
+    }
+}
@@ -0,0 +1,162 @@
+package com.ecommerce.supplychain.shipment.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Solver behaviour on small layouts around a depot at (0, 0). Speed and road factor are set so
+ * one kilometre takes one minute, which keeps the expected clock readable.
+ */
+class VehicleRouteSolverTest {
+
+    private static final double KM_PER_DEGREE = 6371.0 * Math.PI / 180;
+    private static final double UNLIMITED = Double.MAX_VALUE;
+
+    @Test
+    void laterTripsRunOnTheClockLeftByEarlierTrips() {
+        // Capacity of one stop per trip: 10 km east, then 10 km west after a reload
+        VehicleRouteSolver solver = solver(0, 20, 600);
+        List<VehicleRouteSolver.Stop> stops = List.of(
+                stop(10, 0, 1, 15),
+                stop(-10, 0, 1, 600));
+
+        VehicleRouteSolver.Solution solution = solver.solve(0, 0, stops, 1, UNLIMITED);
+
+        assertThat(solution.getTrips()).hasSize(2);
+        assertThat(solution.getTrips().get(0)).containsExactly(0);
+        assertThat(solution.getEtaMinutes(0)).isCloseTo(10, within(0.01));
+        assertThat(solution.getEtaMinutes(1)).isCloseTo(10 + 10 + 20 + 10, within(0.01));
+        assertThat(solution.getReturnMinutes()).isCloseTo(60, within(0.01));
+        assertThat(solution.getLateStops()).isZero();
+    }
+
+    @Test
+    void stopThatOnlyFitsAtTheStartOfTheDayGetsTheFirstTrip() {
+        VehicleRouteSolver solver = solver(0, 0, 600);
+        List<VehicleRouteSolver.Stop> stops = List.of(
+                stop(0, 30, 1, 600),
+                stop(0, -30, 1, 35),
+                stop(30, 0, 1, 600));
+
+        VehicleRouteSolver.Solution solution = solver.solve(0, 0, stops, 1, UNLIMITED);
+
+        assertThat(solution.getTrips().get(0)).containsExactly(1);
+        assertThat(solution.getLateStops()).isZero();
+    }
+
+    @Test
+    void deadlineIsCheckedAgainstTheTripsRealStart() {
+        // The first trip (A) returns at minute 20. At minute 0 B and C could share a trip with
+        // C first, but from minute 20 that would bring B in at 20 + 5 + 5 + 5 > 30, so B goes first
+        VehicleRouteSolver solver = solver(0, 0, 600);
+        List<VehicleRouteSolver.Stop> stops = List.of(
+                stop(10, 0, 2, 10),
+                stop(0, 5, 1, 30),
+                stop(0, 10, 1, 600));
+
+        VehicleRouteSolver.Solution solution = solver.solve(0, 0, stops, 2, UNLIMITED);
+
+        assertThat(solution.getTrips()).hasSize(2);
+        assertThat(solution.getTrips().get(1)).containsExactly(1, 2);
+        assertThat(solution.getEtaMinutes(1)).isCloseTo(25, within(0.01));
+        assertThat(solution.getLateStops()).isZero();
+    }
+
+    @Test
+    void stopsThatCannotBeOnTimeAreFlaggedWithoutSplittingTheTrip() {
+        VehicleRouteSolver solver = solver(2, 20, 600);
+        List<VehicleRouteSolver.Stop> stops = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            stops.add(stop(20 + i * 0.5, 0, 1, 5));
+        }
+
+        VehicleRouteSolver.Solution solution = solver.solve(0, 0, stops, UNLIMITED, UNLIMITED);
+
+        assertThat(solution.getTrips()).hasSize(1);
+        assertThat(solution.getLateStops()).isEqualTo(6);
+        for (int i = 0; i < stops.size(); i++) {
+            assertThat(solution.isLate(i)).isTrue();
+        }
+    }
+
+    @Test
+    void mergeThatWouldRunPastTheShiftAfterEarlierTripsIsNotMade() {
+        // Shift of 92 minutes. B and C together take 73 minutes, which fits a trip leaving at 0
+        // but not one leaving at 20 after A; B alone (70 minutes) still does
+        VehicleRouteSolver solver = solver(0, 0, 92);
+        List<VehicleRouteSolver.Stop> stops = List.of(
+                stop(10, 0, 2, 10),
+                stop(0, 35, 1, 600),
+                stop(3, 35, 1, 600));
+
+        VehicleRouteSolver.Solution solution = solver.solve(0, 0, stops, 2, UNLIMITED);
+
+        assertThat(solution.getTrips()).hasSize(3);
+        assertThat(solution.getTrips().get(0)).containsExactly(0);
+        assertThat(solution.getTrips().get(1)).containsExactly(1);
+        assertThat(solution.getEtaMinutes(1)).isCloseTo(55, within(0.01));
+        assertThat(solution.getReturnMinutes()).isGreaterThan(92);
+    }
+
+    @Test
+    void workBeyondTheShiftIsFinishedAsOvertime() {
+        VehicleRouteSolver solver = solver(0, 0, 50);
+        List<VehicleRouteSolver.Stop> stops = List.of(
+                stop(20, 0, 1, 600),
+                stop(-20, 0, 1, 600));
+
+        VehicleRouteSolver.Solution solution = solver.solve(0, 0, stops, 1, UNLIMITED);
+
+        assertThat(solution.getTrips()).hasSize(2);
+        assertThat(solution.getReturnMinutes()).isCloseTo(80, within(0.01));
+    }
+
+    @Test
+    void everyStopIsVisitedOnceWithinCapacityAndLocalSearchNeverLengthensTheRoute() {
+        Random random = new Random(42);
+        List<VehicleRouteSolver.Stop> stops = new ArrayList<>();
+        double[] weights = new double[300];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1 + random.nextInt(20);
+            stops.add(stop(random.nextGaussian() * 8, random.nextGaussian() * 8, weights[i], 120 + random.nextInt(480)));
+        }
+        double maxWeight = 400;
+
+        VehicleRouteSolver.Solution solution = new VehicleRouteSolver(30, 1.3, 5, 20, 600, 20, 200)
+                .solve(0, 0, stops, maxWeight, UNLIMITED);
+
+        int[] visits = new int[stops.size()];
+        for (int[] trip : solution.getTrips()) {
+            double load = 0;
+            for (int stop : trip) {
+                visits[stop]++;
+                load += weights[stop];
+            }
+            assertThat(load).isLessThanOrEqualTo(maxWeight);
+        }
+        assertThat(visits).containsOnly(1);
+        assertThat(solution.getTotalDistanceKm()).isLessThanOrEqualTo(solution.getConstructionDistanceKm() + 1e-6);
+
+        double clock = 0;
+        for (int t = 0; t < solution.getTrips().size(); t++) {
+            int[] trip = solution.getTrips().get(t);
+            double first = solution.getEtaMinutes(trip[0]);
+            assertThat(first).as("trip %d leaves after the previous trip and reload", t).isGreaterThanOrEqualTo(clock);
+            clock = solution.getEtaMinutes(trip[trip.length - 1]) + 20;
+        }
+    }
+
+    private static VehicleRouteSolver solver(double serviceMinutes, double reloadMinutes, double shiftMinutes) {
+        return new VehicleRouteSolver(60, 1.0, serviceMinutes, reloadMinutes, shiftMinutes, 10, 100);
+    }
+
+    private static VehicleRouteSolver.Stop stop(double eastKm, double northKm, double weightKg, double deadlineMinutes) {
+        return new VehicleRouteSolver.Stop(northKm / KM_PER_DEGREE, eastKm / KM_PER_DEGREE, weightKg, 1, deadlineMinutes);
+    }
+}
@@ -0,0 +1,195 @@
+package com.ecommerce.supplychain.supplier.service;
+
+import com.ecommerce.supplychain.performance.SeedDataLoader;
+import com.ecommerce.supplychain.supplier.dto.SupplierScorecardDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Daily scorecard upserts and the scorecards summed from them, for the seed suppliers. Each test
+ * runs in a transaction that is rolled back; bucket rows are read with SQL, since the upserts
+ * bypass the persistence context.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SupplierScorecardServiceTest {
+
+    @Autowired
+    private SupplierScorecardService supplierScorecardService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.seed-data.schema}")
+    private String schemaFile;
+
+    @Value("${app.seed-data.data}")
+    private String dataFile;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeAll
+    void loadSeedData() throws Exception {
+        SeedDataLoader.load(dataSource, Path.of(schemaFile), Path.of(dataFile));
+    }
+
+    @Test
+    void deliveriesOfOneDayAddToOneRow() {
+        inRolledBackTransaction(() -> {
+            clearBuckets();
+            // On time after 2 days, then late after 10 days with 4 units short
+            supplierScorecardService.recordDelivery(1L, today, today.plusDays(1), today.minusDays(2), 10, 10, false);
+            supplierScorecardService.recordDelivery(1L, today, today.minusDays(3), today.minusDays(10), 10, 6, true);
+
+            assertThat(bucketCount(1L)).isEqualTo(1);
+            SupplierScorecardDTO scorecard = supplierScorecardService.getScorecard(1L, 30);
+
+            assertThat(scorecard.getCompanyName()).isEqualTo("Pak Electronics Ltd");
+            assertThat(scorecard.getDeliveries()).isEqualTo(2);
+            assertThat(scorecard.getOnTimeRate()).isEqualTo(50.0);
+            assertThat(scorecard.getFillRate()).isEqualTo(80.0);
+            assertThat(scorecard.getDiscrepancyRate()).isEqualTo(50.0);
+            assertThat(scorecard.getDefectRate()).isNull();
+            assertThat(scorecard.getAverageLeadTimeDays()).isEqualTo(6.0);
+            assertThat(scorecard.getLeadTimeDistribution())
+                    .containsExactly(entry("0-3", 1), entry("4-7", 0), entry("8-14", 1), entry("15-30", 0), entry("31+", 0));
+            // On-time and fill rates weighted 0.4 and 0.3 on a 0-5 scale
+            assertThat(scorecard.getScore()).isEqualTo(3.14);
+        });
+    }
+
+    @Test
+    void deliveryWithoutDatesCountsTowardsFillRateOnly() {
+        inRolledBackTransaction(() -> {
+            clearBuckets();
+            supplierScorecardService.recordDelivery(1L, today, null, null, 10, 10, false);
+
+            SupplierScorecardDTO scorecard = supplierScorecardService.getScorecard(1L, 30);
+
+            assertThat(scorecard.getDeliveries()).isEqualTo(1);
+            assertThat(scorecard.getOnTimeRate()).isNull();
+            assertThat(scorecard.getAverageLeadTimeDays()).isNull();
+            assertThat(scorecard.getFillRate()).isEqualTo(100.0);
+            assertThat(scorecard.getScore()).isEqualTo(5.0);
+        });
+    }
+
+    @Test
+    void reversedInspectionLeavesTheOriginalDayAndNeverGoesNegative() {
+        inRolledBackTransaction(() -> {
+            clearBuckets();
+            LocalDate yesterday = today.minusDays(1);
+            entityManager.createNativeQuery("INSERT INTO supplier_scorecard_buckets (supplier_id, bucket_date, "
+                    + "units_inspected, units_defective) VALUES (1, :yesterday, 10, 4)")
+                    .setParameter("yesterday", yesterday)
+                    .executeUpdate();
+
+            // Yesterday's inspection of 10 units with 4 defective is redone today with none defective
+            supplierScorecardService.reverseInspection(1L, yesterday, 10, 4);
+            supplierScorecardService.recordInspection(1L, 10, 0);
+
+            assertThat(inspectionUnits(1L, yesterday)).containsExactly(0L, 0L);
+            assertThat(inspectionUnits(1L, today)).containsExactly(10L, 0L);
+
+            // More than the day holds is clamped, and a day without a row gets none
+            supplierScorecardService.reverseInspection(1L, today, 15, 3);
+            supplierScorecardService.reverseInspection(1L, today.minusDays(5), 10, 1);
+            supplierScorecardService.recordInspection(1L, -5, -2);
+
+            assertThat(inspectionUnits(1L, today)).containsExactly(0L, 0L);
+            assertThat(bucketCount(1L)).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void rankingsOrderSuppliersWithActivityInTheWindowByScore() {
+        inRolledBackTransaction(() -> {
+            clearBuckets();
+            supplierScorecardService.recordDelivery(1L, today, today, today.minusDays(3), 10, 10, false);
+            supplierScorecardService.recordInspection(1L, 10, 0);
+            supplierScorecardService.recordDelivery(2L, today.minusDays(1), today.minusDays(2), today.minusDays(9), 10, 5, true);
+            supplierScorecardService.recordInspection(4L, 10, 2);
+            // Outside the 30-day window
+            supplierScorecardService.recordDelivery(5L, today.minusDays(40), today.minusDays(40), null, 10, 10, false);
+
+            List<SupplierScorecardDTO> rankings = supplierScorecardService.getRankings(30);
+
+            assertThat(rankings)
+                    .extracting(SupplierScorecardDTO::getRank, SupplierScorecardDTO::getSupplierId,
+                            SupplierScorecardDTO::getCompanyName, SupplierScorecardDTO::getScore)
+                    .containsExactly(
+                            tuple(1, 1L, "Pak Electronics Ltd", 5.0),
+                            tuple(2, 4L, "Peshawar Food Products", 4.0),
+                            tuple(3, 2L, "Lahore Textile Mills", 1.07));
+            assertThat(supplierScorecardService.getRankings(60))
+                    .extracting(SupplierScorecardDTO::getSupplierId)
+                    .containsExactly(1L, 5L, 4L, 2L);
+        });
+    }
+
+    @Test
+    void windowOutsideTheAllowedRangeIsRejected() {
+        assertThatThrownBy(() -> supplierScorecardService.getRankings(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Window must be between 1 and 365 days");
+        assertThatThrownBy(() -> supplierScorecardService.getScorecard(1L, 366))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void clearBuckets() {
+        entityManager.createNativeQuery("DELETE FROM supplier_scorecard_buckets").executeUpdate();
+    }
+
+    private long bucketCount(Long supplierId) {
+        return ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM supplier_scorecard_buckets WHERE supplier_id = :id")
+                .setParameter("id", supplierId)
+                .getSingleResult()).longValue();
+    }
+
+    private List<Long> inspectionUnits(Long supplierId, LocalDate date) {
+        Object[] row = (Object[]) entityManager.createNativeQuery("SELECT units_inspected, units_defective "
+                        + "FROM supplier_scorecard_buckets WHERE supplier_id = :id AND bucket_date = :date")
+                .setParameter("id", supplierId)
+                .setParameter("date", date)
+                .getSingleResult();
+        return List.of(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+    }
+
+    private void inRolledBackTransaction(Runnable body) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                body.run();
+            } finally {
+                status.setRollbackOnly();
+            }
+        });
+    }
+}